@@ -23,6 +23,7 @@ package ch.checkerlang;
 import ch.checkerlang.values.*;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
@@ -32,6 +33,9 @@ public class Args {
     private Map<String, Value> args = new TreeMap<String, Value>();
     private String restArgName = null;
     private SourcePos pos;
+    private int positional = 0;
+    private ValueList rest = null;
+    private Map<String, String> rendered = null;
 
     public Args(String name, Value value, SourcePos pos) {
         this.pos = pos;
@@ -48,6 +52,24 @@ public class Args {
         args.put(name2, value2);
     }
 
+    private Args(Args other) {
+        this.argNames = other.argNames;
+        this.args = new TreeMap<>(other.args);
+        this.restArgName = other.restArgName;
+        this.pos = other.pos;
+        for (Map.Entry<String, Value> entry : args.entrySet()) {
+            if (entry.getValue().isAtomic()) continue;
+            if (rendered == null) rendered = new HashMap<>();
+            rendered.put(entry.getKey(), abbrev(entry.getValue()));
+        }
+    }
+
+    // Keeps the current bindings, the original may be reused for the next call.
+    // Containers can still change in place, so they are rendered right away.
+    public Args snapshot() {
+        return new Args(this);
+    }
+
     public Args(List<String> argnames, SourcePos pos) {
         this.pos = pos;
         for (int i = 0; i < argnames.size(); i++) {
@@ -73,14 +95,23 @@ public class Args {
     public String toStringAbbrev() {
         StringBuilder result = new StringBuilder();
         for(String argname : args.keySet()) {
-            String value = args.get(argname).toString();
-            if (value.length() > 50) value = value.substring(0, 50) + "... " + value.substring(value.length() - 5);
+            String value = rendered != null ? rendered.get(argname) : null;
+            if (value == null) value = abbrev(args.get(argname));
             result.append(argname).append("=").append(value).append(", ");
         }
         if (result.length() > 0) result.setLength(result.length() - 2);
         return result.toString();
     }
 
+    private static String abbrev(Value value) {
+        try {
+            return RenderBudget.abbrev(value, 50, 5);
+        } catch (ControlErrorException e) {
+            // a failing _str_ must not hide the error being reported
+            return "<!" + value.type() + ">";
+        }
+    }
+
     public void setArgs(List<String> names, List<Value> values) {
         ValueList rest = new ValueList();
         for (int i = 0; i < values.size(); i++) {
@@ -120,6 +151,26 @@ public class Args {
         }
     }
 
+    public void addPositional(Value value) {
+        if (positional < argNames.size()) {
+            args.put(argNames.get(positional++), value);
+        } else {
+            if (restArgName == null) throw new ControlErrorException("Too many arguments", pos);
+            if (rest == null) rest = new ValueList();
+            rest.addItem(value);
+        }
+    }
+
+    public void finishPositional() {
+        if (restArgName != null) {
+            args.put(restArgName, rest != null ? rest : new ValueList());
+        }
+    }
+
+    public void setArg(String name, Value value) {
+        args.put(name, value);
+    }
+
     private String getNextPositionalArgName() {
         for (String argname : argNames)
         {
@@ -240,6 +291,12 @@ public class Args {
         return value.asFunc();
     }
 
+    public ValueTable getTable(String name) {
+        Value value = get(name);
+        if (!value.isTable()) throw new ControlErrorException("Table required but got " + value.type(), pos);
+        return value.asTable();
+    }
+
     public ValueDate getDate(String name) {
         Value value = get(name);
         if (!value.isDate()) throw new ControlErrorException("Date required but got " + value.type(), pos);
@@ -4,16 +4,23 @@ import ch.checkerlang.values.Value;
 import ch.checkerlang.values.ValueList;
 import ch.checkerlang.values.ValueString;
 
+import java.util.Collection;
 import java.util.Map;
 
 public class AsList {
 
+    public static Collection<Value> items(Value value) {
+        if (value.isList()) return value.asList().getValue();
+        if (value.isSet()) return value.asSet().getValue();
+        return from(value, "values").getValue();
+    }
+
     public static ValueList from(Value value, String what)  {
         if (value.isString()) {
-            String s = value.asString().getValue();
+            ValueString s = value.asString();
             ValueList list = new ValueList();
             for (int i = 0; i < s.length(); i++) {
-                list.addItem(new ValueString(s.substring(i, i + 1)));
+                list.addItem(ValueString.ofChar(s.charAt(i)));
             }
             return list;
         }
@@ -39,7 +46,7 @@ public class AsList {
 
         if (value.isObject() && what.equals("keys")) {
             ValueList list = new ValueList();
-            for (String member : value.asObject().value.keySet()) {
+            for (String member : value.asObject().getValue().keySet()) {
                 list.addItem(new ValueString(member));
             }
             return list;
@@ -47,7 +54,7 @@ public class AsList {
 
         if (value.isObject() && what.equals("values")) {
             ValueList list = new ValueList();
-            for (Value member : value.asObject().value.values()) {
+            for (Value member : value.asObject().getValue().values()) {
                 list.addItem(member);
             }
             return list;
@@ -55,7 +62,7 @@ public class AsList {
 
         if (value.isObject() && what.equals("entries")) {
             ValueList list = new ValueList();
-            for (Map.Entry<String, Value> entry : value.asObject().value.entrySet()) {
+            for (Map.Entry<String, Value> entry : value.asObject().getValue().entrySet()) {
                 ValueList element = new ValueList();
                 element.addItem(new ValueString(entry.getKey()));
                 element.addItem(entry.getValue());
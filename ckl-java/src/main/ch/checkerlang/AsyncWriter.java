@@ -0,0 +1,154 @@
+/*  Copyright (c) 2021 Damian Brunold, Gesundheitsdirektion Kanton Zürich
+
+    Permission is hereby granted, free of charge, to any person obtaining a copy
+    of this software and associated documentation files (the "Software"), to deal
+    in the Software without restriction, including without limitation the rights
+    to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+    copies of the Software, and to permit persons to whom the Software is
+    furnished to do so, subject to the following conditions:
+
+    The above copyright notice and this permission notice shall be included in all
+    copies or substantial portions of the Software.
+
+    THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+    IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+    FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+    AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+    LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+    OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+    SOFTWARE.
+*/
+package ch.checkerlang;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+
+public class AsyncWriter extends Writer {
+    private static final int CHUNK_SIZE = 8192;
+    private static final Object CLOSE = new Object();
+
+    private final Writer target;
+    private final BlockingQueue<Object> queue;
+    private final Thread thread;
+    private StringBuilder chunk = new StringBuilder(CHUNK_SIZE);
+    private volatile IOException error = null;
+    private boolean closed = false;
+
+    public AsyncWriter(Writer target) {
+        this(target, 64);
+    }
+
+    public AsyncWriter(Writer target, int queueCapacity) {
+        this.target = target;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.thread = new Thread(this::drain, "ckl-async-output");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    private void drain() {
+        try {
+            while (true) {
+                Object item = queue.take();
+                if (item == CLOSE) break;
+                if (item instanceof CountDownLatch) {
+                    flushTarget();
+                    ((CountDownLatch) item).countDown();
+                } else if (error == null) {
+                    try {
+                        target.write((String) item);
+                    } catch (IOException e) {
+                        error = e;
+                    }
+                }
+            }
+            flushTarget();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void flushTarget() {
+        if (error != null) return;
+        try {
+            target.flush();
+        } catch (IOException e) {
+            error = e;
+        }
+    }
+
+    private void checkError() throws IOException {
+        if (error != null) throw new IOException("Asynchronous write failed", error);
+        if (closed) throw new IOException("Output already closed");
+    }
+
+    private void enqueue(Object item) throws IOException {
+        try {
+            queue.put(item);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while writing output");
+        }
+    }
+
+    private void enqueueChunk() throws IOException {
+        if (chunk.length() == 0) return;
+        enqueue(chunk.toString());
+        chunk.setLength(0);
+    }
+
+    public synchronized void write(char[] cbuf, int off, int len) throws IOException {
+        checkError();
+        chunk.append(cbuf, off, len);
+        if (chunk.length() >= CHUNK_SIZE) enqueueChunk();
+    }
+
+    public synchronized void write(String str) throws IOException {
+        checkError();
+        chunk.append(str);
+        if (chunk.length() >= CHUNK_SIZE) enqueueChunk();
+    }
+
+    public synchronized void write(String str, int off, int len) throws IOException {
+        checkError();
+        chunk.append(str, off, off + len);
+        if (chunk.length() >= CHUNK_SIZE) enqueueChunk();
+    }
+
+    public synchronized void flush() throws IOException {
+        checkError();
+        enqueueChunk();
+        CountDownLatch latch = new CountDownLatch(1);
+        enqueue(latch);
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while flushing output");
+        }
+        checkError();
+    }
+
+    public synchronized void close() throws IOException {
+        if (closed) return;
+        try {
+            enqueueChunk();
+            enqueue(CLOSE);
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while closing output");
+        } finally {
+            closed = true;
+            target.close();
+        }
+        if (error != null) throw new IOException("Asynchronous write failed", error);
+    }
+
+    public String toString() {
+        return target.toString();
+    }
+}
@@ -10,6 +10,7 @@ public class BindNative {
             case "acos": bindNative(env, new FuncAcos(), nativeAlias); break;
             case "add": bindNative(env, new FuncAdd(), nativeAlias); break;
             case "append": bindNative(env, new FuncAppend(), nativeAlias); break;
+            case "append_all": bindNative(env, new FuncAppendAll(), nativeAlias); break;
             case "asin": bindNative(env, new FuncAsin(), nativeAlias); break;
             case "atan": bindNative(env, new FuncAtan(), nativeAlias); break;
             case "atan2": bindNative(env, new FuncAtan2(), nativeAlias); break;
@@ -31,8 +32,15 @@ public class BindNative {
             case "contains": bindNative(env, new FuncContains(), nativeAlias); break;
             case "cos": bindNative(env, new FuncCos(), nativeAlias); break;
             case "date": bindNative(env, new FuncDate(), nativeAlias); break;
+            case "date_day": bindNative(env, new FuncDateDay(), nativeAlias); break;
+            case "date_hour": bindNative(env, new FuncDateHour(), nativeAlias); break;
+            case "date_minute": bindNative(env, new FuncDateMinute(), nativeAlias); break;
+            case "date_month": bindNative(env, new FuncDateMonth(), nativeAlias); break;
+            case "date_second": bindNative(env, new FuncDateSecond(), nativeAlias); break;
+            case "date_year": bindNative(env, new FuncDateYear(), nativeAlias); break;
             case "decimal": bindNative(env, new FuncDecimal(), nativeAlias); break;
             case "delete_at": bindNative(env, new FuncDeleteAt(), nativeAlias); break;
+            case "diff": bindNative(env, new FuncDiff(), nativeAlias); break;
             case "div": bindNative(env, new FuncDiv(), nativeAlias); break;
             case "ends_with": bindNative(env, new FuncEndsWith(), nativeAlias); break;
             case "equals": bindNative(env, new FuncEquals(), nativeAlias); break;
@@ -47,14 +55,23 @@ public class BindNative {
             case "file_info": bindNative(env, new FuncFileInfo(), nativeAlias); break;
             case "file_move": bindNative(env, new FuncFileMove(), nativeAlias); break;
             case "file_output": bindNative(env, new FuncFileOutput(), nativeAlias); break;
+            case "filter": bindNative(env, new FuncFilter(), nativeAlias); break;
             case "find": bindNative(env, new FuncFind(), nativeAlias); break;
             case "find_last": bindNative(env, new FuncFindLast(), nativeAlias); break;
+            case "flatten": bindNative(env, new FuncFlatten(), nativeAlias); break;
+            case "flush": bindNative(env, new FuncFlush(), nativeAlias); break;
             case "floor": bindNative(env, new FuncFloor(), nativeAlias); break;
             case "format_date": bindNative(env, new FuncFormatDate(), nativeAlias); break;
+            case "geometric_mean": bindNative(env, new FuncGeometricMean(), nativeAlias); break;
             case "get_env": bindNative(env, new FuncGetEnv(), nativeAlias); break;
             case "get_output_string": bindNative(env, new FuncGetOutputString(), nativeAlias); break;
             case "greater": bindNative(env, new FuncGreater(), nativeAlias); break;
             case "greater_equals": bindNative(env, new FuncGreaterEquals(), nativeAlias); break;
+            case "grep": bindNative(env, new FuncGrep(), nativeAlias); break;
+            case "group_by": bindNative(env, new FuncGroupBy(), nativeAlias); break;
+            case "grouped": bindNative(env, new FuncGrouped(), nativeAlias); break;
+            case "harmonic_mean": bindNative(env, new FuncHarmonicMean(), nativeAlias); break;
+            case "histogram": bindNative(env, new FuncHistogram(), nativeAlias); break;
             case "identity": bindNative(env, new FuncIdentity(), nativeAlias); break;
             case "if_empty": bindNative(env, new FuncIfEmpty(), nativeAlias); break;
             case "if_null": bindNative(env, new FuncIfNull(), nativeAlias); break;
@@ -62,21 +79,32 @@ public class BindNative {
             case "info": bindNative(env, new FuncInfo(), nativeAlias); break;
             case "insert_at": bindNative(env, new FuncInsertAt(), nativeAlias); break;
             case "int": bindNative(env, new FuncInt(), nativeAlias); break;
+            case "intersection": bindNative(env, new FuncIntersection(), nativeAlias); break;
             case "is_empty": bindNative(env, new FuncIsEmpty(), nativeAlias); break;
             case "is_not_empty": bindNative(env, new FuncIsNotEmpty(), nativeAlias); break;
             case "is_not_null": bindNative(env, new FuncIsNotNull(), nativeAlias); break;
             case "is_null": bindNative(env, new FuncIsNull(), nativeAlias); break;
+            case "is_valid_date": bindNative(env, new FuncIsValidDate(), nativeAlias); break;
+            case "is_valid_time": bindNative(env, new FuncIsValidTime(), nativeAlias); break;
+            case "join": bindNative(env, new FuncJoin(), nativeAlias); break;
+            case "join_by": bindNative(env, new FuncJoinBy(), nativeAlias); break;
             case "length": bindNative(env, new FuncLength(), nativeAlias); break;
             case "less": bindNative(env, new FuncLess(), nativeAlias); break;
             case "less_equals": bindNative(env, new FuncLessEquals(), nativeAlias); break;
             case "list": bindNative(env, new FuncList(), nativeAlias); break;
             case "list_dir": bindNative(env, new FuncListDir(), nativeAlias); break;
+            case "load_value": bindNative(env, new FuncLoadValue(), nativeAlias); break;
             case "log": bindNative(env, new FuncLog(), nativeAlias); break;
             case "lower": bindNative(env, new FuncLower(), nativeAlias); break;
             case "ls": bindNative(env, new FuncLs(), nativeAlias); break;
             case "make_dir": bindNative(env, new FuncMakeDir(), nativeAlias); break;
             case "map": bindNative(env, new FuncMap(), nativeAlias); break;
+            case "map_list": bindNative(env, new FuncMapList(), nativeAlias); break;
             case "matches": bindNative(env, new FuncMatches(), nativeAlias); break;
+            case "mean": bindNative(env, new FuncMean(), nativeAlias); break;
+            case "median": bindNative(env, new FuncMedian(), nativeAlias); break;
+            case "median_high": bindNative(env, new FuncMedianHigh(), nativeAlias); break;
+            case "median_low": bindNative(env, new FuncMedianLow(), nativeAlias); break;
             case "mod": bindNative(env, new FuncMod(), nativeAlias); break;
             case "mul": bindNative(env, new FuncMul(), nativeAlias); break;
             case "not_equals": bindNative(env, new FuncNotEquals(), nativeAlias); break;
@@ -85,9 +113,13 @@ public class BindNative {
             case "parse": bindNative(env, new FuncParse(), nativeAlias); break;
             case "parse_date": bindNative(env, new FuncParseDate(), nativeAlias); break;
             case "parse_json": bindNative(env, new FuncParseJson(), nativeAlias); break;
+            case "parse_json_table": bindNative(env, new FuncParseJsonTable(), nativeAlias); break;
             case "pattern": bindNative(env, new FuncPattern(), nativeAlias); break;
+            case "percentile": bindNative(env, new FuncPercentile(), nativeAlias); break;
+            case "permutations": bindNative(env, new FuncPermutations(), nativeAlias); break;
             case "pow": bindNative(env, new FuncPow(), nativeAlias); break;
             case "print": bindNative(env, new FuncPrint(), nativeAlias); break;
+            case "printf": bindNative(env, new FuncPrintf(), nativeAlias); break;
             case "println": bindNative(env, new FuncPrintln(), nativeAlias); break;
             case "process_lines": bindNative(env, new FuncProcessLines(), nativeAlias); break;
             case "put": bindNative(env, new FuncPut(), nativeAlias); break;
@@ -95,19 +127,26 @@ public class BindNative {
             case "range": bindNative(env, new FuncRange(), nativeAlias); break;
             case "read": bindNative(env, new FuncRead(), nativeAlias); break;
             case "read_all": bindNative(env, new FuncReadall(), nativeAlias); break;
+            case "read_csv": bindNative(env, new FuncReadCsv(), nativeAlias); break;
             case "readln": bindNative(env, new FuncReadln(), nativeAlias); break;
+            case "reduce": bindNative(env, new FuncReduce(), nativeAlias); break;
             case "remove": bindNative(env, new FuncRemove(), nativeAlias); break;
             case "replace": bindNative(env, new FuncReplace(), nativeAlias); break;
+            case "reverse": bindNative(env, new FuncReverse(), nativeAlias); break;
             case "round": bindNative(env, new FuncRound(), nativeAlias); break;
             case "s": bindNative(env, new FuncS(), nativeAlias); break;
+            case "save_value": bindNative(env, new FuncSaveValue(), nativeAlias); break;
+            case "select": bindNative(env, new FuncSelect(), nativeAlias); break;
             case "set": bindNative(env, new FuncSet(), nativeAlias); break;
             case "set_seed": bindNative(env, new FuncSetSeed(), nativeAlias); break;
             case "sin": bindNative(env, new FuncSin(), nativeAlias); break;
+            case "sort_by": bindNative(env, new FuncSortBy(), nativeAlias); break;
             case "sorted": bindNative(env, new FuncSorted(), nativeAlias); break;
             case "split": bindNative(env, new FuncSplit(), nativeAlias); break;
             case "split2": bindNative(env, new FuncSplit2(), nativeAlias); break;
             case "sprintf": bindNative(env, new FuncSprintf(), nativeAlias); break;
             case "sqrt": bindNative(env, new FuncSqrt(), nativeAlias); break;
+            case "stdev": bindNative(env, new FuncStdev(), nativeAlias); break;
             case "str_input": bindNative(env, new FuncStrInput(), nativeAlias); break;
             case "starts_with": bindNative(env, new FuncStartsWith(), nativeAlias); break;
             case "str_output": bindNative(env, new FuncStrOutput(), nativeAlias); break;
@@ -116,11 +155,18 @@ public class BindNative {
             case "sublist": bindNative(env, new FuncSublist(), nativeAlias); break;
             case "substr": bindNative(env, new FuncSubstr(), nativeAlias); break;
             case "sum": bindNative(env, new FuncSum(), nativeAlias); break;
+            case "symmetric_diff": bindNative(env, new FuncSymmetricDiff(), nativeAlias); break;
+            case "table": bindNative(env, new FuncTable(), nativeAlias); break;
+            case "table_column": bindNative(env, new FuncTableColumn(), nativeAlias); break;
+            case "table_columns": bindNative(env, new FuncTableColumns(), nativeAlias); break;
             case "tan": bindNative(env, new FuncTan(), nativeAlias); break;
             case "timestamp": bindNative(env, new FuncTimestamp(), nativeAlias); break;
             case "trim": bindNative(env, new FuncTrim(), nativeAlias); break;
             case "type": bindNative(env, new FuncType(), nativeAlias); break;
+            case "union": bindNative(env, new FuncUnion(), nativeAlias); break;
+            case "unique": bindNative(env, new FuncUnique(), nativeAlias); break;
             case "upper": bindNative(env, new FuncUpper(), nativeAlias); break;
+            case "variance": bindNative(env, new FuncVariance(), nativeAlias); break;
             case "zip": bindNative(env, new FuncZip(), nativeAlias); break;
             case "zip_map": bindNative(env, new FuncZipMap(), nativeAlias); break;
             case "E": env.put("E", new ValueDecimal(Math.E).withInfo("E\n\nThe mathematical constant E (Eulers number)")); break;
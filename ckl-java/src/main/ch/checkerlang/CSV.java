@@ -0,0 +1,105 @@
+/*  Copyright (c) 2021 Damian Brunold, Gesundheitsdirektion Kanton Zürich
+
+    Permission is hereby granted, free of charge, to any person obtaining a copy
+    of this software and associated documentation files (the "Software"), to deal
+    in the Software without restriction, including without limitation the rights
+    to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+    copies of the Software, and to permit persons to whom the Software is
+    furnished to do so, subject to the following conditions:
+
+    The above copyright notice and this permission notice shall be included in all
+    copies or substantial portions of the Software.
+
+    THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+    IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+    FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+    AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+    LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+    OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+    SOFTWARE.
+*/
+package ch.checkerlang;
+
+import ch.checkerlang.values.ValueInput;
+import ch.checkerlang.values.ValueTable;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+public class CSV {
+    public static ValueTable read(ValueInput input, char separator, boolean header, boolean inferTypes) throws IOException {
+        ValueTable.Builder builder = null;
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        int record = 0;
+        String line = input.readLine();
+        while (line != null) {
+            record++;
+            readRecord(input, line, separator, fields, field);
+            if (fields.size() == 1 && fields.get(0) == null) {
+                line = input.readLine();
+                continue;
+            }
+            if (builder == null) {
+                List<String> names = new ArrayList<>();
+                for (int i = 0; i < fields.size(); i++) {
+                    String name = header ? fields.get(i) : null;
+                    if (name == null) name = "col" + (i + 1);
+                    if (names.contains(name)) throw new ControlErrorException("Duplicate column " + name + " in record " + record);
+                    names.add(name);
+                }
+                builder = new ValueTable.Builder(names);
+                if (header) {
+                    line = input.readLine();
+                    continue;
+                }
+            }
+            if (fields.size() > builder.getColumnCount()) throw new ControlErrorException("Record " + record + " has " + fields.size() + " fields but expected " + builder.getColumnCount());
+            for (int i = 0; i < fields.size(); i++) builder.setString(i, fields.get(i));
+            builder.endRow();
+            line = input.readLine();
+        }
+        return builder == null ? new ValueTable.Builder().build() : builder.build(inferTypes);
+    }
+
+    // Empty fields are returned as null, quoted fields may span several lines.
+    private static void readRecord(ValueInput input, String line, char separator, List<String> fields, StringBuilder field) throws IOException {
+        fields.clear();
+        field.setLength(0);
+        boolean quoted = false;
+        boolean wasQuoted = false;
+        int i = 0;
+        while (true) {
+            if (i == line.length()) {
+                if (!quoted) break;
+                line = input.readLine();
+                if (line == null) break;
+                field.append('\n');
+                i = 0;
+                continue;
+            }
+            char ch = line.charAt(i++);
+            if (quoted) {
+                if (ch != '"') {
+                    field.append(ch);
+                } else if (i < line.length() && line.charAt(i) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (ch == separator) {
+                fields.add(field.length() == 0 && !wasQuoted ? null : field.toString());
+                field.setLength(0);
+                wasQuoted = false;
+            } else if (ch == '"' && field.length() == 0) {
+                quoted = true;
+                wasQuoted = true;
+            } else {
+                field.append(ch);
+            }
+        }
+        fields.add(field.length() == 0 && !wasQuoted ? null : field.toString());
+    }
+}
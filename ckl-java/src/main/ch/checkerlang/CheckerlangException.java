@@ -28,6 +28,7 @@ public class CheckerlangException extends RuntimeException {
     protected SourcePos pos;
 
     public CheckerlangException(SourcePos pos) {
+        super(null, null, false, false);
         this.pos = pos;
     }
 
@@ -21,6 +21,7 @@
 package ch.checkerlang;
 
 import ch.checkerlang.values.Value;
+import ch.checkerlang.values.ValueFunc;
 import ch.checkerlang.values.ValueString;
 
 public class ControlErrorException extends CheckerlangException {
@@ -32,14 +33,12 @@ public class ControlErrorException extends CheckerlangException {
         super(SourcePos.Unknown);
         type = new ValueString("ERROR");
         value = new ValueString(message);
-        stacktrace = new Stacktrace();
     }
 
     public ControlErrorException(String message, SourcePos pos) {
         super(pos);
         type = new ValueString("ERROR");
         value = new ValueString(message);
-        stacktrace = new Stacktrace();
     }
 
     public ControlErrorException(Value value, SourcePos pos, Stacktrace stacktrace) {
@@ -62,11 +61,16 @@ public class ControlErrorException extends CheckerlangException {
     }
 
     public Stacktrace getStacktrace() {
+        if (stacktrace == null) stacktrace = new Stacktrace();
         return stacktrace;
     }
 
     public void addStacktraceElement(String funcall, SourcePos pos) {
-        stacktrace.addElement(funcall, pos);
+        getStacktrace().addElement(funcall, pos);
+    }
+
+    public void addStacktraceElement(ValueFunc fn, Args args, SourcePos pos) {
+        getStacktrace().addElement(fn, args, pos);
     }
 
 }
@@ -20,12 +20,18 @@
 */
 package ch.checkerlang;
 
-import java.util.Calendar;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
 import java.util.Date;
+import java.util.TimeZone;
 
 public class DateConverter {
     public static final int[] DAYS_PER_MONTH = new int[]{31, 28, 31, 30, 31, 30, 31, 31, 30, 31, 30, 31};
     public static final int DAYS_EPOCH = 25569;
+    public static final int GREGORIAN_CUTOVER_YEAR = 1582;
 
     public static boolean isLeapYear(int year) {
         return (year % 4 == 0) && ((year % 100 != 0) || (year % 400 == 0));
@@ -39,51 +45,121 @@ public class DateConverter {
         return isLeapYear(year) && month == 1 ? 29 : DAYS_PER_MONTH[month];
     }
 
-    public static double  convertDateToOADate(Date date) {
-        Calendar cal = Calendar.getInstance();
-        cal.setTime(date);
-        int year = cal.get(Calendar.YEAR);
-        double result = 1;
-        for (int y = 1900; y < year; y++) {
-            result += isLeapYear(y) ? 366 : 365;
-        }
-        int month = cal.get(Calendar.MONTH);
-        for (int m = 0; m < month; m++) {
-            result += monthDays(year, m);
-        }
-        result += cal.get(Calendar.DAY_OF_MONTH);
-        result += cal.get(Calendar.HOUR_OF_DAY) / 24.0;
-        result += cal.get(Calendar.MINUTE) / 24.0 / 60.0;
-        result += cal.get(Calendar.SECOND) / 24.0 / 60.0 / 60.0;
-        result += cal.get(Calendar.MILLISECOND) / 24.0 / 60.0 / 60.0 / 1000.0;
-        return result;
+    public static final long MILLIS_PER_DAY = 86400000L;
+
+    public static double convertDateToOADate(Date date) {
+        return toOADate(toLocalMillis(date.getTime()));
     }
 
     public static Date convertOADateToDate(double oadate) {
-        double value = oadate - DAYS_EPOCH;
-        int year = 1970;
-        while (value > yearDays(year)) {
-            value -= yearDays(year);
-            year++;
-        }
-        int month = 0;
-        while (value > monthDays(year, month)) {
-            value -= monthDays(year, month);
-            month++;
-        }
-        int day = (int) value + 1;
-        value = value - (int) value;
-        int hours = (int) (value * 24);
-        value = value * 24 - hours;
-        int minutes = (int) (value * 60);
-        value = value * 60 - minutes;
-        int seconds = (int) (value * 60);
-        value = value * 60 - seconds;
-        int milliseconds = (int) (value * 1000);
-        Calendar cal = Calendar.getInstance();
-        cal.set(year, month, day, hours, minutes, seconds);
-        cal.set(Calendar.MILLISECOND, milliseconds);
-        return cal.getTime();
+        return new Date(toEpochMillis(fromOADate(oadate)));
+    }
+
+    public static double toOADate(long localMillis) {
+        double result = DAYS_EPOCH + Math.floorDiv(localMillis, MILLIS_PER_DAY);
+        result += getHour(localMillis) / 24.0;
+        result += getMinute(localMillis) / 24.0 / 60.0;
+        result += getSecond(localMillis) / 24.0 / 60.0 / 60.0;
+        result += getMillisecond(localMillis) / 24.0 / 60.0 / 60.0 / 1000.0;
+        return result;
+    }
+
+    public static long fromOADate(double oadate) {
+        return Math.round((oadate - DAYS_EPOCH) * MILLIS_PER_DAY);
+    }
+
+    // Local millis count the milliseconds since 1970-01-01T00:00 in the
+    // default time zone, i.e. the wall clock time without any zone offset.
+    // Wall clock times skipped by a daylight saving change of the default
+    // time zone, java.util.Date moves these forward by the length of the gap.
+    public static boolean isInGap(LocalDateTime dateTime) {
+        ZoneRules rules = ZoneId.systemDefault().getRules();
+        if (rules.isFixedOffset()) return false;
+        ZoneOffsetTransition transition = rules.getTransition(dateTime);
+        return transition != null && transition.isGap();
+    }
+
+    public static long toLocalMillis(long epochMillis) {
+        return epochMillis + TimeZone.getDefault().getOffset(epochMillis);
+    }
+
+    public static long toEpochMillis(long localMillis) {
+        LocalDateTime dateTime = toLocalDateTime(localMillis);
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    public static LocalDateTime toLocalDateTime(long localMillis) {
+        long seconds = Math.floorDiv(localMillis, 1000L);
+        int nanos = (int) Math.floorMod(localMillis, 1000L) * 1000000;
+        return LocalDateTime.ofEpochSecond(seconds, nanos, ZoneOffset.UTC);
+    }
+
+    public static long toLocalMillis(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC) * 1000L + dateTime.getNano() / 1000000;
+    }
+
+    public static long toLocalMillis(int year, int month, int day, int hour, int minute, int second, int millis) {
+        return (daysFromCivil(year, month, day) * 24L * 3600L + hour * 3600L + minute * 60L + second) * 1000L + millis;
+    }
+
+    // Days since 1970-01-01 for a proleptic gregorian date, month is 1-based.
+    public static long daysFromCivil(long year, int month, int day) {
+        year -= month <= 2 ? 1 : 0;
+        long era = Math.floorDiv(year, 400);
+        long yoe = year - era * 400;
+        long doy = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        long doe = yoe * 365 + yoe / 4 - yoe / 100 + doy;
+        return era * 146097 + doe - 719468;
+    }
+
+    public static int getYear(long localMillis) {
+        long days = Math.floorDiv(localMillis, MILLIS_PER_DAY) + 719468;
+        long era = Math.floorDiv(days, 146097);
+        long doe = days - era * 146097;
+        long yoe = (doe - doe / 1460 + doe / 36524 - doe / 146096) / 365;
+        long doy = doe - (365 * yoe + yoe / 4 - yoe / 100);
+        long mp = (5 * doy + 2) / 153;
+        return (int) (yoe + era * 400 + (mp >= 10 ? 1 : 0));
+    }
+
+    public static int getMonth(long localMillis) {
+        long mp = monthIndex(localMillis);
+        return (int) (mp < 10 ? mp + 3 : mp - 9);
+    }
+
+    public static int getDay(long localMillis) {
+        long doy = dayOfYear(localMillis);
+        long mp = (5 * doy + 2) / 153;
+        return (int) (doy - (153 * mp + 2) / 5 + 1);
+    }
+
+    public static int getHour(long localMillis) {
+        return (int) (Math.floorMod(localMillis, MILLIS_PER_DAY) / 3600000L);
+    }
+
+    public static int getMinute(long localMillis) {
+        return (int) (Math.floorMod(localMillis, 3600000L) / 60000L);
+    }
+
+    public static int getSecond(long localMillis) {
+        return (int) (Math.floorMod(localMillis, 60000L) / 1000L);
+    }
+
+    public static int getMillisecond(long localMillis) {
+        return (int) Math.floorMod(localMillis, 1000L);
+    }
+
+    private static long monthIndex(long localMillis) {
+        return (5 * dayOfYear(localMillis) + 2) / 153;
+    }
+
+    // Day of the year in a year starting on March 1st.
+    private static long dayOfYear(long localMillis) {
+        long days = Math.floorDiv(localMillis, MILLIS_PER_DAY) + 719468;
+        long era = Math.floorDiv(days, 146097);
+        long doe = days - era * 146097;
+        long yoe = (doe - doe / 1460 + doe / 36524 - doe / 146096) / 365;
+        return doe - (365 * yoe + yoe / 4 - yoe / 100);
     }
 
 }
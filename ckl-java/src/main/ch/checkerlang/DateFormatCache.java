@@ -0,0 +1,223 @@
+/*  Copyright (c) 2021 Damian Brunold, Gesundheitsdirektion Kanton Zürich
+
+    Permission is hereby granted, free of charge, to any person obtaining a copy
+    of this software and associated documentation files (the "Software"), to deal
+    in the Software without restriction, including without limitation the rights
+    to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+    copies of the Software, and to permit persons to whom the Software is
+    furnished to do so, subject to the following conditions:
+
+    The above copyright notice and this permission notice shall be included in all
+    copies or substantial portions of the Software.
+
+    THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+    IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+    FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+    AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+    LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+    OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+    SOFTWARE.
+*/
+package ch.checkerlang;
+
+import ch.checkerlang.values.ValueDate;
+
+import java.text.DateFormat;
+import java.text.ParseException;
+import java.text.ParsePosition;
+import java.text.SimpleDateFormat;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.ResolverStyle;
+import java.time.temporal.ChronoField;
+import java.time.temporal.TemporalAccessor;
+import java.util.Date;
+
+public class DateFormatCache {
+    public static final int MAX_SIZE = 256;
+
+    private static final LruCache<String, Entry> cache = new LruCache<>(MAX_SIZE);
+
+    private static class Entry {
+        final DateTimeFormatter formatter;
+
+        Entry(String pattern) {
+            this.formatter = toFormatter(pattern);
+        }
+    }
+
+    public static String format(ValueDate date, String pattern) {
+        Entry entry = cache.get(pattern, Entry::new);
+        if (entry.formatter == null) return new SimpleDateFormat(pattern).format(date.getValue());
+        return entry.formatter.format(date.getDateTime());
+    }
+
+    // Returns null if the string does not match the pattern, or if it
+    // does not render back to the identical string (e.g. 2018023010).
+    // Parsing is done without resolving, so that invalid input does not
+    // cost an exception. Years up to the gregorian cutover are also checked
+    // with SimpleDateFormat, which uses the julian calendar for these, and
+    // wall clock times in a daylight saving gap are left to it entirely.
+    public static ValueDate parse(String str, String pattern) {
+        Entry entry = cache.get(pattern, Entry::new);
+        if (entry.formatter == null) return parseLegacy(str, pattern);
+        ParsePosition position = new ParsePosition(0);
+        TemporalAccessor parsed = entry.formatter.parseUnresolved(str, position);
+        if (parsed == null || position.getErrorIndex() >= 0 || position.getIndex() != str.length()) return null;
+        if (get(parsed, ChronoField.ERA, 1) != 1 || get(parsed, ChronoField.YEAR_OF_ERA, 1970) <= DateConverter.GREGORIAN_CUTOVER_YEAR) {
+            if (parseLegacy(str, pattern) == null) return null;
+        }
+        LocalDateTime result = toDateTime(parsed);
+        if (result == null) return null;
+        if (DateConverter.isInGap(result)) return parseLegacy(str, pattern);
+        if (!entry.formatter.format(result).equals(str)) return null;
+        return new ValueDate(result);
+    }
+
+    public static boolean isValid(String str, String pattern) {
+        return parse(str, pattern) != null;
+    }
+
+    public static long getHits() {
+        return cache.getHits();
+    }
+
+    public static long getMisses() {
+        return cache.getMisses();
+    }
+
+    public static int getSize() {
+        return cache.getSize();
+    }
+
+    public static void clear() {
+        cache.clear();
+    }
+
+    private static ValueDate parseLegacy(String str, String pattern) {
+        try {
+            DateFormat format = new SimpleDateFormat(pattern);
+            format.setLenient(false);
+            Date date = format.parse(str);
+            if (!format.format(date).equals(str)) return null;
+            return new ValueDate(date);
+        } catch (ParseException e) {
+            return null;
+        }
+    }
+
+    private static LocalDateTime toDateTime(TemporalAccessor parsed) {
+        long yearOfEra = get(parsed, ChronoField.YEAR_OF_ERA, 1970);
+        if (yearOfEra < 1) return null;
+        long year = get(parsed, ChronoField.ERA, 1) == 1 ? yearOfEra : 1 - yearOfEra;
+        long month = get(parsed, ChronoField.MONTH_OF_YEAR, 1);
+        long day = get(parsed, ChronoField.DAY_OF_MONTH, 1);
+        if (year < -999999999 || year > 999999999 || month < 1 || month > 12) return null;
+        if (parsed.isSupported(ChronoField.DAY_OF_YEAR)) {
+            long dayOfYear = parsed.getLong(ChronoField.DAY_OF_YEAR);
+            if (dayOfYear < 1 || dayOfYear > DateConverter.yearDays((int) year)) return null;
+            month = 1;
+            day = dayOfYear;
+            while (day > DateConverter.monthDays((int) year, (int) month - 1)) {
+                day -= DateConverter.monthDays((int) year, (int) month - 1);
+                month++;
+            }
+        }
+        if (day < 1 || day > DateConverter.monthDays((int) year, (int) month - 1)) return null;
+        long hour = 0;
+        if (parsed.isSupported(ChronoField.HOUR_OF_DAY)) {
+            hour = parsed.getLong(ChronoField.HOUR_OF_DAY);
+        } else if (parsed.isSupported(ChronoField.CLOCK_HOUR_OF_DAY)) {
+            hour = parsed.getLong(ChronoField.CLOCK_HOUR_OF_DAY);
+            if (hour < 1 || hour > 24) return null;
+            hour %= 24;
+        } else if (parsed.isSupported(ChronoField.CLOCK_HOUR_OF_AMPM)) {
+            hour = parsed.getLong(ChronoField.CLOCK_HOUR_OF_AMPM);
+            if (hour < 1 || hour > 12) return null;
+            hour = hour % 12 + 12 * get(parsed, ChronoField.AMPM_OF_DAY, 0);
+        } else if (parsed.isSupported(ChronoField.HOUR_OF_AMPM)) {
+            hour = parsed.getLong(ChronoField.HOUR_OF_AMPM);
+            if (hour > 11) return null;
+            hour += 12 * get(parsed, ChronoField.AMPM_OF_DAY, 0);
+        }
+        long minute = get(parsed, ChronoField.MINUTE_OF_HOUR, 0);
+        long second = get(parsed, ChronoField.SECOND_OF_MINUTE, 0);
+        long nanos = get(parsed, ChronoField.NANO_OF_SECOND, 0);
+        if (hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59) return null;
+        if (nanos < 0 || nanos > 999999999) return null;
+        return LocalDateTime.of((int) year, (int) month, (int) day, (int) hour, (int) minute, (int) second, (int) nanos);
+    }
+
+    private static long get(TemporalAccessor parsed, ChronoField field, long defaultValue) {
+        return parsed.isSupported(field) ? parsed.getLong(field) : defaultValue;
+    }
+
+    // Translates a SimpleDateFormat pattern into an equivalent java.time
+    // pattern. Returns null for patterns whose semantics differ between the
+    // two, these are handled by SimpleDateFormat instead.
+    private static DateTimeFormatter toFormatter(String pattern) {
+        StringBuilder result = new StringBuilder(pattern.length() + 4);
+        boolean quoted = false;
+        int i = 0;
+        while (i < pattern.length()) {
+            char ch = pattern.charAt(i);
+            if (ch == '\'') {
+                quoted = !quoted;
+                result.append(ch);
+                i++;
+                continue;
+            }
+            if (quoted) {
+                result.append(ch);
+                i++;
+                continue;
+            }
+            if (!Character.isLetter(ch)) {
+                if ("[]{}#".indexOf(ch) != -1) result.append('\'').append(ch).append('\'');
+                else result.append(ch);
+                i++;
+                continue;
+            }
+            int run = 1;
+            while (i + run < pattern.length() && pattern.charAt(i + run) == ch) run++;
+            switch (ch) {
+                case 'y':
+                    if (run != 4) return null;
+                    break;
+                case 'M':
+                case 'E':
+                    if (run > 4) return null;
+                    break;
+                case 'd':
+                case 'H':
+                case 'm':
+                case 's':
+                case 'h':
+                case 'k':
+                case 'K':
+                    if (run > 2) return null;
+                    break;
+                case 'D':
+                    if (run > 3) return null;
+                    break;
+                case 'S':
+                    if (run != 3) return null;
+                    break;
+                case 'a':
+                case 'G':
+                    if (run != 1) return null;
+                    break;
+                default:
+                    return null;
+            }
+            for (int j = 0; j < run; j++) result.append(ch);
+            i += run;
+        }
+        if (quoted) return null;
+        try {
+            return DateTimeFormatter.ofPattern(result.toString()).withResolverStyle(ResolverStyle.STRICT);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
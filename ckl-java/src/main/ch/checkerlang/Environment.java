@@ -100,6 +100,10 @@ public class Environment {
         map.remove(name);
     }
 
+    public void clear() {
+        map.clear();
+    }
+
     public Environment newEnv() {
         return new Environment(this);
     }
@@ -111,39 +115,40 @@ public class Environment {
     }
 
     public Value get(String symbol, SourcePos pos) {
-        if (map.containsKey(symbol)) {
-            Object value = map.get(symbol);
-            if (value == null) return ValueNull.NULL;
-            if (value instanceof Value) {
-                return (Value) value;
-            } else if (value instanceof Byte) {
-                return new ValueInt((byte) value);
-            } else if (value instanceof Short) {
-                return new ValueInt((short) value);
-            } else if (value instanceof Integer) {
-                return new ValueInt((int) value);
-            } else if (value instanceof Long) {
-                return new ValueInt((long) value);
-            } else if (value instanceof BigDecimal) {
-                return new ValueDecimal(((BigDecimal) value).doubleValue());
-            } else if (value instanceof Float) {
-                return new ValueDecimal((float) value);
-            } else if (value instanceof Double) {
-                return new ValueDecimal((double) value);
-            } else if (value instanceof Boolean) {
-                return ValueBoolean.from((boolean) value);
-            } else if (value instanceof Pattern) {
-                return new ValuePattern(((Pattern) value).pattern());
-            } else if (value instanceof Date) {
-                return new ValueDate((Date) value);
-            } else {
-                return new ValueString(value.toString());
-            }
-        }
+        if (map.containsKey(symbol)) return toValue(map.get(symbol));
         if (parent != null) return parent.get(symbol, pos);
         throw new ControlErrorException(new ValueString("Symbol '" + symbol + "' not defined"), pos, new Stacktrace());
     }
 
+    public static Value toValue(Object value) {
+        if (value == null) return ValueNull.NULL;
+        if (value instanceof Value) {
+            return (Value) value;
+        } else if (value instanceof Byte) {
+            return new ValueInt((byte) value);
+        } else if (value instanceof Short) {
+            return new ValueInt((short) value);
+        } else if (value instanceof Integer) {
+            return new ValueInt((int) value);
+        } else if (value instanceof Long) {
+            return new ValueInt((long) value);
+        } else if (value instanceof BigDecimal) {
+            return new ValueDecimal(((BigDecimal) value).doubleValue());
+        } else if (value instanceof Float) {
+            return new ValueDecimal((float) value);
+        } else if (value instanceof Double) {
+            return new ValueDecimal((double) value);
+        } else if (value instanceof Boolean) {
+            return ValueBoolean.from((boolean) value);
+        } else if (value instanceof Pattern) {
+            return new ValuePattern(((Pattern) value).pattern());
+        } else if (value instanceof Date) {
+            return new ValueDate((Date) value);
+        } else {
+            return new ValueString(value.toString());
+        }
+    }
+
     public Environment getBase() {
         Environment current = this;
         while (current.parent != null) current = current.parent;
@@ -0,0 +1,91 @@
+/*  Copyright (c) 2021 Damian Brunold, Gesundheitsdirektion Kanton Zürich
+
+    Permission is hereby granted, free of charge, to any person obtaining a copy
+    of this software and associated documentation files (the "Software"), to deal
+    in the Software without restriction, including without limitation the rights
+    to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+    copies of the Software, and to permit persons to whom the Software is
+    furnished to do so, subject to the following conditions:
+
+    The above copyright notice and this permission notice shall be included in all
+    copies or substantial portions of the Software.
+
+    THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+    IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+    FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+    AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+    LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+    OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+    SOFTWARE.
+*/
+package ch.checkerlang;
+
+import ch.checkerlang.values.Value;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public class FormatPlan {
+    private static final Pattern PLACEHOLDER_PATTERN = Pattern.compile("\\{([0-9]+)(#[^}]+)?\\}");
+    private static final int MAX_REUSED_CAPACITY = 65536;
+
+    private static final LruCache<String, FormatPlan> plans = new LruCache<>(1024);
+    private static final ThreadLocal<StringBuilder> builders = new ThreadLocal<>();
+
+    private final String[] literals;
+    private final int[] indexes;
+    private final FormatSpec[] specs;
+
+    private FormatPlan(String fmt) {
+        List<String> literals = new ArrayList<>();
+        List<Integer> indexes = new ArrayList<>();
+        List<FormatSpec> specs = new ArrayList<>();
+        int lastidx = 0;
+        Matcher matcher = PLACEHOLDER_PATTERN.matcher(fmt);
+        while (matcher.find()) {
+            literals.add(fmt.substring(lastidx, matcher.start(0)));
+            indexes.add(Integer.parseInt(matcher.group(1)));
+            specs.add(matcher.group(2) == null ? FormatSpec.DEFAULT : new FormatSpec(matcher.group(2)));
+            lastidx = matcher.end(0);
+        }
+        literals.add(fmt.substring(lastidx));
+        this.literals = literals.toArray(new String[0]);
+        this.indexes = indexes.stream().mapToInt(Integer::intValue).toArray();
+        this.specs = specs.toArray(new FormatSpec[0]);
+    }
+
+    public static FormatPlan get(String fmt) {
+        return plans.get(fmt, FormatPlan::new);
+    }
+
+    public static long getCacheHits() {
+        return plans.getHits();
+    }
+
+    public static long getCacheMisses() {
+        return plans.getMisses();
+    }
+
+    public void appendTo(StringBuilder result, List<Value> arguments) {
+        for (int i = 0; i < indexes.length; i++) {
+            result.append(literals[i]);
+            specs[i].appendTo(result, arguments.get(indexes[i]));
+        }
+        result.append(literals[indexes.length]);
+    }
+
+    public static StringBuilder acquireBuilder() {
+        StringBuilder result = builders.get();
+        if (result == null) return new StringBuilder(256);
+        builders.set(null);
+        return result;
+    }
+
+    public static void releaseBuilder(StringBuilder builder) {
+        if (builder.capacity() > MAX_REUSED_CAPACITY) return;
+        builder.setLength(0);
+        builders.set(builder);
+    }
+}
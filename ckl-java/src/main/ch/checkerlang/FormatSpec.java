@@ -0,0 +1,82 @@
+/*  Copyright (c) 2021 Damian Brunold, Gesundheitsdirektion Kanton Zürich
+
+    Permission is hereby granted, free of charge, to any person obtaining a copy
+    of this software and associated documentation files (the "Software"), to deal
+    in the Software without restriction, including without limitation the rights
+    to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+    copies of the Software, and to permit persons to whom the Software is
+    furnished to do so, subject to the following conditions:
+
+    The above copyright notice and this permission notice shall be included in all
+    copies or substantial portions of the Software.
+
+    THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+    IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+    FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+    AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+    LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+    OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+    SOFTWARE.
+*/
+package ch.checkerlang;
+
+import ch.checkerlang.values.Value;
+
+public class FormatSpec {
+    public static final FormatSpec DEFAULT = new FormatSpec(null);
+
+    private int width = 0;
+    private boolean zeroes = false;
+    private boolean leading = true;
+    private boolean hex = false;
+    private String decimalFormat = null;
+
+    public FormatSpec(String spec) {
+        if (spec == null) return;
+        if (spec.startsWith("#")) spec = spec.substring(1);
+        if (spec.startsWith("-")) {
+            leading = false;
+            spec = spec.substring(1);
+        }
+        if (spec.startsWith("0")) {
+            zeroes = true;
+            leading = false;
+            spec = spec.substring(1);
+        }
+        if (spec.endsWith("x")) {
+            hex = true;
+            spec = spec.substring(0, spec.length() - 1);
+        }
+        int idx = spec.indexOf('.');
+        if (idx == -1) {
+            width = Integer.parseInt(spec.isEmpty() ? "0" : spec);
+        } else {
+            int digits = Integer.parseInt(spec.substring(idx + 1));
+            width = idx == 0 ? 0 : Integer.parseInt(spec.substring(0, idx));
+            decimalFormat = "%." + digits + "f";
+        }
+    }
+
+    public String format(Value value) {
+        if (hex) return String.format("%x", value.asInt().getValue());
+        if (decimalFormat != null) return String.format(decimalFormat, value.asDecimal().getValue());
+        return value.asString().getValue();
+    }
+
+    public void appendTo(StringBuilder result, Value value) {
+        String str = format(value);
+        int padding = width - str.length();
+        if (padding <= 0) {
+            result.append(str);
+        } else if (leading) {
+            for (int i = 0; i < padding; i++) result.append(' ');
+            result.append(str);
+        } else if (zeroes) {
+            for (int i = 0; i < padding; i++) result.append('0');
+            result.append(str);
+        } else {
+            result.append(str);
+            for (int i = 0; i < padding; i++) result.append(' ');
+        }
+    }
+}
@@ -27,14 +27,18 @@ import java.util.TreeSet;
 
 public class FreeVars {
     public static Set<String> get(Node node, Environment environment) {
-        Set<String> freeVars = new TreeSet<>();
-        Set<String> boundVars = new TreeSet<>();
-        Set<String> additionalboundVars = new TreeSet<>();
-        node.collectVars(freeVars, boundVars, additionalboundVars);
         Set<String> result = new TreeSet<>();
-        for (String freeVar : freeVars) {
+        for (String freeVar : get(node)) {
             if (!environment.isDefined(freeVar)) result.add(freeVar);
         }
         return result;
     }
+
+    public static Set<String> get(Node node) {
+        Set<String> freeVars = new TreeSet<>();
+        Set<String> boundVars = new TreeSet<>();
+        Set<String> additionalboundVars = new TreeSet<>();
+        node.collectVars(freeVars, boundVars, additionalboundVars);
+        return freeVars;
+    }
 }
@@ -0,0 +1,91 @@
+/*  Copyright (c) 2021 Damian Brunold, Gesundheitsdirektion Kanton Zürich
+
+    Permission is hereby granted, free of charge, to any person obtaining a copy
+    of this software and associated documentation files (the "Software"), to deal
+    in the Software without restriction, including without limitation the rights
+    to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+    copies of the Software, and to permit persons to whom the Software is
+    furnished to do so, subject to the following conditions:
+
+    The above copyright notice and this permission notice shall be included in all
+    copies or substantial portions of the Software.
+
+    THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+    IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+    FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+    AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+    LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+    OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+    SOFTWARE.
+*/
+package ch.checkerlang;
+
+import ch.checkerlang.functions.FuncCompare;
+import ch.checkerlang.functions.FuncIdentity;
+import ch.checkerlang.values.Value;
+import ch.checkerlang.values.ValueFunc;
+import ch.checkerlang.values.ValueInt;
+import ch.checkerlang.values.ValueNull;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class FuncInvoker {
+    private final ValueFunc func;
+    private final Environment environment;
+    private final SourcePos pos;
+    private final String name1;
+    private final String name2;
+    private final boolean identity;
+    private final boolean compare;
+    private Args args1 = null;
+    private Args args2 = null;
+
+    public FuncInvoker(ValueFunc func, Environment environment, SourcePos pos) {
+        this.func = func;
+        this.environment = environment;
+        this.pos = pos;
+        this.identity = func instanceof FuncIdentity;
+        this.compare = func instanceof FuncCompare;
+        List<String> argNames = func.getArgNames();
+        this.name1 = argNames.size() > 0 && !argNames.get(0).endsWith("...") ? argNames.get(0) : null;
+        this.name2 = name1 != null && argNames.size() > 1 && !argNames.get(1).endsWith("...") ? argNames.get(1) : null;
+    }
+
+    public boolean isIdentity() {
+        return identity;
+    }
+
+    public boolean isCompare() {
+        return compare;
+    }
+
+    public Value call(Value a) {
+        if (identity) return a;
+        if (name1 == null) return callGeneric(a);
+        if (args1 == null) args1 = new Args(name1, ValueNull.NULL, pos);
+        args1.setArg(name1, a);
+        return func.execute(args1, environment, pos);
+    }
+
+    public Value call(Value a, Value b) {
+        if (compare) return new ValueInt(a.compareTo(b));
+        if (name2 == null) return callGeneric(a, b);
+        if (args2 == null) args2 = new Args(name1, name2, ValueNull.NULL, ValueNull.NULL, pos);
+        args2.setArg(name1, a);
+        args2.setArg(name2, b);
+        return func.execute(args2, environment, pos);
+    }
+
+    public int compare(Value a, Value b) {
+        if (compare) return a.compareTo(b);
+        return (int) call(a, b).asInt().getValue();
+    }
+
+    private Value callGeneric(Value... values) {
+        Args args = new Args(func.getArgNames(), pos);
+        args.setArgs(Collections.nCopies(values.length, null), Arrays.asList(values));
+        return func.execute(args, environment, pos);
+    }
+}
@@ -14,8 +14,43 @@ import java.util.Map;
 public class Function {
 
     public static Value invoke(ValueFunc fn, List<String> names_, List<Node> args, Environment environment, SourcePos pos) {
+        return invoke(fn, null, names_, args, environment, pos);
+    }
+
+    public static Value invoke(ValueFunc fn, Value self, List<String> names_, List<Node> args, Environment environment, SourcePos pos) {
+        Args args_ = new Args(fn.asFunc().getArgNames(), pos);
+        if (isPositional(names_, args)) {
+            if (self != null) args_.addPositional(self);
+            for (int i = 0; i < args.size(); i++) {
+                args_.addPositional(args.get(i).evaluate(environment));
+            }
+            args_.finishPositional();
+        } else {
+            bindArgs(args_, self, names_, args, environment);
+        }
+
+        try {
+            return fn.asFunc().execute(args_, environment, pos);
+        } catch (ControlErrorException e) {
+            e.addStacktraceElement(fn.asFunc(), args_, pos);
+            throw e;
+        }
+    }
+
+    private static boolean isPositional(List<String> names_, List<Node> args) {
+        for (int i = 0; i < args.size(); i++) {
+            if (names_.get(i) != null || args.get(i) instanceof NodeSpread) return false;
+        }
+        return true;
+    }
+
+    private static void bindArgs(Args args_, Value self, List<String> names_, List<Node> args, Environment environment) {
         List<Value> values = new ArrayList<>();
         List<String> names = new ArrayList<>();
+        if (self != null) {
+            values.add(self);
+            names.add(null);
+        }
         for (int i = 0; i < args.size(); i++) {
             Node arg = args.get(i);
             if (arg instanceof NodeSpread) {
@@ -43,15 +78,7 @@ public class Function {
             }
         }
 
-        Args args_ = new Args(fn.asFunc().getArgNames(), pos);
         args_.setArgs(names, values);
-
-        try {
-            return fn.asFunc().execute(args_, environment, pos);
-        } catch (ControlErrorException e) {
-            e.addStacktraceElement(getFuncallString(fn.asFunc(), args_), pos);
-            throw e;
-        }
     }
 
     public static String getFuncallString(ValueFunc fn, Args args) {
@@ -0,0 +1,58 @@
+/*  Copyright (c) 2021 Damian Brunold, Gesundheitsdirektion Kanton Zürich
+
+    Permission is hereby granted, free of charge, to any person obtaining a copy
+    of this software and associated documentation files (the "Software"), to deal
+    in the Software without restriction, including without limitation the rights
+    to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+    copies of the Software, and to permit persons to whom the Software is
+    furnished to do so, subject to the following conditions:
+
+    The above copyright notice and this permission notice shall be included in all
+    copies or substantial portions of the Software.
+
+    THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+    IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+    FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+    AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+    LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+    OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+    SOFTWARE.
+*/
+package ch.checkerlang;
+
+import ch.checkerlang.nodes.Node;
+
+public class IncrementalParser {
+    private final String filename;
+    private Lexer lexer;
+
+    public IncrementalParser(String filename) {
+        this.filename = filename;
+        this.lexer = new Lexer(filename);
+    }
+
+    public boolean isEmpty() {
+        return lexer.isEmpty();
+    }
+
+    public void reset() {
+        lexer = new Lexer(filename);
+    }
+
+    // Returns the parsed node once the input fed so far forms a complete
+    // script, or null if more input is needed.
+    public Node feed(String line) {
+        lexer.feed(line);
+        lexer.feed("\n");
+        if (!lexer.isBalanced()) return null;
+        lexer.rewind();
+        try {
+            return Parser.parse(lexer);
+        } catch (SyntaxError e) {
+            if (e.getMessage().startsWith("Unexpected end of input")) return null;
+            throw e;
+        } catch (IndexOutOfBoundsException e) {
+            return null;
+        }
+    }
+}
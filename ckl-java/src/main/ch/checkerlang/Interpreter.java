@@ -63,7 +63,23 @@ public class Interpreter {
     }
 
     public void setStandardOutput(Writer stdout) {
-        baseEnvironment.put("stdout", new ValueOutput(stdout));
+        setStandardOutput(new ValueOutput(stdout));
+    }
+
+    public void setStandardOutput(Writer stdout, OutputBuffering buffering) {
+        setStandardOutput(new ValueOutput(stdout, buffering));
+    }
+
+    public void setStandardOutput(Writer stdout, OutputBuffering buffering, long flushInterval) {
+        setStandardOutput(new ValueOutput(stdout, buffering, flushInterval));
+    }
+
+    public void setStandardOutput(ValueOutput stdout) {
+        baseEnvironment.put("stdout", stdout);
+    }
+
+    public ValueOutput getStandardOutput() {
+        return baseEnvironment.get("stdout", SourcePos.Unknown).asOutput();
     }
 
     public void setStandardInput(BufferedReader stdin) {
@@ -16,6 +16,41 @@ public class JSON {
         return parse(new Lexer(data));
     }
 
+    public static ValueTable parseTable(String data) throws Exception {
+        Lexer lexer = new Lexer(data);
+        lexer.matchToken("[");
+        ValueTable.Builder builder = new ValueTable.Builder();
+        String next = lexer.nextToken();
+        while (!"]".equals(next)) {
+            if (!"{".equals(next)) throw new RuntimeException("Expected object, but got " + next);
+            next = lexer.nextToken();
+            while (!"}".equals(next)) {
+                if (next == null || !next.startsWith("\"")) throw new RuntimeException("Expected object key, but got " + next);
+                int column = builder.column(next.substring(1, next.length() - 1));
+                lexer.matchToken(":");
+                Value value = parse(lexer);
+                if (value == null) throw new RuntimeException("Expected value for " + next);
+                builder.set(column, value);
+                next = lexer.nextToken();
+                if (!"}".equals(next)) {
+                    lexer.putBackToken(next);
+                    lexer.matchToken(",");
+                    next = lexer.nextToken();
+                }
+            }
+            builder.endRow();
+            next = lexer.nextToken();
+            if (!"]".equals(next)) {
+                lexer.putBackToken(next);
+                lexer.matchToken(",");
+                next = lexer.nextToken();
+            }
+        }
+        next = lexer.nextToken();
+        if (next != null) throw new RuntimeException("Unexpected " + next + " after table");
+        return builder.build();
+    }
+
     private static Value parse(Lexer lexer) {
         try {
             String token = lexer.nextToken();
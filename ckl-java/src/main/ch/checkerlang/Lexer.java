@@ -22,17 +22,71 @@ package ch.checkerlang;
 
 import java.io.IOException;
 import java.io.Reader;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
 
 public class Lexer {
+    private static final int OP_ASSIGN = 1;
+    private static final int PUNCT = 2;
+    private static final int COMPARE = 4;
+    private static final int DIGIT_NONZERO = 8;
+    private static final int SPACE = 16;
+    private static final int TOKEN_END = 32;
+    private static final int NUMBER_END = 64;
+    private static final int DECIMAL = 128;
+    private static final int HEX = 256;
+    private static final int BINARY = 512;
+
+    private static final int[] CLASSES = new int[128];
+    private static final String[] CHARS = new String[128];
+
+    static {
+        classify("+-*%", OP_ASSIGN);
+        classify("()[],;", PUNCT);
+        classify("<>=!", COMPARE);
+        classify("123456789", DIGIT_NONZERO);
+        classify(" \t\r\n", SPACE);
+        classify("()+-*/%[]<>=,;!\"' \t\r\n#", TOKEN_END);
+        classify("()[]<>=! \t\n\r+-*/%,;#", NUMBER_END);
+        classify("0123456789_", DECIMAL);
+        classify("0123456789abcdefABCDEF_", HEX);
+        classify("01_", BINARY);
+        for (int i = 0; i < CHARS.length; i++) CHARS[i] = String.valueOf((char) i);
+    }
+
+    private static void classify(String chars, int cls) {
+        for (int i = 0; i < chars.length(); i++) CLASSES[chars.charAt(i)] |= cls;
+    }
+
+    private static boolean is(char ch, int cls) {
+        return ch < 128 && (CLASSES[ch] & cls) != 0;
+    }
+
     private String filename;
-    private List<Token> tokens = new ArrayList<>();
+    private final Symbols symbols = new Symbols();
+    private String[] values = new String[64];
+    private TokenType[] types = new TokenType[64];
+    private long[] positions = new long[64];
+    private Token[] tokens = new Token[64];
+    private SourcePos[] sourcePositions = new SourcePos[64];
+    private int size;
     private int nextToken;
 
+    private StringBuilder token = new StringBuilder();
+    private int state = 0;
+    private int line = 1;
+    private int column = 0;
+    private char hex;
+    private int depth = 0;
+
     public Lexer(Reader reader, String filename) throws IOException {
+        this(filename);
+        char[] input = readAll(reader);
+        feed(input, input.length);
+        finish();
+    }
+
+    public Lexer(String filename) {
         this.filename = filename;
-        lex(reader);
     }
 
     public String getFilename() {
@@ -40,35 +94,62 @@ public class Lexer {
     }
 
     public boolean hasNext() {
-        return nextToken < tokens.size();
+        return nextToken < size;
     }
 
     public Token next() {
-        return tokens.get(nextToken++);
+        if (nextToken >= size) throw new IndexOutOfBoundsException("Index: " + nextToken + ", Size: " + size);
+        return token(nextToken++);
     }
 
     public Token peek() {
-        return tokens.get(nextToken);
+        if (nextToken >= size) throw new IndexOutOfBoundsException("Index: " + nextToken + ", Size: " + size);
+        return token(nextToken);
+    }
+
+    private Token token(int index) {
+        Token token = tokens[index];
+        if (token == null) {
+            token = new Token(values[index], types[index], sourcePos(index));
+            tokens[index] = token;
+        }
+        return token;
+    }
+
+    private SourcePos sourcePos(int index) {
+        SourcePos pos = sourcePositions[index];
+        if (pos == null) {
+            long packed = positions[index];
+            pos = new SourcePos(filename, (int) (packed >> 32), (int) packed);
+            sourcePositions[index] = pos;
+        }
+        return pos;
+    }
+
+    private boolean valueEquals(int index, String token) {
+        String value = values[index];
+        return value == token || value.equals(token);
     }
 
     public boolean peekn(int n, String token, TokenType type) {
-        if (nextToken + n - 1 < tokens.size()) {
-            return tokens.get(nextToken + n - 1).value.equals(token) && tokens.get(nextToken + n - 1).type == type;
+        int index = nextToken + n - 1;
+        if (index < size) {
+            return types[index] == type && valueEquals(index, token);
         }
 
         return false;
     }
 
     public boolean peekn(int n, String token) {
-        if (nextToken + n - 1 < tokens.size()) {
-            Token t = tokens.get(nextToken + n - 1);
-            return t.value.equals(token) && (t.type == TokenType.Identifier || t.type == TokenType.Keyword);
+        int index = nextToken + n - 1;
+        if (index < size) {
+            TokenType type = types[index];
+            return (type == TokenType.Identifier || type == TokenType.Keyword) && valueEquals(index, token);
         }
 
         return false;
     }
 
-
     public boolean peek(String a, TokenType type) {
         return peekn(1, a, type);
     }
@@ -83,12 +164,12 @@ public class Lexer {
 
     public SourcePos getPos() {
         if (nextToken == 0) return getPosNext();
-        return tokens.get(nextToken - 1).pos;
+        return sourcePos(nextToken - 1);
     }
 
     public SourcePos getPosNext() {
         if (!hasNext()) return getPos();
-        return tokens.get(nextToken).pos;
+        return sourcePos(nextToken);
     }
 
     public String matchIdentifier() {
@@ -229,23 +310,98 @@ public class Lexer {
         }
     }
 
+    public void rewind() {
+        nextToken = 0;
+    }
+
+    public boolean isEmpty() {
+        return size == 0 && state == 0;
+    }
+
+    public boolean isBalanced() {
+        return (state == 0 || state == 9) && depth <= 0;
+    }
+
     public void putback() {
         if (nextToken == 0) throw new RuntimeException("Cannot putback at first token");
         nextToken--;
     }
 
+    private void add(String value, TokenType type, int line, int column) {
+        if (size == values.length) {
+            int capacity = size * 2;
+            values = Arrays.copyOf(values, capacity);
+            types = Arrays.copyOf(types, capacity);
+            positions = Arrays.copyOf(positions, capacity);
+            tokens = Arrays.copyOf(tokens, capacity);
+            sourcePositions = Arrays.copyOf(sourcePositions, capacity);
+        }
+        values[size] = value;
+        types[size] = type;
+        positions[size] = ((long) line << 32) | (column & 0xffffffffL);
+        size++;
+        if (type == TokenType.Interpunction) {
+            switch (value) {
+                case "(":
+                case "[":
+                case "<<":
+                case "<<<":
+                case "<*":
+                    depth++;
+                    break;
+                case ")":
+                case "]":
+                case ">>":
+                case ">>>":
+                case "*>":
+                    depth--;
+                    break;
+            }
+        } else if (type == TokenType.Keyword) {
+            if (value.equals("do")) depth++;
+            else if (value.equals("end")) depth--;
+        }
+    }
+
+    private void addWord(StringBuilder token, int line, int column, boolean operators) {
+        String t = symbols.intern(token);
+        if (t.equals("TRUE") || t.equals("FALSE")) add(t, TokenType.Boolean, line, column - t.length());
+        else if (Keywords.isKeyword(t)) add(t, TokenType.Keyword, line, column - t.length());
+        else if (operators && Operators.isOperator(t)) add(t, TokenType.Operator, line, column - t.length());
+        else add(t, TokenType.Identifier, line, column - t.length());
+    }
+
+    private static boolean is(StringBuilder token, char ch) {
+        return token.length() == 1 && token.charAt(0) == ch;
+    }
+
+    private static boolean is(StringBuilder token, char ch1, char ch2) {
+        return token.length() == 2 && token.charAt(0) == ch1 && token.charAt(1) == ch2;
+    }
+
+    private static char[] readAll(Reader reader) throws IOException {
+        char[] buffer = new char[8192];
+        int length = 0;
+        int n;
+        while ((n = reader.read(buffer, length, buffer.length - length)) != -1) {
+            length += n;
+            if (length == buffer.length) buffer = Arrays.copyOf(buffer, buffer.length * 2);
+        }
+        return length == buffer.length ? buffer : Arrays.copyOf(buffer, length);
+    }
+
+    public void feed(String input) {
+        feed(input.toCharArray(), input.length());
+    }
+
     // Perform lexical analysis using a classical deterministic finite state machine.
-    private void lex(Reader reader) throws IOException {
-        String tempbuf = "";
-        StringBuilder token = new StringBuilder();
-        int state = 0;
-        int c = reader.read();
-        int lastc = -1;
-        int line = 1;
-        int column = 0;
+    // The machine state is kept in fields, so input can be fed in several chunks.
+    public void feed(char[] input, int length) {
+        int index = 0;
+        boolean pushback = false;
         boolean updatepos = true;
-        while (c != -1) {
-            char ch = (char) c;
+        while (index < length) {
+            char ch = input[index];
             if (updatepos) {
                 if (ch == '\n') {
                     line++;
@@ -258,14 +414,14 @@ public class Lexer {
                 case 0: // Eat whitespace
                     if (ch == '#') {
                         state = 9;
-                    } else if ("+-*%".indexOf(ch) != -1) {
+                    } else if (is(ch, OP_ASSIGN)) {
                         token.append(ch);
                         state = 10;
-                    } else if ("()[],;".indexOf(ch) != -1) {
-                        tokens.add(new Token(Character.toString(ch), TokenType.Interpunction, new SourcePos(filename, line, column)));
+                    } else if (is(ch, PUNCT)) {
+                        add(CHARS[ch], TokenType.Interpunction, line, column);
                     } else if (ch == '/') {
                         state = 5;
-                    } else if ("<>=!".indexOf(ch) != -1) {
+                    } else if (is(ch, COMPARE)) {
                         token.append(ch);
                         state = 2;
                     } else if (ch == '"') {
@@ -274,37 +430,29 @@ public class Lexer {
                         state = 4;
                     } else if (ch == '0') {
                         state = 70;
-                    } else if ("123456789".indexOf(ch) != -1) {
+                    } else if (is(ch, DIGIT_NONZERO)) {
                         token.append(ch);
                         state = 7;
-                    } else if (" \t\r\n".indexOf(ch) == -1) {
+                    } else if (!is(ch, SPACE)) {
                         token.append(ch);
                         state = 1;
                     }
 
                     break;
                 case 1: // normal token
-                    if ("()+-*/%[]<>=,;!\"' \t\r\n#".indexOf(ch) != -1) {
+                    if (is(ch, TOKEN_END)) {
                         if (token.length() > 0) {
-                            String t = token.toString();
-                            if (t.equals("TRUE"))
-                                tokens.add(new Token("TRUE", TokenType.Boolean, new SourcePos(filename, line, column - "TRUE".length())));
-                            else if (t.equals("FALSE"))
-                                tokens.add(new Token("FALSE", TokenType.Boolean, new SourcePos(filename, line, column - "FALSE".length())));
-                            else if (Keywords.isKeyword(t))
-                                tokens.add(new Token(t, TokenType.Keyword, new SourcePos(filename, line, column - t.length())));
-                            else
-                                tokens.add(new Token(t, TokenType.Identifier, new SourcePos(filename, line, column - t.length())));
-                            token = new StringBuilder();
+                            addWord(token, line, column, false);
+                            token.setLength(0);
                         }
 
-                        lastc = c;
+                        pushback = true;
                         state = 0;
                     } else {
                         token.append(ch);
-                        if (token.toString().equals("...")) {
-                            tokens.add(new Token(token.toString(), TokenType.Interpunction, new SourcePos(filename, line, column - token.length())));
-                            token = new StringBuilder();
+                        if (token.length() == 3 && token.charAt(0) == '.' && token.charAt(1) == '.' && token.charAt(2) == '.') {
+                            add("...", TokenType.Interpunction, line, column - token.length());
+                            token.setLength(0);
                             state = 0;
                         }
                     }
@@ -313,62 +461,60 @@ public class Lexer {
                 case 2: // <>, <=, >=, ==, <<, >>, <<<, >>>
                     if (ch == '=') {
                         token.append(ch);
-                        tokens.add(new Token(token.toString(), TokenType.Operator, new SourcePos(filename, line, column - token.length() + 1)));
-                        token = new StringBuilder();
+                        add(symbols.intern(token), TokenType.Operator, line, column - token.length() + 1);
+                        token.setLength(0);
                         state = 0;
-                    } else if (ch == '>' && token.toString().equals("=")) {
-                        token.append(ch);
-                        tokens.add(new Token(token.toString(), TokenType.Interpunction, new SourcePos(filename, line, column - token.length() + 1)));
-                        token = new StringBuilder();
+                    } else if (ch == '>' && is(token, '=')) {
+                        add("=>", TokenType.Interpunction, line, column - 1);
+                        token.setLength(0);
                         state = 0;
-                    } else if (ch == '*' && token.toString().equals("<")) {
-                        token.append(ch);
-                        tokens.add(new Token("<*", TokenType.Interpunction, new SourcePos(filename, line, column - token.length() + 1)));
-                        token = new StringBuilder();
+                    } else if (ch == '*' && is(token, '<')) {
+                        add("<*", TokenType.Interpunction, line, column - 1);
+                        token.setLength(0);
                         state = 0;
-                    } else if (ch == '>' && token.toString().equals("<")) {
-                        tokens.add(new Token("<>", TokenType.Operator, new SourcePos(filename, line, column - 1)));
-                        token = new StringBuilder();
+                    } else if (ch == '>' && is(token, '<')) {
+                        add("<>", TokenType.Operator, line, column - 1);
+                        token.setLength(0);
                         state = 0;
-                    } else if (ch == '>' && token.toString().equals("!")) {
-                        tokens.add(new Token("!>", TokenType.Operator, new SourcePos(filename, line, column - 1)));
-                        token = new StringBuilder();
+                    } else if (ch == '>' && is(token, '!')) {
+                        add("!>", TokenType.Operator, line, column - 1);
+                        token.setLength(0);
                         state = 0;
-                    } else if (ch == '<' && token.toString().equals("<")) {
+                    } else if (ch == '<' && is(token, '<')) {
                         token.append(ch);
                         state = 21;
-                    } else if (ch == '>' && token.toString().equals(">")) {
+                    } else if (ch == '>' && is(token, '>')) {
                         token.append(ch);
                         state = 21;
                     } else {
-                        tokens.add(new Token(token.toString(), TokenType.Operator, new SourcePos(filename, line, column - token.length())));
-                        token = new StringBuilder();
-                        lastc = c;
+                        add(symbols.intern(token), TokenType.Operator, line, column - token.length());
+                        token.setLength(0);
+                        pushback = true;
                         state = 0;
                     }
 
                     break;
                 case 21: // <<, >>, <<<, >>>
-                    if (ch == '<' && token.toString().equals("<<")) {
-                        tokens.add(new Token("<<<", TokenType.Interpunction, new SourcePos(filename, line, column - 3)));
-                        token = new StringBuilder();
+                    if (ch == '<' && is(token, '<', '<')) {
+                        add("<<<", TokenType.Interpunction, line, column - 3);
+                        token.setLength(0);
                         state = 0;
-                    } else if (ch == '>' && token.toString().equals(">>")) {
-                        tokens.add(new Token(">>>", TokenType.Interpunction, new SourcePos(filename, line, column - 3)));
-                        token = new StringBuilder();
+                    } else if (ch == '>' && is(token, '>', '>')) {
+                        add(">>>", TokenType.Interpunction, line, column - 3);
+                        token.setLength(0);
                         state = 0;
                     } else {
-                        tokens.add(new Token(token.toString(), TokenType.Interpunction, new SourcePos(filename, line, column - token.length())));
-                        token = new StringBuilder();
-                        lastc = c;
+                        add(symbols.intern(token), TokenType.Interpunction, line, column - token.length());
+                        token.setLength(0);
+                        pushback = true;
                         state = 0;
                     }
 
                     break;
                 case 3: // double quotes
                     if (ch == '"') {
-                        tokens.add(new Token(token.toString(), TokenType.String, new SourcePos(filename, line, column - token.length() - 2 + 1)));
-                        token = new StringBuilder();
+                        add(token.toString(), TokenType.String, line, column - token.length() - 2 + 1);
+                        token.setLength(0);
                         state = 0;
                     } else if (ch == '\\') {
                         state = 31;
@@ -379,7 +525,7 @@ public class Lexer {
                     break;
                 case 31: // double quotes escapes
                     if (ch == 'n') {
-                        token.append("\n");
+                        token.append('\n');
                         state = 3;
                     } else if (ch == 'r') {
                         token.append('\r');
@@ -396,20 +542,19 @@ public class Lexer {
 
                     break;
                 case 311:
-                    tempbuf = Character.toString(ch);
+                    hex = ch;
                     state = 312;
 
                     break;
                 case 312:
-                    tempbuf += Character.toString(ch);
-                    token.append((char) Integer.parseInt(tempbuf, 16));
+                    token.append((char) Integer.parseInt(new String(new char[] {hex, ch}), 16));
                     state = 3;
 
                     break;
                 case 4: // single quote
                     if (ch == '\'') {
-                        tokens.add(new Token(token.toString(), TokenType.String, new SourcePos(filename, line, column - token.length() - 2 + 1)));
-                        token = new StringBuilder();
+                        add(token.toString(), TokenType.String, line, column - token.length() - 2 + 1);
+                        token.setLength(0);
                         state = 0;
                     } else if (ch == '\\') {
                         state = 41;
@@ -420,7 +565,7 @@ public class Lexer {
                     break;
                 case 41: // single quotes escapes
                     if (ch == 'n') {
-                        token.append("\n");
+                        token.append('\n');
                         state = 4;
                     } else if (ch == 'r') {
                         token.append('\r');
@@ -437,13 +582,12 @@ public class Lexer {
 
                     break;
                 case 411:
-                    tempbuf = Character.toString(ch);
+                    hex = ch;
                     state = 412;
 
                     break;
                 case 412:
-                    tempbuf += Character.toString(ch);
-                    token.append((char) Integer.parseInt(tempbuf, 16));
+                    token.append((char) Integer.parseInt(new String(new char[] {hex, ch}), 16));
                     state = 4;
 
                     break;
@@ -452,20 +596,21 @@ public class Lexer {
                         token.append("//");
                         state = 6;
                     } else if (ch == '=') {
-                        tokens.add(new Token("/=", TokenType.Operator, new SourcePos(filename, line, column - 1)));
+                        add("/=", TokenType.Operator, line, column - 1);
                         state = 0;
                     } else {
-                        tokens.add(new Token("/", TokenType.Operator, new SourcePos(filename, line, column - 1)));
-                        lastc = c;
+                        add("/", TokenType.Operator, line, column - 1);
+                        pushback = true;
                         state = 0;
                     }
 
                     break;
                 case 6: // pattern
                     token.append(ch);
-                    if (token.toString().endsWith("//")) {
-                        tokens.add(new Token(token.toString(), TokenType.Pattern, new SourcePos(filename, line, column - token.length() - 4 + 1)));
-                        token = new StringBuilder();
+                    int n = token.length();
+                    if (n >= 2 && token.charAt(n - 1) == '/' && token.charAt(n - 2) == '/') {
+                        add(token.toString(), TokenType.Pattern, line, column - n - 4 + 1);
+                        token.setLength(0);
                         state = 0;
                     }
 
@@ -474,12 +619,12 @@ public class Lexer {
                     if (ch == '.') {
                         token.append(ch);
                         state = 8;
-                    } else if ("0123456789_".indexOf(ch) != -1) {
+                    } else if (is(ch, DECIMAL)) {
                         token.append(ch);
-                    } else if ("()[]<>=! \t\n\r+-*/%,;#".indexOf(ch) != -1) {
-                        tokens.add(new Token(token.toString().replace("_", ""), TokenType.Int, new SourcePos(filename, line, column - token.length())));
-                        token = new StringBuilder();
-                        lastc = c;
+                    } else if (is(ch, NUMBER_END)) {
+                        add(number(token), TokenType.Int, line, column - token.length());
+                        token.setLength(0);
+                        pushback = true;
                         state = 0;
                     } else {
                         token.append(ch);
@@ -494,46 +639,46 @@ public class Lexer {
                         state = 72; // binary int literal
                     } else {
                         token.append('0');
-                        lastc = c;
+                        pushback = true;
                         state = 7;
                     }
 
                     break;
                 case 71: // hex int literal
-                    if ("0123456789abcdefABCDEF_".indexOf(ch) != -1) {
+                    if (is(ch, HEX)) {
                         token.append(ch);
-                    } else if ("()[]<>=! \t\n\r+-*/%,;#".indexOf(ch) != -1) {
-                        tokens.add(new Token(Integer.toString(Integer.parseInt(token.toString().replace("_", ""), 16)), TokenType.Int, new SourcePos(filename, line, column - token.length())));
-                        token = new StringBuilder();
-                        lastc = c;
+                    } else if (is(ch, NUMBER_END)) {
+                        add(Integer.toString(Integer.parseInt(number(token), 16)), TokenType.Int, line, column - token.length());
+                        token.setLength(0);
+                        pushback = true;
                         state = 0;
                     } else {
                         token.append(ch);
                         state = 1;
-                    } 
+                    }
 
                     break;
                 case 72: // binary int literal
-                    if ("01_".indexOf(ch) != -1) {
+                    if (is(ch, BINARY)) {
                         token.append(ch);
-                    } else if ("()[]<>=! \t\n\r+-*/%,;#".indexOf(ch) != -1) {
-                        tokens.add(new Token(Integer.toString(Integer.parseInt(token.toString().replace("_", ""), 2)), TokenType.Int, new SourcePos(filename, line, column - token.length())));
-                        token = new StringBuilder();
-                        lastc = c;
+                    } else if (is(ch, NUMBER_END)) {
+                        add(Integer.toString(Integer.parseInt(number(token), 2)), TokenType.Int, line, column - token.length());
+                        token.setLength(0);
+                        pushback = true;
                         state = 0;
                     } else {
                         token.append(ch);
                         state = 1;
-                    } 
+                    }
 
                     break;
                 case 8: // decimal
-                    if ("0123456789_".indexOf(ch) != -1) {
+                    if (is(ch, DECIMAL)) {
                         token.append(ch);
-                    } else if ("()[]<>=! \t\n\r+-*/%,;#".indexOf(ch) != -1) {
-                        tokens.add(new Token(token.toString().replace("_", ""), TokenType.Decimal, new SourcePos(filename, line, column - token.length())));
-                        token = new StringBuilder();
-                        lastc = c;
+                    } else if (is(ch, NUMBER_END)) {
+                        add(number(token), TokenType.Decimal, line, column - token.length());
+                        token.setLength(0);
+                        pushback = true;
                         state = 0;
                     } else {
                         token.append(ch);
@@ -551,94 +696,98 @@ public class Lexer {
                 case 10: // potentially composite assign
                     if (ch == '=') {
                         token.append(ch);
-                        tokens.add(new Token(token.toString(), TokenType.Operator, new SourcePos(filename, line, column)));
-                        token = new StringBuilder();
+                        add(symbols.intern(token), TokenType.Operator, line, column);
+                        token.setLength(0);
                         state = 0;
-                    } else if (token.toString().equals("-") && ch == '>') {
-                        tokens.add(new Token("->", TokenType.Operator, new SourcePos(filename, line, column)));
-                        token = new StringBuilder();
+                    } else if (ch == '>' && is(token, '-')) {
+                        add("->", TokenType.Operator, line, column);
+                        token.setLength(0);
                         state = 0;
-                    } else if (token.toString().equals("*") && ch == '>') {
-                        tokens.add(new Token("*>", TokenType.Interpunction, new SourcePos(filename, line, column)));
-                        token = new StringBuilder();
+                    } else if (ch == '>' && is(token, '*')) {
+                        add("*>", TokenType.Interpunction, line, column);
+                        token.setLength(0);
                         state = 0;
                     } else {
-                        tokens.add(new Token(token.toString(), TokenType.Operator, new SourcePos(filename, line, column)));
-                        token = new StringBuilder();
-                        lastc = c;
+                        add(symbols.intern(token), TokenType.Operator, line, column);
+                        token.setLength(0);
+                        pushback = true;
                         state = 0;
                     }
                     break;
             }
 
-            if (lastc != -1) {
-                c = lastc;
-                lastc = -1;
+            if (pushback) {
+                pushback = false;
                 updatepos = false;
             } else {
-                c = reader.read();
+                index++;
                 updatepos = true;
             }
         }
+    }
 
+    public void finish() {
         if (token.length() > 0) {
-            String t = token.toString();
+            int n = token.length();
             switch (state) {
                 case 1:
-                    if (t.equals("TRUE")) {
-                        tokens.add(new Token("TRUE", TokenType.Boolean, new SourcePos(filename, line, column - "TRUE".length())));
-                    } else if (t.equals("FALSE")) {
-                        tokens.add(new Token("FALSE", TokenType.Boolean, new SourcePos(filename, line, column - "FALSE".length())));
-                    } else if (Keywords.isKeyword(t)) {
-                        tokens.add(new Token(t, TokenType.Keyword, new SourcePos(filename, line, column - t.length())));
-                    } else if (Operators.isOperator(t)) {
-                        tokens.add(new Token(t, TokenType.Operator, new SourcePos(filename, line, column - t.length())));
-                    } else tokens.add(new Token(t, TokenType.Identifier, new SourcePos(filename, line, column - t.length())));
+                    addWord(token, line, column, true);
                     break;
                 case 21:
-                    tokens.add(new Token(t, TokenType.Interpunction, new SourcePos(filename, line, column - t.length())));
+                    add(symbols.intern(token), TokenType.Interpunction, line, column - n);
                     break;
                 case 3:
                 case 4:
                 case 31:
                 case 41:
-                    tokens.add(new Token(t, TokenType.String, new SourcePos(filename, line, column - t.length() - 2)));
+                    add(token.toString(), TokenType.String, line, column - n - 2);
                     break;
                 case 7:
-                    tokens.add(new Token(t.replace("_", ""), TokenType.Int, new SourcePos(filename, line, column - t.length())));
+                    add(number(token), TokenType.Int, line, column - n);
                     break;
                 case 71:
-                    tokens.add(new Token(Integer.toString(Integer.parseInt(token.toString().replace("_", ""), 16)), TokenType.Int, new SourcePos(filename, line, column - t.length())));
+                    add(Integer.toString(Integer.parseInt(number(token), 16)), TokenType.Int, line, column - n);
                     break;
                 case 72:
-                    tokens.add(new Token(Integer.toString(Integer.parseInt(token.toString().replace("_", ""), 2)), TokenType.Int, new SourcePos(filename, line, column - t.length())));
+                    add(Integer.toString(Integer.parseInt(number(token), 2)), TokenType.Int, line, column - n);
                     break;
                 case 8:
-                    tokens.add(new Token(t.replace("_", ""), TokenType.Decimal, new SourcePos(filename, line, column - t.length())));
+                    add(number(token), TokenType.Decimal, line, column - n);
                     break;
                 case 9: // ignore comment
                     break;
                 default:
+                    String t = symbols.intern(token);
                     if (Keywords.isKeyword(t)) {
-                        tokens.add(new Token(t, TokenType.Keyword, new SourcePos(filename, line, column - t.length())));
+                        add(t, TokenType.Keyword, line, column - n);
                     } else if (Operators.isOperator(t)) {
-                        tokens.add(new Token(t, TokenType.Operator, new SourcePos(filename, line, column - t.length())));
-                    } else tokens.add(new Token(t, TokenType.Identifier, new SourcePos(filename, line, column - t.length())));
+                        add(t, TokenType.Operator, line, column - n);
+                    } else add(t, TokenType.Identifier, line, column - n);
                     break;
             }
         } else if (state == 70) {
-            tokens.add(new Token("0", TokenType.Int, new SourcePos(filename, line, column - 1)));
+            add("0", TokenType.Int, line, column - 1);
+        }
+        token.setLength(0);
+        state = 0;
+    }
+
+    private static String number(StringBuilder token) {
+        int n = token.length();
+        for (int i = 0; i < n; i++) {
+            if (token.charAt(i) == '_') return token.toString().replace("_", "");
         }
+        return token.toString();
     }
 
     @Override
     public String toString() {
         StringBuilder builder = new StringBuilder();
         builder.append("[");
-        for (Token token : tokens) {
-            builder.append(token).append(", ");
+        for (int i = 0; i < size; i++) {
+            builder.append(token(i)).append(", ");
         }
-        if (tokens.size() > 0) builder.setLength(builder.length() - 2);
+        if (size > 0) builder.setLength(builder.length() - 2);
         builder.append("]");
         return builder + " @ " + nextToken;
     }
@@ -0,0 +1,130 @@
+/*  Copyright (c) 2021 Damian Brunold, Gesundheitsdirektion Kanton Zürich
+
+    Permission is hereby granted, free of charge, to any person obtaining a copy
+    of this software and associated documentation files (the "Software"), to deal
+    in the Software without restriction, including without limitation the rights
+    to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+    copies of the Software, and to permit persons to whom the Software is
+    furnished to do so, subject to the following conditions:
+
+    The above copyright notice and this permission notice shall be included in all
+    copies or substantial portions of the Software.
+
+    THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+    IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+    FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+    AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+    LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+    OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+    SOFTWARE.
+*/
+package ch.checkerlang;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.ToLongBiFunction;
+
+public class LruCache<K, V> {
+    private final int maxSize;
+    private final long maxWeight;
+    private final ToLongBiFunction<K, V> weigher;
+    private final Map<K, V> map = new LinkedHashMap<>(64, 0.75f, true);
+    private long weight = 0;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public LruCache(int maxSize) {
+        this(maxSize, Long.MAX_VALUE, (key, value) -> 0);
+    }
+
+    public LruCache(int maxSize, long maxWeight, ToLongBiFunction<K, V> weigher) {
+        this.maxSize = maxSize;
+        this.maxWeight = maxWeight;
+        this.weigher = weigher;
+    }
+
+    public V get(K key, Function<K, V> compute) {
+        V value;
+        synchronized (map) {
+            value = map.get(key);
+        }
+        if (value != null) {
+            hits.incrementAndGet();
+            return value;
+        }
+        misses.incrementAndGet();
+        value = compute.apply(key);
+        long entryWeight = weigher.applyAsLong(key, value);
+        if (entryWeight > maxWeight) return value;
+        synchronized (map) {
+            V previous = map.put(key, value);
+            if (previous != null) weight -= weigher.applyAsLong(key, previous);
+            weight += entryWeight;
+            evict();
+        }
+        return value;
+    }
+
+    public void remove(K key) {
+        synchronized (map) {
+            V previous = map.remove(key);
+            if (previous != null) weight -= weigher.applyAsLong(key, previous);
+        }
+    }
+
+    private void evict() {
+        Iterator<Map.Entry<K, V>> iterator = map.entrySet().iterator();
+        while ((map.size() > maxSize || weight > maxWeight) && iterator.hasNext()) {
+            Map.Entry<K, V> eldest = iterator.next();
+            weight -= weigher.applyAsLong(eldest.getKey(), eldest.getValue());
+            iterator.remove();
+            evictions.incrementAndGet();
+        }
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public int getSize() {
+        synchronized (map) {
+            return map.size();
+        }
+    }
+
+    public long getMaxWeight() {
+        return maxWeight;
+    }
+
+    public long getWeight() {
+        synchronized (map) {
+            return weight;
+        }
+    }
+
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public void clear() {
+        synchronized (map) {
+            map.clear();
+            weight = 0;
+        }
+        hits.set(0);
+        misses.set(0);
+        evictions.set(0);
+    }
+}
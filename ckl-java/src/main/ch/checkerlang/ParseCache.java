@@ -0,0 +1,94 @@
+/*  Copyright (c) 2021 Damian Brunold, Gesundheitsdirektion Kanton Zürich
+
+    Permission is hereby granted, free of charge, to any person obtaining a copy
+    of this software and associated documentation files (the "Software"), to deal
+    in the Software without restriction, including without limitation the rights
+    to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+    copies of the Software, and to permit persons to whom the Software is
+    furnished to do so, subject to the following conditions:
+
+    The above copyright notice and this permission notice shall be included in all
+    copies or substantial portions of the Software.
+
+    THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+    IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+    FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+    AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+    LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+    OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+    SOFTWARE.
+*/
+package ch.checkerlang;
+
+import ch.checkerlang.nodes.Node;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Objects;
+
+public class ParseCache {
+    public static final int MAX_SIZE = 1024;
+    public static final long MAX_WEIGHT = 4 * 1024 * 1024;
+
+    private static final LruCache<Key, Node> cache = new LruCache<>(MAX_SIZE, MAX_WEIGHT, (key, node) -> key.source.length());
+
+    private static class Key {
+        final String source;
+        final String filename;
+        final int hash;
+
+        Key(String source, String filename) {
+            this.source = source;
+            this.filename = filename;
+            this.hash = 31 * source.hashCode() + Objects.hashCode(filename);
+        }
+
+        public int hashCode() {
+            return hash;
+        }
+
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Key)) return false;
+            Key other = (Key) obj;
+            return hash == other.hash && source.equals(other.source) && Objects.equals(filename, other.filename);
+        }
+    }
+
+    public static Node get(String source, String filename) throws IOException {
+        try {
+            return cache.get(new Key(source, filename), key -> {
+                try {
+                    return Parser.parse(key.source, key.filename);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    public static long getHits() {
+        return cache.getHits();
+    }
+
+    public static long getMisses() {
+        return cache.getMisses();
+    }
+
+    public static long getEvictions() {
+        return cache.getEvictions();
+    }
+
+    public static int getSize() {
+        return cache.getSize();
+    }
+
+    public static long getWeight() {
+        return cache.getWeight();
+    }
+
+    public static void clear() {
+        cache.clear();
+    }
+}
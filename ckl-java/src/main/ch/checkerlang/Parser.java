@@ -478,15 +478,15 @@ public class Parser {
                 } else if (lexer.matchIf("negative", TokenType.Identifier)) {
                     return new NodeNot(this.funcCall("is_negative", expr, pos), pos);
                 } else if (lexer.matchIf("numerical", TokenType.Identifier)) {
-                    return new NodeNot(this.collectPredicateMinMaxExact("is_numerical", this.funcCall("string", expr, pos), lexer, pos), pos);
+                    return new NodeNot(this.collectPredicateMinMaxExact("is_numerical", expr, ValidatorNumeric.shared(), lexer, pos), pos);
                 } else if (lexer.matchIf("alphanumerical", TokenType.Identifier)) {
-                    return new NodeNot(this.collectPredicateMinMaxExact("is_alphanumerical", this.funcCall("string", expr, pos), lexer, pos), pos);
+                    return new NodeNot(this.collectPredicateMinMaxExact("is_alphanumerical", expr, ValidatorAlphanumeric.shared(), lexer, pos), pos);
                 } else if (lexer.matchIf("date", "with", "hour", TokenType.Identifier, TokenType.Identifier, TokenType.Identifier)) {
-                    return new NodeNot(this.funcCall("is_valid_date", "str", this.funcCall("string", expr, pos), "fmt", new NodeLiteral(new ValueString("yyyyMMddHH"), pos), pos), pos);
+                    return new NodeNot(this.validateDate("is_valid_date", expr, "yyyyMMddHH", pos), pos);
                 } else if (lexer.matchIf("date", TokenType.Identifier)) {
-                    return new NodeNot(this.funcCall("is_valid_date", "str", this.funcCall("string", expr, pos), "fmt", new NodeLiteral(new ValueString("yyyyMMdd"), pos), pos), pos);
+                    return new NodeNot(this.validateDate("is_valid_date", expr, "yyyyMMdd", pos), pos);
                 } else if (lexer.matchIf("time", TokenType.Identifier)) {
-                    return new NodeNot(this.funcCall("is_valid_time", "str", this.funcCall("string", expr, pos), "fmt", new NodeLiteral(new ValueString("HHmm"), pos), pos), pos);
+                    return new NodeNot(this.validateDate("is_valid_time", expr, "HHmm", pos), pos);
                 } else if (lexer.matchIf("string", TokenType.Identifier)) {
                     return new NodeNot(this.funcCall("equals", this.funcCall("type", expr, pos), new NodeLiteral(new ValueString("string"), pos), pos), pos);
                 } else if (lexer.matchIf("int", TokenType.Identifier)) {
@@ -531,15 +531,15 @@ public class Parser {
             } else if (lexer.matchIf("negative", TokenType.Identifier)) {
                 return this.funcCall("is_negative", expr, pos);
             } else if (lexer.matchIf("numerical", TokenType.Identifier)) {
-                return this.collectPredicateMinMaxExact("is_numerical", this.funcCall("string", expr, pos), lexer, pos);
+                return this.collectPredicateMinMaxExact("is_numerical", expr, ValidatorNumeric.shared(), lexer, pos);
             } else if (lexer.matchIf("alphanumerical", TokenType.Identifier)) {
-                return this.collectPredicateMinMaxExact("is_alphanumerical", this.funcCall("string", expr, pos), lexer, pos);
+                return this.collectPredicateMinMaxExact("is_alphanumerical", expr, ValidatorAlphanumeric.shared(), lexer, pos);
             } else if (lexer.matchIf("date", "with", "hour", TokenType.Identifier, TokenType.Identifier, TokenType.Identifier)) {
-                return this.funcCall("is_valid_date", "str", this.funcCall("string", expr, pos), "fmt", new NodeLiteral(new ValueString("yyyyMMddHH"), pos), pos);
+                return this.validateDate("is_valid_date", expr, "yyyyMMddHH", pos);
             } else if (lexer.matchIf("date", TokenType.Identifier)) {
-                return this.funcCall("is_valid_date", "str", this.funcCall("string", expr, pos), "fmt", new NodeLiteral(new ValueString("yyyyMMdd"), pos), pos);
+                return this.validateDate("is_valid_date", expr, "yyyyMMdd", pos);
             } else if (lexer.matchIf("time", TokenType.Identifier)) {
-                return this.funcCall("is_valid_time", "str", this.funcCall("string", expr, pos), "fmt", new NodeLiteral(new ValueString("HHmm"), pos), pos);
+                return this.validateDate("is_valid_time", expr, "HHmm", pos);
             } else if (lexer.matchIf("string", TokenType.Identifier)) {
                 return this.funcCall("equals", this.funcCall("type", expr, pos), new NodeLiteral(new ValueString("string"), pos), pos);
             } else if (lexer.matchIf("int", TokenType.Identifier)) {
@@ -598,7 +598,11 @@ public class Parser {
         return expr;
     }
 
-    private Node collectPredicateMinMaxExact(String fn, Node expr, Lexer lexer, SourcePos pos) {
+    private Node validateDate(String fn, Node expr, String fmt, SourcePos pos) {
+        return new NodeValidate(fn, expr, ValidatorDate.of(fmt), new ValueString(fmt).toString(), pos);
+    }
+
+    private Node collectPredicateMinMaxExact(String fn, Node expr, Validator validator, Lexer lexer, SourcePos pos) {
         Node min_len = new NodeLiteral(new ValueInt(1), pos);
         Node max_len = new NodeLiteral(new ValueInt(9999), pos);
         if (lexer.matchIf("min_len", TokenType.Identifier)) {
@@ -613,7 +617,7 @@ public class Parser {
             min_len = max_len = parsePrimaryExpr(lexer, false);
         }
 
-        return funcCall(fn, "str", expr, "min", min_len, "max", max_len, pos);
+        return new NodeValidate(fn, expr, validator, min_len, max_len, pos);
     }
 
     private Node parsePrimaryExpr(Lexer lexer, boolean unaryMinus) {
@@ -1169,12 +1173,4 @@ public class Parser {
         return result;
     }
 
-    private Node funcCall(String fn, String a, Node exprA, String b, Node exprB, String c, Node exprC, SourcePos pos) {
-        NodeFuncall result = new NodeFuncall(new NodeIdentifier(fn, pos), pos);
-        result.addArg(a, exprA);
-        result.addArg(b, exprB);
-        result.addArg(c, exprC);
-        return result;
-    }
-
 }
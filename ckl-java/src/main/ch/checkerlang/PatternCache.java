@@ -0,0 +1,84 @@
+/*  Copyright (c) 2021 Damian Brunold, Gesundheitsdirektion Kanton Zürich
+
+    Permission is hereby granted, free of charge, to any person obtaining a copy
+    of this software and associated documentation files (the "Software"), to deal
+    in the Software without restriction, including without limitation the rights
+    to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+    copies of the Software, and to permit persons to whom the Software is
+    furnished to do so, subject to the following conditions:
+
+    The above copyright notice and this permission notice shall be included in all
+    copies or substantial portions of the Software.
+
+    THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+    IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+    FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+    AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+    LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+    OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+    SOFTWARE.
+*/
+package ch.checkerlang;
+
+import java.util.regex.Pattern;
+
+public class PatternCache {
+    public static final int MAX_SIZE = 512;
+
+    private static final String METACHARS = "\\^$.|?*+()[]{}";
+
+    private static final LruCache<String, Entry> cache = new LruCache<>(MAX_SIZE);
+
+    private static class Entry {
+        final Pattern pattern;
+        final String literal;
+
+        Entry(String regex) {
+            this.pattern = Pattern.compile(regex);
+            this.literal = toLiteral(regex);
+        }
+    }
+
+    public static Pattern get(String regex) {
+        return cache.get(regex, Entry::new).pattern;
+    }
+
+    public static String getLiteral(String regex) {
+        return cache.get(regex, Entry::new).literal;
+    }
+
+    public static long getHits() {
+        return cache.getHits();
+    }
+
+    public static long getMisses() {
+        return cache.getMisses();
+    }
+
+    public static int getSize() {
+        return cache.getSize();
+    }
+
+    public static void clear() {
+        cache.clear();
+    }
+
+    private static String toLiteral(String regex) {
+        StringBuilder result = new StringBuilder(regex.length());
+        for (int i = 0; i < regex.length(); i++) {
+            char ch = regex.charAt(i);
+            if (ch == '\\') {
+                if (i + 1 == regex.length()) return null;
+                char next = regex.charAt(++i);
+                if (Character.isLetterOrDigit(next)) return null;
+                result.append(next);
+            } else if (METACHARS.indexOf(ch) != -1) {
+                return null;
+            } else {
+                result.append(ch);
+            }
+        }
+        if (result.length() == 0) return null;
+        return result.toString();
+    }
+}
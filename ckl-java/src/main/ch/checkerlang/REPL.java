@@ -20,6 +20,8 @@
 */
 package ch.checkerlang;
 
+import ch.checkerlang.nodes.Node;
+import ch.checkerlang.values.RenderBudget;
 import ch.checkerlang.values.Value;
 import ch.checkerlang.values.ValueList;
 import ch.checkerlang.values.ValueNull;
@@ -30,6 +32,8 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 
 public class REPL {
+    private static final long REPL_MAX_OUTPUT = 1000000;
+
     public static void main(String[] args) throws Exception {
         BufferedReader stdin = new BufferedReader(new InputStreamReader(System.in));
         PrintWriter stdout = new PrintWriter(new OutputStreamWriter(System.out));
@@ -57,42 +61,33 @@ public class REPL {
         }
         stdout.print("> ");
         stdout.flush();
+        IncrementalParser parser = new IncrementalParser("{stdin}");
         String line = stdin.readLine();
-        while (line != null && !line.equals("exit")) {
-            try {
-                Parser.parse(line, "{stdin}");
-            } catch (SyntaxError e) {
-                if (e.getMessage().startsWith("Unexpected end of input")) {
-                    stdout.write("+ ");
-                    stdout.flush();
-                    line += "\n" + stdin.readLine();
-                    continue;
-                }
-            } catch (Exception e) {
-                stdout.write("+ ");
-                stdout.flush();
-                line += "\n" + stdin.readLine();
-                continue;
-            }
-
-            if (!line.equals(";")) {
+        while (line != null && !(parser.isEmpty() && line.equals("exit"))) {
+            if (!(parser.isEmpty() && line.equals(";"))) {
                 try {
-                    Value value = interpreter.interpret(line, "{stdin}");
+                    Node node = parser.feed(line);
+                    if (node == null) {
+                        stdout.write("+ ");
+                        stdout.flush();
+                        line = stdin.readLine();
+                        continue;
+                    }
+                    parser.reset();
+                    Value value = interpreter.interpret(node);
                     if (value.isReturn()) value = value.asReturn().value;
                     if (value != ValueNull.NULL) {
-                        String str = value.toString();
-                        if (str != null) {
-                            stdout.println(str);
-                        } else {
-                            stdout.println("ERR: cannot convert value to string");
-                        }
+                        value.appendTo(stdout, new RenderBudget(RenderBudget.UNLIMITED_DEPTH, REPL_MAX_OUTPUT));
+                        stdout.println();
                     }
                 } catch (ControlErrorException e) {
                     stdout.println("ERR: " + e.getErrorValue().asString().getValue() + " (Line " + e.getPos() + ")");
                     stdout.println(e.getStacktrace().toString());
                 } catch (SyntaxError e) {
+                    parser.reset();
                     stdout.println(e.getMessage() + (e.getPos() != null ? " (Line " + e.getPos() + ")" : ""));
                 } catch (Exception e) {
+                    parser.reset();
                     stdout.println(e.getMessage());
                     e.printStackTrace();
                 }
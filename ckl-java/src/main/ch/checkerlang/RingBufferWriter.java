@@ -0,0 +1,142 @@
+/*  Copyright (c) 2021 Damian Brunold, Gesundheitsdirektion Kanton Zürich
+
+    Permission is hereby granted, free of charge, to any person obtaining a copy
+    of this software and associated documentation files (the "Software"), to deal
+    in the Software without restriction, including without limitation the rights
+    to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+    copies of the Software, and to permit persons to whom the Software is
+    furnished to do so, subject to the following conditions:
+
+    The above copyright notice and this permission notice shall be included in all
+    copies or substantial portions of the Software.
+
+    THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+    IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+    FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+    AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+    LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+    OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+    SOFTWARE.
+*/
+package ch.checkerlang;
+
+import java.io.IOException;
+import java.io.Writer;
+
+public class RingBufferWriter extends Writer {
+    public enum Overflow {
+        DROP_OLDEST,
+        DROP_NEWEST,
+        FAIL
+    }
+
+    private final char[] buffer;
+    private final Overflow overflow;
+    private int start = 0;
+    private int length = 0;
+    private long dropped = 0;
+
+    public RingBufferWriter(int capacity) {
+        this(capacity, Overflow.DROP_OLDEST);
+    }
+
+    public RingBufferWriter(int capacity, Overflow overflow) {
+        if (capacity <= 0) throw new IllegalArgumentException("Capacity must be positive");
+        this.buffer = new char[capacity];
+        this.overflow = overflow;
+    }
+
+    public int getCapacity() {
+        return buffer.length;
+    }
+
+    public synchronized int getLength() {
+        return length;
+    }
+
+    public synchronized long getDropped() {
+        return dropped;
+    }
+
+    public synchronized void clear() {
+        start = 0;
+        length = 0;
+        dropped = 0;
+    }
+
+    public synchronized void write(char[] cbuf, int off, int len) throws IOException {
+        int free = buffer.length - length;
+        if (len > free) {
+            switch (overflow) {
+                case FAIL:
+                    throw new IOException("Output capacity of " + buffer.length + " characters exceeded");
+                case DROP_NEWEST:
+                    dropped += len - free;
+                    len = free;
+                    break;
+                case DROP_OLDEST:
+                    char last;
+                    if (len >= buffer.length) {
+                        last = len > buffer.length ? cbuf[off + len - buffer.length - 1] : buffer[(start + length - 1) % buffer.length];
+                        dropped += length + len - buffer.length;
+                        off += len - buffer.length;
+                        len = buffer.length;
+                        start = 0;
+                        length = 0;
+                    } else {
+                        int drop = len - free;
+                        last = buffer[(start + drop - 1) % buffer.length];
+                        dropped += drop;
+                        start = (start + drop) % buffer.length;
+                        length -= drop;
+                    }
+                    append(cbuf, off, len);
+                    if (last != '\n') dropPartialLine();
+                    return;
+            }
+        }
+        append(cbuf, off, len);
+    }
+
+    private void append(char[] cbuf, int off, int len) {
+        int end = (start + length) % buffer.length;
+        int first = Math.min(len, buffer.length - end);
+        System.arraycopy(cbuf, off, buffer, end, first);
+        System.arraycopy(cbuf, off + first, buffer, 0, len - first);
+        length += len;
+    }
+
+    // Dropping oldest output keeps whole lines unless a single line fills the buffer.
+    private void dropPartialLine() {
+        for (int i = 0; i < length; i++) {
+            if (buffer[(start + i) % buffer.length] == '\n') {
+                dropped += i + 1;
+                start = (start + i + 1) % buffer.length;
+                length -= i + 1;
+                return;
+            }
+        }
+    }
+
+    public void write(String str, int off, int len) throws IOException {
+        char[] chars = new char[len];
+        str.getChars(off, off + len, chars, 0);
+        write(chars, 0, len);
+    }
+
+    public void flush() {
+        // nothing to flush
+    }
+
+    public void close() {
+        // contents stay available after close
+    }
+
+    public synchronized String toString() {
+        int first = Math.min(length, buffer.length - start);
+        StringBuilder result = new StringBuilder(length);
+        result.append(buffer, start, first);
+        result.append(buffer, 0, length - first);
+        return result.toString();
+    }
+}
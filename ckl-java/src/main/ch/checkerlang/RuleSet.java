@@ -0,0 +1,151 @@
+/*  Copyright (c) 2021 Damian Brunold, Gesundheitsdirektion Kanton Zürich
+
+    Permission is hereby granted, free of charge, to any person obtaining a copy
+    of this software and associated documentation files (the "Software"), to deal
+    in the Software without restriction, including without limitation the rights
+    to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+    copies of the Software, and to permit persons to whom the Software is
+    furnished to do so, subject to the following conditions:
+
+    The above copyright notice and this permission notice shall be included in all
+    copies or substantial portions of the Software.
+
+    THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+    IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+    FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+    AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+    LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+    OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+    SOFTWARE.
+*/
+package ch.checkerlang;
+
+import ch.checkerlang.nodes.Node;
+import ch.checkerlang.values.Value;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Evaluates parsed rules against records, in parallel chunks for large
+// inputs. Rules may define local names but must not assign to variables
+// of the interpreter environment, since all workers share it and it is
+// not synchronized.
+public class RuleSet {
+    public static final int CHUNK_SIZE = 4096;
+
+    private final Interpreter interpreter;
+    private final List<String> fields;
+    private final Map<String, Integer> fieldIndex = new HashMap<>();
+    private final List<String> names = new ArrayList<>();
+    private final List<Node> rules = new ArrayList<>();
+    private final Set<Integer> usedFields = new TreeSet<>();
+    private int[] bound = new int[0];
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
+    public RuleSet(Interpreter interpreter, List<String> fields) {
+        this.interpreter = interpreter;
+        this.fields = new ArrayList<>(fields);
+        for (int i = 0; i < fields.size(); i++) fieldIndex.put(fields.get(i), i);
+    }
+
+    public List<String> getFields() {
+        return fields;
+    }
+
+    public List<String> getRules() {
+        return names;
+    }
+
+    public void setParallelism(int parallelism) {
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    // Parses the rule once and checks that all its free variables are
+    // either fields of the record schema or defined in the interpreter.
+    // Fields shadow definitions of the same name. Anything else is
+    // reported as an undefined symbol, it may be a missing require.
+    public RuleSet add(String name, String source) throws IOException {
+        Node rule = Parser.parse(source, name);
+        Set<String> undefined = FreeVars.get(rule, interpreter.getEnvironment());
+        for (String var : FreeVars.get(rule)) {
+            Integer index = fieldIndex.get(var);
+            if (index != null) usedFields.add(index);
+            else if (undefined.contains(var)) throw new ControlErrorException("Rule " + name + " uses undefined symbol " + var, rule.getSourcePos());
+        }
+        names.add(name);
+        rules.add(rule);
+        bound = new int[usedFields.size()];
+        int i = 0;
+        for (int index : usedFields) bound[i++] = index;
+        return this;
+    }
+
+    public RuleSetResult evaluate(List<Object[]> records) {
+        RuleSetResult result = new RuleSetResult(new ArrayList<>(names), records.size());
+        int chunks = (records.size() + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        if (parallelism == 1 || chunks <= 1) {
+            evaluate(records, 0, records.size(), result);
+            return result;
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, chunks));
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int chunk = 0; chunk < chunks; chunk++) {
+                int from = chunk * CHUNK_SIZE;
+                int to = Math.min(from + CHUNK_SIZE, records.size());
+                futures.add(executor.submit(() -> evaluate(records, from, to, result)));
+            }
+            for (Future<?> future : futures) future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ControlErrorException("Rule evaluation interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+            throw new RuntimeException(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        return result;
+    }
+
+    // The record frame holds the fields and is rebound for every record,
+    // the rule frame catches definitions made by a rule and is cleared
+    // before the next rule runs.
+    private void evaluate(List<Object[]> records, int from, int to, RuleSetResult result) {
+        Environment recordFrame = interpreter.getEnvironment().newEnv();
+        Environment ruleFrame = recordFrame.newEnv();
+        int[] bound = this.bound;
+        int count = rules.size();
+        for (int record = from; record < to; record++) {
+            Object[] values = records.get(record);
+            for (int index : bound) {
+                recordFrame.put(fields.get(index), Environment.toValue(index < values.length ? values[index] : null));
+            }
+            for (int rule = 0; rule < count; rule++) {
+                ruleFrame.clear();
+                try {
+                    result.set(rule, record, evaluate(rules.get(rule), ruleFrame));
+                } catch (ControlErrorException e) {
+                    result.setError(rule, record, e.getErrorValue());
+                }
+            }
+        }
+    }
+
+    private Value evaluate(Node rule, Environment environment) {
+        Value value = rule.evaluate(environment);
+        if (value.isReturn()) return value.asReturn().value;
+        if (value.isBreak()) throw new ControlErrorException("Cannot use break without surrounding loop", value.asBreak().pos);
+        if (value.isContinue()) throw new ControlErrorException("Cannot use continue without surrounding loop", value.asContinue().pos);
+        return value;
+    }
+}
@@ -0,0 +1,117 @@
+/*  Copyright (c) 2021 Damian Brunold, Gesundheitsdirektion Kanton Zürich
+
+    Permission is hereby granted, free of charge, to any person obtaining a copy
+    of this software and associated documentation files (the "Software"), to deal
+    in the Software without restriction, including without limitation the rights
+    to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+    copies of the Software, and to permit persons to whom the Software is
+    furnished to do so, subject to the following conditions:
+
+    The above copyright notice and this permission notice shall be included in all
+    copies or substantial portions of the Software.
+
+    THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+    IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+    FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+    AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+    LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+    OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+    SOFTWARE.
+*/
+package ch.checkerlang;
+
+import ch.checkerlang.values.Value;
+import ch.checkerlang.values.ValueBoolean;
+import ch.checkerlang.values.ValueNull;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Results are stored column by column, one byte per rule and record.
+// Only values other than TRUE, FALSE and NULL, and error messages, are
+// kept as objects.
+public class RuleSetResult {
+    public static final byte FALSE = 0;
+    public static final byte TRUE = 1;
+    public static final byte NULL = 2;
+    public static final byte VALUE = 3;
+    public static final byte ERROR = 4;
+
+    private final List<String> rules;
+    private final int records;
+    private final byte[][] states;
+    private final Map<Long, Value> values = new ConcurrentHashMap<>();
+
+    RuleSetResult(List<String> rules, int records) {
+        this.rules = Collections.unmodifiableList(rules);
+        this.records = records;
+        this.states = new byte[rules.size()][records];
+    }
+
+    void set(int rule, int record, Value value) {
+        if (value == ValueBoolean.TRUE) {
+            states[rule][record] = TRUE;
+        } else if (value == ValueBoolean.FALSE) {
+            states[rule][record] = FALSE;
+        } else if (value == ValueNull.NULL) {
+            states[rule][record] = NULL;
+        } else {
+            states[rule][record] = VALUE;
+            values.put(key(rule, record), value);
+        }
+    }
+
+    void setError(int rule, int record, Value error) {
+        states[rule][record] = ERROR;
+        values.put(key(rule, record), error);
+    }
+
+    private long key(int rule, int record) {
+        return (long) rule * records + record;
+    }
+
+    public List<String> getRules() {
+        return rules;
+    }
+
+    public int getRecordCount() {
+        return records;
+    }
+
+    public byte getState(int rule, int record) {
+        return states[rule][record];
+    }
+
+    public byte[] getColumn(int rule) {
+        return states[rule];
+    }
+
+    public boolean isTrue(int rule, int record) {
+        return states[rule][record] == TRUE;
+    }
+
+    public Value getValue(int rule, int record) {
+        switch (states[rule][record]) {
+            case TRUE: return ValueBoolean.TRUE;
+            case FALSE: return ValueBoolean.FALSE;
+            case NULL: return ValueNull.NULL;
+            case VALUE: return values.get(key(rule, record));
+            default: return ValueNull.NULL;
+        }
+    }
+
+    public Value getError(int rule, int record) {
+        if (states[rule][record] != ERROR) return null;
+        return values.get(key(rule, record));
+    }
+
+    public int count(int rule, byte state) {
+        int result = 0;
+        for (byte value : states[rule]) {
+            if (value == state) result++;
+        }
+        return result;
+    }
+}
@@ -20,6 +20,7 @@
 */
 package ch.checkerlang;
 
+import ch.checkerlang.values.SpillStore;
 import ch.checkerlang.values.Value;
 import ch.checkerlang.values.ValueList;
 import ch.checkerlang.values.ValueNull;
@@ -29,9 +30,12 @@ import java.io.*;
 import java.nio.charset.StandardCharsets;
 
 public class Run {
+    private static final int SPILL_THRESHOLD = 100000;
+    private static final int SPILL_MEMORY_PAGES = 256;
+
     public static void main(String[] args) throws Exception {
         if (args.length == 0) {
-            System.err.println("Syntax: ckl-run-java [--secure] [--legacy] [-I<moduledir>] scriptname [scriptargs...]");
+            System.err.println("Syntax: ckl-run-java [--secure] [--legacy] [--intern-strings] [-I<moduledir>] [-S<spilldir>] scriptname [scriptargs...]");
             System.exit(1);
         }
 
@@ -46,8 +50,11 @@ public class Run {
             if (in_options) {
                 if (arg.equals("--secure")) secure = true;
                 else if (arg.equals("--legacy")) legacy = true;
+                else if (arg.equals("--intern-strings")) StringPool.enable(StringPool.DEFAULT_CAPACITY);
                 else if (arg.startsWith("-I")) {
                     modulepath.addItem(new ValueString(arg.substring(2)));
+                } else if (arg.startsWith("-S")) {
+                    SpillStore.configure(SPILL_THRESHOLD, new File(arg.substring(2)), SPILL_MEMORY_PAGES);
                 } else if (arg.startsWith("--")) {
                     System.err.println("Unknown option " + arg);
                     System.exit(1);
@@ -62,7 +69,7 @@ public class Run {
         modulepath.makeReadonly();
 
         if (scriptname == null) {
-            System.err.println("Syntax: ckl-run-java [--secure] [--legacy] [-I<moduledir>] scriptname [scriptargs...]");
+            System.err.println("Syntax: ckl-run-java [--secure] [--legacy] [--intern-strings] [-I<moduledir>] [-S<spilldir>] scriptname [scriptargs...]");
             System.exit(1);
         }
 
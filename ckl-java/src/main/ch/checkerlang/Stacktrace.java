@@ -20,6 +20,8 @@
 */
 package ch.checkerlang;
 
+import ch.checkerlang.values.ValueFunc;
+
 import java.util.ArrayList;
 import java.util.List;
 
@@ -30,6 +32,10 @@ public class Stacktrace {
         elements.add(new StacktraceElement(funcall, sourcePos));
     }
 
+    public void addElement(ValueFunc fn, Args args, SourcePos sourcePos) {
+        elements.add(new StacktraceElement(fn, args, sourcePos));
+    }
+
     public String toString() {
         StringBuilder result = new StringBuilder();
         for (StacktraceElement element : elements) {
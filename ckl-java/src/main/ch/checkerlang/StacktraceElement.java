@@ -20,8 +20,12 @@
 */
 package ch.checkerlang;
 
+import ch.checkerlang.values.ValueFunc;
+
 public class StacktraceElement {
-    public String funcall;
+    private String funcall;
+    private ValueFunc fn;
+    private Args args;
     public SourcePos sourcePos;
 
     public StacktraceElement(String funcall, SourcePos sourcePos) {
@@ -29,7 +33,22 @@ public class StacktraceElement {
         this.sourcePos = sourcePos;
     }
 
+    public StacktraceElement(ValueFunc fn, Args args, SourcePos sourcePos) {
+        this.fn = fn;
+        this.args = args.snapshot();
+        this.sourcePos = sourcePos;
+    }
+
+    public String getFuncall() {
+        if (funcall == null) {
+            funcall = Function.getFuncallString(fn, args);
+            fn = null;
+            args = null;
+        }
+        return funcall;
+    }
+
     public String toString() {
-        return funcall + " (" + sourcePos + ")";
+        return getFuncall() + " (" + sourcePos + ")";
     }
 }
@@ -0,0 +1,198 @@
+/*  Copyright (c) 2021 Damian Brunold, Gesundheitsdirektion Kanton Zürich
+
+    Permission is hereby granted, free of charge, to any person obtaining a copy
+    of this software and associated documentation files (the "Software"), to deal
+    in the Software without restriction, including without limitation the rights
+    to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+    copies of the Software, and to permit persons to whom the Software is
+    furnished to do so, subject to the following conditions:
+
+    The above copyright notice and this permission notice shall be included in all
+    copies or substantial portions of the Software.
+
+    THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+    IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+    FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+    AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+    LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+    OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+    SOFTWARE.
+*/
+package ch.checkerlang;
+
+import ch.checkerlang.values.AdaptiveList;
+import ch.checkerlang.values.Value;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+public class StatKernel {
+    public static final int PARALLEL_THRESHOLD = 65536;
+    private static final int CHUNK_SIZE = 16384;
+
+    public static double[] toDoubles(List<Value> values) {
+        if (values instanceof AdaptiveList) {
+            AdaptiveList storage = (AdaptiveList) values;
+            if (storage.isDoubles()) return storage.toDoubleArray();
+            if (storage.isLongs()) {
+                double[] result = new double[storage.size()];
+                for (int i = 0; i < result.length; i++) result[i] = storage.getLong(i);
+                return result;
+            }
+        }
+        double[] result = new double[values.size()];
+        for (int i = 0; i < result.length; i++) {
+            Value value = values.get(i);
+            if (value.isInt()) result[i] = value.asInt().getValue();
+            else if (value.isDecimal()) result[i] = value.asDecimal().getValue();
+            else return null;
+        }
+        return result;
+    }
+
+    public static double[] toDoubles(List<Value> values, SourcePos pos) {
+        double[] result = toDoubles(values);
+        if (result == null) throw new ControlErrorException("Numerical values required", pos);
+        return result;
+    }
+
+    public static class Moments {
+        public long count = 0;
+        public double mean = 0.0;
+        public double m2 = 0.0;
+        public double min = Double.POSITIVE_INFINITY;
+        public double max = Double.NEGATIVE_INFINITY;
+
+        public void add(double value) {
+            count++;
+            double delta = value - mean;
+            mean += delta / count;
+            m2 += delta * (value - mean);
+            if (value < min) min = value;
+            if (value > max) max = value;
+        }
+
+        public Moments merge(Moments other) {
+            if (other.count == 0) return this;
+            if (count == 0) return other;
+            Moments result = new Moments();
+            result.count = count + other.count;
+            double delta = other.mean - mean;
+            result.mean = mean + delta * other.count / result.count;
+            result.m2 = m2 + other.m2 + delta * delta * count * other.count / result.count;
+            result.min = Math.min(min, other.min);
+            result.max = Math.max(max, other.max);
+            return result;
+        }
+
+        public double variance() {
+            return count < 2 ? Double.NaN : m2 / (count - 1);
+        }
+
+        public double pvariance() {
+            return count < 1 ? Double.NaN : m2 / count;
+        }
+    }
+
+    public static Moments moments(double[] values) {
+        if (values.length < PARALLEL_THRESHOLD) return moments(values, 0, values.length);
+        int chunks = (values.length + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        return IntStream.range(0, chunks).parallel()
+                .mapToObj(i -> moments(values, i * CHUNK_SIZE, Math.min(values.length, (i + 1) * CHUNK_SIZE)))
+                .reduce(new Moments(), Moments::merge);
+    }
+
+    private static Moments moments(double[] values, int from, int to) {
+        Moments result = new Moments();
+        for (int i = from; i < to; i++) result.add(values[i]);
+        return result;
+    }
+
+    public static double sum(double[] values) {
+        if (values.length < PARALLEL_THRESHOLD) return sum(values, 0, values.length);
+        int chunks = (values.length + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        return IntStream.range(0, chunks).parallel()
+                .mapToDouble(i -> sum(values, i * CHUNK_SIZE, Math.min(values.length, (i + 1) * CHUNK_SIZE)))
+                .sum();
+    }
+
+    private static double sum(double[] values, int from, int to) {
+        double result = 0.0;
+        for (int i = from; i < to; i++) result += values[i];
+        return result;
+    }
+
+    public static int[] identity(int n) {
+        int[] result = new int[n];
+        for (int i = 0; i < n; i++) result[i] = i;
+        return result;
+    }
+
+    // Rearranges order so that values[order[k]] is the k-th smallest value,
+    // with smaller values before and larger values after position k.
+    public static int select(double[] values, int[] order, int k) {
+        int lo = 0;
+        int hi = order.length - 1;
+        while (hi > lo) {
+            int mid = (lo + hi) >>> 1;
+            if (values[order[mid]] < values[order[lo]]) swap(order, mid, lo);
+            if (values[order[hi]] < values[order[lo]]) swap(order, hi, lo);
+            if (values[order[hi]] < values[order[mid]]) swap(order, hi, mid);
+            double pivot = values[order[mid]];
+            int i = lo;
+            int j = hi;
+            while (i <= j) {
+                while (values[order[i]] < pivot) i++;
+                while (values[order[j]] > pivot) j--;
+                if (i <= j) {
+                    swap(order, i, j);
+                    i++;
+                    j--;
+                }
+            }
+            if (k <= j) hi = j;
+            else if (k >= i) lo = i;
+            else break;
+        }
+        return order[k];
+    }
+
+    // After select(values, order, k), returns the index of the largest value below position k.
+    public static int maxBelow(double[] values, int[] order, int k) {
+        int result = order[0];
+        for (int i = 1; i < k; i++) {
+            if (values[order[i]] > values[result]) result = order[i];
+        }
+        return result;
+    }
+
+    public static double percentile(double[] values, double p) {
+        if (values.length == 0) return Double.NaN;
+        double rank = p / 100.0 * (values.length - 1);
+        int lower = (int) Math.floor(rank);
+        int upper = (int) Math.ceil(rank);
+        int[] order = identity(values.length);
+        double high = values[select(values, order, upper)];
+        if (lower == upper) return high;
+        double low = values[maxBelow(values, order, upper)];
+        return low + (high - low) * (rank - lower);
+    }
+
+    public static long[] histogram(double[] values, double min, double max, int bins) {
+        long[] result = new long[bins];
+        double width = (max - min) / bins;
+        for (double value : values) {
+            if (value < min || value > max) continue;
+            int bin = width == 0.0 ? 0 : (int) ((value - min) / width);
+            if (bin >= bins) bin = bins - 1;
+            result[bin]++;
+        }
+        return result;
+    }
+
+    private static void swap(int[] order, int i, int j) {
+        int temp = order[i];
+        order[i] = order[j];
+        order[j] = temp;
+    }
+}
@@ -0,0 +1,118 @@
+/*  Copyright (c) 2021 Damian Brunold, Gesundheitsdirektion Kanton Zürich
+
+    Permission is hereby granted, free of charge, to any person obtaining a copy
+    of this software and associated documentation files (the "Software"), to deal
+    in the Software without restriction, including without limitation the rights
+    to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+    copies of the Software, and to permit persons to whom the Software is
+    furnished to do so, subject to the following conditions:
+
+    The above copyright notice and this permission notice shall be included in all
+    copies or substantial portions of the Software.
+
+    THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+    IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+    FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+    AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+    LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+    OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+    SOFTWARE.
+*/
+package ch.checkerlang;
+
+import ch.checkerlang.values.ValueString;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class StringPool {
+    public static final int DEFAULT_CAPACITY = 65536;
+    public static final int MAX_LENGTH = 64;
+
+    private static volatile StringPool shared = null;
+
+    private final int capacity;
+    private final int[] seen;
+    private final ConcurrentHashMap<String, ValueString> pool = new ConcurrentHashMap<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+
+    public StringPool(int capacity) {
+        this.capacity = capacity;
+        this.seen = new int[Integer.highestOneBit(Math.max(1024, capacity)) * 2];
+    }
+
+    // Input builtins only intern strings while a shared pool is enabled.
+    public static void enable(int capacity) {
+        shared = new StringPool(capacity);
+    }
+
+    public static void disable() {
+        shared = null;
+    }
+
+    public static StringPool getShared() {
+        return shared;
+    }
+
+    public static ValueString of(String value) {
+        StringPool pool = shared;
+        return pool == null ? new ValueString(value) : pool.intern(value);
+    }
+
+    public ValueString intern(String value) {
+        if (value.length() > MAX_LENGTH) return new ValueString(value);
+        ValueString result = pool.get(value);
+        if (result != null) {
+            hits.incrementAndGet();
+            return result;
+        }
+        misses.incrementAndGet();
+        result = new ValueString(value);
+        // Only strings seen twice are admitted, so unique values like ids do not fill the pool.
+        int hash = value.hashCode();
+        int slot = (hash ^ (hash >>> 16)) & (seen.length - 1);
+        if (seen[slot] != hash) {
+            seen[slot] = hash;
+            return result;
+        }
+        if (size.get() >= capacity) {
+            rejected.incrementAndGet();
+            return result;
+        }
+        ValueString previous = pool.putIfAbsent(value, result);
+        if (previous != null) return previous;
+        size.incrementAndGet();
+        return result;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int getSize() {
+        return size.get();
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getRejected() {
+        return rejected.get();
+    }
+
+    public void clear() {
+        pool.clear();
+        size.set(0);
+        Arrays.fill(seen, 0);
+    }
+}
@@ -0,0 +1,73 @@
+/*  Copyright (c) 2021 Damian Brunold, Gesundheitsdirektion Kanton Zürich
+
+    Permission is hereby granted, free of charge, to any person obtaining a copy
+    of this software and associated documentation files (the "Software"), to deal
+    in the Software without restriction, including without limitation the rights
+    to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+    copies of the Software, and to permit persons to whom the Software is
+    furnished to do so, subject to the following conditions:
+
+    The above copyright notice and this permission notice shall be included in all
+    copies or substantial portions of the Software.
+
+    THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+    IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+    FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+    AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+    LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+    OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+    SOFTWARE.
+*/
+package ch.checkerlang;
+
+// Per-lexer symbol table: equal identifiers of one source share a single
+// String instance, and the table is dropped together with the lexer.
+final class Symbols {
+    private String[] table = new String[256];
+    private int count = 0;
+
+    String intern(CharSequence s) {
+        int length = s.length();
+        int hash = 0;
+        for (int i = 0; i < length; i++) hash = 31 * hash + s.charAt(i);
+        int mask = table.length - 1;
+        int slot = spread(hash) & mask;
+        String symbol;
+        while ((symbol = table[slot]) != null) {
+            if (symbol.hashCode() == hash && contentEquals(symbol, s, length)) return symbol;
+            slot = (slot + 1) & mask;
+        }
+        symbol = s.toString();
+        table[slot] = symbol;
+        if (++count * 2 > table.length) rehash();
+        return symbol;
+    }
+
+    int size() {
+        return count;
+    }
+
+    private static boolean contentEquals(String symbol, CharSequence s, int length) {
+        if (symbol.length() != length) return false;
+        for (int i = 0; i < length; i++) {
+            if (symbol.charAt(i) != s.charAt(i)) return false;
+        }
+        return true;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private void rehash() {
+        String[] old = table;
+        table = new String[old.length * 2];
+        int mask = table.length - 1;
+        for (String symbol : old) {
+            if (symbol == null) continue;
+            int slot = spread(symbol.hashCode()) & mask;
+            while (table[slot] != null) slot = (slot + 1) & mask;
+            table[slot] = symbol;
+        }
+    }
+}
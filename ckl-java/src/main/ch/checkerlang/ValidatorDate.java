@@ -20,26 +20,97 @@
 */
 package ch.checkerlang;
 
-import java.text.DateFormat;
-import java.text.SimpleDateFormat;
-import java.util.Date;
+import java.time.LocalDateTime;
 
-public class ValidatorDate {
-    private DateFormat fmt;
+public class ValidatorDate extends Validator {
+    private static final int YEAR = 0;
+    private static final int MONTH = 1;
+    private static final int DAY = 2;
+    private static final int HOUR = 3;
+    private static final int MINUTE = 4;
+    private static final int SECOND = 5;
+
+    private static final String LETTERS = "yMdHms";
+    private static final int[] WIDTHS = {4, 2, 2, 2, 2, 2};
+
+    private String fmt;
+
+    // Fixed width formats made up of digit fields and literal characters
+    // are checked directly, all others go through the DateFormatCache.
+    private boolean fixed;
+    private boolean[] literal;
+    private int[] offsets = {-1, -1, -1, -1, -1, -1};
 
     public ValidatorDate(String fmt) {
-        this.fmt = new SimpleDateFormat(fmt);
+        this.fmt = fmt;
+        this.fixed = compile(fmt);
+    }
+
+    public static ValidatorDate of(String fmt) {
+        return get("date:" + fmt, name -> new ValidatorDate(fmt));
+    }
+
+    public String getFormat() {
+        return fmt;
     }
 
     public boolean isValid(String s) {
-        try {
-            Date d = fmt.parse(s);
-            // ensure that we render it identically
+        if (!fixed) {
+            // strings that do not render identically are rejected,
             // this prevents things like 2018023010
-            return fmt.format(d).equals(s);
-        } catch (Exception e) {
-            return false;
+            return DateFormatCache.isValid(s, fmt);
+        }
+        if (s.length() != literal.length) return false;
+        for (int i = 0; i < literal.length; i++) {
+            char ch = s.charAt(i);
+            if (literal[i]) {
+                if (ch != fmt.charAt(i)) return false;
+            } else if (ch < '0' || ch > '9') {
+                return false;
+            }
+        }
+        int year = field(s, YEAR, 1970);
+        if (year == 0) return false;
+        if (year <= DateConverter.GREGORIAN_CUTOVER_YEAR) return DateFormatCache.isValid(s, fmt);
+        int month = field(s, MONTH, 1);
+        if (month < 1 || month > 12) return false;
+        int day = field(s, DAY, 1);
+        if (day < 1 || day > DateConverter.monthDays(year, month - 1)) return false;
+        int hour = field(s, HOUR, 0);
+        int minute = field(s, MINUTE, 0);
+        int second = field(s, SECOND, 0);
+        if (hour > 23 || minute > 59 || second > 59) return false;
+        return offsets[HOUR] == -1 || !DateConverter.isInGap(LocalDateTime.of(year, month, day, hour, minute, second));
+    }
+
+    private int field(String s, int field, int defaultValue) {
+        int offset = offsets[field];
+        if (offset == -1) return defaultValue;
+        int result = 0;
+        for (int i = offset; i < offset + WIDTHS[field]; i++) result = result * 10 + (s.charAt(i) - '0');
+        return result;
+    }
+
+    private boolean compile(String fmt) {
+        literal = new boolean[fmt.length()];
+        int i = 0;
+        while (i < fmt.length()) {
+            char ch = fmt.charAt(i);
+            if (ch == '\'') return false;
+            if (!Character.isLetter(ch)) {
+                literal[i++] = true;
+                continue;
+            }
+            int field = LETTERS.indexOf(ch);
+            if (field == -1 || offsets[field] != -1) return false;
+            for (int j = 0; j < WIDTHS[field]; j++) {
+                if (i + j >= fmt.length() || fmt.charAt(i + j) != ch) return false;
+            }
+            if (i + WIDTHS[field] < fmt.length() && fmt.charAt(i + WIDTHS[field]) == ch) return false;
+            offsets[field] = i;
+            i += WIDTHS[field];
         }
+        return true;
     }
 
 }
@@ -20,7 +20,11 @@
 */
 package ch.checkerlang;
 
-public class ValidatorNumeric {
+public class ValidatorNumeric extends Validator {
+    public static ValidatorNumeric shared() {
+        return get("numerical", name -> new ValidatorNumeric());
+    }
+
     public boolean isValid(String s) {
         for (int i = 0; i < s.length(); i++) {
             char ch = s.charAt(i);
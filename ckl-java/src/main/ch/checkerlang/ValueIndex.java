@@ -0,0 +1,70 @@
+/*  Copyright (c) 2021 Damian Brunold, Gesundheitsdirektion Kanton Zürich
+
+    Permission is hereby granted, free of charge, to any person obtaining a copy
+    of this software and associated documentation files (the "Software"), to deal
+    in the Software without restriction, including without limitation the rights
+    to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+    copies of the Software, and to permit persons to whom the Software is
+    furnished to do so, subject to the following conditions:
+
+    The above copyright notice and this permission notice shall be included in all
+    copies or substantial portions of the Software.
+
+    THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+    IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+    FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+    AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+    LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+    OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+    SOFTWARE.
+*/
+package ch.checkerlang;
+
+import ch.checkerlang.values.Value;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+public class ValueIndex {
+    private final Set<Key> keys;
+
+    public ValueIndex() {
+        keys = new HashSet<>();
+    }
+
+    public ValueIndex(Collection<Value> values) {
+        keys = new HashSet<>(Math.max(16, values.size() * 4 / 3 + 1));
+        for (Value value : values) keys.add(new Key(value));
+    }
+
+    public boolean add(Value value) {
+        return keys.add(new Key(value));
+    }
+
+    public boolean contains(Value value) {
+        return keys.contains(new Key(value));
+    }
+
+    public int size() {
+        return keys.size();
+    }
+
+    private static class Key {
+        private final Value value;
+        private final int hash;
+
+        Key(Value value) {
+            this.value = value;
+            this.hash = value.hashCode();
+        }
+
+        public int hashCode() {
+            return hash;
+        }
+
+        public boolean equals(Object other) {
+            return other instanceof Key && value.isEquals(((Key) other).value);
+        }
+    }
+}
@@ -89,11 +89,11 @@ public class FuncAdd extends FuncBase {
         }
 
         if (a.isDate() && b.isNumerical()) {
-            return new ValueDate(DateConverter.convertOADateToDate(DateConverter.convertDateToOADate(a.asDate().getValue()) + args.getAsDecimal("b").asDecimal().getValue()));
+            return a.asDate().plusDays(b.asDecimal().getValue());
         }
 
         if ((a.isString() && b.isAtomic()) || (a.isAtomic() && b.isString())) {
-            return new ValueString(a.asString().getValue() + b.asString().getValue());
+            return a.asString().concat(b.asString().getValue());
         }
 
         throw new ControlErrorException("Cannot add " + a + " and " + b, pos);
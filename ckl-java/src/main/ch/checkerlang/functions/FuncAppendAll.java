@@ -0,0 +1,60 @@
+/*  Copyright (c) 2021 Damian Brunold, Gesundheitsdirektion Kanton Zürich
+
+    Permission is hereby granted, free of charge, to any person obtaining a copy
+    of this software and associated documentation files (the "Software"), to deal
+    in the Software without restriction, including without limitation the rights
+    to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+    copies of the Software, and to permit persons to whom the Software is
+    furnished to do so, subject to the following conditions:
+
+    The above copyright notice and this permission notice shall be included in all
+    copies or substantial portions of the Software.
+
+    THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+    IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+    FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+    AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+    LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+    OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+    SOFTWARE.
+*/
+package ch.checkerlang.functions;
+
+import ch.checkerlang.Args;
+import ch.checkerlang.AsList;
+import ch.checkerlang.ControlErrorException;
+import ch.checkerlang.Environment;
+import ch.checkerlang.SourcePos;
+import ch.checkerlang.values.Value;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+public class FuncAppendAll extends FuncBase {
+    public FuncAppendAll() {
+        super("append_all");
+        info = "append_all(lst, items)\r\n" +
+                "\r\n" +
+                "Appends all items to the list or set. The items\r\n" +
+                "can be in a list or a set.\r\n" +
+                "\r\n" +
+                ": def a = [1, 2, 3]; append_all(a, [4, 5, 6]); a ==> [1, 2, 3, 4, 5, 6]\r\n" +
+                ": def a = <<1, 2, 3>>; append_all(a, [2, 3, 4]); a ==> <<1, 2, 3, 4>>\r\n" +
+                ": def a = [1, 2, 3]; append_all(a, <<4, 5, 6>>); a ==> [1, 2, 3, 4, 5, 6]\r\n" +
+                ": def a = [1, 2, 3]; append_all(a, [2, 3, 4]); a ==> [1, 2, 3, 2, 3, 4]\r\n";
+    }
+
+    public List<String> getArgNames() {
+        return Arrays.asList("lst", "items");
+    }
+
+    public Value execute(Args args, Environment environment, SourcePos pos) {
+        Value lst = args.get("lst");
+        Collection<Value> items = AsList.items(args.get("items"));
+        if (lst.isList()) lst.asList().addItems(items);
+        else if (lst.isSet()) lst.asSet().addItems(items);
+        else throw new ControlErrorException("Cannot append to " + lst.type(), pos);
+        return lst;
+    }
+}
@@ -56,10 +56,7 @@ public class FuncContains extends FuncBase {
         if (args.isNull("obj")) return ValueBoolean.FALSE;
         Value obj = args.get("obj");
         if (obj.isList()) {
-            for (Value item : obj.asList().getValue()) {
-                if (item.isEquals(args.get("part"))) return ValueBoolean.TRUE;
-            }
-            return ValueBoolean.FALSE;
+            return ValueBoolean.from(obj.asList().containsItem(args.get("part")));
         } else if (obj.isSet()) {
             return ValueBoolean.from(obj.asSet().getValue().contains(args.get("part")));
         } else if (obj.isMap()) {
@@ -0,0 +1,76 @@
+/*  Copyright (c) 2021 Damian Brunold, Gesundheitsdirektion Kanton Zürich
+
+    Permission is hereby granted, free of charge, to any person obtaining a copy
+    of this software and associated documentation files (the "Software"), to deal
+    in the Software without restriction, including without limitation the rights
+    to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+    copies of the Software, and to permit persons to whom the Software is
+    furnished to do so, subject to the following conditions:
+
+    The above copyright notice and this permission notice shall be included in all
+    copies or substantial portions of the Software.
+
+    THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+    IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+    FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+    AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+    LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+    OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+    SOFTWARE.
+*/
+package ch.checkerlang.functions;
+
+import ch.checkerlang.Args;
+import ch.checkerlang.AsList;
+import ch.checkerlang.Environment;
+import ch.checkerlang.SourcePos;
+import ch.checkerlang.ValueIndex;
+import ch.checkerlang.values.Value;
+import ch.checkerlang.values.ValueSet;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.function.Predicate;
+
+public class FuncDiff extends FuncBase {
+    public FuncDiff() {
+        super("diff");
+        info = "diff(seta, setb)\r\n" +
+                "\r\n" +
+                "Returns the difference between seta and setb, i.e. a set\r\n" +
+                "containing all elements in seta, which are not in setb.\r\n" +
+                "Also works for lists.\r\n" +
+                "\r\n" +
+                ": diff(<<1, 2, 3, 4>>, <<3, 4>>) ==> <<1, 2>>\r\n" +
+                ": diff([1, 2, 3, 4], [3, 4]) ==> <<1, 2>>\r\n" +
+                ": diff(<<1, 2, 3, 4>>, <<>>) ==> <<1, 2, 3, 4>>\r\n" +
+                ": diff(<<1, 2, 3, 4>>, <<1, 2, 3, 4>>) ==> <<>>\r\n";
+    }
+
+    public List<String> getArgNames() {
+        return Arrays.asList("seta", "setb");
+    }
+
+    public Value execute(Args args, Environment environment, SourcePos pos) {
+        return diff(args.get("seta"), args.get("setb"));
+    }
+
+    static ValueSet diff(Value seta, Value setb) {
+        Predicate<Value> inB = membership(setb);
+        ValueSet result = new ValueSet();
+        for (Value a : AsList.items(seta)) {
+            if (!inB.test(a)) result.addItem(a);
+        }
+        return result;
+    }
+
+    static Predicate<Value> membership(Value set) {
+        if (set.isSet()) {
+            TreeSet<Value> items = set.asSet().getValue();
+            return items::contains;
+        }
+        ValueIndex index = new ValueIndex(AsList.items(set));
+        return index::contains;
+    }
+}
@@ -46,7 +46,7 @@ public class FuncEval extends FuncBase {
         if (args.get(("s")).isNode()) return args.getAsNode("s").getValue().evaluate(environment);
         String s = args.getString("s").getValue();
         try {
-            Node node = Parser.parse(args.getString("s").getValue(), pos.filename);
+            Node node = ParseCache.get(s, pos.filename);
             return node.evaluate(environment);
         } catch (IOException e) {
             throw new ControlErrorException("Cannot evaluate " + s, pos);
@@ -23,6 +23,7 @@ package ch.checkerlang.functions;
 import ch.checkerlang.Args;
 import ch.checkerlang.ControlErrorException;
 import ch.checkerlang.Environment;
+import ch.checkerlang.OutputBuffering;
 import ch.checkerlang.SourcePos;
 import ch.checkerlang.values.Value;
 import ch.checkerlang.values.ValueBoolean;
@@ -39,10 +40,17 @@ import java.util.List;
 public class FuncFileOutput extends FuncBase {
     public FuncFileOutput() {
         super("file_output");
-        info = "file_output(filename, encoding = 'UTF-8', append = FALSE)\r\n" +
+        info = "file_output(filename, encoding = 'UTF-8', append = FALSE, buffering = 'line', flush_interval = 0)\r\n" +
                 "\r\n" +
                 "Returns an output object, that writes to the given file. If\r\n" +
-                "the file exists it is overwritten.\r\n";
+                "the file exists it is overwritten.\r\n" +
+                "\r\n" +
+                "The buffering is one of 'line' (flush after each line), 'block'\r\n" +
+                "(flush when the buffer is full) or 'async' (a background thread\r\n" +
+                "writes the file). With 'block' and 'async' the output must be\r\n" +
+                "flushed or closed. If flush_interval is given (in milliseconds),\r\n" +
+                "the output is additionally flushed on the next write after\r\n" +
+                "that interval has elapsed. Idle output is not flushed.\r\n";
     }
 
     public boolean isSecure() {
@@ -50,7 +58,7 @@ public class FuncFileOutput extends FuncBase {
     }
 
     public List<String> getArgNames() {
-        return Arrays.asList("filename", "encoding", "append");
+        return Arrays.asList("filename", "encoding", "append", "buffering", "flush_interval");
     }
 
     public Value execute(Args args, Environment environment, SourcePos pos) {
@@ -61,8 +69,11 @@ public class FuncFileOutput extends FuncBase {
         }
         ValueBoolean append = ValueBoolean.FALSE;
         if (args.hasArg("append")) append = args.get("append").asBoolean();
+        OutputBuffering buffering = OutputBuffering.LINE;
+        if (args.hasArg("buffering")) buffering = OutputBuffering.from(args.getString("buffering").getValue());
+        long flushInterval = args.getInt("flush_interval", 0).getValue();
         try {
-            return new ValueOutput(new OutputStreamWriter(new FileOutputStream(filename, append.getValue()), encoding));
+            return new ValueOutput(new OutputStreamWriter(new FileOutputStream(filename, append.getValue()), encoding), buffering, flushInterval);
         } catch (IOException e) {
             throw new ControlErrorException("Cannot open file " + filename, pos);
         }
@@ -0,0 +1,73 @@
+/*  Copyright (c) 2021 Damian Brunold, Gesundheitsdirektion Kanton Zürich
+
+    Permission is hereby granted, free of charge, to any person obtaining a copy
+    of this software and associated documentation files (the "Software"), to deal
+    in the Software without restriction, including without limitation the rights
+    to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+    copies of the Software, and to permit persons to whom the Software is
+    furnished to do so, subject to the following conditions:
+
+    The above copyright notice and this permission notice shall be included in all
+    copies or substantial portions of the Software.
+
+    THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+    IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+    FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+    AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+    LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+    OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+    SOFTWARE.
+*/
+package ch.checkerlang.functions;
+
+import ch.checkerlang.Args;
+import ch.checkerlang.AsList;
+import ch.checkerlang.Environment;
+import ch.checkerlang.FuncInvoker;
+import ch.checkerlang.SourcePos;
+import ch.checkerlang.values.Value;
+import ch.checkerlang.values.ValueList;
+import ch.checkerlang.values.ValueTable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class FuncFilter extends FuncBase {
+    public FuncFilter() {
+        super("filter");
+        info = "filter(lst, predicate, key = identity)\r\n" +
+                "\r\n" +
+                "Returns a filtered copy of the list by discarding\r\n" +
+                "all elements for which the predicate returns FALSE.\r\n" +
+                "If lst is a table, the predicate is called with each\r\n" +
+                "row as an object and a filtered table is returned.\r\n" +
+                "\r\n" +
+                ": [1, 2, 3, 4, 5, 6] !> filter(fn(x) x % 2 == 0) ==> [2, 4, 6]\r\n" +
+                ": [1, 'one', 2.2, TRUE, sum] !> filter(is_numeric) ==> [1, 2.2]\r\n" +
+                ": [['abc', 1], ['bbc', 2], ['acc', 3]] !> filter(fn(x) x !> starts_with('a'), key = fn(x) x[0]) ==> [['abc', 1], ['acc', 3]]\r\n";
+    }
+
+    public List<String> getArgNames() {
+        return Arrays.asList("lst", "predicate", "key");
+    }
+
+    public Value execute(Args args, Environment environment, SourcePos pos) {
+        FuncInvoker predicate = new FuncInvoker(args.getFunc("predicate"), environment, pos);
+        FuncInvoker key = new FuncInvoker(args.hasArg("key") ? args.getFunc("key") : environment.get("identity", pos).asFunc(), environment, pos);
+        if (args.get("lst").isTable()) {
+            ValueTable table = args.getTable("lst");
+            int[] rows = new int[table.getRowCount()];
+            int count = 0;
+            for (int row = 0; row < rows.length; row++) {
+                if (predicate.call(key.call(table.getRow(row))).asBoolean().getValue()) rows[count++] = row;
+            }
+            return table.gather(rows, count);
+        }
+        List<Value> result = new ArrayList<>();
+        for (Value element : AsList.items(args.get("lst"))) {
+            if (predicate.call(key.call(element)).asBoolean().getValue()) result.add(element);
+        }
+        return new ValueList(result);
+    }
+}
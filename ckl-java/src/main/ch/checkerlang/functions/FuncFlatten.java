@@ -0,0 +1,59 @@
+/*  Copyright (c) 2021 Damian Brunold, Gesundheitsdirektion Kanton Zürich
+
+    Permission is hereby granted, free of charge, to any person obtaining a copy
+    of this software and associated documentation files (the "Software"), to deal
+    in the Software without restriction, including without limitation the rights
+    to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+    copies of the Software, and to permit persons to whom the Software is
+    furnished to do so, subject to the following conditions:
+
+    The above copyright notice and this permission notice shall be included in all
+    copies or substantial portions of the Software.
+
+    THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+    IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+    FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+    AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+    LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+    OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+    SOFTWARE.
+*/
+package ch.checkerlang.functions;
+
+import ch.checkerlang.Args;
+import ch.checkerlang.AsList;
+import ch.checkerlang.Environment;
+import ch.checkerlang.SourcePos;
+import ch.checkerlang.values.Value;
+import ch.checkerlang.values.ValueList;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class FuncFlatten extends FuncBase {
+    public FuncFlatten() {
+        super("flatten");
+        info = "flatten(lst)\r\n" +
+                "\r\n" +
+                "Flattens a list, by replacing child lists with their contents.\r\n" +
+                "This does only work at the top level and does not recurse.\r\n" +
+                "\r\n" +
+                ": flatten([[1, 2], 3, 4, [5, 6]]) ==> [1, 2, 3, 4, 5, 6]\r\n" +
+                ": flatten([1, 2, 3]) ==> [1, 2, 3]\r\n" +
+                ": flatten([1, [2], [3, 4], [5, [6, 7]]]) ==> [1, 2, 3, 4, 5, [6, 7]]\r\n";
+    }
+
+    public List<String> getArgNames() {
+        return Arrays.asList("lst");
+    }
+
+    public Value execute(Args args, Environment environment, SourcePos pos) {
+        List<Value> result = new ArrayList<>();
+        for (Value item : AsList.items(args.get("lst"))) {
+            if (item.isList()) result.addAll(item.asList().getValue());
+            else result.add(item);
+        }
+        return new ValueList(result);
+    }
+}
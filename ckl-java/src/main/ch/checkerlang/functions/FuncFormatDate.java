@@ -21,16 +21,14 @@
 package ch.checkerlang.functions;
 
 import ch.checkerlang.Args;
+import ch.checkerlang.DateFormatCache;
 import ch.checkerlang.Environment;
 import ch.checkerlang.SourcePos;
 import ch.checkerlang.values.Value;
 import ch.checkerlang.values.ValueNull;
 import ch.checkerlang.values.ValueString;
 
-import java.text.DateFormat;
-import java.text.SimpleDateFormat;
 import java.util.Arrays;
-import java.util.Date;
 import java.util.List;
 
 public class FuncFormatDate extends FuncBase {
@@ -51,8 +49,7 @@ public class FuncFormatDate extends FuncBase {
 
     public Value execute(Args args, Environment environment, SourcePos pos) {
         if (args.isNull("date")) return ValueNull.NULL;
-        Date date = args.getDate("date").getValue();
-        DateFormat fmt = new SimpleDateFormat(args.getString("fmt", "yyyy-MM-dd HH:mm:ss").getValue());
-        return new ValueString(fmt.format(date));
+        String fmt = args.getString("fmt", "yyyy-MM-dd HH:mm:ss").getValue();
+        return new ValueString(DateFormatCache.format(args.getDate("date"), fmt));
     }
 }
@@ -0,0 +1,70 @@
+/*  Copyright (c) 2021 Damian Brunold, Gesundheitsdirektion Kanton Zürich
+
+    Permission is hereby granted, free of charge, to any person obtaining a copy
+    of this software and associated documentation files (the "Software"), to deal
+    in the Software without restriction, including without limitation the rights
+    to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+    copies of the Software, and to permit persons to whom the Software is
+    furnished to do so, subject to the following conditions:
+
+    The above copyright notice and this permission notice shall be included in all
+    copies or substantial portions of the Software.
+
+    THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+    IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+    FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+    AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+    LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+    OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+    SOFTWARE.
+*/
+package ch.checkerlang.functions;
+
+import ch.checkerlang.Args;
+import ch.checkerlang.AsList;
+import ch.checkerlang.Environment;
+import ch.checkerlang.FuncInvoker;
+import ch.checkerlang.PatternCache;
+import ch.checkerlang.SourcePos;
+import ch.checkerlang.values.Value;
+import ch.checkerlang.values.ValueList;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Pattern;
+
+public class FuncGrep extends FuncBase {
+    public FuncGrep() {
+        super("grep");
+        info = "grep(lst, pat, key = identity)\r\n" +
+                "\r\n" +
+                "Returns the sublist of list lst, that contains only entries,\r\n" +
+                "that match the regular expression pattern pat.\r\n" +
+                "\r\n" +
+                "If pat does not contain ^ and $, then the prefix ^.* and the postfix .*$\r\n" +
+                "are added to the pattern, so that the pattern matches partially.\r\n" +
+                "\r\n" +
+                ": grep(['one', 'two', 'three'], //e//) ==> ['one', 'three']\r\n" +
+                ": grep(['one', 'two', 'three'], //^one$//) ==> ['one']\r\n" +
+                ": grep(['1:2', '12:2', '123:3'], //2//, key = fn(x) split(x, ':')[1]) ==> ['1:2', '12:2']\r\n";
+    }
+
+    public List<String> getArgNames() {
+        return Arrays.asList("lst", "pat", "key");
+    }
+
+    public Value execute(Args args, Environment environment, SourcePos pos) {
+        String pat = args.getAsPattern("pat").getValue();
+        if (!pat.contains("^") && !pat.contains("$")) pat = "^.*" + pat + ".*$";
+        Pattern pattern = PatternCache.get(pat);
+        FuncInvoker key = new FuncInvoker(args.hasArg("key") ? args.getFunc("key") : environment.get("identity", pos).asFunc(), environment, pos);
+        List<Value> result = new ArrayList<>();
+        for (Value element : AsList.items(args.get("lst"))) {
+            Value value = key.call(element);
+            if (value.isNull()) continue;
+            if (pattern.matcher(value.asString().getValue()).matches()) result.add(element);
+        }
+        return new ValueList(result);
+    }
+}
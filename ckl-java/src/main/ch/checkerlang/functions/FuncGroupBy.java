@@ -0,0 +1,68 @@
+/*  Copyright (c) 2021 Damian Brunold, Gesundheitsdirektion Kanton Zürich
+
+    Permission is hereby granted, free of charge, to any person obtaining a copy
+    of this software and associated documentation files (the "Software"), to deal
+    in the Software without restriction, including without limitation the rights
+    to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+    copies of the Software, and to permit persons to whom the Software is
+    furnished to do so, subject to the following conditions:
+
+    The above copyright notice and this permission notice shall be included in all
+    copies or substantial portions of the Software.
+
+    THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+    IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+    FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+    AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+    LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+    OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+    SOFTWARE.
+*/
+package ch.checkerlang.functions;
+
+import ch.checkerlang.Args;
+import ch.checkerlang.ControlErrorException;
+import ch.checkerlang.Environment;
+import ch.checkerlang.SourcePos;
+import ch.checkerlang.values.Value;
+import ch.checkerlang.values.ValueTable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+public class FuncGroupBy extends FuncBase {
+    public FuncGroupBy() {
+        super("group_by");
+        info = "group_by(tbl, columns, aggregates = <<<>>>)\r\n" +
+                "\r\n" +
+                "Groups the rows of the table tbl by the given column or\r\n" +
+                "list of columns and returns a table with one row per group,\r\n" +
+                "in order of first appearance. The aggregates map the names\r\n" +
+                "of result columns to [function, column] lists, where the\r\n" +
+                "function is one of count, sum, mean, min and max. The\r\n" +
+                "column can be omitted for count.\r\n" +
+                "\r\n" +
+                ": table([<<<'k' => 'a', 'v' => 1>>>, <<<'k' => 'b', 'v' => 2>>>, <<<'k' => 'a', 'v' => 3>>>]) !> group_by('k', <<<'n' => ['count'], 's' => ['sum', 'v']>>>) !> table_column('s') ==> [4, 2]\r\n";
+    }
+
+    public List<String> getArgNames() {
+        return Arrays.asList("tbl", "columns", "aggregates");
+    }
+
+    public Value execute(Args args, Environment environment, SourcePos pos) {
+        ValueTable table = args.getTable("tbl");
+        List<ValueTable.Aggregate> aggregates = new ArrayList<>();
+        if (args.hasArg("aggregates")) {
+            for (Map.Entry<Value, Value> entry : args.getMap("aggregates").getValue().entrySet()) {
+                String name = entry.getKey().asString().getValue();
+                List<Value> spec = entry.getValue().asList().getValue();
+                if (spec.isEmpty() || spec.size() > 2) throw new ControlErrorException("Aggregate " + name + " must be [function, column]", pos);
+                int column = spec.size() == 1 ? -1 : table.indexesOf(FuncSortBy.names(spec.get(1)))[0];
+                aggregates.add(new ValueTable.Aggregate(name, spec.get(0).asString().getValue(), column));
+            }
+        }
+        return table.groupBy(table.indexesOf(FuncSortBy.names(args.get("columns"))), aggregates);
+    }
+}
@@ -0,0 +1,74 @@
+/*  Copyright (c) 2021 Damian Brunold, Gesundheitsdirektion Kanton Zürich
+
+    Permission is hereby granted, free of charge, to any person obtaining a copy
+    of this software and associated documentation files (the "Software"), to deal
+    in the Software without restriction, including without limitation the rights
+    to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+    copies of the Software, and to permit persons to whom the Software is
+    furnished to do so, subject to the following conditions:
+
+    The above copyright notice and this permission notice shall be included in all
+    copies or substantial portions of the Software.
+
+    THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+    IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+    FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+    AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+    LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+    OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+    SOFTWARE.
+*/
+package ch.checkerlang.functions;
+
+import ch.checkerlang.Args;
+import ch.checkerlang.AsList;
+import ch.checkerlang.Environment;
+import ch.checkerlang.FuncInvoker;
+import ch.checkerlang.SourcePos;
+import ch.checkerlang.values.Value;
+import ch.checkerlang.values.ValueList;
+
+import java.util.Arrays;
+import java.util.List;
+
+public class FuncGrouped extends FuncBase {
+    public FuncGrouped() {
+        super("grouped");
+        info = "grouped(lst, cmp = compare, key = identity)\r\n" +
+                "\r\n" +
+                "Creates a list of groups, where all equal adjacent elements\r\n" +
+                "of a list are put together in one group.\r\n" +
+                "\r\n" +
+                "Typically, you would use the sorted function first to gather\r\n" +
+                "equal elements next to each other.\r\n" +
+                "\r\n" +
+                ": [1, 1, 2, 2, 2, 3, 4, 5, 2] !> grouped() ==> [[1, 1], [2, 2, 2], [3], [4], [5], [2]]\r\n" +
+                ": [1, 1, 2, 2, 2] !> grouped() ==> [[1, 1], [2, 2, 2]]\r\n" +
+                ": [1, 1] !> grouped() ==> [[1, 1]]\r\n" +
+                ": [1] !> grouped() ==> [[1]]\r\n" +
+                ": [] !> grouped() ==> []\r\n" +
+                ": [[1, 'a'], [1, 'b'], [2, 'c']] !> grouped(key = fn(x) x[0]) ==> [[[1, 'a'], [1, 'b']], [[2, 'c']]]\r\n";
+    }
+
+    public List<String> getArgNames() {
+        return Arrays.asList("lst", "cmp", "key");
+    }
+
+    public Value execute(Args args, Environment environment, SourcePos pos) {
+        FuncInvoker cmp = new FuncInvoker(args.hasArg("cmp") ? args.getFunc("cmp") : environment.get("compare", pos).asFunc(), environment, pos);
+        FuncInvoker key = new FuncInvoker(args.hasArg("key") ? args.getFunc("key") : environment.get("identity", pos).asFunc(), environment, pos);
+        ValueList result = new ValueList();
+        ValueList group = null;
+        Value currentKey = null;
+        for (Value element : AsList.items(args.get("lst"))) {
+            Value nextKey = key.call(element);
+            if (group == null || cmp.compare(currentKey, nextKey) != 0) {
+                group = new ValueList();
+                result.addItem(group);
+                currentKey = nextKey;
+            }
+            group.addItem(element);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,71 @@
+/*  Copyright (c) 2021 Damian Brunold, Gesundheitsdirektion Kanton Zürich
+
+    Permission is hereby granted, free of charge, to any person obtaining a copy
+    of this software and associated documentation files (the "Software"), to deal
+    in the Software without restriction, including without limitation the rights
+    to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+    copies of the Software, and to permit persons to whom the Software is
+    furnished to do so, subject to the following conditions:
+
+    The above copyright notice and this permission notice shall be included in all
+    copies or substantial portions of the Software.
+
+    THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+    IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+    FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+    AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+    LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+    OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+    SOFTWARE.
+*/
+package ch.checkerlang.functions;
+
+import ch.checkerlang.Args;
+import ch.checkerlang.ControlErrorException;
+import ch.checkerlang.Environment;
+import ch.checkerlang.SourcePos;
+import ch.checkerlang.StatKernel;
+import ch.checkerlang.values.Value;
+import ch.checkerlang.values.ValueDecimal;
+import ch.checkerlang.values.ValueInt;
+import ch.checkerlang.values.ValueList;
+
+import java.util.Arrays;
+import java.util.List;
+
+public class FuncHistogram extends FuncBase {
+    public FuncHistogram() {
+        super("histogram");
+        info = "histogram(lst, bins = 10)\r\n" +
+                "\r\n" +
+                "Divides the range between the minimum and maximum of lst into\r\n" +
+                "bins intervals of equal width and returns a list of\r\n" +
+                "[lower, upper, count] entries, one for each interval.\r\n" +
+                "\r\n" +
+                ": histogram([1, 2, 2, 3, 4], bins = 3) ==> [[1.0, 2.0, 1], [2.0, 3.0, 2], [3.0, 4.0, 2]]\r\n" +
+                ": histogram([], bins = 2) ==> []\r\n";
+    }
+
+    public List<String> getArgNames() {
+        return Arrays.asList("lst", "bins");
+    }
+
+    public Value execute(Args args, Environment environment, SourcePos pos) {
+        double[] values = StatKernel.toDoubles(args.getAsList("lst").getValue(), pos);
+        int bins = (int) args.getInt("bins", 10).getValue();
+        if (bins < 1) throw new ControlErrorException("Number of bins must be positive", pos);
+        ValueList result = new ValueList();
+        if (values.length == 0) return result;
+        StatKernel.Moments moments = StatKernel.moments(values);
+        long[] counts = StatKernel.histogram(values, moments.min, moments.max, bins);
+        double width = (moments.max - moments.min) / bins;
+        for (int i = 0; i < bins; i++) {
+            ValueList bin = new ValueList();
+            bin.addItem(new ValueDecimal(moments.min + i * width));
+            bin.addItem(new ValueDecimal(i == bins - 1 ? moments.max : moments.min + (i + 1) * width));
+            bin.addItem(new ValueInt(counts[i]));
+            result.addItem(bin);
+        }
+        return result;
+    }
+}
@@ -42,6 +42,6 @@ public class FuncInfo extends FuncBase {
     }
 
     public Value execute(Args args, Environment environment, SourcePos pos) {
-        return new ValueString(args.get("obj").info);
+        return new ValueString(args.get("obj").getInfo());
     }
 }
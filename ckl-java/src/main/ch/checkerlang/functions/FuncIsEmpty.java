@@ -79,7 +79,7 @@ public class FuncIsEmpty extends FuncBase {
         }
 
         if (obj.isObject()) {
-            return ValueBoolean.from(obj.asObject().value.size() == 0);
+            return ValueBoolean.from(obj.asObject().getValue().size() == 0);
         }
 
         return ValueBoolean.FALSE;
@@ -76,7 +76,7 @@ public class FuncIsNotEmpty extends FuncBase {
         }
 
         if (obj.isObject()) {
-            return ValueBoolean.from(obj.asObject().value.size() > 0);
+            return ValueBoolean.from(obj.asObject().getValue().size() > 0);
         }
 
         return ValueBoolean.TRUE;
@@ -0,0 +1,63 @@
+/*  Copyright (c) 2021 Damian Brunold, Gesundheitsdirektion Kanton Zürich
+
+    Permission is hereby granted, free of charge, to any person obtaining a copy
+    of this software and associated documentation files (the "Software"), to deal
+    in the Software without restriction, including without limitation the rights
+    to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+    copies of the Software, and to permit persons to whom the Software is
+    furnished to do so, subject to the following conditions:
+
+    The above copyright notice and this permission notice shall be included in all
+    copies or substantial portions of the Software.
+
+    THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+    IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+    FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+    AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+    LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+    OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+    SOFTWARE.
+*/
+package ch.checkerlang.functions;
+
+import ch.checkerlang.Args;
+import ch.checkerlang.DateFormatCache;
+import ch.checkerlang.Environment;
+import ch.checkerlang.SourcePos;
+import ch.checkerlang.values.Value;
+import ch.checkerlang.values.ValueBoolean;
+
+import java.util.Arrays;
+import java.util.List;
+
+public class FuncIsValidDate extends FuncBase {
+    public FuncIsValidDate() {
+        super("is_valid_date");
+        info = "is_valid_date(str, fmt='yyyyMMdd')\r\n" +
+                "\r\n" +
+                "Returns TRUE if the string represents a valid date. The default format\r\n" +
+                "is yyyyMMdd. It is possible to specify different formats using the fmt\r\n" +
+                "optional parameter.\r\n" +
+                "\r\n" +
+                ": is_valid_date('20170304') ==> TRUE\r\n" +
+                ": is_valid_date('2017030412') ==> FALSE\r\n" +
+                ": is_valid_date('20170399') ==> FALSE\r\n";
+    }
+
+    public List<String> getArgNames() {
+        return Arrays.asList("str", "fmt");
+    }
+
+    public Value execute(Args args, Environment environment, SourcePos pos) {
+        Value str = args.get("str");
+        if (!str.isString()) return ValueBoolean.FALSE;
+        String s = str.asString().getValue();
+        if (args.hasArg("fmt") && args.get("fmt").isList()) {
+            for (Value fmt : args.get("fmt").asList().getValue()) {
+                if (DateFormatCache.isValid(s, fmt.asString().getValue())) return ValueBoolean.TRUE;
+            }
+            return ValueBoolean.FALSE;
+        }
+        return ValueBoolean.from(DateFormatCache.isValid(s, args.getString("fmt", "yyyyMMdd").getValue()));
+    }
+}
@@ -0,0 +1,71 @@
+/*  Copyright (c) 2021 Damian Brunold, Gesundheitsdirektion Kanton Zürich
+
+    Permission is hereby granted, free of charge, to any person obtaining a copy
+    of this software and associated documentation files (the "Software"), to deal
+    in the Software without restriction, including without limitation the rights
+    to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+    copies of the Software, and to permit persons to whom the Software is
+    furnished to do so, subject to the following conditions:
+
+    The above copyright notice and this permission notice shall be included in all
+    copies or substantial portions of the Software.
+
+    THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+    IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+    FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+    AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+    LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+    OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+    SOFTWARE.
+*/
+package ch.checkerlang.functions;
+
+import ch.checkerlang.Args;
+import ch.checkerlang.AsList;
+import ch.checkerlang.Environment;
+import ch.checkerlang.SourcePos;
+import ch.checkerlang.values.Value;
+import ch.checkerlang.values.ValueString;
+
+import java.util.Arrays;
+import java.util.List;
+
+public class FuncJoin extends FuncBase {
+    public FuncJoin() {
+        super("join");
+        info = "join(lst, sep = ' ')\r\n" +
+                "\r\n" +
+                "Returns a string containing all elements of the list lst\r\n" +
+                "separated by the string sep.\r\n" +
+                "\r\n" +
+                ": join([1, 2, 3], '|') ==> '1|2|3'\r\n" +
+                ": join(['one', 'world'], '--') ==> 'one--world'\r\n" +
+                ": join([], '|') ==> ''\r\n" +
+                ": join([1], '|') ==> '1'\r\n" +
+                ": join('|', [1, 2, 3]) ==> '1|2|3'\r\n" +
+                ": join(['a', 'b']) ==> 'a b'\r\n";
+    }
+
+    public List<String> getArgNames() {
+        return Arrays.asList("lst", "sep");
+    }
+
+    public Value execute(Args args, Environment environment, SourcePos pos) {
+        Value lst = args.get("lst");
+        Value sep = args.hasArg("sep") ? args.get("sep") : new ValueString(" ");
+        if (lst.isString()) {
+            Value tmp = lst;
+            lst = sep;
+            sep = tmp;
+        }
+        String separator = sep.asString().getValue();
+        StringBuilder result = new StringBuilder();
+        boolean first = true;
+        for (Value element : AsList.items(lst)) {
+            if (!first) result.append(separator);
+            result.append(element.asString().getValue());
+            first = false;
+        }
+        return new ValueString(result.toString());
+    }
+}
@@ -0,0 +1,54 @@
+/*  Copyright (c) 2021 Damian Brunold, Gesundheitsdirektion Kanton Zürich
+
+    Permission is hereby granted, free of charge, to any person obtaining a copy
+    of this software and associated documentation files (the "Software"), to deal
+    in the Software without restriction, including without limitation the rights
+    to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+    copies of the Software, and to permit persons to whom the Software is
+    furnished to do so, subject to the following conditions:
+
+    The above copyright notice and this permission notice shall be included in all
+    copies or substantial portions of the Software.
+
+    THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+    IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+    FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+    AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+    LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+    OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+    SOFTWARE.
+*/
+package ch.checkerlang.functions;
+
+import ch.checkerlang.Args;
+import ch.checkerlang.Environment;
+import ch.checkerlang.SourcePos;
+import ch.checkerlang.values.Value;
+
+import java.util.Arrays;
+import java.util.List;
+
+public class FuncJoinBy extends FuncBase {
+    public FuncJoinBy() {
+        super("join_by");
+        info = "join_by(left, right, columns, outer = FALSE)\r\n" +
+                "\r\n" +
+                "Joins the tables left and right on equal values in the\r\n" +
+                "given column or list of columns. The result contains the\r\n" +
+                "columns of left followed by the other columns of right.\r\n" +
+                "If outer is TRUE, rows of left without a match are kept\r\n" +
+                "with NULL values for the columns of right.\r\n" +
+                "\r\n" +
+                ": join_by(table([<<<'id' => 1, 'a' => 'x'>>>, <<<'id' => 2, 'a' => 'y'>>>]), table([<<<'id' => 2, 'b' => 'z'>>>]), 'id') !> table_column('b') ==> ['z']\r\n" +
+                ": join_by(table([<<<'id' => 1, 'a' => 'x'>>>, <<<'id' => 2, 'a' => 'y'>>>]), table([<<<'id' => 2, 'b' => 'z'>>>]), 'id', outer = TRUE) !> table_column('b') ==> [NULL, 'z']\r\n";
+    }
+
+    public List<String> getArgNames() {
+        return Arrays.asList("left", "right", "columns", "outer");
+    }
+
+    public Value execute(Args args, Environment environment, SourcePos pos) {
+        boolean outer = args.hasArg("outer") && args.getAsBoolean("outer").getValue();
+        return args.getTable("left").join(args.getTable("right"), FuncSortBy.names(args.get("columns")), outer);
+    }
+}
@@ -35,7 +35,8 @@ public class FuncLength extends FuncBase {
         super("length");
         info = "length(obj)\r\n" +
                 "\r\n" +
-                "Returns the length of obj. This only works for strings, lists, sets and maps.\r\n" +
+                "Returns the length of obj. This only works for strings, lists, sets, maps,\r\n" +
+                "objects and tables, where it is the number of rows.\r\n" +
                 "\r\n" +
                 ": length('123') ==> 3\r\n" +
                 ": length([1, 2, 3]) ==> 3\r\n" +
@@ -50,11 +51,12 @@ public class FuncLength extends FuncBase {
 
     public Value execute(Args args, Environment environment, SourcePos pos) {
         Value arg = args.get("obj");
-        if (arg.isString()) return new ValueInt(arg.asString().getValue().length());
+        if (arg.isString()) return new ValueInt(arg.asString().length());
         if (arg.isList()) return new ValueInt(arg.asList().getValue().size());
         if (arg.isSet()) return new ValueInt(arg.asSet().getValue().size());
         if (arg.isMap()) return new ValueInt(arg.asMap().getValue().size());
-        if (arg.isObject()) return new ValueInt(arg.asObject().value.size());
+        if (arg.isObject()) return new ValueInt(arg.asObject().getValue().size());
+        if (arg.isTable()) return new ValueInt(arg.asTable().getRowCount());
         throw new ControlErrorException("Cannot determine length of " + arg, pos);
     }
 }
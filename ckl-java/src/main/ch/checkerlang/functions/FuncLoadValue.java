@@ -0,0 +1,79 @@
+/*  Copyright (c) 2021 Damian Brunold, Gesundheitsdirektion Kanton Zürich
+
+    Permission is hereby granted, free of charge, to any person obtaining a copy
+    of this software and associated documentation files (the "Software"), to deal
+    in the Software without restriction, including without limitation the rights
+    to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+    copies of the Software, and to permit persons to whom the Software is
+    furnished to do so, subject to the following conditions:
+
+    The above copyright notice and this permission notice shall be included in all
+    copies or substantial portions of the Software.
+
+    THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+    IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+    FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+    AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+    LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+    OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+    SOFTWARE.
+*/
+package ch.checkerlang.functions;
+
+import ch.checkerlang.Args;
+import ch.checkerlang.ControlErrorException;
+import ch.checkerlang.Environment;
+import ch.checkerlang.SourcePos;
+import ch.checkerlang.values.Value;
+import ch.checkerlang.values.ValueSerializer;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+
+public class FuncLoadValue extends FuncBase {
+    public FuncLoadValue() {
+        super("load_value");
+        info = "load_value(source)\r\n" +
+                "\r\n" +
+                "Reads a value written by save_value from the file named source.\r\n" +
+                "If source is an input object, the next line is read and decoded\r\n" +
+                "as a base64 encoded value.\r\n" +
+                "\r\n" +
+                ": def out = str_output(); save_value(<<<'a' => [1, 2], 'b' => <<'x'>> >>>, out, compress = TRUE); load_value(str_input(get_output_string(out))) ==> <<<'a' => [1, 2], 'b' => <<'x'>>>>>\r\n";
+    }
+
+    public boolean isSecure() {
+        return false;
+    }
+
+    public List<String> getArgNames() {
+        return Arrays.asList("source");
+    }
+
+    public Value execute(Args args, Environment environment, SourcePos pos) {
+        if (args.get("source").isInput()) {
+            String line;
+            try {
+                line = args.getInput("source").readLine();
+            } catch (IOException e) {
+                throw new ControlErrorException("Cannot read from input", pos);
+            }
+            if (line == null) throw new ControlErrorException("No value to load in input", pos);
+            try {
+                return ValueSerializer.fromBytes(Base64.getDecoder().decode(line.trim()));
+            } catch (IllegalArgumentException e) {
+                throw new ControlErrorException("Input does not contain a saved value", pos);
+            }
+        }
+        String filename = args.getString("source").getValue();
+        try (InputStream input = new FileInputStream(filename)) {
+            return ValueSerializer.read(input);
+        } catch (IOException e) {
+            throw new ControlErrorException("Cannot read file " + filename, pos);
+        }
+    }
+}
@@ -50,8 +50,8 @@ public class FuncLs extends FuncBase {
         if (args.hasArg("module")) {
             Value moduleArg = args.get("module");
             Map<String, Value> module;
-            if (moduleArg.isString()) module = environment.get(moduleArg.asString().getValue(), pos).asObject().value;
-            else module = args.get("module").asObject().value;
+            if (moduleArg.isString()) module = environment.get(moduleArg.asString().getValue(), pos).asObject().getValue();
+            else module = args.get("module").asObject().getValue();
             for (String symbol : module.keySet()) {
                 result.addItem(new ValueString(symbol));
             }
@@ -0,0 +1,70 @@
+/*  Copyright (c) 2021 Damian Brunold, Gesundheitsdirektion Kanton Zürich
+
+    Permission is hereby granted, free of charge, to any person obtaining a copy
+    of this software and associated documentation files (the "Software"), to deal
+    in the Software without restriction, including without limitation the rights
+    to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+    copies of the Software, and to permit persons to whom the Software is
+    furnished to do so, subject to the following conditions:
+
+    The above copyright notice and this permission notice shall be included in all
+    copies or substantial portions of the Software.
+
+    THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+    IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+    FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+    AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+    LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+    OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+    SOFTWARE.
+*/
+package ch.checkerlang.functions;
+
+import ch.checkerlang.Args;
+import ch.checkerlang.AsList;
+import ch.checkerlang.Environment;
+import ch.checkerlang.FuncInvoker;
+import ch.checkerlang.SourcePos;
+import ch.checkerlang.values.Value;
+import ch.checkerlang.values.ValueList;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+public class FuncMapList extends FuncBase {
+    public FuncMapList() {
+        super("map_list");
+        info = "map_list(lst, f)\r\n" +
+                "\r\n" +
+                "Returns a list where each element is the corresponding\r\n" +
+                "element of lst with func applied. Thus, the elements of\r\n" +
+                "the list are mapped using the function func to new values.\r\n" +
+                "\r\n" +
+                ": map_list([1, 2, 3], fn(x) 2 * x) ==> [2, 4, 6]\r\n" +
+                ": ['one', 'two', 'three'] !> map_list(fn(x) '*' + x + '*') ==> ['*one*', '*two*', '*three*']\r\n" +
+                ": map_list(identity, [1, 2, 3]) ==> [1, 2, 3]\r\n";
+    }
+
+    public List<String> getArgNames() {
+        return Arrays.asList("lst", "f");
+    }
+
+    public Value execute(Args args, Environment environment, SourcePos pos) {
+        Value lst = args.get("lst");
+        Value f = args.get("f");
+        if (lst.isFunc()) {
+            Value temp = lst;
+            lst = f;
+            f = temp;
+        }
+        Collection<Value> items = AsList.items(lst);
+        FuncInvoker func = new FuncInvoker(f.asFunc(), environment, pos);
+        List<Value> result = new ArrayList<>(items.size());
+        for (Value item : items) {
+            result.add(func.call(item));
+        }
+        return new ValueList(result);
+    }
+}
@@ -0,0 +1,73 @@
+/*  Copyright (c) 2021 Damian Brunold, Gesundheitsdirektion Kanton Zürich
+
+    Permission is hereby granted, free of charge, to any person obtaining a copy
+    of this software and associated documentation files (the "Software"), to deal
+    in the Software without restriction, including without limitation the rights
+    to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+    copies of the Software, and to permit persons to whom the Software is
+    furnished to do so, subject to the following conditions:
+
+    The above copyright notice and this permission notice shall be included in all
+    copies or substantial portions of the Software.
+
+    THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+    IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+    FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+    AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+    LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+    OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+    SOFTWARE.
+*/
+package ch.checkerlang.functions;
+
+import ch.checkerlang.Args;
+import ch.checkerlang.ControlErrorException;
+import ch.checkerlang.Environment;
+import ch.checkerlang.SourcePos;
+import ch.checkerlang.StatKernel;
+import ch.checkerlang.values.Value;
+import ch.checkerlang.values.ValueDecimal;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class FuncMedian extends FuncBase {
+    public FuncMedian() {
+        super("median");
+        info = "median(lst)\r\n" +
+                "\r\n" +
+                "Returns the median of lst, using the 'mean of middle two'\r\n" +
+                "method.\r\n" +
+                "\r\n" +
+                ": median([1, 3, 5]) ==> 3\r\n" +
+                ": median([1, 3, 5, 7]) ==> 4.0\r\n" +
+                ": median([7, 1, 5, 3]) ==> 4.0\r\n" +
+                ": median(['b', 'a', 'c']) ==> 'b'\r\n";
+    }
+
+    public List<String> getArgNames() {
+        return Arrays.asList("lst");
+    }
+
+    public Value execute(Args args, Environment environment, SourcePos pos) {
+        List<Value> items = args.getAsList("lst").getValue();
+        if (items.isEmpty()) throw new ControlErrorException("Cannot compute median of empty list", pos);
+        double[] values = StatKernel.toDoubles(items);
+        if (values == null) {
+            List<Value> sorted = new ArrayList<>(items);
+            Collections.sort(sorted);
+            int idx = sorted.size() / 2;
+            if (sorted.size() % 2 == 1) return sorted.get(idx);
+            Value sum = new FuncAdd().execute(new Args("a", "b", sorted.get(idx - 1), sorted.get(idx), pos), environment, pos);
+            return new FuncDiv().execute(new Args("a", "b", sum, new ValueDecimal(2.0), pos), environment, pos);
+        }
+        int[] order = StatKernel.identity(values.length);
+        int idx = values.length / 2;
+        int high = StatKernel.select(values, order, idx);
+        if (values.length % 2 == 1) return items.get(high);
+        int low = StatKernel.maxBelow(values, order, idx);
+        return new ValueDecimal((values[low] + values[high]) / 2.0);
+    }
+}
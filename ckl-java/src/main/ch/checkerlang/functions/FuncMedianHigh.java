@@ -0,0 +1,63 @@
+/*  Copyright (c) 2021 Damian Brunold, Gesundheitsdirektion Kanton Zürich
+
+    Permission is hereby granted, free of charge, to any person obtaining a copy
+    of this software and associated documentation files (the "Software"), to deal
+    in the Software without restriction, including without limitation the rights
+    to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+    copies of the Software, and to permit persons to whom the Software is
+    furnished to do so, subject to the following conditions:
+
+    The above copyright notice and this permission notice shall be included in all
+    copies or substantial portions of the Software.
+
+    THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+    IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+    FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+    AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+    LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+    OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+    SOFTWARE.
+*/
+package ch.checkerlang.functions;
+
+import ch.checkerlang.Args;
+import ch.checkerlang.ControlErrorException;
+import ch.checkerlang.Environment;
+import ch.checkerlang.SourcePos;
+import ch.checkerlang.StatKernel;
+import ch.checkerlang.values.Value;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class FuncMedianHigh extends FuncBase {
+    public FuncMedianHigh() {
+        super("median_high");
+        info = "median_high(lst)\r\n" +
+                "\r\n" +
+                "Returns the high median of lst.\r\n" +
+                "\r\n" +
+                ": median_high([1, 3, 5]) ==> 3\r\n" +
+                ": median_high([1, 3, 5, 7]) ==> 5\r\n" +
+                ": median_high(['d', 'a', 'c', 'b']) ==> 'c'\r\n";
+    }
+
+    public List<String> getArgNames() {
+        return Arrays.asList("lst");
+    }
+
+    public Value execute(Args args, Environment environment, SourcePos pos) {
+        List<Value> items = args.getAsList("lst").getValue();
+        if (items.isEmpty()) throw new ControlErrorException("Cannot compute median of empty list", pos);
+        int idx = items.size() / 2;
+        double[] values = StatKernel.toDoubles(items);
+        if (values == null) {
+            List<Value> sorted = new ArrayList<>(items);
+            Collections.sort(sorted);
+            return sorted.get(idx);
+        }
+        return items.get(StatKernel.select(values, StatKernel.identity(values.length), idx));
+    }
+}
@@ -44,7 +44,7 @@ public class FuncParse extends FuncBase {
 
     public Value execute(Args args, Environment environment, SourcePos pos) {
         try {
-            return new ValueNode(Parser.parse(args.getString("s").getValue(), pos.filename));
+            return new ValueNode(ParseCache.get(args.getString("s").getValue(), pos.filename));
         } catch (IOException e) {
             throw new ControlErrorException("Cannot parse expression " + args.getString("s"), pos);
         }
@@ -21,16 +21,16 @@
 package ch.checkerlang.functions;
 
 import ch.checkerlang.Args;
+import ch.checkerlang.DateFormatCache;
 import ch.checkerlang.Environment;
 import ch.checkerlang.SourcePos;
 import ch.checkerlang.values.Value;
 import ch.checkerlang.values.ValueDate;
 import ch.checkerlang.values.ValueNull;
 
-import java.text.DateFormat;
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
-import java.util.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 public class FuncParseDate extends FuncBase {
     public FuncParseDate() {
@@ -77,24 +77,8 @@ public class FuncParseDate extends FuncBase {
         }
 
         for (String fmt : fmts) {
-            try {
-                Date date;
-                if (fmt.equals("yyyy")) {
-                    if (str.length() != 4) continue;
-                    Calendar cal = Calendar.getInstance();
-                    cal.set(Integer.parseInt(str), 0, 1, 0, 0, 0);
-                    date = cal.getTime();
-                } else {
-                    DateFormat format = new SimpleDateFormat(fmt);
-                    format.setLenient(false);
-                    date = format.parse(str);
-                    String str2 = format.format(date);
-                    if (!str.equals(str2)) continue;
-                }
-                return new ValueDate(date);
-            } catch (ParseException e) {
-                // continue;
-            }
+            ValueDate date = DateFormatCache.parse(str, fmt);
+            if (date != null) return date;
         }
 
         return ValueNull.NULL;
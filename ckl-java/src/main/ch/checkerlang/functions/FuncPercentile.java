@@ -0,0 +1,58 @@
+/*  Copyright (c) 2021 Damian Brunold, Gesundheitsdirektion Kanton Zürich
+
+    Permission is hereby granted, free of charge, to any person obtaining a copy
+    of this software and associated documentation files (the "Software"), to deal
+    in the Software without restriction, including without limitation the rights
+    to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+    copies of the Software, and to permit persons to whom the Software is
+    furnished to do so, subject to the following conditions:
+
+    The above copyright notice and this permission notice shall be included in all
+    copies or substantial portions of the Software.
+
+    THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+    IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+    FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+    AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+    LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+    OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+    SOFTWARE.
+*/
+package ch.checkerlang.functions;
+
+import ch.checkerlang.Args;
+import ch.checkerlang.ControlErrorException;
+import ch.checkerlang.Environment;
+import ch.checkerlang.SourcePos;
+import ch.checkerlang.StatKernel;
+import ch.checkerlang.values.Value;
+import ch.checkerlang.values.ValueDecimal;
+
+import java.util.Arrays;
+import java.util.List;
+
+public class FuncPercentile extends FuncBase {
+    public FuncPercentile() {
+        super("percentile");
+        info = "percentile(lst, p)\r\n" +
+                "\r\n" +
+                "Returns the p-th percentile (0 to 100) of lst. Values between\r\n" +
+                "two data points are linearly interpolated.\r\n" +
+                "\r\n" +
+                ": percentile([1, 2, 3, 4, 5], 50) ==> 3.0\r\n" +
+                ": percentile([1, 2, 3, 4], 25) ==> 1.75\r\n" +
+                ": percentile([5, 1, 4, 2, 3], 100) ==> 5.0\r\n";
+    }
+
+    public List<String> getArgNames() {
+        return Arrays.asList("lst", "p");
+    }
+
+    public Value execute(Args args, Environment environment, SourcePos pos) {
+        double[] values = StatKernel.toDoubles(args.getAsList("lst").getValue(), pos);
+        double p = args.getNumerical("p").getValue();
+        if (p < 0 || p > 100) throw new ControlErrorException("Percentile must be between 0 and 100", pos);
+        if (values.length == 0) throw new ControlErrorException("Cannot compute percentile of empty list", pos);
+        return new ValueDecimal(StatKernel.percentile(values, p));
+    }
+}
@@ -0,0 +1,73 @@
+/*  Copyright (c) 2021 Damian Brunold, Gesundheitsdirektion Kanton Zürich
+
+    Permission is hereby granted, free of charge, to any person obtaining a copy
+    of this software and associated documentation files (the "Software"), to deal
+    in the Software without restriction, including without limitation the rights
+    to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+    copies of the Software, and to permit persons to whom the Software is
+    furnished to do so, subject to the following conditions:
+
+    The above copyright notice and this permission notice shall be included in all
+    copies or substantial portions of the Software.
+
+    THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+    IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+    FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+    AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+    LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+    OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+    SOFTWARE.
+*/
+package ch.checkerlang.functions;
+
+import ch.checkerlang.Args;
+import ch.checkerlang.Environment;
+import ch.checkerlang.SourcePos;
+import ch.checkerlang.values.Value;
+import ch.checkerlang.values.ValueList;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class FuncPermutations extends FuncBase {
+    public FuncPermutations() {
+        super("permutations");
+        info = "permutations(lst)\r\n" +
+                "\r\n" +
+                "Returns a list containing all permutations of the input list.\r\n" +
+                "\r\n" +
+                ": permutations([1, 2, 3]) ==> [[1, 2, 3], [2, 1, 3], [3, 1, 2], [1, 3, 2], [2, 3, 1], [3, 2, 1]]\r\n";
+    }
+
+    public List<String> getArgNames() {
+        return Arrays.asList("lst");
+    }
+
+    public Value execute(Args args, Environment environment, SourcePos pos) {
+        List<Value> lst = new ArrayList<>(args.getAsList("lst").getValue());
+        ValueList result = new ValueList();
+        if (lst.isEmpty()) return result;
+        permutations(lst, lst.size(), result);
+        return result;
+    }
+
+    private static void permutations(List<Value> lst, int size, ValueList result) {
+        if (size == 1) {
+            result.addItem(new ValueList(lst));
+            return;
+        }
+        for (int i = 0; i < size; i++) {
+            permutations(lst, size - 1, result);
+            if (size % 2 == 1) {
+                Value temp = lst.get(0);
+                lst.set(0, lst.get(size - 1));
+                lst.set(size - 1, temp);
+            } else {
+                Value temp = lst.get(i);
+                lst.set(i, lst.get(size - 1));
+                lst.set(size - 1, temp);
+            }
+        }
+    }
+}
@@ -27,7 +27,6 @@ import ch.checkerlang.SourcePos;
 import ch.checkerlang.values.Value;
 import ch.checkerlang.values.ValueNull;
 import ch.checkerlang.values.ValueOutput;
-import ch.checkerlang.values.ValueString;
 
 import java.io.IOException;
 import java.util.Arrays;
@@ -50,10 +49,11 @@ public class FuncPrint extends FuncBase {
     }
 
     public Value execute(Args args, Environment environment, SourcePos pos) {
-        ValueString obj = args.getAsString("obj");
+        Value obj = args.get("obj");
         ValueOutput output = args.getOutput("out", environment.get("stdout", pos).asOutput());
         try {
-            output.write(obj.getValue());
+            if (obj.isCollection() || obj.isMap() || obj.isObject()) output.writeValue(obj, false);
+            else output.write(args.getAsString("obj").getValue());
         } catch (IOException e) {
             throw new ControlErrorException("Cannot write to output", pos);
         }
@@ -0,0 +1,69 @@
+/*  Copyright (c) 2021 Damian Brunold, Gesundheitsdirektion Kanton Zürich
+
+    Permission is hereby granted, free of charge, to any person obtaining a copy
+    of this software and associated documentation files (the "Software"), to deal
+    in the Software without restriction, including without limitation the rights
+    to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+    copies of the Software, and to permit persons to whom the Software is
+    furnished to do so, subject to the following conditions:
+
+    The above copyright notice and this permission notice shall be included in all
+    copies or substantial portions of the Software.
+
+    THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+    IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+    FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+    AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+    LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+    OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+    SOFTWARE.
+*/
+package ch.checkerlang.functions;
+
+import ch.checkerlang.Args;
+import ch.checkerlang.ControlErrorException;
+import ch.checkerlang.Environment;
+import ch.checkerlang.FormatPlan;
+import ch.checkerlang.SourcePos;
+import ch.checkerlang.values.Value;
+import ch.checkerlang.values.ValueNull;
+import ch.checkerlang.values.ValueOutput;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+public class FuncPrintf extends FuncBase {
+    public FuncPrintf() {
+        super("printf");
+        info = "printf(fmt, args...)\r\n" +
+                "\r\n" +
+                "Formats and prints a string format using the provided args.\r\n" +
+                "The string is printed to standard output.\r\n" +
+                "\r\n" +
+                "This is basically the combination of print and sprintf.\r\n" +
+                "\r\n" +
+                ": do def stdout = str_output(); printf('{0} {1}', 1, 2); get_output_string(stdout); end ==> '1 2'\r\n";
+    }
+
+    public List<String> getArgNames() {
+        return Arrays.asList("fmt", "args...");
+    }
+
+    public Value execute(Args args, Environment environment, SourcePos pos) {
+        if (args.isNull("fmt")) return ValueNull.NULL;
+        String fmt = args.getString("fmt").getValue();
+        List<Value> arguments = args.get("args...").asList().getValue();
+        ValueOutput output = environment.get("stdout", pos).asOutput();
+        StringBuilder result = FormatPlan.acquireBuilder();
+        try {
+            FormatPlan.get(fmt).appendTo(result, arguments);
+            output.write(result);
+        } catch (IOException e) {
+            throw new ControlErrorException("Cannot write to output", pos);
+        } finally {
+            FormatPlan.releaseBuilder(result);
+        }
+        return ValueNull.NULL;
+    }
+}
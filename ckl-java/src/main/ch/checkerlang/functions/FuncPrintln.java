@@ -50,15 +50,11 @@ public class FuncPrintln extends FuncBase {
     }
 
     public Value execute(Args args, Environment environment, SourcePos pos) {
-        ValueString obj;
-        if (args.hasArg("obj")) {
-            obj = args.getAsString("obj");
-        } else {
-            obj = new ValueString("");
-        }
+        Value obj = args.hasArg("obj") ? args.get("obj") : new ValueString("");
         ValueOutput output = args.getOutput("out", environment.get("stdout", pos).asOutput());
         try {
-            output.writeLine(obj.getValue());
+            if (obj.isCollection() || obj.isMap() || obj.isObject()) output.writeValue(obj, true);
+            else output.writeLine(args.hasArg("obj") ? args.getAsString("obj").getValue() : "");
         } catch (IOException e) {
             throw new ControlErrorException("Cannot write to output", pos);
         }
@@ -24,6 +24,7 @@ import ch.checkerlang.Args;
 import ch.checkerlang.ControlErrorException;
 import ch.checkerlang.Environment;
 import ch.checkerlang.SourcePos;
+import ch.checkerlang.StringPool;
 import ch.checkerlang.values.*;
 
 import java.util.Arrays;
@@ -59,7 +60,7 @@ public class FuncProcessLines extends FuncBase {
         if (inparg instanceof ValueInput) {
             ValueInput input = inparg.asInput();
             return new ValueInt(input.process(line -> {
-                Args args_ = new Args(callback.getArgNames().get(0), new ValueString(line), pos);
+                Args args_ = new Args(callback.getArgNames().get(0), StringPool.of(line), pos);
                 return callback.execute(args_, env, pos);
             }));
         } else if (inparg instanceof ValueList) {
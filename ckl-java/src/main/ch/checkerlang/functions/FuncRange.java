@@ -24,7 +24,6 @@ import ch.checkerlang.Args;
 import ch.checkerlang.Environment;
 import ch.checkerlang.SourcePos;
 import ch.checkerlang.values.Value;
-import ch.checkerlang.values.ValueInt;
 import ch.checkerlang.values.ValueList;
 
 import java.util.Arrays;
@@ -66,19 +65,16 @@ public class FuncRange extends FuncBase {
             step = (int) args.getInt("step").getValue();
         }
 
-        ValueList result = new ValueList();
-        int i = start;
-        if (step > 0) {
-            while (i < end) {
-                result.addItem(new ValueInt(i));
-                i += step;
-            }
-        } else if (step < 0) {
-            while (i > end) {
-                result.addItem(new ValueInt(i));
-                i += step;
-            }
+        long count = 0;
+        if (step > 0 && end > start) {
+            count = ((long) end - start + step - 1) / step;
+        } else if (step < 0 && end < start) {
+            count = ((long) start - end - step - 1) / -step;
         }
-        return result;
+        long[] result = new long[(int) count];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = start + (long) i * step;
+        }
+        return ValueList.ofLongs(result);
     }
 }
@@ -0,0 +1,70 @@
+/*  Copyright (c) 2021 Damian Brunold, Gesundheitsdirektion Kanton Zürich
+
+    Permission is hereby granted, free of charge, to any person obtaining a copy
+    of this software and associated documentation files (the "Software"), to deal
+    in the Software without restriction, including without limitation the rights
+    to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+    copies of the Software, and to permit persons to whom the Software is
+    furnished to do so, subject to the following conditions:
+
+    The above copyright notice and this permission notice shall be included in all
+    copies or substantial portions of the Software.
+
+    THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+    IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+    FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+    AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+    LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+    OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+    SOFTWARE.
+*/
+package ch.checkerlang.functions;
+
+import ch.checkerlang.Args;
+import ch.checkerlang.CSV;
+import ch.checkerlang.ControlErrorException;
+import ch.checkerlang.Environment;
+import ch.checkerlang.SourcePos;
+import ch.checkerlang.values.Value;
+import ch.checkerlang.values.ValueInput;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+public class FuncReadCsv extends FuncBase {
+    public FuncReadCsv() {
+        super("read_csv");
+        info = "read_csv(input, separator = ',', header = TRUE, infer_types = FALSE)\r\n" +
+                "\r\n" +
+                "Reads CSV records from the input into a table. If header\r\n" +
+                "is TRUE, the first record contains the column names,\r\n" +
+                "otherwise the columns are named col1, col2 and so on.\r\n" +
+                "Fields may be quoted with double quotes. Empty fields are\r\n" +
+                "NULL. If infer_types is TRUE, columns whose values all\r\n" +
+                "read back unchanged as integers or decimals are converted\r\n" +
+                "to int or decimal columns. Values such as 0041, +41 or\r\n" +
+                "1.50 keep the column a string column.\r\n" +
+                "\r\n" +
+                ": read_csv(str_input('a,b\\n1,x\\n2,y')) !> table_column('a') ==> ['1', '2']\r\n" +
+                ": read_csv(str_input('a,b\\n1,x\\n2,y'), infer_types = TRUE) !> table_column('a') ==> [1, 2]\r\n" +
+                ": read_csv(str_input('0041;1.50\\n0042;2'), separator = ';', header = FALSE, infer_types = TRUE) !> table_column('col1') ==> ['0041', '0042']\r\n";
+    }
+
+    public List<String> getArgNames() {
+        return Arrays.asList("input", "separator", "header", "infer_types");
+    }
+
+    public Value execute(Args args, Environment environment, SourcePos pos) {
+        ValueInput input = args.getInput("input");
+        String separator = args.getString("separator", ",").getValue();
+        if (separator.length() != 1) throw new ControlErrorException("Separator must be a single character", pos);
+        boolean header = !args.hasArg("header") || args.getAsBoolean("header").getValue();
+        boolean inferTypes = args.hasArg("infer_types") && args.getAsBoolean("infer_types").getValue();
+        try {
+            return CSV.read(input, separator.charAt(0), header, inferTypes);
+        } catch (IOException e) {
+            throw new ControlErrorException("Cannot read from input", pos);
+        }
+    }
+}
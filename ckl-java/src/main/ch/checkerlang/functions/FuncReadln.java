@@ -24,10 +24,10 @@ import ch.checkerlang.Args;
 import ch.checkerlang.ControlErrorException;
 import ch.checkerlang.Environment;
 import ch.checkerlang.SourcePos;
+import ch.checkerlang.StringPool;
 import ch.checkerlang.values.Value;
 import ch.checkerlang.values.ValueInput;
 import ch.checkerlang.values.ValueNull;
-import ch.checkerlang.values.ValueString;
 
 import java.io.IOException;
 import java.util.Arrays;
@@ -52,7 +52,7 @@ public class FuncReadln extends FuncBase {
         try {
             String line = input.readLine();
             if (line == null) return ValueNull.NULL;
-            return new ValueString(line);
+            return StringPool.of(line);
         } catch (IOException e) {
             throw new ControlErrorException("Cannot read from input", pos);
         }
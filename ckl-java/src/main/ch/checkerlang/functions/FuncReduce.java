@@ -0,0 +1,62 @@
+/*  Copyright (c) 2021 Damian Brunold, Gesundheitsdirektion Kanton Zürich
+
+    Permission is hereby granted, free of charge, to any person obtaining a copy
+    of this software and associated documentation files (the "Software"), to deal
+    in the Software without restriction, including without limitation the rights
+    to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+    copies of the Software, and to permit persons to whom the Software is
+    furnished to do so, subject to the following conditions:
+
+    The above copyright notice and this permission notice shall be included in all
+    copies or substantial portions of the Software.
+
+    THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+    IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+    FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+    AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+    LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+    OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+    SOFTWARE.
+*/
+package ch.checkerlang.functions;
+
+import ch.checkerlang.Args;
+import ch.checkerlang.ControlErrorException;
+import ch.checkerlang.Environment;
+import ch.checkerlang.FuncInvoker;
+import ch.checkerlang.SourcePos;
+import ch.checkerlang.values.Value;
+import ch.checkerlang.values.ValueNull;
+
+import java.util.Arrays;
+import java.util.List;
+
+public class FuncReduce extends FuncBase {
+    public FuncReduce() {
+        super("reduce");
+        info = "reduce(list, f)\r\n" +
+                "\r\n" +
+                "Reduces a list by successively applying the binary function f to\r\n" +
+                "partial results and list elements.\r\n" +
+                "\r\n" +
+                ": reduce([1, 2, 3, 4], add) ==> 10\r\n" +
+                ": reduce([1, 2, 3, 4], fn(a, b) a * 10 + b) ==> 1234\r\n" +
+                ": reduce(['x'], add) ==> 'x'\r\n";
+    }
+
+    public List<String> getArgNames() {
+        return Arrays.asList("list", "f");
+    }
+
+    public Value execute(Args args, Environment environment, SourcePos pos) {
+        if (args.isNull("list")) return ValueNull.NULL;
+        List<Value> list = args.getAsList("list").getValue();
+        if (list.size() == 0) throw new ControlErrorException("Cannot reduce empty list", pos);
+        FuncInvoker f = new FuncInvoker(args.getFunc("f"), environment, pos);
+        Value result = list.get(0);
+        for (int i = 1; i < list.size(); i++) {
+            result = f.call(result, list.get(i));
+        }
+        return result;
+    }
+}
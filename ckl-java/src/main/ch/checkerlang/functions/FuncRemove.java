@@ -74,7 +74,7 @@ public class FuncRemove extends FuncBase {
             return lst;
         }
         if (lst.isObject()) {
-            Map<String, Value> map = lst.asObject().value;
+            Map<String, Value> map = lst.asObject().getValue();
             map.remove(element.asString().getValue());
             return lst;
         }
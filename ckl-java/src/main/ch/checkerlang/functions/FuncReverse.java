@@ -0,0 +1,63 @@
+/*  Copyright (c) 2021 Damian Brunold, Gesundheitsdirektion Kanton Zürich
+
+    Permission is hereby granted, free of charge, to any person obtaining a copy
+    of this software and associated documentation files (the "Software"), to deal
+    in the Software without restriction, including without limitation the rights
+    to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+    copies of the Software, and to permit persons to whom the Software is
+    furnished to do so, subject to the following conditions:
+
+    The above copyright notice and this permission notice shall be included in all
+    copies or substantial portions of the Software.
+
+    THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+    IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+    FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+    AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+    LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+    OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+    SOFTWARE.
+*/
+package ch.checkerlang.functions;
+
+import ch.checkerlang.Args;
+import ch.checkerlang.ControlErrorException;
+import ch.checkerlang.Environment;
+import ch.checkerlang.SourcePos;
+import ch.checkerlang.values.Value;
+import ch.checkerlang.values.ValueList;
+import ch.checkerlang.values.ValueString;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class FuncReverse extends FuncBase {
+    public FuncReverse() {
+        super("reverse");
+        info = "reverse(obj)\r\n" +
+                "\r\n" +
+                "Returns a reversed copy of a string or a list.\r\n" +
+                "\r\n" +
+                ": reverse([1, 2, 3]) ==> [3, 2, 1]\r\n" +
+                ": reverse('abc') ==> 'cba'\r\n";
+    }
+
+    public List<String> getArgNames() {
+        return Arrays.asList("obj");
+    }
+
+    public Value execute(Args args, Environment environment, SourcePos pos) {
+        Value obj = args.get("obj");
+        if (obj.isString()) {
+            return new ValueString(new StringBuilder(obj.asString().getValue()).reverse().toString());
+        }
+        if (obj.isList()) {
+            List<Value> result = new ArrayList<>(obj.asList().getValue());
+            Collections.reverse(result);
+            return new ValueList(result);
+        }
+        throw new ControlErrorException("cannot reverse " + obj.type(), pos);
+    }
+}
@@ -22,6 +22,8 @@ package ch.checkerlang.functions;
 
 import ch.checkerlang.Args;
 import ch.checkerlang.Environment;
+import ch.checkerlang.FormatSpec;
+import ch.checkerlang.LruCache;
 import ch.checkerlang.Parser;
 import ch.checkerlang.SourcePos;
 import ch.checkerlang.nodes.Node;
@@ -29,8 +31,10 @@ import ch.checkerlang.values.Value;
 import ch.checkerlang.values.ValueNull;
 import ch.checkerlang.values.ValueString;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -67,88 +71,107 @@ public class FuncS extends FuncBase {
                 ": def n = 123; s('n = {n#x}') ==> 'n = 7b'\r\n" +
                 ": def n = 255; s('n = {n#04x}') ==> 'n = 00ff'\r\n" +
                 ": s('{1} { {2}') ==> '1 { 2'\r\n" +
-                ": s('{PI} is cool') ==> '3.141592653589793 is cool'\r\n";
+                ": s('{PI} is cool') ==> '3.141592653589793 is cool'\r\n" +
+                ": [s('<{x#3}>') for x in [1, 22]] ==> ['<  1>', '< 22>']\r\n";
     }
 
     public List<String> getArgNames() {
         return Arrays.asList("str", "start");
     }
 
-    private static Pattern PLACEHOLDER_PATTERN = Pattern.compile("\\{([^#{}]+)(#-?[0-9.]*x?)?\\}");
-    
-    public Value execute(Args args, Environment environment, SourcePos pos) {
-        if (args.isNull("str")) return ValueNull.NULL;
-        String str = args.getString("str").getValue();
-        int start_ = (int) args.getInt("start", 0).getValue();
-        if (start_ < 0) start_ = str.length() + start_;
+    private static final Pattern PLACEHOLDER_PATTERN = Pattern.compile("\\{([^#{}]+)(#-?[0-9.]*x?)?\\}");
 
-        String result = "";
-        if (start_ > 0) {
-            result = str.substring(0, start_);
-            str = str.substring(start_);
+    private static final LruCache<TemplateKey, Template> templates = new LruCache<>(1024);
+
+    // Parsed nodes carry source positions, so templates are cached per file.
+    private static class TemplateKey {
+        private final String str;
+        private final String filename;
+
+        TemplateKey(String str, String filename) {
+            this.str = str;
+            this.filename = filename;
         }
 
-        int lastidx = 0;
-        Matcher matcher = PLACEHOLDER_PATTERN.matcher(str);
-        while (matcher.find()) {
-            int start = matcher.start(0);
-            int end = matcher.end(0);
-            String expr = matcher.group(1);
-            String spec = matcher.group(2);
-
-            int width = 0;
-            boolean zeroes = false;
-            boolean leading = true;
-            int base = 10;
-            int digits = -1;
-
-            if (spec != null) {
-                spec = spec.substring(1); // skip #
-                if (spec.startsWith("-")) {
-                    leading = false;
-                    spec = spec.substring(1);
-                }
-                if (spec.startsWith("0")) {
-                    zeroes = true;
-                    leading = false;
-                    spec = spec.substring(1);
-                }
-                if (spec.endsWith("x")) {
-                    base = 16;
-                    spec = spec.substring(0, spec.length() - 1);
-                }
-                int idx = spec.indexOf('.');
-                if (idx == -1) {
-                    digits = -1;
-                    width = Integer.parseInt(spec.isEmpty() ? "0" : spec);
-                } else {
-                    digits = Integer.parseInt(spec.substring(idx + 1));
-                    width = idx == 0 ? 0 : Integer.parseInt(spec.substring(0, idx));
+        public boolean equals(Object other) {
+            if (!(other instanceof TemplateKey)) return false;
+            TemplateKey key = (TemplateKey) other;
+            return str.equals(key.str) && Objects.equals(filename, key.filename);
+        }
+
+        public int hashCode() {
+            return str.hashCode() * 31 + Objects.hashCode(filename);
+        }
+    }
+
+    private static class Template {
+        private final String[] literals;
+        private final Node[] nodes;
+        private final FormatSpec[] specs;
+
+        Template(String str, String filename) {
+            List<String> literals = new ArrayList<>();
+            List<Node> nodes = new ArrayList<>();
+            List<FormatSpec> specs = new ArrayList<>();
+            int lastidx = 0;
+            Matcher matcher = PLACEHOLDER_PATTERN.matcher(str);
+            while (matcher.find()) {
+                literals.add(str.substring(lastidx, matcher.start(0)));
+                Node node = null;
+                FormatSpec spec = null;
+                try {
+                    node = Parser.parse(matcher.group(1), filename);
+                    spec = matcher.group(2) == null ? FormatSpec.DEFAULT : new FormatSpec(matcher.group(2));
+                } catch (Exception e) {
+                    // placeholder renders as empty string
                 }
+                nodes.add(node);
+                specs.add(spec);
+                lastidx = matcher.end(0);
             }
+            literals.add(str.substring(lastidx));
+            this.literals = literals.toArray(new String[0]);
+            this.nodes = nodes.toArray(new Node[0]);
+            this.specs = specs.toArray(new FormatSpec[0]);
+        }
 
-            String value = "";
-            try {
-                Node node = Parser.parse(expr, pos.filename);
-                Value val = node.evaluate(environment);
-                if (base != 10) value = String.format("%x", val.asInt().getValue());
-                else if (digits != -1) value = String.format("%." + digits + "f", val.asDecimal().getValue());
-                else value = val.asString().getValue();
-                while (value.length() < width) {
-                    if (leading) value = ' ' + value;
-                    else if (zeroes) value = '0' + value;
-                    else value = value + ' ';
+        void appendTo(StringBuilder result, Environment environment) {
+            for (int i = 0; i < nodes.length; i++) {
+                result.append(literals[i]);
+                if (nodes[i] == null) continue;
+                int mark = result.length();
+                try {
+                    specs[i].appendTo(result, nodes[i].evaluate(environment));
+                } catch (Exception e) {
+                    result.setLength(mark);
                 }
-            } catch (Exception e) {
-                // ignore
             }
+            result.append(literals[nodes.length]);
+        }
+    }
+
+    public static long getCacheHits() {
+        return templates.getHits();
+    }
+
+    public static long getCacheMisses() {
+        return templates.getMisses();
+    }
 
-            if (lastidx < start) result += str.substring(lastidx, start);
-            result += value;
-            lastidx = end;
+    public Value execute(Args args, Environment environment, SourcePos pos) {
+        if (args.isNull("str")) return ValueNull.NULL;
+        String str = args.getString("str").getValue();
+        int start_ = (int) args.getInt("start", 0).getValue();
+        if (start_ < 0) start_ = str.length() + start_;
+
+        StringBuilder result = new StringBuilder(str.length() + 16);
+        if (start_ > 0) {
+            result.append(str, 0, start_);
+            str = str.substring(start_);
         }
-        if (lastidx < str.length()) result += str.substring(lastidx);
 
-        return new ValueString(result);
+        Template template = templates.get(new TemplateKey(str, pos.filename), key -> new Template(key.str, key.filename));
+        template.appendTo(result, environment);
+        return new ValueString(result.toString());
     }
 }
@@ -0,0 +1,82 @@
+/*  Copyright (c) 2021 Damian Brunold, Gesundheitsdirektion Kanton Zürich
+
+    Permission is hereby granted, free of charge, to any person obtaining a copy
+    of this software and associated documentation files (the "Software"), to deal
+    in the Software without restriction, including without limitation the rights
+    to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+    copies of the Software, and to permit persons to whom the Software is
+    furnished to do so, subject to the following conditions:
+
+    The above copyright notice and this permission notice shall be included in all
+    copies or substantial portions of the Software.
+
+    THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+    IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+    FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+    AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+    LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+    OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+    SOFTWARE.
+*/
+package ch.checkerlang.functions;
+
+import ch.checkerlang.Args;
+import ch.checkerlang.ControlErrorException;
+import ch.checkerlang.Environment;
+import ch.checkerlang.SourcePos;
+import ch.checkerlang.values.Value;
+import ch.checkerlang.values.ValueNull;
+import ch.checkerlang.values.ValueSerializer;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+
+public class FuncSaveValue extends FuncBase {
+    public FuncSaveValue() {
+        super("save_value");
+        info = "save_value(value, target, compress = FALSE)\r\n" +
+                "\r\n" +
+                "Writes the value in a compact binary format to the file named\r\n" +
+                "target. If target is an output object, the binary data is written\r\n" +
+                "as a single base64 encoded line instead.\r\n" +
+                "\r\n" +
+                "Shared lists, sets, maps and objects are written only once and\r\n" +
+                "repeated strings are stored by reference. If compress is TRUE, the\r\n" +
+                "data is additionally deflated. Functions, streams and nodes cannot\r\n" +
+                "be saved.\r\n" +
+                "\r\n" +
+                ": def out = str_output(); save_value([1, 'a', <*x=2.5*>], out); load_value(str_input(get_output_string(out))) ==> [1, 'a', <*x=2.5*>]\r\n";
+    }
+
+    public boolean isSecure() {
+        return false;
+    }
+
+    public List<String> getArgNames() {
+        return Arrays.asList("value", "target", "compress");
+    }
+
+    public Value execute(Args args, Environment environment, SourcePos pos) {
+        Value value = args.get("value");
+        boolean compress = args.hasArg("compress") && args.getAsBoolean("compress").getValue();
+        if (args.get("target").isOutput()) {
+            try {
+                args.getOutput("target").writeLine(Base64.getEncoder().encodeToString(ValueSerializer.toBytes(value, compress)));
+            } catch (IOException e) {
+                throw new ControlErrorException("Cannot write to output", pos);
+            }
+            return ValueNull.NULL;
+        }
+        String filename = args.getString("target").getValue();
+        try (OutputStream output = new FileOutputStream(filename)) {
+            ValueSerializer.write(value, output, compress);
+        } catch (IOException e) {
+            throw new ControlErrorException("Cannot write file " + filename, pos);
+        }
+        return ValueNull.NULL;
+    }
+}
@@ -0,0 +1,52 @@
+/*  Copyright (c) 2021 Damian Brunold, Gesundheitsdirektion Kanton Zürich
+
+    Permission is hereby granted, free of charge, to any person obtaining a copy
+    of this software and associated documentation files (the "Software"), to deal
+    in the Software without restriction, including without limitation the rights
+    to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+    copies of the Software, and to permit persons to whom the Software is
+    furnished to do so, subject to the following conditions:
+
+    The above copyright notice and this permission notice shall be included in all
+    copies or substantial portions of the Software.
+
+    THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+    IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+    FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+    AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+    LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+    OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+    SOFTWARE.
+*/
+package ch.checkerlang.functions;
+
+import ch.checkerlang.Args;
+import ch.checkerlang.Environment;
+import ch.checkerlang.SourcePos;
+import ch.checkerlang.values.Value;
+import ch.checkerlang.values.ValueTable;
+
+import java.util.Arrays;
+import java.util.List;
+
+public class FuncSelect extends FuncBase {
+    public FuncSelect() {
+        super("select");
+        info = "select(tbl, columns)\r\n" +
+                "\r\n" +
+                "Returns a table with only the given columns of the table\r\n" +
+                "tbl, in the given order. The column data is shared and\r\n" +
+                "not copied.\r\n" +
+                "\r\n" +
+                ": table([<<<'a' => 1, 'b' => 2, 'c' => 3>>>]) !> select(['c', 'a']) !> table_columns() ==> ['c', 'a']\r\n";
+    }
+
+    public List<String> getArgNames() {
+        return Arrays.asList("tbl", "columns");
+    }
+
+    public Value execute(Args args, Environment environment, SourcePos pos) {
+        ValueTable table = args.getTable("tbl");
+        return table.select(table.indexesOf(FuncSortBy.names(args.get("columns"))));
+    }
+}
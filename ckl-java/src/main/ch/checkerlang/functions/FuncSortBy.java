@@ -0,0 +1,66 @@
+/*  Copyright (c) 2021 Damian Brunold, Gesundheitsdirektion Kanton Zürich
+
+    Permission is hereby granted, free of charge, to any person obtaining a copy
+    of this software and associated documentation files (the "Software"), to deal
+    in the Software without restriction, including without limitation the rights
+    to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+    copies of the Software, and to permit persons to whom the Software is
+    furnished to do so, subject to the following conditions:
+
+    The above copyright notice and this permission notice shall be included in all
+    copies or substantial portions of the Software.
+
+    THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+    IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+    FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+    AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+    LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+    OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+    SOFTWARE.
+*/
+package ch.checkerlang.functions;
+
+import ch.checkerlang.Args;
+import ch.checkerlang.Environment;
+import ch.checkerlang.SourcePos;
+import ch.checkerlang.values.Value;
+import ch.checkerlang.values.ValueTable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class FuncSortBy extends FuncBase {
+    public FuncSortBy() {
+        super("sort_by");
+        info = "sort_by(tbl, columns, reverse = FALSE)\r\n" +
+                "\r\n" +
+                "Returns a copy of the table tbl sorted by the given\r\n" +
+                "column or list of columns. The sort is stable and NULL\r\n" +
+                "values come first.\r\n" +
+                "\r\n" +
+                ": table([<<<'a' => 2>>>, <<<'a' => 3>>>, <<<'a' => 1>>>]) !> sort_by('a') !> table_column('a') ==> [1, 2, 3]\r\n" +
+                ": table([<<<'a' => 2>>>, <<<'a' => 3>>>, <<<'a' => 1>>>]) !> sort_by('a', reverse = TRUE) !> table_column('a') ==> [3, 2, 1]\r\n";
+    }
+
+    public List<String> getArgNames() {
+        return Arrays.asList("tbl", "columns", "reverse");
+    }
+
+    public Value execute(Args args, Environment environment, SourcePos pos) {
+        ValueTable table = args.getTable("tbl");
+        boolean reverse = args.hasArg("reverse") && args.getAsBoolean("reverse").getValue();
+        int[] rows = table.sortedRows(table.indexesOf(names(args.get("columns"))), reverse);
+        return table.gather(rows, rows.length);
+    }
+
+    static List<String> names(Value value) {
+        List<String> result = new ArrayList<>();
+        if (value.isString()) {
+            result.add(value.asString().getValue());
+        } else {
+            for (Value name : value.asList().getValue()) result.add(name.asString().getValue());
+        }
+        return result;
+    }
+}
@@ -22,16 +22,22 @@ package ch.checkerlang.functions;
 
 import ch.checkerlang.Args;
 import ch.checkerlang.Environment;
+import ch.checkerlang.FuncInvoker;
 import ch.checkerlang.SourcePos;
+import ch.checkerlang.values.AdaptiveList;
 import ch.checkerlang.values.Value;
 import ch.checkerlang.values.ValueFunc;
 import ch.checkerlang.values.ValueList;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
 
 public class FuncSorted extends FuncBase {
+    private static final int RUN_LENGTH = 32;
+    private static final int PARALLEL_THRESHOLD = 8192;
+
     public FuncSorted() {
         super("sorted");
         info = "sorted(lst, cmp=compare, key=identity)\r\n" +
@@ -41,7 +47,10 @@ public class FuncSorted extends FuncBase {
                 "The values are compared using the compare function cmp.\r\n" +
                 "\r\n" +
                 ": sorted([3, 2, 1]) ==> [1, 2, 3]\r\n" +
-                ": sorted([6, 2, 5, 3, 1, 4]) ==> [1, 2, 3, 4, 5, 6]\r\n";
+                ": sorted([6, 2, 5, 3, 1, 4]) ==> [1, 2, 3, 4, 5, 6]\r\n" +
+                ": sorted(['bb', 'a', 'ccc'], key = length) ==> ['a', 'bb', 'ccc']\r\n" +
+                ": sorted([[2, 'a'], [1, 'b'], [2, 'c'], [1, 'd']], key = fn(x) x[0]) ==> [[1, 'b'], [1, 'd'], [2, 'a'], [2, 'c']]\r\n" +
+                ": sorted([1, 3, 2], cmp = fn(a, b) compare(b, a)) ==> [3, 2, 1]\r\n";
     }
 
     public List<String> getArgNames() {
@@ -53,23 +62,112 @@ public class FuncSorted extends FuncBase {
         ValueList lst = args.getAsList("lst");
         ValueFunc cmp = args.hasArg("cmp") ? args.getFunc("cmp") : environment.get("compare", pos).asFunc();
         ValueFunc key = args.hasArg("key") ? args.getFunc("key") : environment.get("identity", pos).asFunc();
-        List<Value> result = new ArrayList<>();
-        result.addAll(lst.getValue());
-        for (int i = 1; i < result.size(); i++) {
-            Value v = key.execute(new Args(key.getArgNames().get(0), result.get(i), pos), env, pos);
-            for (int j = i - 1; j >= 0; j--) {
-                Value v2 = key.execute(new Args(key.getArgNames().get(0), result.get(j), pos), env, pos);
-                Args cmpargs = new Args(cmp.getArgNames().get(0), cmp.getArgNames().get(1), v, v2, pos);
-                int comparison = (int) cmp.execute(cmpargs, env, pos).asInt().getValue();
-                if (comparison < 0) {
-                    Value temp = result.get(j + 1);
-                    result.set(j + 1, result.get(j));
-                    result.set(j, temp);
-                } else {
-                    break;
-                }
+
+        List<Value> items = lst.getValue();
+        FuncInvoker keyfn = new FuncInvoker(key, env, pos);
+        FuncInvoker cmpfn = new FuncInvoker(cmp, env, pos);
+        if (keyfn.isIdentity() && cmpfn.isCompare()) {
+            AdaptiveList storage = lst.getStorage();
+            if (storage.isLongs()) {
+                long[] values = storage.toLongArray();
+                Arrays.sort(values);
+                return ValueList.ofLongs(values);
+            }
+            if (storage.isDoubles()) {
+                double[] values = storage.toDoubleArray();
+                Arrays.sort(values);
+                return ValueList.ofDoubles(values);
             }
         }
+        Entry[] entries = new Entry[items.size()];
+        for (int i = 0; i < entries.length; i++) {
+            Value item = items.get(i);
+            entries[i] = new Entry(keyfn.call(item), item);
+        }
+
+        if (cmpfn.isCompare()) {
+            sortNative(entries);
+        } else {
+            mergeSort(entries, (x, y) -> cmpfn.compare(x.key, y.key));
+        }
+
+        List<Value> result = new ArrayList<>(entries.length);
+        for (Entry entry : entries) result.add(entry.item);
         return new ValueList(result);
     }
+
+    private static class Entry {
+        final Value key;
+        final Value item;
+
+        Entry(Value key, Value item) {
+            this.key = key;
+            this.item = item;
+        }
+    }
+
+    private static final Comparator<Entry> NATIVE_ORDER = (x, y) -> x.key.compareTo(y.key);
+
+    private static void sortNative(Entry[] entries) {
+        if (entries.length >= PARALLEL_THRESHOLD && isPlain(entries)) {
+            Arrays.parallelSort(entries, NATIVE_ORDER);
+        } else {
+            mergeSort(entries, NATIVE_ORDER);
+        }
+    }
+
+    // Numbers or strings only: these compare without running script code
+    // and in a consistent order, so they may be sorted on several threads.
+    private static boolean isPlain(Entry[] entries) {
+        boolean numbers = false;
+        boolean strings = false;
+        for (Entry entry : entries) {
+            if (entry.key.isInt() || entry.key.isDecimal()) numbers = true;
+            else if (entry.key.isString()) strings = true;
+            else return false;
+            if (numbers && strings) return false;
+        }
+        return true;
+    }
+
+    private static void mergeSort(Entry[] entries, Comparator<Entry> cmp) {
+        int n = entries.length;
+        for (int lo = 0; lo < n; lo += RUN_LENGTH) {
+            int hi = Math.min(lo + RUN_LENGTH, n);
+            for (int i = lo + 1; i < hi; i++) {
+                Entry entry = entries[i];
+                int j = i - 1;
+                while (j >= lo && cmp.compare(entry, entries[j]) < 0) {
+                    entries[j + 1] = entries[j];
+                    j--;
+                }
+                entries[j + 1] = entry;
+            }
+        }
+        if (n <= RUN_LENGTH) return;
+
+        Entry[] src = entries;
+        Entry[] dst = new Entry[n];
+        for (int width = RUN_LENGTH; width < n; width *= 2) {
+            for (int lo = 0; lo < n; lo += 2 * width) {
+                int mid = Math.min(lo + width, n);
+                int hi = Math.min(lo + 2 * width, n);
+                if (mid < hi && cmp.compare(src[mid], src[mid - 1]) >= 0) {
+                    System.arraycopy(src, lo, dst, lo, hi - lo);
+                    continue;
+                }
+                int i = lo, j = mid, k = lo;
+                while (i < mid && j < hi) {
+                    if (cmp.compare(src[j], src[i]) < 0) dst[k++] = src[j++];
+                    else dst[k++] = src[i++];
+                }
+                while (i < mid) dst[k++] = src[i++];
+                while (j < hi) dst[k++] = src[j++];
+            }
+            Entry[] temp = src;
+            src = dst;
+            dst = temp;
+        }
+        if (src != entries) System.arraycopy(src, 0, entries, 0, n);
+    }
 }
@@ -22,6 +22,8 @@ package ch.checkerlang.functions;
 
 import ch.checkerlang.Args;
 import ch.checkerlang.Environment;
+import ch.checkerlang.PatternCache;
+import ch.checkerlang.StringPool;
 import ch.checkerlang.SourcePos;
 import ch.checkerlang.values.*;
 
@@ -30,6 +32,8 @@ import java.util.Arrays;
 import java.util.List;
 
 public class FuncSplit extends FuncBase {
+    private static final ValuePattern DEFAULT_DELIM = new ValuePattern("[ \\t]+");
+
     public FuncSplit() {
         super("split");
         info = "split(str, delim = '[ \\t]+')\r\n" +
@@ -37,7 +41,9 @@ public class FuncSplit extends FuncBase {
                 "Splits the string str into parts and returns a list of strings.\r\n" +
                 "The delim is a regular expression. Default is spaces or tabs.\r\n" +
                 "\r\n" +
-                ": split('a,b,c', //,//) ==> ['a', 'b', 'c']\r\n";
+                ": split('a,b,c', //,//) ==> ['a', 'b', 'c']\r\n" +
+                ": split('a|b||c||', escape_pattern('|')) ==> ['a', 'b', '', 'c']\r\n" +
+                ": split('a b\tc') ==> ['a', 'b', 'c']\r\n";
     }
 
     public List<String> getArgNames() {
@@ -48,7 +54,7 @@ public class FuncSplit extends FuncBase {
         if (args.isNull("str")) return ValueNull.NULL;
 
         String value = args.getString("str").getValue();
-        String delim = args.getAsPattern("delim", new ValuePattern("[ \\t]+")).getValue();
+        String delim = args.getAsPattern("delim", DEFAULT_DELIM).getValue();
 
         return splitValue(value, delim);
     }
@@ -57,9 +63,24 @@ public class FuncSplit extends FuncBase {
         if (value.equals("")) return new ValueList();
 
         List<Value> values = new ArrayList<>();
-        String[] parts = value.split(delim);
+        String literal = PatternCache.getLiteral(delim);
+        if (literal != null) {
+            int start = 0;
+            int idx = value.indexOf(literal);
+            while (idx != -1) {
+                values.add(StringPool.of(value.substring(start, idx)));
+                start = idx + literal.length();
+                idx = value.indexOf(literal, start);
+            }
+            values.add(StringPool.of(value.substring(start)));
+            int n = values.size();
+            while (n > 0 && values.get(n - 1).asString().getValue().isEmpty()) n--;
+            if (n < values.size()) values.subList(n, values.size()).clear();
+            return new ValueList(values);
+        }
+        String[] parts = PatternCache.get(delim).split(value);
         for (String part : parts) {
-            values.add(new ValueString(part));
+            values.add(StringPool.of(part));
         }
         return new ValueList(values);
     }
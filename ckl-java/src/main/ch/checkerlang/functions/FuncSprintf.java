@@ -22,6 +22,7 @@ package ch.checkerlang.functions;
 
 import ch.checkerlang.Args;
 import ch.checkerlang.Environment;
+import ch.checkerlang.FormatPlan;
 import ch.checkerlang.SourcePos;
 import ch.checkerlang.values.Value;
 import ch.checkerlang.values.ValueNull;
@@ -29,12 +30,8 @@ import ch.checkerlang.values.ValueString;
 
 import java.util.Arrays;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 public class FuncSprintf extends FuncBase {
-    private Pattern PLACEHOLDER_PATTERN = Pattern.compile("\\{([0-9]+)(#[^}]+)?\\}");
-
     public FuncSprintf() {
         super("sprintf");
 
@@ -63,65 +60,12 @@ public class FuncSprintf extends FuncBase {
         if (args.isNull("fmt")) return ValueNull.NULL;
         String fmt = args.getString("fmt").getValue();
         List<Value> arguments = args.get("args...").asList().getValue();
-        String result = "";
-        int lastidx = 0;
-        Matcher matcher = PLACEHOLDER_PATTERN.matcher(fmt);
-        while (matcher.find()) {
-            int start = matcher.start(0);
-            int end = matcher.end(0);
-            int var = Integer.parseInt(matcher.group(1));
-            String spec = matcher.group(2);
-
-            int width = 0;
-            boolean zeroes = false;
-            boolean leading = true;
-            int base = 10;
-            int digits = -1;
-
-            if (spec != null) {
-                spec = spec.substring(1); // skip #
-                if (spec.startsWith("-")) {
-                    leading = false;
-                    spec = spec.substring(1);
-                }
-                if (spec.startsWith("0")) {
-                    zeroes = true;
-                    leading = false;
-                    spec = spec.substring(1);
-                }
-                if (spec.endsWith("x")) {
-                    base = 16;
-                    spec = spec.substring(0, spec.length() - 1);
-                }
-                int idx = spec.indexOf('.');
-                if (idx == -1) {
-                    digits = -1;
-                    width = Integer.parseInt(spec.isEmpty() ? "0" : spec);
-                } else {
-                    digits = Integer.parseInt(spec.substring(idx + 1));
-                    width = idx == 0 ? 0 : Integer.parseInt(spec.substring(0, idx));
-                }
-            }
-
-            String value;
-            if (base != 10) {
-                value = String.format("%x", arguments.get(var).asInt().getValue());
-            } else if (digits != -1) {
-                value = String.format("%." + digits + "f", arguments.get(var).asDecimal().getValue());
-            } else {
-                value = arguments.get(var).asString().getValue();
-            }
-            while (value.length() < width) {
-                if (leading) value = ' ' + value;
-                else if (zeroes) value = '0' + value;
-                else value = value + ' ';
-            }
-
-            if (lastidx < start) result += fmt.substring(lastidx, start);
-            result += value;
-            lastidx = end;
+        StringBuilder result = FormatPlan.acquireBuilder();
+        try {
+            FormatPlan.get(fmt).appendTo(result, arguments);
+            return new ValueString(result.toString());
+        } finally {
+            FormatPlan.releaseBuilder(result);
         }
-        if (lastidx < fmt.length()) result += fmt.substring(lastidx);
-        return new ValueString(result);
     }
 }
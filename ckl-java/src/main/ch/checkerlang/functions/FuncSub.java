@@ -89,7 +89,7 @@ public class FuncSub extends FuncBase {
                 long diff = a.asInt().getValue() - b.asInt().getValue();
                 return new ValueInt(diff);
             }
-            return new ValueDate(DateConverter.convertOADateToDate(DateConverter.convertDateToOADate(a.asDate().getValue()) - args.getAsDecimal("b").getValue()));
+            return a.asDate().plusDays(-args.getAsDecimal("b").getValue());
         }
 
         if (a.isNull() || b.isNull()) {
@@ -48,17 +48,15 @@ public class FuncSublist extends FuncBase {
 
     public Value execute(Args args, Environment environment, SourcePos pos) {
         if (args.isNull("lst")) return ValueNull.NULL;
-        List<Value> value = args.getList("lst").getValue();
+        ValueList value = args.getList("lst");
+        int size = value.getValue().size();
         int start = (int) args.getInt("startidx").getValue();
-        if (start < 0) start = value.size() + start;
-        if (start > value.size()) return new ValueList();
-        int end = (int) args.getInt("endidx", value.size()).getValue();
-        if (end < 0) end = value.size() + end;
-        if (end > value.size()) end = value.size();
-        ValueList result = new ValueList();
-        for (int i = start; i < end; i++) {
-            result.addItem(value.get(i));
-        }
-        return result;
+        if (start < 0) start = size + start;
+        if (start > size) return new ValueList();
+        int end = (int) args.getInt("endidx", size).getValue();
+        if (end < 0) end = size + end;
+        if (end > size) end = size;
+        if (end <= start) return new ValueList();
+        return value.slice(start, end);
     }
 }
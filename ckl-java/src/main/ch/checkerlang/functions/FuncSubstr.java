@@ -48,13 +48,13 @@ public class FuncSubstr extends FuncBase {
 
     public Value execute(Args args, Environment environment, SourcePos pos) {
         if (args.isNull("str")) return ValueNull.NULL;
-        String value = args.getString("str").getValue();
+        ValueString value = args.getString("str");
         int start = (int) args.getInt("startidx").getValue();
         if (start < 0) start = value.length() + start;
         if (start > value.length()) return new ValueString("");
         int end = (int) args.getInt("endidx", value.length()).getValue();
         if (end < 0) end = value.length() + end;
         if (end > value.length()) end = value.length();
-        return new ValueString(value.substring(start, end));
+        return value.substring(start, end);
     }
 }
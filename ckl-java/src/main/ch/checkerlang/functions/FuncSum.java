@@ -24,9 +24,11 @@ import ch.checkerlang.Args;
 import ch.checkerlang.ControlErrorException;
 import ch.checkerlang.Environment;
 import ch.checkerlang.SourcePos;
+import ch.checkerlang.values.AdaptiveList;
 import ch.checkerlang.values.Value;
 import ch.checkerlang.values.ValueDecimal;
 import ch.checkerlang.values.ValueInt;
+import ch.checkerlang.values.ValueList;
 import ch.checkerlang.values.ValueNull;
 
 import java.util.*;
@@ -60,7 +62,22 @@ public class FuncSum extends FuncBase {
     public Value execute(Args args, Environment environment, SourcePos pos) {
         if (args.isNull("list")) return ValueNull.NULL;
 
-        List<Value> list = args.getList("list").getValue();
+        ValueList values = args.getList("list");
+        List<Value> list = values.getValue();
+        if (!args.hasArg("ignore")) {
+            AdaptiveList storage = values.getStorage();
+            if (storage.isLongs()) {
+                long result = 0L;
+                for (int i = 0; i < storage.size(); i++) result += storage.getLong(i);
+                return new ValueInt(result);
+            }
+            if (storage.isDoubles()) {
+                double result = 0.0;
+                for (int i = 0; i < storage.size(); i++) result += storage.getDouble(i);
+                return new ValueDecimal(result);
+            }
+        }
+
         List<Value> ignore = new ArrayList<>();
 
         if (args.hasArg("ignore"))
@@ -0,0 +1,72 @@
+/*  Copyright (c) 2021 Damian Brunold, Gesundheitsdirektion Kanton Zürich
+
+    Permission is hereby granted, free of charge, to any person obtaining a copy
+    of this software and associated documentation files (the "Software"), to deal
+    in the Software without restriction, including without limitation the rights
+    to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+    copies of the Software, and to permit persons to whom the Software is
+    furnished to do so, subject to the following conditions:
+
+    The above copyright notice and this permission notice shall be included in all
+    copies or substantial portions of the Software.
+
+    THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+    IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+    FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+    AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+    LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+    OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+    SOFTWARE.
+*/
+package ch.checkerlang.functions;
+
+import ch.checkerlang.Args;
+import ch.checkerlang.ControlErrorException;
+import ch.checkerlang.Environment;
+import ch.checkerlang.SourcePos;
+import ch.checkerlang.values.TableColumn;
+import ch.checkerlang.values.Value;
+import ch.checkerlang.values.ValueTable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+public class FuncTable extends FuncBase {
+    public FuncTable() {
+        super("table");
+        info = "table(data)\r\n" +
+                "\r\n" +
+                "Creates a columnar table from data. Data is either a list\r\n" +
+                "of maps or objects (one per row) or a map or object of\r\n" +
+                "column lists. Missing cells are NULL. Int, decimal and\r\n" +
+                "string columns are stored unboxed, strings are dictionary\r\n" +
+                "encoded.\r\n" +
+                "\r\n" +
+                ": length(table([<<<'a' => 1, 'b' => 'x'>>>, <<<'a' => 2>>>])) ==> 2\r\n" +
+                ": table(<<<'a' => [1, 2, 3], 'b' => ['x', 'y', 'z']>>>) !> table_columns() ==> ['a', 'b']\r\n";
+    }
+
+    public List<String> getArgNames() {
+        return Arrays.asList("data");
+    }
+
+    public Value execute(Args args, Environment environment, SourcePos pos) {
+        Value data = args.get("data");
+        if (data.isTable()) return data;
+        if (data.isList()) return ValueTable.fromRows(data.asList().getValue());
+        if (data.isMap() || data.isObject()) {
+            List<String> names = new ArrayList<>();
+            List<TableColumn> columns = new ArrayList<>();
+            for (Map.Entry<Value, Value> entry : data.asMap().getValue().entrySet()) {
+                TableColumn.Builder builder = new TableColumn.Builder();
+                for (Value value : entry.getValue().asList().getValue()) builder.add(value);
+                names.add(entry.getKey().asString().getValue());
+                columns.add(builder.build());
+            }
+            return new ValueTable(names, columns);
+        }
+        throw new ControlErrorException("Cannot create table from " + data.type(), pos);
+    }
+}
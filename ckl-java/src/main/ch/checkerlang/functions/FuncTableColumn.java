@@ -0,0 +1,55 @@
+/*  Copyright (c) 2021 Damian Brunold, Gesundheitsdirektion Kanton Zürich
+
+    Permission is hereby granted, free of charge, to any person obtaining a copy
+    of this software and associated documentation files (the "Software"), to deal
+    in the Software without restriction, including without limitation the rights
+    to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+    copies of the Software, and to permit persons to whom the Software is
+    furnished to do so, subject to the following conditions:
+
+    The above copyright notice and this permission notice shall be included in all
+    copies or substantial portions of the Software.
+
+    THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+    IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+    FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+    AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+    LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+    OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+    SOFTWARE.
+*/
+package ch.checkerlang.functions;
+
+import ch.checkerlang.Args;
+import ch.checkerlang.ControlErrorException;
+import ch.checkerlang.Environment;
+import ch.checkerlang.SourcePos;
+import ch.checkerlang.values.Value;
+import ch.checkerlang.values.ValueTable;
+
+import java.util.Arrays;
+import java.util.List;
+
+public class FuncTableColumn extends FuncBase {
+    public FuncTableColumn() {
+        super("table_column");
+        info = "table_column(tbl, name)\r\n" +
+                "\r\n" +
+                "Returns the values of the column name of the table tbl\r\n" +
+                "as a list. Int and decimal columns without NULL values\r\n" +
+                "are returned as unboxed lists.\r\n" +
+                "\r\n" +
+                ": table_column(table([<<<'a' => 1>>>, <<<'a' => 2>>>]), 'a') ==> [1, 2]\r\n";
+    }
+
+    public List<String> getArgNames() {
+        return Arrays.asList("tbl", "name");
+    }
+
+    public Value execute(Args args, Environment environment, SourcePos pos) {
+        ValueTable table = args.getTable("tbl");
+        String name = args.getString("name").getValue();
+        if (table.indexOf(name) < 0) throw new ControlErrorException("Unknown column " + name, pos);
+        return table.getColumn(name).toList();
+    }
+}
@@ -0,0 +1,63 @@
+/*  Copyright (c) 2021 Damian Brunold, Gesundheitsdirektion Kanton Zürich
+
+    Permission is hereby granted, free of charge, to any person obtaining a copy
+    of this software and associated documentation files (the "Software"), to deal
+    in the Software without restriction, including without limitation the rights
+    to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+    copies of the Software, and to permit persons to whom the Software is
+    furnished to do so, subject to the following conditions:
+
+    The above copyright notice and this permission notice shall be included in all
+    copies or substantial portions of the Software.
+
+    THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+    IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+    FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+    AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+    LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+    OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+    SOFTWARE.
+*/
+package ch.checkerlang.functions;
+
+import ch.checkerlang.Args;
+import ch.checkerlang.AsList;
+import ch.checkerlang.Environment;
+import ch.checkerlang.FuncInvoker;
+import ch.checkerlang.SourcePos;
+import ch.checkerlang.ValueIndex;
+import ch.checkerlang.values.Value;
+import ch.checkerlang.values.ValueList;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class FuncUnique extends FuncBase {
+    public FuncUnique() {
+        super("unique");
+        info = "unique(lst, key = identity)\r\n" +
+                "\r\n" +
+                "Makes the elements of the list unique, by discarding duplicates,\r\n" +
+                "while retaining the original ordering. The first occurence of each\r\n" +
+                "duplicate is retained.\r\n" +
+                "\r\n" +
+                ": unique([1, 4, 2, 3, 3, 4, 5]) ==> [1, 4, 2, 3, 5]\r\n" +
+                ": ['a1', 'b2', 'c2', 'd3'] !> unique(key = fn(x) x[1]) ==> ['a1', 'b2', 'd3']\r\n" +
+                ": unique([1, 1.0, 'a', 'a']) ==> [1, 'a']\r\n";
+    }
+
+    public List<String> getArgNames() {
+        return Arrays.asList("lst", "key");
+    }
+
+    public Value execute(Args args, Environment environment, SourcePos pos) {
+        FuncInvoker key = new FuncInvoker(args.hasArg("key") ? args.getFunc("key") : environment.get("identity", pos).asFunc(), environment, pos);
+        ValueIndex seen = new ValueIndex();
+        List<Value> result = new ArrayList<>();
+        for (Value item : AsList.items(args.get("lst"))) {
+            if (seen.add(key.call(item))) result.add(item);
+        }
+        return new ValueList(result);
+    }
+}
@@ -0,0 +1,55 @@
+/*  Copyright (c) 2021 Damian Brunold, Gesundheitsdirektion Kanton Zürich
+
+    Permission is hereby granted, free of charge, to any person obtaining a copy
+    of this software and associated documentation files (the "Software"), to deal
+    in the Software without restriction, including without limitation the rights
+    to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+    copies of the Software, and to permit persons to whom the Software is
+    furnished to do so, subject to the following conditions:
+
+    The above copyright notice and this permission notice shall be included in all
+    copies or substantial portions of the Software.
+
+    THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+    IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+    FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+    AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+    LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+    OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+    SOFTWARE.
+*/
+package ch.checkerlang.functions;
+
+import ch.checkerlang.Args;
+import ch.checkerlang.Environment;
+import ch.checkerlang.SourcePos;
+import ch.checkerlang.StatKernel;
+import ch.checkerlang.values.Value;
+import ch.checkerlang.values.ValueDecimal;
+
+import java.util.Arrays;
+import java.util.List;
+
+public class FuncVariance extends FuncBase {
+    public FuncVariance() {
+        super("variance");
+        info = "variance(lst, population = FALSE)\r\n" +
+                "\r\n" +
+                "Returns the sample variance of lst. If population is TRUE,\r\n" +
+                "the population variance is returned instead.\r\n" +
+                "\r\n" +
+                ": variance([2, 4, 4, 4, 5, 5, 7, 9]) ==> 32.0 / 7\r\n" +
+                ": variance([2, 4, 4, 4, 5, 5, 7, 9], population = TRUE) ==> 4.0\r\n";
+    }
+
+    public List<String> getArgNames() {
+        return Arrays.asList("lst", "population");
+    }
+
+    public Value execute(Args args, Environment environment, SourcePos pos) {
+        double[] values = StatKernel.toDoubles(args.getAsList("lst").getValue(), pos);
+        StatKernel.Moments moments = StatKernel.moments(values);
+        boolean population = args.hasArg("population") && args.getAsBoolean("population").getValue();
+        return new ValueDecimal(population ? moments.pvariance() : moments.variance());
+    }
+}
@@ -0,0 +1,96 @@
+/*  Copyright (c) 2021 Damian Brunold, Gesundheitsdirektion Kanton Zürich
+
+    Permission is hereby granted, free of charge, to any person obtaining a copy
+    of this software and associated documentation files (the "Software"), to deal
+    in the Software without restriction, including without limitation the rights
+    to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+    copies of the Software, and to permit persons to whom the Software is
+    furnished to do so, subject to the following conditions:
+
+    The above copyright notice and this permission notice shall be included in all
+    copies or substantial portions of the Software.
+
+    THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+    IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+    FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+    AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+    LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+    OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+    SOFTWARE.
+*/
+package ch.checkerlang.nodes;
+
+import ch.checkerlang.values.Shape;
+import ch.checkerlang.values.Value;
+import ch.checkerlang.values.ValueObject;
+
+class MemberCache {
+    private static final String PROTO = "_proto_";
+
+    private static class Entry {
+        final String member;
+        final Shape shape;
+        final int slot;
+        final Shape protoShape;
+        final int protoSlot;
+
+        Entry(String member, Shape shape, int slot, Shape protoShape, int protoSlot) {
+            this.member = member;
+            this.shape = shape;
+            this.slot = slot;
+            this.protoShape = protoShape;
+            this.protoSlot = protoSlot;
+        }
+    }
+
+    private Entry own;
+    private Entry inherited;
+
+    public Value lookup(ValueObject object, String member) {
+        Shape shape = object.getShape();
+        if (shape != null) {
+            Entry entry = own;
+            if (entry != null && entry.shape == shape && entry.member.equals(member)) {
+                return object.getSlot(entry.slot);
+            }
+            entry = inherited;
+            if (entry != null && entry.shape == shape && entry.member.equals(member)) {
+                Value proto = object.getSlot(entry.slot);
+                if (proto instanceof ValueObject && ((ValueObject) proto).getShape() == entry.protoShape) {
+                    return ((ValueObject) proto).getSlot(entry.protoSlot);
+                }
+            }
+        }
+        return resolve(object, member);
+    }
+
+    public void store(ValueObject object, String member, Value value) {
+        Shape shape = object.getShape();
+        Entry entry = own;
+        if (shape != null && entry != null && entry.shape == shape && entry.member.equals(member)) {
+            object.setSlot(entry.slot, value);
+            return;
+        }
+        object.addItem(member, value);
+        shape = object.getShape();
+        if (shape != null) own = new Entry(member, shape, shape.slotOf(member), null, -1);
+    }
+
+    private Value resolve(ValueObject object, String member) {
+        Shape shape = object.getShape();
+        if (object.hasItem(member)) {
+            if (shape != null) own = new Entry(member, shape, shape.slotOf(member), null, -1);
+            return object.getItem(member);
+        }
+        if (!object.hasItem(PROTO)) return null;
+        ValueObject proto = object.getItem(PROTO).asObject();
+        Shape protoShape = proto.getShape();
+        if (proto.hasItem(member)) {
+            if (shape != null && protoShape != null) {
+                inherited = new Entry(member, shape, shape.slotOf(PROTO), protoShape, protoShape.slotOf(member));
+            }
+            return proto.getItem(member);
+        }
+        return proto.resolveItem(member);
+    }
+}
@@ -43,7 +43,7 @@ public class NodeDef implements Node {
 
     public Value evaluate(Environment environment) {
         Value value = expression.evaluate(environment);
-        value.info = info;
+        if (!info.isEmpty()) value.withInfo(info);
         environment.put(identifier, value);
         if (value.isFunc() && value instanceof FuncLambda) ((FuncLambda) value).setName(identifier);
         return value;
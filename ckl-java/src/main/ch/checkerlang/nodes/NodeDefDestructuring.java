@@ -46,7 +46,7 @@ public class NodeDefDestructuring implements Node {
 
     public Value evaluate(Environment environment) {
         Value value = expression.evaluate(environment);
-        value.info = info;
+        if (!info.isEmpty()) value.withInfo(info);
         List<Value> list = value.asList().getValue();
         Value result = ValueNull.NULL;
         for (int i = 0; i < identifiers.size(); i++) {
@@ -35,6 +35,7 @@ public class NodeDeref implements Node {
     private Node expression;
     private Node index;
     private Node defaultValue;
+    private MemberCache members = new MemberCache();
 
     private SourcePos pos;
 
@@ -51,12 +52,12 @@ public class NodeDeref implements Node {
         if (value.isNull()) return ValueNull.NULL;
         if (value.isString()) {
             if (defaultValue != null) throw new ControlErrorException("Default value not allowed in string dereference", pos);
-            String s = value.asString().getValue();
+            ValueString s = value.asString();
             int i = (int) idx.asInt().getValue();
             if (i < 0) i = i + s.length();
             if (i < 0 || i >= s.length())
                 throw new ControlErrorException("Index out of bounds " + i, pos);
-            return new ValueString(s.substring(i, i + 1));
+            return ValueString.ofChar(s.charAt(i));
         }
         if (value.isList()) {
             if (defaultValue != null) throw new ControlErrorException("Default value not allowed in list dereference", pos);
@@ -76,18 +77,12 @@ public class NodeDeref implements Node {
             return map.get(idx);
         }
         if (value.isObject()) {
-            Map<String, Value> map = value.asObject().value;
-            String member = idx.asString().getValue();
-            boolean exists = map.containsKey(member);
-            while (!exists && map.containsKey("_proto_")) {
-                map = map.get("_proto_").asObject().value;
-                exists = map.containsKey(member);
-            }
-            if (!exists) {
+            Value result = members.lookup(value.asObject(), idx.asString().getValue());
+            if (result == null) {
                 if (defaultValue != null) return defaultValue.evaluate(environment);
                 else return ValueNull.NULL;
             }
-            return map.get(member);
+            return result;
         }
         throw new ControlErrorException("Cannot dereference value " + value, pos);
     }
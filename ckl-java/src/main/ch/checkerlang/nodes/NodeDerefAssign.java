@@ -34,6 +34,7 @@ public class NodeDerefAssign implements Node {
     private Node expression;
     private Node index;
     private Node value;
+    private MemberCache members = new MemberCache();
 
     private SourcePos pos;
 
@@ -71,9 +72,7 @@ public class NodeDerefAssign implements Node {
             return container;
         }
         if (container.isObject()) {
-            Map<String, Value> map = container.asObject().value;
-            String member = idx.asString().getValue();
-            map.put(member, value);
+            members.store(container.asObject(), idx.asString().getValue(), value);
             return container;
         }
         throw new ControlErrorException("Cannot deref-assign " + this.value, pos);
@@ -33,6 +33,7 @@ public class NodeDerefInvoke implements Node {
     private String member;
     private List<String> names = new ArrayList<>();
     private List<Node> args = new ArrayList<>();
+    private MemberCache members = new MemberCache();
 
     private SourcePos pos;
 
@@ -51,29 +52,12 @@ public class NodeDerefInvoke implements Node {
         Value obj = this.objectExpr.evaluate(environment);
         if (obj.isObject()) {
             ValueObject object = obj.asObject();
-            boolean exists = object.hasItem(this.member);
-            while (!exists && object.hasItem("_proto_")) {
-                object = object.getItem("_proto_").asObject();
-                exists = object.hasItem(this.member);
-            }
-            if (!exists) throw new ControlErrorException("Member " + this.member + " not found", this.pos);
-            Value fnval = object.getItem(this.member);
+            Value fnval = members.lookup(object, this.member);
+            if (fnval == null) throw new ControlErrorException("Member " + this.member + " not found", this.pos);
             if (!fnval.isFunc()) throw new ControlErrorException("Member " + this.member + " is not a function", this.pos);
             ValueFunc fn = fnval.asFunc();
-            List<String> names;
-            List<Node> args;
-            if (obj.asObject().isModule) {
-                names = this.names;
-                args = this.args;
-            } else {
-                names = new ArrayList<>();
-                args = new ArrayList<>();
-                names.add(null);
-                names.addAll(this.names);
-                args.add(new NodeLiteral(obj.asObject(), this.pos));
-                args.addAll(this.args);
-            }
-            return Function.invoke(fn, names, args, environment, this.pos);
+            if (object.isModule) return Function.invoke(fn, this.names, this.args, environment, this.pos);
+            return Function.invoke(fn, object, this.names, this.args, environment, this.pos);
         }
         if (obj instanceof ValueMap) {
             Map<Value, Value> map = obj.asMap().getValue();
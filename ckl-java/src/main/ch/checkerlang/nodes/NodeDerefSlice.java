@@ -51,14 +51,14 @@ public class NodeDerefSlice implements Node {
         Value end = this.end != null ? this.end.evaluate(environment) : null;
         if (value == ValueNull.NULL) return ValueNull.NULL;
         if (value instanceof ValueString) {
-            String s = value.asString().getValue();
+            ValueString s = value.asString();
             int idxStart = (int) start.asInt().getValue();
             int idxEnd = end == null ? s.length() : (int) end.asInt().getValue();
             if (idxStart < 0) idxStart = idxStart + s.length();
             if (idxEnd < 0) idxEnd = idxEnd + s.length();
             if (idxStart < 0) idxStart = 0;
             if (idxEnd > s.length()) idxEnd = s.length();
-            return new ValueString(s.substring(idxStart, idxEnd));
+            return s.substring(idxStart, idxEnd);
         }
         if (value instanceof ValueList) {
             List<Value> list = value.asList().getValue();
@@ -68,11 +68,8 @@ public class NodeDerefSlice implements Node {
             if (idxEnd < 0) idxEnd = idxEnd + list.size();
             if (idxStart < 0) idxStart = 0;
             if (idxEnd > list.size()) idxEnd = list.size();
-            ValueList result = new ValueList();
-            for (int i = idxStart; i < idxEnd; i++) {
-                result.addItem(list.get(i));
-            }
-            return result;
+            if (idxEnd <= idxStart) return new ValueList();
+            return value.asList().slice(idxStart, idxEnd);
         }
         throw new ControlErrorException("Cannot slice value " + value, this.pos);
     }
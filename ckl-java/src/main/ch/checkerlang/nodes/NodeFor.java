@@ -23,6 +23,7 @@ package ch.checkerlang.nodes;
 import ch.checkerlang.ControlErrorException;
 import ch.checkerlang.Environment;
 import ch.checkerlang.SourcePos;
+import ch.checkerlang.StringPool;
 import ch.checkerlang.values.*;
 
 import java.io.IOException;
@@ -53,7 +54,7 @@ public class NodeFor implements Node {
             try {
                 line = input.readLine();
                 while (line != null) {
-                    Value value = new ValueString(line);
+                    Value value = StringPool.of(line);
                     if (identifiers.size() == 1) {
                         environment.put(identifiers.get(0), value);
                     } else {
@@ -190,7 +191,7 @@ public class NodeFor implements Node {
         }
         if (list.isObject()) {
             Value result = ValueBoolean.TRUE;
-            for (Map.Entry<String, Value> entry : list.asObject().value.entrySet()) {
+            for (Map.Entry<String, Value> entry : list.asObject().getValue().entrySet()) {
                 Value val = null;
                 if (this.what.equals("keys")) val = new ValueString(entry.getKey());
                 else if (this.what.equals("values")) val = entry.getValue();
@@ -228,11 +229,43 @@ public class NodeFor implements Node {
             }
             return result;
         }
+        if (list.isTable()) {
+            ValueTable table = list.asTable();
+            int[] columns = new int[identifiers.size()];
+            for (int i = 0; i < columns.length && identifiers.size() > 1; i++) {
+                columns[i] = table.indexOf(identifiers.get(i));
+                if (columns[i] < 0) throw new ControlErrorException("Unknown column " + identifiers.get(i), pos);
+            }
+            Value result = ValueBoolean.TRUE;
+            for (int row = 0; row < table.getRowCount(); row++) {
+                if (identifiers.size() == 1) {
+                    environment.put(identifiers.get(0), table.getRow(row));
+                } else {
+                    for (int i = 0; i < columns.length; i++) {
+                        environment.put(identifiers.get(i), table.getCell(row, columns[i]));
+                    }
+                }
+                result = block.evaluate(environment);
+                if (result.isBreak()) {
+                    result = ValueBoolean.TRUE;
+                    break;
+                } else if (result.isContinue()) {
+                    result = ValueBoolean.TRUE;
+                    // continue
+                } else if (result.isReturn()) {
+                    break;
+                }
+            }
+            for (String identifier : identifiers) {
+                environment.remove(identifier);
+            }
+            return result;
+        }
         if (list.isString()) {
-            String str = list.asString().getValue();
+            ValueString str = list.asString();
             Value result = ValueBoolean.TRUE;
             for (int i = 0; i < str.length(); i++) {
-                environment.put(identifiers.get(0), new ValueString(str.substring(i, i + 1)));
+                environment.put(identifiers.get(0), ValueString.ofChar(str.charAt(i)));
                 result = block.evaluate(environment);
                 if (result.isBreak()) {
                     result = ValueBoolean.TRUE;
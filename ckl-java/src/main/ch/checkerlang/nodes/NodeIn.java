@@ -22,8 +22,10 @@ package ch.checkerlang.nodes;
 
 import ch.checkerlang.Environment;
 import ch.checkerlang.SourcePos;
+import ch.checkerlang.ValueIndex;
 import ch.checkerlang.values.Value;
 import ch.checkerlang.values.ValueBoolean;
+import ch.checkerlang.values.ValueSet;
 
 import java.util.Collection;
 import java.util.List;
@@ -31,6 +33,8 @@ import java.util.List;
 public class NodeIn implements Node {
     private Node expression;
     private Node list;
+    private ValueIndex literalList;
+    private ValueSet literalSet;
 
     private SourcePos pos;
 
@@ -38,22 +42,34 @@ public class NodeIn implements Node {
         this.expression = expression;
         this.list = list;
         this.pos = pos;
+        if (list instanceof NodeList && allLiteral(((NodeList) list).getItems())) {
+            literalList = new ValueIndex();
+            for (Node item : ((NodeList) list).getItems()) literalList.add(item.evaluate(null));
+        } else if (list instanceof NodeSet && allLiteral(((NodeSet) list).getItems())) {
+            literalSet = list.evaluate(null).asSet();
+        }
+    }
+
+    private static boolean allLiteral(List<Node> items) {
+        for (Node item : items) {
+            if (!item.isLiteral()) return false;
+        }
+        return true;
     }
 
     public Value evaluate(Environment environment) {
         Value value = expression.evaluate(environment);
+        if (literalList != null) return ValueBoolean.from(literalList.contains(value));
+        if (literalSet != null) return ValueBoolean.from(literalSet.getValue().contains(value));
         Value container = list.evaluate(environment);
         if (container.isList()) {
-            List<Value> items = container.asList().getValue();
-            for (Value item : items) {
-                if (value.isEquals(item)) return ValueBoolean.TRUE;
-            }
+            return ValueBoolean.from(container.asList().containsItem(value));
         } else if (container.isSet()) {
             return ValueBoolean.from(container.asSet().getValue().contains(value));
         } else if (container.isMap()) {
             return ValueBoolean.from(container.asMap().getValue().containsKey(value));
         } else if (container.isObject()) {
-            return ValueBoolean.from(container.asObject().value.containsKey(value.asString().getValue()));
+            return ValueBoolean.from(container.asObject().hasItem(value.asString().getValue()));
         } else if (container.isString()) {
             return ValueBoolean.from(container.asString().getValue().contains(value.asString().getValue()));
         }
@@ -69,25 +69,28 @@ public class NodeRequire implements Node {
         if (name.endsWith(".ckl")) name = name.substring(0, name.length() - 4);
         moduleidentifier = name;
         if (modulename == null) modulename = name;
-        environment.pushModuleStack(moduleidentifier, this.pos);
-
-        // lookup or read module
+        // module loading is serialised, so that rules can be evaluated concurrently
         Environment moduleEnv = null;
-        if (modules.containsKey(moduleidentifier)) {
-            moduleEnv = modules.get(moduleidentifier);
-        } else {
-            moduleEnv = environment.getBase().newEnv();
-            String modulesrc = ModuleLoader.loadModule(modulefile, environment, this.pos);
-            Node node = null;
-            try {
-                node = Parser.parse(modulesrc, modulefile);
-            } catch (IOException e) {
-                throw new ControlErrorException("Cannot parse module " + moduleidentifier, this.pos);
+        synchronized (modules) {
+            environment.pushModuleStack(moduleidentifier, this.pos);
+
+            // lookup or read module
+            if (modules.containsKey(moduleidentifier)) {
+                moduleEnv = modules.get(moduleidentifier);
+            } else {
+                moduleEnv = environment.getBase().newEnv();
+                String modulesrc = ModuleLoader.loadModule(modulefile, environment, this.pos);
+                Node node = null;
+                try {
+                    node = Parser.parse(modulesrc, modulefile);
+                } catch (IOException e) {
+                    throw new ControlErrorException("Cannot parse module " + moduleidentifier, this.pos);
+                }
+                node.evaluate(moduleEnv);
+                modules.put(moduleidentifier, moduleEnv);
             }
-            node.evaluate(moduleEnv);
-            modules.put(moduleidentifier, moduleEnv);
+            environment.popModuleStack();
         }
-        environment.popModuleStack();
 
         // bind module or contents of module
         if (this.unqualified) {
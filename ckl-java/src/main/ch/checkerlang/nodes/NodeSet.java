@@ -42,6 +42,10 @@ public class NodeSet implements Node {
         items.add(item);
     }
 
+    public List<Node> getItems() {
+        return items;
+    }
+
     public Value evaluate(Environment environment) {
         ValueSet result = new ValueSet();
         for (Node item : items) {
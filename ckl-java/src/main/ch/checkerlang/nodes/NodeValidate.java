@@ -0,0 +1,97 @@
+/*  Copyright (c) 2021 Damian Brunold, Gesundheitsdirektion Kanton Zürich
+
+    Permission is hereby granted, free of charge, to any person obtaining a copy
+    of this software and associated documentation files (the "Software"), to deal
+    in the Software without restriction, including without limitation the rights
+    to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+    copies of the Software, and to permit persons to whom the Software is
+    furnished to do so, subject to the following conditions:
+
+    The above copyright notice and this permission notice shall be included in all
+    copies or substantial portions of the Software.
+
+    THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+    IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+    FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+    AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+    LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+    OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+    SOFTWARE.
+*/
+package ch.checkerlang.nodes;
+
+import ch.checkerlang.ControlErrorException;
+import ch.checkerlang.Environment;
+import ch.checkerlang.SourcePos;
+import ch.checkerlang.Validator;
+import ch.checkerlang.values.Value;
+import ch.checkerlang.values.ValueBoolean;
+
+import java.util.Collection;
+
+public class NodeValidate implements Node {
+    private String name;
+    private Node expression;
+    private Validator validator;
+    private Node minLength;
+    private Node maxLength;
+    private String suffix;
+
+    private SourcePos pos;
+
+    public NodeValidate(String name, Node expression, Validator validator, String suffix, SourcePos pos) {
+        this(name, expression, validator, null, null, suffix, pos);
+    }
+
+    public NodeValidate(String name, Node expression, Validator validator, Node minLength, Node maxLength, SourcePos pos) {
+        this(name, expression, validator, minLength, maxLength, minLength + ", " + maxLength, pos);
+    }
+
+    private NodeValidate(String name, Node expression, Validator validator, Node minLength, Node maxLength, String suffix, SourcePos pos) {
+        this.name = name;
+        this.expression = expression;
+        this.validator = validator;
+        this.minLength = minLength;
+        this.maxLength = maxLength;
+        this.suffix = suffix;
+        this.pos = pos;
+    }
+
+    public Validator getValidator() {
+        return validator;
+    }
+
+    public Value evaluate(Environment environment) {
+        Value value = expression.evaluate(environment);
+        String s;
+        try {
+            s = value.asString().getValue();
+        } catch (ControlErrorException e) {
+            throw new ControlErrorException(e.getErrorValue(), pos, e.getStacktrace());
+        }
+        if (minLength != null) {
+            long length = s.length();
+            if (length < minLength.evaluate(environment).asInt().getValue()) return ValueBoolean.FALSE;
+            if (length > maxLength.evaluate(environment).asInt().getValue()) return ValueBoolean.FALSE;
+        }
+        return ValueBoolean.from(validator.check(s));
+    }
+
+    public String toString() {
+        return "(" + name + " (string " + expression + "), " + suffix + ")";
+    }
+
+    public void collectVars(Collection<String> freeVars, Collection<String> boundVars, Collection<String> additionalBoundVars) {
+        expression.collectVars(freeVars, boundVars, additionalBoundVars);
+        if (minLength != null) minLength.collectVars(freeVars, boundVars, additionalBoundVars);
+        if (maxLength != null) maxLength.collectVars(freeVars, boundVars, additionalBoundVars);
+    }
+
+    public SourcePos getSourcePos() {
+        return pos;
+    }
+
+    public boolean isLiteral() {
+        return false;
+    }
+}
@@ -0,0 +1,402 @@
+/*  Copyright (c) 2021 Damian Brunold, Gesundheitsdirektion Kanton Zürich
+
+    Permission is hereby granted, free of charge, to any person obtaining a copy
+    of this software and associated documentation files (the "Software"), to deal
+    in the Software without restriction, including without limitation the rights
+    to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+    copies of the Software, and to permit persons to whom the Software is
+    furnished to do so, subject to the following conditions:
+
+    The above copyright notice and this permission notice shall be included in all
+    copies or substantial portions of the Software.
+
+    THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+    IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+    FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+    AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+    LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+    OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+    SOFTWARE.
+*/
+package ch.checkerlang.values;
+
+import ch.checkerlang.ValueIndex;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.RandomAccess;
+
+public class AdaptiveList extends AbstractList<Value> implements RandomAccess {
+    public enum Kind {
+        EMPTY, LONGS, DOUBLES, GENERIC, SPILLED
+    }
+
+    private static final int INITIAL_CAPACITY = 10;
+    private static final int INDEX_MIN_SIZE = 16;
+    private static final int INDEX_MIN_PROBES = 4;
+
+    private Kind kind = Kind.EMPTY;
+    private long[] longs;
+    private double[] doubles;
+    private Value[] values;
+    private SpillList spilled;
+    private int offset;
+    private int size;
+    private boolean shared;
+    private boolean readonly;
+    private int version;
+    private Membership membership;
+
+    public AdaptiveList() {
+        // empty
+    }
+
+    public AdaptiveList(long[] longs, int size) {
+        this.kind = size == 0 ? Kind.EMPTY : Kind.LONGS;
+        this.longs = longs;
+        this.size = size;
+    }
+
+    public AdaptiveList(double[] doubles, int size) {
+        this.kind = size == 0 ? Kind.EMPTY : Kind.DOUBLES;
+        this.doubles = doubles;
+        this.size = size;
+    }
+
+    private AdaptiveList(SpillList spilled) {
+        this.kind = Kind.SPILLED;
+        this.spilled = spilled;
+        this.size = spilled.size();
+        spilled.register(this);
+    }
+
+    private AdaptiveList(AdaptiveList source, int from, int to) {
+        this.kind = source.kind;
+        this.longs = source.longs;
+        this.doubles = source.doubles;
+        this.values = source.values;
+        this.offset = source.offset + from;
+        this.size = to - from;
+        this.shared = true;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public boolean isLongs() {
+        return kind == Kind.LONGS;
+    }
+
+    public boolean isDoubles() {
+        return kind == Kind.DOUBLES;
+    }
+
+    public boolean isSpilled() {
+        return kind == Kind.SPILLED;
+    }
+
+    // Unlike modCount this also changes when elements are replaced.
+    public int getVersion() {
+        return version;
+    }
+
+    // Lists that are probed repeatedly without being modified get a hash index.
+    public boolean containsValue(Value item) {
+        Membership current = membership;
+        if (current == null || current.version != version) membership = current = new Membership(version);
+        ValueIndex index = current.index;
+        if (index != null) return index.contains(item);
+        if (size >= INDEX_MIN_SIZE && ++current.probes == INDEX_MIN_PROBES && isIndexable()) {
+            current.index = index = new ValueIndex(this);
+            return index.contains(item);
+        }
+        if (kind == Kind.LONGS && item.isInt()) {
+            long value = item.asInt().getValue();
+            for (int i = 0; i < size; i++) {
+                if (longs[offset + i] == value) return true;
+            }
+            return false;
+        }
+        for (int i = 0; i < size; i++) {
+            if (item.isEquals(get(i))) return true;
+        }
+        return false;
+    }
+
+    // Mutable elements could change their hash code after indexing.
+    private boolean isIndexable() {
+        if (kind == Kind.LONGS || kind == Kind.DOUBLES) return true;
+        for (int i = 0; i < size; i++) {
+            if (!get(i).isAtomic()) return false;
+        }
+        return true;
+    }
+
+    public long getLong(int index) {
+        return longs[offset + index];
+    }
+
+    public double getDouble(int index) {
+        return doubles[offset + index];
+    }
+
+    public long[] toLongArray() {
+        return Arrays.copyOfRange(longs, offset, offset + size);
+    }
+
+    public double[] toDoubleArray() {
+        return Arrays.copyOfRange(doubles, offset, offset + size);
+    }
+
+    public void makeReadonly() {
+        readonly = true;
+    }
+
+    public AdaptiveList slice(int from, int to) {
+        if (from < 0 || to > size || from > to) throw new IndexOutOfBoundsException("From: " + from + ", To: " + to + ", Size: " + size);
+        if (from == to) return new AdaptiveList();
+        if (kind == Kind.SPILLED) return new AdaptiveList(spilled.slice(from, to));
+        shared = true;
+        return new AdaptiveList(this, from, to);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public Value get(int index) {
+        checkIndex(index, size);
+        switch (kind) {
+            case LONGS:
+                return new ValueInt(longs[offset + index]);
+            case DOUBLES:
+                return new ValueDecimal(doubles[offset + index]);
+            case SPILLED:
+                return spilled.get(index);
+            default:
+                return values[offset + index];
+        }
+    }
+
+    public Value set(int index, Value element) {
+        checkWritable();
+        checkIndex(index, size);
+        Value previous = get(index);
+        version++;
+        if (kind == Kind.SPILLED) {
+            spilled.set(index, element);
+            return previous;
+        }
+        if (!fits(element)) generalize();
+        prepareWrite(size);
+        store(index, element);
+        return previous;
+    }
+
+    public void add(int index, Value element) {
+        checkWritable();
+        if (index < 0 || index > size) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        modCount++;
+        version++;
+        if (kind == Kind.SPILLED) {
+            spilled.add(index, element);
+            size++;
+            return;
+        }
+        if (kind == Kind.EMPTY) {
+            // Numbers are packed without their info, documented constants
+            // keep it through their environment binding.
+            if (element.isInt()) kind = Kind.LONGS;
+            else if (element.isDecimal()) kind = Kind.DOUBLES;
+            else kind = Kind.GENERIC;
+        } else if (!fits(element)) {
+            generalize();
+        }
+        prepareWrite(size + 1);
+        switch (kind) {
+            case LONGS:
+                System.arraycopy(longs, index, longs, index + 1, size - index);
+                break;
+            case DOUBLES:
+                System.arraycopy(doubles, index, doubles, index + 1, size - index);
+                break;
+            default:
+                System.arraycopy(values, index, values, index + 1, size - index);
+                break;
+        }
+        size++;
+        store(index, element);
+        if (kind == Kind.GENERIC && size >= SpillStore.getThreshold() && SpillStore.getThreshold() > 0) spill();
+    }
+
+    public Value remove(int index) {
+        checkWritable();
+        checkIndex(index, size);
+        Value previous = get(index);
+        modCount++;
+        version++;
+        if (kind == Kind.SPILLED) {
+            spilled.remove(index);
+            size--;
+            return previous;
+        }
+        prepareWrite(size);
+        switch (kind) {
+            case LONGS:
+                System.arraycopy(longs, index + 1, longs, index, size - index - 1);
+                break;
+            case DOUBLES:
+                System.arraycopy(doubles, index + 1, doubles, index, size - index - 1);
+                break;
+            default:
+                System.arraycopy(values, index + 1, values, index, size - index - 1);
+                values[size - 1] = null;
+                break;
+        }
+        size--;
+        return previous;
+    }
+
+    public boolean addAll(Collection<? extends Value> c) {
+        if (!(c instanceof AdaptiveList)) return super.addAll(c);
+        AdaptiveList other = (AdaptiveList) c;
+        if (other.size == 0) return false;
+        if (kind == Kind.SPILLED || other.kind == Kind.SPILLED) return super.addAll(c);
+        if (kind != Kind.EMPTY && kind != other.kind && kind != Kind.GENERIC) return super.addAll(c);
+        checkWritable();
+        modCount++;
+        version++;
+        if (kind == Kind.EMPTY) kind = other.kind;
+        prepareWrite(size + other.size);
+        switch (other.kind) {
+            case LONGS:
+                if (kind == Kind.LONGS) System.arraycopy(other.longs, other.offset, longs, size, other.size);
+                else for (int i = 0; i < other.size; i++) values[size + i] = other.get(i);
+                break;
+            case DOUBLES:
+                if (kind == Kind.DOUBLES) System.arraycopy(other.doubles, other.offset, doubles, size, other.size);
+                else for (int i = 0; i < other.size; i++) values[size + i] = other.get(i);
+                break;
+            default:
+                System.arraycopy(other.values, other.offset, values, size, other.size);
+                break;
+        }
+        size += other.size;
+        return true;
+    }
+
+    public void clear() {
+        checkWritable();
+        modCount++;
+        version++;
+        kind = Kind.EMPTY;
+        longs = null;
+        doubles = null;
+        values = null;
+        if (spilled != null) spilled.release();
+        spilled = null;
+        offset = 0;
+        size = 0;
+        shared = false;
+    }
+
+    public boolean contentEquals(AdaptiveList other) {
+        if (kind != other.kind || size != other.size) return false;
+        if (kind == Kind.LONGS) {
+            for (int i = 0; i < size; i++) {
+                if (longs[offset + i] != other.longs[other.offset + i]) return false;
+            }
+            return true;
+        }
+        if (kind == Kind.DOUBLES) {
+            for (int i = 0; i < size; i++) {
+                if (doubles[offset + i] != other.doubles[other.offset + i]) return false;
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private boolean fits(Value element) {
+        if (kind == Kind.GENERIC) return true;
+        if (kind == Kind.LONGS) return element.isInt();
+        if (kind == Kind.DOUBLES) return element.isDecimal();
+        return false;
+    }
+
+    private void store(int index, Value element) {
+        switch (kind) {
+            case LONGS:
+                longs[offset + index] = element.asInt().getValue();
+                break;
+            case DOUBLES:
+                doubles[offset + index] = element.asDecimal().getValue();
+                break;
+            default:
+                values[offset + index] = element;
+                break;
+        }
+    }
+
+    private void prepareWrite(int capacity) {
+        int length = kind == Kind.LONGS ? (longs == null ? 0 : longs.length)
+                : kind == Kind.DOUBLES ? (doubles == null ? 0 : doubles.length)
+                : (values == null ? 0 : values.length);
+        if (!shared && offset + capacity <= length) return;
+        int newLength = Math.max(capacity, shared && capacity <= size ? size : Math.max(INITIAL_CAPACITY, size + (size >> 1)));
+        switch (kind) {
+            case LONGS:
+                longs = longs == null ? new long[newLength] : Arrays.copyOfRange(longs, offset, offset + newLength);
+                break;
+            case DOUBLES:
+                doubles = doubles == null ? new double[newLength] : Arrays.copyOfRange(doubles, offset, offset + newLength);
+                break;
+            default:
+                values = values == null ? new Value[newLength] : Arrays.copyOfRange(values, offset, offset + newLength);
+                break;
+        }
+        offset = 0;
+        shared = false;
+    }
+
+    private void spill() {
+        spilled = new SpillList(SpillStore.getShared(), this);
+        spilled.register(this);
+        kind = Kind.SPILLED;
+        values = null;
+        offset = 0;
+        shared = false;
+    }
+
+    private void generalize() {
+        if (kind == Kind.GENERIC) return;
+        Value[] result = new Value[Math.max(INITIAL_CAPACITY, size + (size >> 1) + 1)];
+        for (int i = 0; i < size; i++) result[i] = get(i);
+        values = result;
+        kind = Kind.GENERIC;
+        longs = null;
+        doubles = null;
+        offset = 0;
+        shared = false;
+    }
+
+    private void checkWritable() {
+        if (readonly) throw new UnsupportedOperationException();
+    }
+
+    private static void checkIndex(int index, int size) {
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+    }
+
+    private static final class Membership {
+        final int version;
+        int probes;
+        volatile ValueIndex index;
+
+        Membership(int version) {
+            this.version = version;
+        }
+    }
+}
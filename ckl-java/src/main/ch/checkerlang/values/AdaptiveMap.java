@@ -0,0 +1,214 @@
+/*  Copyright (c) 2021 Damian Brunold, Gesundheitsdirektion Kanton Zürich
+
+    Permission is hereby granted, free of charge, to any person obtaining a copy
+    of this software and associated documentation files (the "Software"), to deal
+    in the Software without restriction, including without limitation the rights
+    to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+    copies of the Software, and to permit persons to whom the Software is
+    furnished to do so, subject to the following conditions:
+
+    The above copyright notice and this permission notice shall be included in all
+    copies or substantial portions of the Software.
+
+    THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+    IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+    FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+    AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+    LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+    OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+    SOFTWARE.
+*/
+package ch.checkerlang.values;
+
+import java.util.*;
+
+public class AdaptiveMap extends TreeMap<Value, Value> {
+    private static final long serialVersionUID = 1L;
+
+    // Once spilled, the tree maps each key to the slot of its value.
+    private transient SpillList records;
+    private transient int[] freeSlots;
+    private transient int freeSlotCount;
+
+    public boolean isSpilled() {
+        return records != null;
+    }
+
+    public Value get(Object key) {
+        if (records == null) return super.get(key);
+        Slot slot = (Slot) super.get(key);
+        return slot == null ? null : records.get(slot.index);
+    }
+
+    public Value put(Value key, Value value) {
+        if (records == null) {
+            Value previous = super.put(key, value);
+            if (previous == null && size() >= SpillStore.getThreshold() && SpillStore.getThreshold() > 0) spill();
+            return previous;
+        }
+        Slot slot = (Slot) super.get(key);
+        if (slot != null) {
+            Value previous = records.get(slot.index);
+            records.set(slot.index, value);
+            return previous;
+        }
+        if (freeSlotCount > 0) {
+            slot = new Slot(freeSlots[--freeSlotCount]);
+            records.set(slot.index, value);
+        } else {
+            slot = new Slot(records.size());
+            records.add(slot.index, value);
+        }
+        super.put(key, slot);
+        return null;
+    }
+
+    public void putAll(Map<? extends Value, ? extends Value> map) {
+        if (records == null) {
+            super.putAll(map);
+            if (size() >= SpillStore.getThreshold() && SpillStore.getThreshold() > 0) spill();
+            return;
+        }
+        for (Map.Entry<? extends Value, ? extends Value> entry : map.entrySet()) put(entry.getKey(), entry.getValue());
+    }
+
+    public Value remove(Object key) {
+        if (records == null) return super.remove(key);
+        Slot slot = (Slot) super.remove(key);
+        if (slot == null) return null;
+        Value previous = records.get(slot.index);
+        freeSlot(slot);
+        return previous;
+    }
+
+    public void clear() {
+        if (records != null) {
+            records.release();
+            records = null;
+            freeSlots = null;
+            freeSlotCount = 0;
+        }
+        super.clear();
+    }
+
+    public boolean containsValue(Object value) {
+        if (records == null) return super.containsValue(value);
+        for (Value key : keySet()) {
+            if (Objects.equals(get(key), value)) return true;
+        }
+        return false;
+    }
+
+    public Collection<Value> values() {
+        if (records == null) return super.values();
+        return new AbstractCollection<Value>() {
+            public Iterator<Value> iterator() {
+                Iterator<Map.Entry<Value, Value>> entries = entrySet().iterator();
+                return new Iterator<Value>() {
+                    public boolean hasNext() {
+                        return entries.hasNext();
+                    }
+
+                    public Value next() {
+                        return entries.next().getValue();
+                    }
+
+                    public void remove() {
+                        entries.remove();
+                    }
+                };
+            }
+
+            public int size() {
+                return AdaptiveMap.this.size();
+            }
+        };
+    }
+
+    public Set<Map.Entry<Value, Value>> entrySet() {
+        if (records == null) return super.entrySet();
+        return new AbstractSet<Map.Entry<Value, Value>>() {
+            public Iterator<Map.Entry<Value, Value>> iterator() {
+                Iterator<Map.Entry<Value, Value>> slots = AdaptiveMap.super.entrySet().iterator();
+                return new Iterator<Map.Entry<Value, Value>>() {
+                    private Slot slot;
+
+                    public boolean hasNext() {
+                        return slots.hasNext();
+                    }
+
+                    public Map.Entry<Value, Value> next() {
+                        Map.Entry<Value, Value> entry = slots.next();
+                        Value entryKey = entry.getKey();
+                        slot = (Slot) entry.getValue();
+                        return new AbstractMap.SimpleEntry<Value, Value>(entryKey, records.get(slot.index)) {
+                            public Value setValue(Value value) {
+                                put(entryKey, value);
+                                return super.setValue(value);
+                            }
+                        };
+                    }
+
+                    public void remove() {
+                        slots.remove();
+                        freeSlot(slot);
+                    }
+                };
+            }
+
+            public int size() {
+                return AdaptiveMap.this.size();
+            }
+        };
+    }
+
+    public void forEach(java.util.function.BiConsumer<? super Value, ? super Value> action) {
+        if (records == null) {
+            super.forEach(action);
+            return;
+        }
+        for (Map.Entry<Value, Value> entry : entrySet()) action.accept(entry.getKey(), entry.getValue());
+    }
+
+    private void spill() {
+        records = new SpillList(SpillStore.getShared(), size());
+        freeSlots = new int[16];
+        freeSlotCount = 0;
+        for (Map.Entry<Value, Value> entry : super.entrySet()) {
+            int index = records.size();
+            records.add(index, entry.getValue());
+            entry.setValue(new Slot(index));
+        }
+        records.register(this);
+    }
+
+    private void freeSlot(Slot slot) {
+        records.clear(slot.index);
+        if (freeSlotCount == freeSlots.length) freeSlots = Arrays.copyOf(freeSlots, freeSlotCount * 2);
+        freeSlots[freeSlotCount++] = slot.index;
+    }
+
+    private static final class Slot extends Value {
+        private final int index;
+
+        Slot(int index) {
+            this.index = index;
+        }
+
+        public boolean isEquals(Value value) {
+            return value == this;
+        }
+
+        public int compareTo(Value value) {
+            return Integer.compare(index, ((Slot) value).index);
+        }
+
+        public String type() {
+            return "slot";
+        }
+
+        public int hashCode() {
+            return System.identityHashCode(this);
+        }
+    }
+}
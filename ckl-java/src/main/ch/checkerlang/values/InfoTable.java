@@ -0,0 +1,79 @@
+/*  Copyright (c) 2021 Damian Brunold, Gesundheitsdirektion Kanton Zürich
+
+    Permission is hereby granted, free of charge, to any person obtaining a copy
+    of this software and associated documentation files (the "Software"), to deal
+    in the Software without restriction, including without limitation the rights
+    to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+    copies of the Software, and to permit persons to whom the Software is
+    furnished to do so, subject to the following conditions:
+
+    The above copyright notice and this permission notice shall be included in all
+    copies or substantial portions of the Software.
+
+    THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+    IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+    FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+    AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+    LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+    OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+    SOFTWARE.
+*/
+package ch.checkerlang.values;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.Map;
+
+class InfoTable {
+    private static final ReferenceQueue<Value> queue = new ReferenceQueue<>();
+    private static final Map<Key, String> infos = new HashMap<>();
+    private static volatile boolean used = false;
+
+    static synchronized String get(Value value) {
+        expunge();
+        String info = infos.get(new Key(value, null));
+        return info == null ? "" : info;
+    }
+
+    static boolean has(Value value) {
+        return used && !get(value).isEmpty();
+    }
+
+    static synchronized void put(Value value, String info) {
+        expunge();
+        if (info == null || info.isEmpty()) {
+            infos.remove(new Key(value, null));
+        } else {
+            infos.put(new Key(value, queue), info);
+            used = true;
+        }
+    }
+
+    private static void expunge() {
+        Object key;
+        while ((key = queue.poll()) != null) {
+            infos.remove(key);
+        }
+    }
+
+    private static class Key extends WeakReference<Value> {
+        private final int hash;
+
+        Key(Value value, ReferenceQueue<Value> queue) {
+            super(value, queue);
+            this.hash = System.identityHashCode(value);
+        }
+
+        public int hashCode() {
+            return hash;
+        }
+
+        public boolean equals(Object obj) {
+            if (this == obj) return true;
+            if (!(obj instanceof Key)) return false;
+            Value value = get();
+            return value != null && value == ((Key) obj).get();
+        }
+    }
+}
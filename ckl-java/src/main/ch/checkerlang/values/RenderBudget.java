@@ -0,0 +1,137 @@
+/*  Copyright (c) 2021 Damian Brunold, Gesundheitsdirektion Kanton Zürich
+
+    Permission is hereby granted, free of charge, to any person obtaining a copy
+    of this software and associated documentation files (the "Software"), to deal
+    in the Software without restriction, including without limitation the rights
+    to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+    copies of the Software, and to permit persons to whom the Software is
+    furnished to do so, subject to the following conditions:
+
+    The above copyright notice and this permission notice shall be included in all
+    copies or substantial portions of the Software.
+
+    THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+    IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+    FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+    AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+    LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+    OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+    SOFTWARE.
+*/
+package ch.checkerlang.values;
+
+import java.io.IOException;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+public class RenderBudget {
+    public static final int UNLIMITED_DEPTH = Integer.MAX_VALUE;
+    public static final long UNLIMITED_LENGTH = Long.MAX_VALUE;
+
+    private static final String ELLIPSIS = "...";
+
+    private final int maxDepth;
+    private final long maxLength;
+    private long length = 0;
+    private boolean exhausted = false;
+    private final Map<Value, Boolean> path = new IdentityHashMap<>();
+
+    public RenderBudget() {
+        this(UNLIMITED_DEPTH, UNLIMITED_LENGTH);
+    }
+
+    public RenderBudget(int maxDepth, long maxLength) {
+        this.maxDepth = maxDepth;
+        this.maxLength = maxLength;
+    }
+
+    public static String render(Value value, RenderBudget budget) {
+        StringBuilder result = new StringBuilder();
+        try {
+            value.appendTo(result, budget);
+        } catch (IOException e) {
+            // cannot happen for a StringBuilder
+            throw new IllegalStateException(e);
+        }
+        return result.toString();
+    }
+
+    public static String abbrev(Value value, long maxLength) {
+        return render(value, new RenderBudget(UNLIMITED_DEPTH, maxLength));
+    }
+
+    public static String abbrev(Value value, int headLength, int tailLength) {
+        Abbreviation result = new Abbreviation(headLength, tailLength);
+        try {
+            value.appendTo(result, new RenderBudget());
+        } catch (IOException e) {
+            // cannot happen for an Abbreviation
+            throw new IllegalStateException(e);
+        }
+        return result.toString();
+    }
+
+    public boolean isExhausted() {
+        return exhausted;
+    }
+
+    public void append(Appendable out, CharSequence text) throws IOException {
+        if (exhausted) return;
+        if (length + text.length() <= maxLength) {
+            out.append(text);
+            length += text.length();
+            return;
+        }
+        out.append(text, 0, (int) (maxLength - length));
+        out.append(ELLIPSIS);
+        length = maxLength;
+        exhausted = true;
+    }
+
+    public boolean enter(Value container) {
+        if (path.size() >= maxDepth || path.containsKey(container)) return false;
+        path.put(container, Boolean.TRUE);
+        return true;
+    }
+
+    public void leave(Value container) {
+        path.remove(container);
+    }
+
+    // Keeps the first and last characters of a rendering without holding the rest.
+    private static class Abbreviation implements Appendable {
+        private final StringBuilder head = new StringBuilder();
+        private final int headLength;
+        private final char[] tail;
+        private long length = 0;
+
+        Abbreviation(int headLength, int tailLength) {
+            this.headLength = headLength;
+            this.tail = new char[tailLength];
+        }
+
+        public Appendable append(CharSequence text) {
+            return append(text, 0, text.length());
+        }
+
+        public Appendable append(CharSequence text, int start, int end) {
+            for (int i = start; i < end; i++) append(text.charAt(i));
+            return this;
+        }
+
+        public Appendable append(char ch) {
+            if (head.length() < headLength) head.append(ch);
+            if (tail.length > 0) tail[(int) (length % tail.length)] = ch;
+            length++;
+            return this;
+        }
+
+        public String toString() {
+            if (length <= headLength) return head.toString();
+            StringBuilder result = new StringBuilder(head).append("... ");
+            int count = (int) Math.min(tail.length, length);
+            for (long i = length - count; i < length; i++) result.append(tail[(int) (i % tail.length)]);
+            return result.toString();
+        }
+    }
+}
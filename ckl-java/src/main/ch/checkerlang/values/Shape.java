@@ -0,0 +1,82 @@
+/*  Copyright (c) 2021 Damian Brunold, Gesundheitsdirektion Kanton Zürich
+
+    Permission is hereby granted, free of charge, to any person obtaining a copy
+    of this software and associated documentation files (the "Software"), to deal
+    in the Software without restriction, including without limitation the rights
+    to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+    copies of the Software, and to permit persons to whom the Software is
+    furnished to do so, subject to the following conditions:
+
+    The above copyright notice and this permission notice shall be included in all
+    copies or substantial portions of the Software.
+
+    THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+    IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+    FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+    AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+    LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+    OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+    SOFTWARE.
+*/
+package ch.checkerlang.values;
+
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+public final class Shape {
+    public static final Shape EMPTY = new Shape(new String[0], new HashMap<>());
+
+    public static final int MAX_SIZE = 64;
+    private static final int MAX_TRANSITIONS = 256;
+
+    private final String[] keys;
+    private final Map<String, Integer> slots;
+    // Child shapes are only weakly reachable from their parent, so the
+    // transition tree does not outlive the objects that use it.
+    private final Map<String, WeakReference<Shape>> transitions = new HashMap<>();
+
+    private Shape(String[] keys, Map<String, Integer> slots) {
+        this.keys = keys;
+        this.slots = slots;
+    }
+
+    public int size() {
+        return keys.length;
+    }
+
+    public String getKey(int slot) {
+        return keys[slot];
+    }
+
+    public int slotOf(String key) {
+        Integer slot = slots.get(key);
+        return slot == null ? -1 : slot;
+    }
+
+    public Shape withKey(String key) {
+        synchronized (transitions) {
+            WeakReference<Shape> ref = transitions.get(key);
+            Shape result = ref == null ? null : ref.get();
+            if (result == null) {
+                String[] newKeys = Arrays.copyOf(keys, keys.length + 1);
+                newKeys[keys.length] = key;
+                Map<String, Integer> newSlots = new HashMap<>(slots);
+                newSlots.put(key, keys.length);
+                result = new Shape(newKeys, newSlots);
+                if (transitions.size() >= MAX_TRANSITIONS) transitions.values().removeIf(r -> r.get() == null);
+                if (transitions.size() < MAX_TRANSITIONS) transitions.put(key, new WeakReference<>(result));
+            }
+            return result;
+        }
+    }
+
+    public Shape withoutKey(String key) {
+        Shape result = EMPTY;
+        for (String k : keys) {
+            if (!k.equals(key)) result = result.withKey(k);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,179 @@
+/*  Copyright (c) 2021 Damian Brunold, Gesundheitsdirektion Kanton Zürich
+
+    Permission is hereby granted, free of charge, to any person obtaining a copy
+    of this software and associated documentation files (the "Software"), to deal
+    in the Software without restriction, including without limitation the rights
+    to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+    copies of the Software, and to permit persons to whom the Software is
+    furnished to do so, subject to the following conditions:
+
+    The above copyright notice and this permission notice shall be included in all
+    copies or substantial portions of the Software.
+
+    THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+    IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+    FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+    AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+    LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+    OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+    SOFTWARE.
+*/
+package ch.checkerlang.values;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Only immutable scalar values are written to the store. Collections,
+// objects and strings carrying info stay on the heap, so that aliases
+// and in-place changes keep working. Numbers are stored like in packed
+// lists, without their info.
+final class SpillList {
+    private static final int CACHE_SIZE = 1024;
+    static final long EMPTY = Long.MIN_VALUE;
+
+    private final SpillStore store;
+    private final ValueCodec.Output output = new ValueCodec.Output();
+    private long[] addresses;
+    private int size;
+    private Value[] pinned = new Value[16];
+    private int pinnedCount = 0;
+    private int[] freePinned = new int[16];
+    private int freePinnedCount = 0;
+
+    private final Map<Integer, Value> cache = new LinkedHashMap<Integer, Value>(64, 0.75f, true) {
+        protected boolean removeEldestEntry(Map.Entry<Integer, Value> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+
+    SpillList(SpillStore store, List<Value> values) {
+        this(store, values.size() + (values.size() >> 1));
+        for (Value value : values) addresses[size++] = store(value);
+    }
+
+    SpillList(SpillStore store, int capacity) {
+        this.store = store;
+        this.addresses = new long[Math.max(16, capacity)];
+    }
+
+    void register(Object owner) {
+        store.register(owner, this);
+    }
+
+    int size() {
+        return size;
+    }
+
+    Value get(int index) {
+        long address = addresses[index];
+        if (address == EMPTY) return null;
+        if (address < 0) return pinned[(int) -address - 1];
+        Value value = cache.get(index);
+        if (value == null) {
+            value = ValueCodec.decode(store.read(address));
+            cache.put(index, value);
+        }
+        return value;
+    }
+
+    void set(int index, Value value) {
+        free(addresses[index]);
+        addresses[index] = store(value);
+        cache(index, value);
+    }
+
+    void add(int index, Value value) {
+        if (size == addresses.length) addresses = Arrays.copyOf(addresses, size + (size >> 1));
+        if (index < size) {
+            System.arraycopy(addresses, index, addresses, index + 1, size - index);
+            cache.clear();
+        }
+        size++;
+        addresses[index] = store(value);
+        cache(index, value);
+    }
+
+    void remove(int index) {
+        free(addresses[index]);
+        System.arraycopy(addresses, index + 1, addresses, index, size - index - 1);
+        size--;
+        if (index < size) cache.clear();
+        else cache.remove(index);
+    }
+
+    // Frees an entry without moving the following ones.
+    void clear(int index) {
+        free(addresses[index]);
+        addresses[index] = EMPTY;
+        cache.remove(index);
+    }
+
+    SpillList slice(int from, int to) {
+        SpillList result = new SpillList(store, to - from);
+        for (int i = from; i < to; i++) {
+            long address = addresses[i];
+            if (address == EMPTY) result.addresses[result.size++] = EMPTY;
+            else if (address < 0) result.addresses[result.size++] = result.pin(pinned[(int) -address - 1]);
+            else result.addresses[result.size++] = store.copy(address);
+        }
+        return result;
+    }
+
+    void release() {
+        for (int i = 0; i < size; i++) {
+            if (addresses[i] >= 0) store.free(addresses[i]);
+        }
+        addresses = new long[16];
+        size = 0;
+        pinned = new Value[16];
+        pinnedCount = 0;
+        freePinnedCount = 0;
+        cache.clear();
+    }
+
+    private void cache(int index, Value value) {
+        if (addresses[index] >= 0) cache.put(index, value);
+        else cache.remove(index);
+    }
+
+    private long store(Value value) {
+        if (isScalar(value)) {
+            output.reset();
+            ValueCodec.encode(value, output);
+            if (output.size() <= SpillStore.MAX_RECORD) return store.write(output);
+        }
+        return pin(value);
+    }
+
+    private static boolean isScalar(Value value) {
+        if (value.isNull() || value.isBoolean() || value.isInt() || value.isDecimal()) return true;
+        if (!(value.isString() || value.isDate() || value.isPattern())) return false;
+        return !InfoTable.has(value);
+    }
+
+    private long pin(Value value) {
+        int slot;
+        if (freePinnedCount > 0) {
+            slot = freePinned[--freePinnedCount];
+        } else {
+            if (pinnedCount == pinned.length) pinned = Arrays.copyOf(pinned, pinnedCount * 2);
+            slot = pinnedCount++;
+        }
+        pinned[slot] = value;
+        return -slot - 1;
+    }
+
+    private void free(long address) {
+        if (address == EMPTY) return;
+        if (address >= 0) {
+            store.free(address);
+            return;
+        }
+        int slot = (int) -address - 1;
+        pinned[slot] = null;
+        if (freePinnedCount == freePinned.length) freePinned = Arrays.copyOf(freePinned, freePinnedCount * 2);
+        freePinned[freePinnedCount++] = slot;
+    }
+}
@@ -0,0 +1,290 @@
+/*  Copyright (c) 2021 Damian Brunold, Gesundheitsdirektion Kanton Zürich
+
+    Permission is hereby granted, free of charge, to any person obtaining a copy
+    of this software and associated documentation files (the "Software"), to deal
+    in the Software without restriction, including without limitation the rights
+    to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+    copies of the Software, and to permit persons to whom the Software is
+    furnished to do so, subject to the following conditions:
+
+    The above copyright notice and this permission notice shall be included in all
+    copies or substantial portions of the Software.
+
+    THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+    IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+    FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+    AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+    LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+    OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+    SOFTWARE.
+*/
+package ch.checkerlang.values;
+
+import ch.checkerlang.ControlErrorException;
+import ch.checkerlang.LruCache;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+public final class SpillStore {
+    private static final int PAGE_BITS = 20;
+    private static final int PAGE_SIZE = 1 << PAGE_BITS;
+    private static final int MAPPED_PAGES = 256;
+    static final int MAX_RECORD = PAGE_SIZE - 4;
+
+    private static final ReferenceQueue<Object> queue = new ReferenceQueue<>();
+    private static int threshold = 0;
+    private static File directory = null;
+    private static int memoryPages = 64;
+    private static SpillStore shared = null;
+
+    private final File spillDirectory;
+    private final int maxMemoryPages;
+
+    // Records never span pages. A page is given back as soon as none of
+    // its records is live any more, its index is then reused.
+    private final List<ByteBuffer> pages = new ArrayList<>();
+    private int[] live = new int[16];
+    private final BitSet onDisk = new BitSet();
+    private final ArrayDeque<Integer> freePages = new ArrayDeque<>();
+    private final ArrayDeque<Integer> memoryOrder = new ArrayDeque<>();
+    private final LruCache<Integer, ByteBuffer> mapped = new LruCache<>(MAPPED_PAGES);
+    private final Set<Owner> owners = new HashSet<>();
+    private int current = -1;
+    private int position = PAGE_SIZE;
+    private long size = 0;
+    private boolean retired = false;
+    private boolean closed = false;
+    private File file;
+    private FileChannel channel;
+
+    public SpillStore(File directory, int maxMemoryPages) {
+        this.spillDirectory = directory;
+        this.maxMemoryPages = Math.max(1, maxMemoryPages);
+    }
+
+    // A threshold of 0 disables spilling, without a directory the pages stay off-heap.
+    // The previous store is closed once no list or map uses it any more.
+    public static synchronized void configure(int threshold, File directory, int memoryPages) {
+        expunge();
+        SpillStore.threshold = threshold;
+        SpillStore.directory = directory;
+        SpillStore.memoryPages = memoryPages;
+        if (shared != null) shared.retire();
+        shared = null;
+    }
+
+    public static int getThreshold() {
+        return threshold;
+    }
+
+    public static synchronized SpillStore getShared() {
+        expunge();
+        if (shared == null) shared = new SpillStore(directory, memoryPages);
+        return shared;
+    }
+
+    // Releases the records of spilled lists and maps that are no longer reachable.
+    public static void expunge() {
+        Reference<?> reference;
+        while ((reference = queue.poll()) != null) {
+            ((Owner) reference).release();
+        }
+    }
+
+    public synchronized long getSize() {
+        return size;
+    }
+
+    public synchronized int getMemoryPages() {
+        return memoryOrder.size();
+    }
+
+    public synchronized int getDiskPages() {
+        return onDisk.cardinality();
+    }
+
+    public synchronized boolean isClosed() {
+        return closed;
+    }
+
+    public long getMappedHits() {
+        return mapped.getHits();
+    }
+
+    public long getMappedMisses() {
+        return mapped.getMisses();
+    }
+
+    public synchronized long write(ValueCodec.Output data) {
+        return write(data.array(), data.size());
+    }
+
+    public synchronized ByteBuffer read(long address) {
+        ByteBuffer page = page((int) (address >>> PAGE_BITS)).duplicate();
+        int offset = (int) (address & (PAGE_SIZE - 1));
+        int length = page.getInt(offset);
+        page.limit(offset + 4 + length);
+        page.position(offset + 4);
+        return page.slice();
+    }
+
+    public synchronized void free(long address) {
+        int index = (int) (address >>> PAGE_BITS);
+        int length = page(index).getInt((int) (address & (PAGE_SIZE - 1))) + 4;
+        live[index] -= length;
+        size -= length;
+        if (live[index] == 0 && index != current) releasePage(index);
+    }
+
+    synchronized long copy(long address) {
+        ByteBuffer record = read(address);
+        byte[] bytes = new byte[record.remaining()];
+        record.get(bytes);
+        return write(bytes, bytes.length);
+    }
+
+    void register(Object owner, SpillList records) {
+        synchronized (this) {
+            owners.add(new Owner(owner, this, records));
+        }
+        expunge();
+    }
+
+    private synchronized void unregister(Owner owner) {
+        owners.remove(owner);
+        if (retired && owners.isEmpty()) close();
+    }
+
+    private synchronized void retire() {
+        retired = true;
+        if (owners.isEmpty()) close();
+    }
+
+    private void close() {
+        if (closed) return;
+        closed = true;
+        pages.clear();
+        memoryOrder.clear();
+        freePages.clear();
+        onDisk.clear();
+        mapped.clear();
+        size = 0;
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                // the file is deleted anyway
+            }
+            channel = null;
+            if (!file.delete()) file.deleteOnExit();
+        }
+    }
+
+    private long write(byte[] bytes, int length) {
+        if (closed) throw new ControlErrorException("Spill store is closed");
+        if (position + 4 + length > PAGE_SIZE) newPage();
+        ByteBuffer page = pages.get(current).duplicate();
+        long address = ((long) current << PAGE_BITS) | position;
+        page.putInt(position, length);
+        page.position(position + 4);
+        page.put(bytes, 0, length);
+        position += 4 + length;
+        live[current] += 4 + length;
+        size += 4 + length;
+        return address;
+    }
+
+    private void newPage() {
+        int previous = current;
+        if (freePages.isEmpty()) {
+            current = pages.size();
+            pages.add(null);
+            if (current == live.length) live = Arrays.copyOf(live, current * 2);
+        } else {
+            current = freePages.poll();
+        }
+        pages.set(current, ByteBuffer.allocateDirect(PAGE_SIZE));
+        memoryOrder.add(current);
+        position = 0;
+        if (previous >= 0 && live[previous] == 0) releasePage(previous);
+        spillPages();
+    }
+
+    private void releasePage(int index) {
+        if (pages.get(index) != null) {
+            pages.set(index, null);
+            memoryOrder.remove(index);
+        } else {
+            onDisk.clear(index);
+            mapped.remove(index);
+        }
+        freePages.add(index);
+    }
+
+    private ByteBuffer page(int index) {
+        ByteBuffer page = pages.get(index);
+        if (page != null) return page;
+        return mapped.get(index, this::map);
+    }
+
+    private ByteBuffer map(int index) {
+        try {
+            return channel.map(FileChannel.MapMode.READ_ONLY, (long) index << PAGE_BITS, PAGE_SIZE);
+        } catch (IOException e) {
+            throw new ControlErrorException("Cannot read spill file " + file);
+        }
+    }
+
+    private void spillPages() {
+        if (spillDirectory == null) return;
+        while (memoryOrder.size() > maxMemoryPages) {
+            int index = memoryOrder.poll();
+            try {
+                if (channel == null) {
+                    file = File.createTempFile("ckl-spill-", ".bin", spillDirectory);
+                    file.deleteOnExit();
+                    channel = new RandomAccessFile(file, "rw").getChannel();
+                }
+                ByteBuffer page = pages.get(index).duplicate();
+                page.clear();
+                long offset = (long) index << PAGE_BITS;
+                while (page.hasRemaining()) channel.write(page, offset + page.position());
+            } catch (IOException e) {
+                throw new ControlErrorException("Cannot write spill file in " + spillDirectory);
+            }
+            pages.set(index, null);
+            mapped.remove(index);
+            onDisk.set(index);
+        }
+    }
+
+    private static final class Owner extends WeakReference<Object> {
+        private final SpillStore store;
+        private final SpillList records;
+
+        Owner(Object owner, SpillStore store, SpillList records) {
+            super(owner, queue);
+            this.store = store;
+            this.records = records;
+        }
+
+        void release() {
+            records.release();
+            store.unregister(this);
+        }
+    }
+}
@@ -0,0 +1,433 @@
+/*  Copyright (c) 2021 Damian Brunold, Gesundheitsdirektion Kanton Zürich
+
+    Permission is hereby granted, free of charge, to any person obtaining a copy
+    of this software and associated documentation files (the "Software"), to deal
+    in the Software without restriction, including without limitation the rights
+    to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+    copies of the Software, and to permit persons to whom the Software is
+    furnished to do so, subject to the following conditions:
+
+    The above copyright notice and this permission notice shall be included in all
+    copies or substantial portions of the Software.
+
+    THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+    IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+    FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+    AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+    LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+    OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+    SOFTWARE.
+*/
+package ch.checkerlang.values;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+public final class TableColumn {
+    public enum Kind {
+        LONGS, DOUBLES, STRINGS, GENERIC
+    }
+
+    private static final Object NULL_KEY = new Object();
+    private static final double MAX_EXACT_LONG = 9007199254740992.0;
+
+    private final Kind kind;
+    private final int size;
+    private final long[] longs;
+    private final double[] doubles;
+    private final int[] codes;
+    private final Dictionary dictionary;
+    private final Value[] values;
+    private final BitSet nulls;
+
+    TableColumn(Kind kind, int size, long[] longs, double[] doubles, int[] codes, Dictionary dictionary, Value[] values, BitSet nulls) {
+        this.kind = kind;
+        this.size = size;
+        this.longs = longs;
+        this.doubles = doubles;
+        this.codes = codes;
+        this.dictionary = dictionary;
+        this.values = values;
+        this.nulls = nulls;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean hasNulls() {
+        return !nulls.isEmpty();
+    }
+
+    public boolean isNull(int row) {
+        return nulls.get(row);
+    }
+
+    public long getLong(int row) {
+        return longs[row];
+    }
+
+    public double getDouble(int row) {
+        return doubles[row];
+    }
+
+    public int getCode(int row) {
+        return codes[row];
+    }
+
+    public Dictionary getDictionary() {
+        return dictionary;
+    }
+
+    public Value get(int row) {
+        if (nulls.get(row)) return ValueNull.NULL;
+        switch (kind) {
+            case LONGS:
+                return new ValueInt(longs[row]);
+            case DOUBLES:
+                return new ValueDecimal(doubles[row]);
+            case STRINGS:
+                return dictionary.getValue(codes[row]);
+            default:
+                return values[row];
+        }
+    }
+
+    public TableColumn gather(int[] rows, int count) {
+        BitSet resultNulls = new BitSet();
+        for (int i = 0; i < count; i++) {
+            int row = rows[i];
+            if (row < 0 || nulls.get(row)) resultNulls.set(i);
+        }
+        switch (kind) {
+            case LONGS: {
+                long[] result = new long[count];
+                for (int i = 0; i < count; i++) {
+                    if (rows[i] >= 0) result[i] = longs[rows[i]];
+                }
+                return new TableColumn(kind, count, result, null, null, null, null, resultNulls);
+            }
+            case DOUBLES: {
+                double[] result = new double[count];
+                for (int i = 0; i < count; i++) {
+                    if (rows[i] >= 0) result[i] = doubles[rows[i]];
+                }
+                return new TableColumn(kind, count, null, result, null, null, null, resultNulls);
+            }
+            case STRINGS: {
+                int[] result = new int[count];
+                for (int i = 0; i < count; i++) {
+                    result[i] = rows[i] >= 0 ? codes[rows[i]] : -1;
+                }
+                return new TableColumn(kind, count, null, null, result, dictionary, null, resultNulls);
+            }
+            default: {
+                Value[] result = new Value[count];
+                for (int i = 0; i < count; i++) {
+                    result[i] = rows[i] >= 0 ? values[rows[i]] : ValueNull.NULL;
+                }
+                return new TableColumn(kind, count, null, null, null, null, result, resultNulls);
+            }
+        }
+    }
+
+    public int compare(int a, int b) {
+        boolean nullA = nulls.get(a);
+        boolean nullB = nulls.get(b);
+        if (nullA || nullB) return nullA == nullB ? 0 : nullA ? -1 : 1;
+        switch (kind) {
+            case LONGS:
+                return Long.compare(longs[a], longs[b]);
+            case DOUBLES:
+                return Double.compare(doubles[a], doubles[b]);
+            case STRINGS:
+                return codes[a] == codes[b] ? 0 : dictionary.get(codes[a]).compareTo(dictionary.get(codes[b]));
+            default:
+                return values[a].compareTo(values[b]);
+        }
+    }
+
+    public Object keyOf(int row) {
+        if (nulls.get(row)) return NULL_KEY;
+        switch (kind) {
+            case LONGS:
+                return longs[row];
+            case DOUBLES:
+                return keyOf(doubles[row]);
+            case STRINGS:
+                return dictionary.get(codes[row]);
+            default:
+                return keyOf(values[row]);
+        }
+    }
+
+    private static Object keyOf(Value value) {
+        if (value.isNull()) return NULL_KEY;
+        if (value.isInt()) return value.asInt().getValue();
+        if (value.isDecimal()) return keyOf(value.asDecimal().getValue());
+        if (value.isString()) return value.asString().getValue();
+        return new ValueKey(value);
+    }
+
+    // Integral decimals use the same key as ints, so that 1 matches 1.0.
+    private static Object keyOf(double value) {
+        long integral = (long) value;
+        if (integral == value) return integral;
+        return value;
+    }
+
+    public boolean contentEquals(TableColumn other) {
+        if (size != other.size || !nulls.equals(other.nulls)) return false;
+        for (int i = 0; i < size; i++) {
+            if (!nulls.get(i) && !get(i).isEquals(other.get(i))) return false;
+        }
+        return true;
+    }
+
+    public ValueList toList() {
+        if (nulls.isEmpty() && kind == Kind.LONGS) return ValueList.ofLongs(Arrays.copyOf(longs, size));
+        if (nulls.isEmpty() && kind == Kind.DOUBLES) return ValueList.ofDoubles(Arrays.copyOf(doubles, size));
+        ValueList result = new ValueList();
+        for (int i = 0; i < size; i++) result.addItem(get(i));
+        return result;
+    }
+
+    public TableColumn inferTypes() {
+        if (kind != Kind.STRINGS) return this;
+        int count = dictionary.size();
+        long[] longValues = new long[count];
+        boolean isLongs = count > 0;
+        for (int i = 0; i < count && isLongs; i++) {
+            String s = dictionary.get(i);
+            if (!isNumber(s, false)) {
+                isLongs = false;
+            } else {
+                try {
+                    longValues[i] = Long.parseLong(s);
+                    isLongs = Long.toString(longValues[i]).equals(s);
+                } catch (NumberFormatException e) {
+                    isLongs = false;
+                }
+            }
+        }
+        if (isLongs) {
+            long[] result = new long[size];
+            for (int i = 0; i < size; i++) {
+                if (codes[i] >= 0) result[i] = longValues[codes[i]];
+            }
+            return new TableColumn(Kind.LONGS, size, result, null, null, null, null, nulls);
+        }
+        double[] doubleValues = new double[count];
+        for (int i = 0; i < count; i++) {
+            String s = dictionary.get(i);
+            if (!isNumber(s, true)) return this;
+            doubleValues[i] = Double.parseDouble(s);
+            if (!isExact(s, doubleValues[i])) return this;
+        }
+        double[] result = new double[size];
+        for (int i = 0; i < size; i++) {
+            if (codes[i] >= 0) result[i] = doubleValues[codes[i]];
+        }
+        return new TableColumn(Kind.DOUBLES, size, null, result, null, null, null, nulls);
+    }
+
+    // A string is only converted if it renders back identically, so that
+    // codes like '0041' or '+41...', trailing zeros and digits beyond the
+    // precision of a double are kept. Integers within a decimal column
+    // are accepted if the double holds them exactly.
+    private static boolean isExact(String s, double value) {
+        if (s.indexOf('.') != -1) return Double.toString(value).equals(s);
+        return Math.abs(value) <= MAX_EXACT_LONG && Long.toString((long) value).equals(s);
+    }
+
+    private static boolean isNumber(String s, boolean allowFraction) {
+        int length = s.length();
+        int start = length > 0 && (s.charAt(0) == '-' || s.charAt(0) == '+') ? 1 : 0;
+        int i = start;
+        while (i < length && s.charAt(i) >= '0' && s.charAt(i) <= '9') i++;
+        if (i == start || (s.charAt(start) == '0' && i - start > 1)) return false;
+        if (i == length) return true;
+        if (!allowFraction || s.charAt(i) != '.' || i + 1 == length) return false;
+        for (i++; i < length; i++) {
+            if (s.charAt(i) < '0' || s.charAt(i) > '9') return false;
+        }
+        return true;
+    }
+
+    private static final class ValueKey {
+        private final Value value;
+
+        ValueKey(Value value) {
+            this.value = value;
+        }
+
+        public boolean equals(Object other) {
+            return other instanceof ValueKey && value.isEquals(((ValueKey) other).value);
+        }
+
+        public int hashCode() {
+            return value.hashCode();
+        }
+    }
+
+    public static final class Dictionary {
+        private final Map<String, Integer> index = new HashMap<>();
+        private String[] strings = new String[16];
+        private ValueString[] values = new ValueString[16];
+        private int size;
+
+        public int add(String s) {
+            Integer code = index.get(s);
+            if (code != null) return code;
+            if (size == strings.length) {
+                strings = Arrays.copyOf(strings, size * 2);
+                values = Arrays.copyOf(values, size * 2);
+            }
+            strings[size] = s;
+            index.put(s, size);
+            return size++;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public String get(int code) {
+            return strings[code];
+        }
+
+        public ValueString getValue(int code) {
+            ValueString result = values[code];
+            if (result == null) values[code] = result = new ValueString(strings[code]);
+            return result;
+        }
+    }
+
+    public static final class Builder {
+        private static final int INITIAL_CAPACITY = 16;
+
+        private Kind kind;
+        private int size;
+        private long[] longs;
+        private double[] doubles;
+        private int[] codes;
+        private Dictionary dictionary;
+        private Value[] values;
+        private final BitSet nulls = new BitSet();
+
+        public int size() {
+            return size;
+        }
+
+        public Builder addNull() {
+            if (kind != null) ensureCapacity();
+            if (kind == Kind.STRINGS) codes[size] = -1;
+            else if (kind == Kind.GENERIC) values[size] = ValueNull.NULL;
+            nulls.set(size++);
+            return this;
+        }
+
+        public Builder addString(String s) {
+            if (s == null) return addNull();
+            if (kind == null) start(Kind.STRINGS);
+            if (kind != Kind.STRINGS) return add(new ValueString(s));
+            ensureCapacity();
+            codes[size++] = dictionary.add(s);
+            return this;
+        }
+
+        public Builder add(Value value) {
+            if (value == null || value.isNull()) return addNull();
+            if (kind == null) start(value.isInt() ? Kind.LONGS : value.isDecimal() ? Kind.DOUBLES : value.isString() ? Kind.STRINGS : Kind.GENERIC);
+            ensureCapacity();
+            if (kind == Kind.LONGS && value.isInt()) {
+                longs[size++] = value.asInt().getValue();
+            } else if (kind == Kind.DOUBLES && value.isDecimal()) {
+                doubles[size++] = value.asDecimal().getValue();
+            } else if (kind == Kind.STRINGS && value.isString()) {
+                codes[size++] = dictionary.add(value.asString().getValue());
+            } else {
+                if (kind != Kind.GENERIC) toGeneric();
+                values[size++] = value;
+            }
+            return this;
+        }
+
+        public void removeLast() {
+            nulls.clear(--size);
+        }
+
+        public TableColumn build() {
+            if (kind == null) {
+                start(Kind.GENERIC);
+                ensureCapacity();
+            }
+            BitSet resultNulls = (BitSet) nulls.clone();
+            switch (kind) {
+                case LONGS:
+                    return new TableColumn(kind, size, Arrays.copyOf(longs, size), null, null, null, null, resultNulls);
+                case DOUBLES:
+                    return new TableColumn(kind, size, null, Arrays.copyOf(doubles, size), null, null, null, resultNulls);
+                case STRINGS:
+                    return new TableColumn(kind, size, null, null, Arrays.copyOf(codes, size), dictionary, null, resultNulls);
+                default:
+                    return new TableColumn(kind, size, null, null, null, null, Arrays.copyOf(values, size), resultNulls);
+            }
+        }
+
+        private void start(Kind kind) {
+            this.kind = kind;
+            int capacity = Math.max(INITIAL_CAPACITY, size * 2);
+            switch (kind) {
+                case LONGS:
+                    longs = new long[capacity];
+                    break;
+                case DOUBLES:
+                    doubles = new double[capacity];
+                    break;
+                case STRINGS:
+                    codes = new int[capacity];
+                    dictionary = new Dictionary();
+                    Arrays.fill(codes, 0, size, -1);
+                    break;
+                default:
+                    values = new Value[capacity];
+                    Arrays.fill(values, 0, size, ValueNull.NULL);
+            }
+        }
+
+        private void toGeneric() {
+            Value[] result = new Value[Math.max(INITIAL_CAPACITY, size * 2)];
+            TableColumn column = build();
+            for (int i = 0; i < size; i++) result[i] = column.get(i);
+            kind = Kind.GENERIC;
+            values = result;
+            longs = null;
+            doubles = null;
+            codes = null;
+            dictionary = null;
+        }
+
+        private void ensureCapacity() {
+            switch (kind) {
+                case LONGS:
+                    if (size == longs.length) longs = Arrays.copyOf(longs, size * 2);
+                    break;
+                case DOUBLES:
+                    if (size == doubles.length) doubles = Arrays.copyOf(doubles, size * 2);
+                    break;
+                case STRINGS:
+                    if (size == codes.length) codes = Arrays.copyOf(codes, size * 2);
+                    break;
+                default:
+                    if (size == values.length) values = Arrays.copyOf(values, size * 2);
+            }
+        }
+    }
+}
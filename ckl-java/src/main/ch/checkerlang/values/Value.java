@@ -22,9 +22,9 @@ package ch.checkerlang.values;
 
 import ch.checkerlang.ControlErrorException;
 
-public abstract class Value implements Comparable<Value> {
-    public String info = "";
+import java.io.IOException;
 
+public abstract class Value implements Comparable<Value> {
     public abstract boolean isEquals(Value value);
 
     public abstract int compareTo(Value value);
@@ -93,6 +93,10 @@ public abstract class Value implements Comparable<Value> {
         throw new ControlErrorException("Cannot convert to Object");
     }
 
+    public ValueTable asTable() {
+        throw new ControlErrorException("Cannot convert to table");
+    }
+
     public ValueControlBreak asBreak() {
         throw new ControlErrorException("Cannot convert to break");
     }
@@ -165,6 +169,10 @@ public abstract class Value implements Comparable<Value> {
         return false;
     }
 
+    public boolean isTable() {
+        return false;
+    }
+
     public boolean isBreak() {
         return false;
     }
@@ -187,8 +195,16 @@ public abstract class Value implements Comparable<Value> {
         return isInt() || isDecimal();
     }
 
+    public void appendTo(Appendable out, RenderBudget budget) throws IOException {
+        budget.append(out, toString());
+    }
+
+    public String getInfo() {
+        return InfoTable.get(this);
+    }
+
     public Value withInfo(String info) {
-        this.info = info;
+        InfoTable.put(this, info);
         return this;
     }
 
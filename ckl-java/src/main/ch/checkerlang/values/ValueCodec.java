@@ -0,0 +1,259 @@
+/*  Copyright (c) 2021 Damian Brunold, Gesundheitsdirektion Kanton Zürich
+
+    Permission is hereby granted, free of charge, to any person obtaining a copy
+    of this software and associated documentation files (the "Software"), to deal
+    in the Software without restriction, including without limitation the rights
+    to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+    copies of the Software, and to permit persons to whom the Software is
+    furnished to do so, subject to the following conditions:
+
+    The above copyright notice and this permission notice shall be included in all
+    copies or substantial portions of the Software.
+
+    THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+    IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+    FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+    AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+    LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+    OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+    SOFTWARE.
+*/
+package ch.checkerlang.values;
+
+import ch.checkerlang.ControlErrorException;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+
+public final class ValueCodec {
+    static final int NULL = 0;
+    static final int FALSE = 1;
+    static final int TRUE = 2;
+    static final int INT = 3;
+    static final int DECIMAL = 4;
+    static final int STRING = 5;
+    static final int DATE = 6;
+    static final int PATTERN = 7;
+    static final int LIST = 8;
+    static final int LONGS = 9;
+    static final int DOUBLES = 10;
+    static final int SET = 11;
+    static final int MAP = 12;
+    static final int OBJECT = 13;
+
+    private static final int MAX_DEPTH = 512;
+
+    private ValueCodec() {
+        // static only
+    }
+
+    public static void encode(Value value, Output out) {
+        encode(value, out, 0);
+    }
+
+    private static void encode(Value value, Output out, int depth) {
+        if (depth > MAX_DEPTH) throw new ControlErrorException("Cannot encode values nested deeper than " + MAX_DEPTH);
+        if (value.isNull()) {
+            out.writeByte(NULL);
+        } else if (value.isBoolean()) {
+            out.writeByte(value.asBoolean().getValue() ? TRUE : FALSE);
+        } else if (value.isInt()) {
+            out.writeByte(INT);
+            out.writeVarLong(value.asInt().getValue());
+        } else if (value.isDecimal()) {
+            out.writeByte(DECIMAL);
+            out.writeLong(Double.doubleToRawLongBits(value.asDecimal().getValue()));
+        } else if (value.isString()) {
+            out.writeByte(STRING);
+            out.writeString(value.asString().getValue());
+        } else if (value.isDate()) {
+            out.writeByte(DATE);
+            out.writeVarLong(value.asDate().getLocalMillis());
+        } else if (value.isPattern()) {
+            out.writeByte(PATTERN);
+            out.writeString(value.asPattern().getValue());
+        } else if (value.isList()) {
+            AdaptiveList storage = value.asList().getStorage();
+            int size = storage.size();
+            if (storage.isLongs()) {
+                out.writeByte(LONGS);
+                out.writeVarLong(size);
+                for (int i = 0; i < size; i++) out.writeVarLong(storage.getLong(i));
+            } else if (storage.isDoubles()) {
+                out.writeByte(DOUBLES);
+                out.writeVarLong(size);
+                for (int i = 0; i < size; i++) out.writeLong(Double.doubleToRawLongBits(storage.getDouble(i)));
+            } else {
+                out.writeByte(LIST);
+                out.writeVarLong(size);
+                for (Value item : storage) encode(item, out, depth + 1);
+            }
+        } else if (value.isSet()) {
+            out.writeByte(SET);
+            out.writeVarLong(value.asSet().getValue().size());
+            for (Value item : value.asSet().getValue()) encode(item, out, depth + 1);
+        } else if (value.isMap()) {
+            out.writeByte(MAP);
+            out.writeVarLong(value.asMap().getValue().size());
+            for (Map.Entry<Value, Value> entry : value.asMap().getValue().entrySet()) {
+                encode(entry.getKey(), out, depth + 1);
+                encode(entry.getValue(), out, depth + 1);
+            }
+        } else if (value.isObject() && !value.asObject().isModule) {
+            out.writeByte(OBJECT);
+            out.writeVarLong(value.asObject().size());
+            for (Map.Entry<String, Value> entry : value.asObject().getValue().entrySet()) {
+                out.writeString(entry.getKey());
+                encode(entry.getValue(), out, depth + 1);
+            }
+        } else {
+            throw new ControlErrorException("Cannot encode " + value.type());
+        }
+    }
+
+    public static Value decode(ByteBuffer in) {
+        int tag = in.get();
+        switch (tag) {
+            case NULL:
+                return ValueNull.NULL;
+            case FALSE:
+                return ValueBoolean.FALSE;
+            case TRUE:
+                return ValueBoolean.TRUE;
+            case INT:
+                return new ValueInt(readVarLong(in));
+            case DECIMAL:
+                return new ValueDecimal(Double.longBitsToDouble(in.getLong()));
+            case STRING:
+                return new ValueString(readString(in));
+            case DATE:
+                return ValueDate.ofLocalMillis(readVarLong(in));
+            case PATTERN:
+                return new ValuePattern(readString(in));
+            case LONGS: {
+                long[] result = new long[(int) readVarLong(in)];
+                for (int i = 0; i < result.length; i++) result[i] = readVarLong(in);
+                return ValueList.ofLongs(result);
+            }
+            case DOUBLES: {
+                double[] result = new double[(int) readVarLong(in)];
+                for (int i = 0; i < result.length; i++) result[i] = Double.longBitsToDouble(in.getLong());
+                return ValueList.ofDoubles(result);
+            }
+            case LIST: {
+                int size = (int) readVarLong(in);
+                ValueList result = new ValueList();
+                for (int i = 0; i < size; i++) result.addItem(decode(in));
+                return result;
+            }
+            case SET: {
+                int size = (int) readVarLong(in);
+                ValueSet result = new ValueSet();
+                for (int i = 0; i < size; i++) result.addItem(decode(in));
+                return result;
+            }
+            case MAP: {
+                int size = (int) readVarLong(in);
+                ValueMap result = new ValueMap();
+                for (int i = 0; i < size; i++) result.addItem(decode(in), decode(in));
+                return result;
+            }
+            case OBJECT: {
+                int size = (int) readVarLong(in);
+                ValueObject result = new ValueObject();
+                for (int i = 0; i < size; i++) result.addItem(readString(in), decode(in));
+                return result;
+            }
+            default:
+                throw new ControlErrorException("Cannot decode value with tag " + tag);
+        }
+    }
+
+    static long readVarLong(ByteBuffer in) {
+        long raw = 0;
+        int shift = 0;
+        while (true) {
+            int b = in.get();
+            raw |= (long) (b & 0x7f) << shift;
+            if (b >= 0) break;
+            shift += 7;
+        }
+        return (raw >>> 1) ^ -(raw & 1);
+    }
+
+    static String readString(ByteBuffer in) {
+        int length = (int) readVarLong(in);
+        if (in.hasArray()) {
+            String result = new String(in.array(), in.arrayOffset() + in.position(), length, StandardCharsets.UTF_8);
+            in.position(in.position() + length);
+            return result;
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    public static final class Output {
+        private byte[] buffer = new byte[256];
+        private int size;
+
+        public void reset() {
+            size = 0;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public byte[] array() {
+            return buffer;
+        }
+
+        public ByteBuffer toByteBuffer() {
+            return ByteBuffer.wrap(buffer, 0, size);
+        }
+
+        public void writeByte(int b) {
+            ensureCapacity(1);
+            buffer[size++] = (byte) b;
+        }
+
+        public void writeLong(long value) {
+            ensureCapacity(8);
+            for (int shift = 56; shift >= 0; shift -= 8) buffer[size++] = (byte) (value >>> shift);
+        }
+
+        public void writeVarLong(long value) {
+            ensureCapacity(10);
+            long raw = (value << 1) ^ (value >> 63);
+            while ((raw & ~0x7fL) != 0) {
+                buffer[size++] = (byte) ((raw & 0x7f) | 0x80);
+                raw >>>= 7;
+            }
+            buffer[size++] = (byte) raw;
+        }
+
+        public void writeString(String value) {
+            int length = value.length();
+            int i = 0;
+            while (i < length && value.charAt(i) < 0x80) i++;
+            if (i < length) {
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                writeVarLong(bytes.length);
+                ensureCapacity(bytes.length);
+                System.arraycopy(bytes, 0, buffer, size, bytes.length);
+                size += bytes.length;
+                return;
+            }
+            writeVarLong(length);
+            ensureCapacity(length);
+            for (i = 0; i < length; i++) buffer[size++] = (byte) value.charAt(i);
+        }
+
+        private void ensureCapacity(int extra) {
+            if (size + extra > buffer.length) buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + extra));
+        }
+    }
+}
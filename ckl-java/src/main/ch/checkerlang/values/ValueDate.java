@@ -21,36 +21,90 @@
 package ch.checkerlang.values;
 
 import ch.checkerlang.DateConverter;
+import ch.checkerlang.DateFormatCache;
 
-import java.text.DateFormat;
-import java.text.SimpleDateFormat;
+import java.time.LocalDateTime;
 import java.util.Date;
 
 public class ValueDate extends Value {
-    private static final DateFormat fmt = new SimpleDateFormat("yyyyMMddHHmmss");
-
-    private Date value;
+    private final long value;
 
     public ValueDate(Date value) {
-        this.value = value;
+        this.value = DateConverter.toLocalMillis(value.getTime());
+    }
+
+    public ValueDate(LocalDateTime value) {
+        this.value = DateConverter.toLocalMillis(value);
+    }
+
+    private ValueDate(long localMillis) {
+        this.value = localMillis;
+    }
+
+    public static ValueDate ofLocalMillis(long localMillis) {
+        return new ValueDate(localMillis);
+    }
+
+    public static ValueDate ofOADate(double oadate) {
+        return new ValueDate(DateConverter.fromOADate(oadate));
     }
 
     public Date getValue() {
+        return new Date(DateConverter.toEpochMillis(value));
+    }
+
+    public long getLocalMillis() {
         return value;
     }
 
+    public LocalDateTime getDateTime() {
+        return DateConverter.toLocalDateTime(value);
+    }
+
+    public double getOADate() {
+        return DateConverter.toOADate(value);
+    }
+
+    public ValueDate plusDays(double days) {
+        return new ValueDate(value + Math.round(days * DateConverter.MILLIS_PER_DAY));
+    }
+
+    public int getYear() {
+        return DateConverter.getYear(value);
+    }
+
+    public int getMonth() {
+        return DateConverter.getMonth(value);
+    }
+
+    public int getDay() {
+        return DateConverter.getDay(value);
+    }
+
+    public int getHour() {
+        return DateConverter.getHour(value);
+    }
+
+    public int getMinute() {
+        return DateConverter.getMinute(value);
+    }
+
+    public int getSecond() {
+        return DateConverter.getSecond(value);
+    }
+
     public boolean isEquals(Value value) {
         if (!value.isDate()) return false;
-        return this.value.getTime() == value.asDate().getValue().getTime();
+        return this.value == value.asDate().value;
     }
 
     public int compareTo(Value value) {
         if (!value.isDate()) return toString().compareTo(value.toString());
-        return this.value.compareTo(value.asDate().value);
+        return Long.compare(this.value, value.asDate().value);
     }
 
     public int hashCode() {
-        return value.hashCode();
+        return Long.hashCode(value);
     }
 
     public String type() {
@@ -62,11 +116,11 @@ public class ValueDate extends Value {
     }
 
     public ValueInt asInt() {
-        return new ValueInt((int) DateConverter.convertDateToOADate(value));
+        return new ValueInt((int) getOADate());
     }
 
     public ValueDecimal asDecimal() {
-        return new ValueDecimal(DateConverter.convertDateToOADate(value));
+        return new ValueDecimal(getOADate());
     }
 
     public ValueDate asDate() {
@@ -82,7 +136,23 @@ public class ValueDate extends Value {
     }
 
     public String toString() {
-        return fmt.format(value);
+        char[] result = new char[14];
+        int year = getYear();
+        if (year < 0 || year > 9999) return DateFormatCache.format(this, "yyyyMMddHHmmss");
+        digits(result, 0, year, 4);
+        digits(result, 4, getMonth(), 2);
+        digits(result, 6, getDay(), 2);
+        digits(result, 8, getHour(), 2);
+        digits(result, 10, getMinute(), 2);
+        digits(result, 12, getSecond(), 2);
+        return new String(result);
+    }
+
+    private static void digits(char[] result, int offset, int value, int width) {
+        for (int i = offset + width - 1; i >= offset; i--) {
+            result[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
     }
 
 }
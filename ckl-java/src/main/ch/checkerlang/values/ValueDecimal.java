@@ -20,8 +20,6 @@
 */
 package ch.checkerlang.values;
 
-import ch.checkerlang.DateConverter;
-
 public class ValueDecimal extends Value {
     private double value;
 
@@ -44,7 +42,7 @@ public class ValueDecimal extends Value {
     }
 
     public int hashCode() {
-        return Double.valueOf(value).hashCode();
+        return value == 0.0 ? 0 : Double.hashCode(value);
     }
 
     public String type() {
@@ -64,7 +62,7 @@ public class ValueDecimal extends Value {
     }
 
     public ValueDate asDate() {
-        return new ValueDate(DateConverter.convertOADateToDate(value));
+        return ValueDate.ofOADate(value);
     }
 
     public ValueList asList() {
@@ -27,6 +27,17 @@ import ch.checkerlang.SourcePos;
 import java.util.List;
 
 public abstract class ValueFunc extends Value {
+    public String info = "";
+
+    public String getInfo() {
+        return info;
+    }
+
+    public Value withInfo(String info) {
+        this.info = info;
+        return this;
+    }
+
     public abstract String getName();
 
     public abstract List<String> getArgNames();
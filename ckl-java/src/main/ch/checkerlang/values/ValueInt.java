@@ -20,8 +20,6 @@
 */
 package ch.checkerlang.values;
 
-import ch.checkerlang.DateConverter;
-
 public class ValueInt extends Value {
     private long value;
 
@@ -46,7 +44,7 @@ public class ValueInt extends Value {
     }
 
     public int hashCode() {
-        return Long.valueOf(value).hashCode();
+        return Double.hashCode(value);
     }
 
     public String type() {
@@ -71,7 +69,7 @@ public class ValueInt extends Value {
     }
 
     public ValueDate asDate() {
-        return new ValueDate(DateConverter.convertOADateToDate(value));
+        return ValueDate.ofOADate(value);
     }
 
     public ValueList asList() {
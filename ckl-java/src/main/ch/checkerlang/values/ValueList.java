@@ -20,13 +20,12 @@
 */
 package ch.checkerlang.values;
 
-import java.util.ArrayList;
+import java.io.IOException;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.List;
 
 public class ValueList extends Value {
-    private List<Value> value = new ArrayList<>();
+    private AdaptiveList value = new AdaptiveList();
 
     public ValueList() {
         // empty
@@ -40,8 +39,24 @@ public class ValueList extends Value {
         this.value.addAll(value.getValue());
     }
 
+    private ValueList(AdaptiveList value) {
+        this.value = value;
+    }
+
+    public static ValueList ofLongs(long[] values) {
+        return new ValueList(new AdaptiveList(values, values.length));
+    }
+
+    public static ValueList ofDoubles(double[] values) {
+        return new ValueList(new AdaptiveList(values, values.length));
+    }
+
+    public ValueList slice(int from, int to) {
+        return new ValueList(value.slice(from, to));
+    }
+
     public ValueList makeReadonly() {
-        this.value = Collections.unmodifiableList(value);
+        value.makeReadonly();
         return this;
     }
 
@@ -59,10 +74,21 @@ public class ValueList extends Value {
         return value;
     }
 
+    public AdaptiveList getStorage() {
+        return value;
+    }
+
+    public boolean containsItem(Value item) {
+        return value.containsValue(item);
+    }
+
 
     public boolean isEquals(Value value) {
         if (!value.isList()) return false;
         if (this.value.size() != value.asList().getValue().size()) return false;
+        if (this.value.isLongs() || this.value.isDoubles()) {
+            if (this.value.getKind() == value.asList().value.getKind()) return this.value.contentEquals(value.asList().value);
+        }
         for (int i = 0; i < this.value.size(); i++) {
             if (!this.value.get(i).isEquals(value.asList().getValue().get(i))) {
                 return false;
@@ -136,15 +162,25 @@ public class ValueList extends Value {
         return true;
     }
 
-    public String toString() {
-        StringBuilder builder = new StringBuilder();
-        builder.append("[");
+    public void appendTo(Appendable out, RenderBudget budget) throws IOException {
+        if (!budget.enter(this)) {
+            budget.append(out, "[...]");
+            return;
+        }
+        budget.append(out, "[");
+        boolean first = true;
         for (Value item : value) {
-            builder.append(item).append(", ");
+            if (budget.isExhausted()) break;
+            if (!first) budget.append(out, ", ");
+            item.appendTo(out, budget);
+            first = false;
         }
-        if (builder.length() > 1) builder.setLength(builder.length() - 2);
-        builder.append("]");
-        return builder.toString();
+        budget.append(out, "]");
+        budget.leave(this);
+    }
+
+    public String toString() {
+        return RenderBudget.render(this, new RenderBudget());
     }
 
 }
@@ -20,11 +20,12 @@
 */
 package ch.checkerlang.values;
 
+import java.io.IOException;
 import java.util.Map;
 import java.util.TreeMap;
 
 public class ValueMap extends Value {
-    private TreeMap<Value, Value> value = new TreeMap<>();
+    private TreeMap<Value, Value> value = new AdaptiveMap();
 
     public ValueMap() {
         // empty
@@ -114,15 +115,27 @@ public class ValueMap extends Value {
         return true;
     }
 
-    public String toString() {
-        StringBuilder builder = new StringBuilder();
-        builder.append("<<<");
-        for (Value item : value.keySet()) {
-            builder.append(item).append(" => ").append(value.get(item)).append(", ");
+    public void appendTo(Appendable out, RenderBudget budget) throws IOException {
+        if (!budget.enter(this)) {
+            budget.append(out, "<<<...>>>");
+            return;
+        }
+        budget.append(out, "<<<");
+        boolean first = true;
+        for (Map.Entry<Value, Value> entry : value.entrySet()) {
+            if (budget.isExhausted()) break;
+            if (!first) budget.append(out, ", ");
+            entry.getKey().appendTo(out, budget);
+            budget.append(out, " => ");
+            entry.getValue().appendTo(out, budget);
+            first = false;
         }
-        if (builder.length() > "<<<".length()) builder.setLength(builder.length() - 2);
-        builder.append(">>>");
-        return builder.toString();
+        budget.append(out, ">>>");
+        budget.leave(this);
+    }
+
+    public String toString() {
+        return RenderBudget.render(this, new RenderBudget());
     }
 
 }
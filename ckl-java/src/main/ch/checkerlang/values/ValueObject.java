@@ -24,27 +24,93 @@ import ch.checkerlang.Args;
 import ch.checkerlang.ControlErrorException;
 import ch.checkerlang.SourcePos;
 
+import java.io.IOException;
 import java.util.*;
 
 public class ValueObject extends Value {
-    public Map<String, Value> value = new HashMap<>();
+    private static final Value[] NO_SLOTS = new Value[0];
+
+    private Shape shape = Shape.EMPTY;
+    private Value[] slots = NO_SLOTS;
+    private Map<String, Value> dict;
     public boolean isModule = false;
 
+    public ValueObject() {
+        // empty
+    }
+
+    ValueObject(Shape shape, Value[] slots) {
+        this.shape = shape;
+        this.slots = slots;
+    }
+
+    public Map<String, Value> getValue() {
+        return dict != null ? dict : new Members();
+    }
+
+    public Shape getShape() {
+        return shape;
+    }
+
+    public Value getSlot(int slot) {
+        return slots[slot];
+    }
+
+    public void setSlot(int slot, Value value) {
+        slots[slot] = value;
+    }
+
+    public int size() {
+        return dict != null ? dict.size() : shape.size();
+    }
+
     public ValueObject addItem(String key, Value value) {
-        this.value.put(key, value);
+        if (dict != null) {
+            dict.put(key, value);
+            return this;
+        }
+        int slot = shape.slotOf(key);
+        if (slot >= 0) {
+            slots[slot] = value;
+            return this;
+        }
+        slot = shape.size();
+        if (slot >= Shape.MAX_SIZE) {
+            dict = new LinkedHashMap<>();
+            for (int i = 0; i < slot; i++) dict.put(shape.getKey(i), slots[i]);
+            dict.put(key, value);
+            shape = null;
+            slots = NO_SLOTS;
+            return this;
+        }
+        shape = shape.withKey(key);
+        if (slot == slots.length) slots = Arrays.copyOf(slots, Math.max(4, slot * 2));
+        slots[slot] = value;
         return this;
     }
 
     public boolean hasItem(String key) {
-        return this.value.containsKey(key);
+        if (dict != null) return dict.containsKey(key);
+        return shape.slotOf(key) >= 0;
     }
 
     public Value getItem(String key) {
-        return this.value.get(key);
+        if (dict != null) return dict.get(key);
+        int slot = shape.slotOf(key);
+        return slot >= 0 ? slots[slot] : null;
     }
 
     public void removeItem(String key) {
-        this.value.remove(key);
+        if (dict != null) {
+            dict.remove(key);
+            return;
+        }
+        int slot = shape.slotOf(key);
+        if (slot < 0) return;
+        int size = shape.size();
+        System.arraycopy(slots, slot + 1, slots, slot, size - slot - 1);
+        slots[size - 1] = null;
+        shape = shape.withoutKey(key);
     }
 
     public Value resolveItem(String key) {
@@ -59,13 +125,11 @@ public class ValueObject extends Value {
 
     public boolean isEquals(Value value) {
         if (!value.isObject()) return false;
-        Map<String, Value> other = value.asObject().value;
-        if (this.value.size() != other.size()) return false;
-        for (String key : this.value.keySet()) {
-            if (!other.containsKey(key)) {
-                return false;
-            }
-            if (!this.value.get(key).isEquals(other.get(key))) {
+        ValueObject other = value.asObject();
+        if (size() != other.size()) return false;
+        for (Map.Entry<String, Value> entry : getValue().entrySet()) {
+            Value item = other.getItem(entry.getKey());
+            if (item == null || !entry.getValue().isEquals(item)) {
                 return false;
             }
         }
@@ -77,7 +141,7 @@ public class ValueObject extends Value {
     }
 
     public int hashCode() {
-        return value.hashCode();
+        return getValue().hashCode();
     }
 
     public String type() {
@@ -89,16 +153,16 @@ public class ValueObject extends Value {
     }
 
     public ValueInt asInt() {
-        return new ValueInt(value.size());
+        return new ValueInt(size());
     }
 
     public ValueBoolean asBoolean() {
-        return ValueBoolean.from(value.size() > 0);
+        return ValueBoolean.from(size() > 0);
     }
 
     public ValueList asList() {
         ValueList result = new ValueList();
-        for (Value item : value.values()) {
+        for (Value item : getValue().values()) {
             result.addItem(item);
         }
         return result;
@@ -106,7 +170,7 @@ public class ValueObject extends Value {
 
     public ValueSet asSet() {
         ValueSet result = new ValueSet();
-        for (String key : value.keySet()) {
+        for (String key : getValue().keySet()) {
             result.addItem(new ValueString(key));
         }
         return result;
@@ -114,7 +178,7 @@ public class ValueObject extends Value {
 
     public ValueMap asMap() {
         ValueMap result = new ValueMap();
-        for (Map.Entry<String, Value> entry : value.entrySet()) {
+        for (Map.Entry<String, Value> entry : getValue().entrySet()) {
             result.addItem(new ValueString(entry.getKey()), entry.getValue());
         }
         return result;
@@ -128,6 +192,30 @@ public class ValueObject extends Value {
         return true;
     }
 
+    public void appendTo(Appendable out, RenderBudget budget) throws IOException {
+        if (resolveItem("_str_") != null) {
+            budget.append(out, toString());
+            return;
+        }
+        if (!budget.enter(this)) {
+            budget.append(out, "<*...*>");
+            return;
+        }
+        budget.append(out, "<*");
+        boolean first = true;
+        for (Map.Entry<String, Value> entry : getValue().entrySet()) {
+            if (budget.isExhausted()) break;
+            if (entry.getKey().startsWith("_")) continue;
+            if (!first) budget.append(out, ", ");
+            budget.append(out, entry.getKey());
+            budget.append(out, "=");
+            entry.getValue().appendTo(out, budget);
+            first = false;
+        }
+        budget.append(out, "*>");
+        budget.leave(this);
+    }
+
     public String toString() {
         ValueFunc fn = (ValueFunc) resolveItem("_str_");
         if (fn != null) {
@@ -144,17 +232,60 @@ public class ValueObject extends Value {
                 e.addStacktraceElement("_str_", SourcePos.Unknown);
                 throw e;
             }
-        } else {
-            StringBuilder builder = new StringBuilder();
-            builder.append("<*");
-            for (String item : value.keySet()) {
-                if (item.startsWith("_")) continue;
-                builder.append(item).append("=").append(value.get(item)).append(", ");
-            }
-            if (builder.length() > 2) builder.setLength(builder.length() - 2);
-            builder.append("*>");
-            return builder.toString();
         }
+        return RenderBudget.render(this, new RenderBudget());
     }
 
+    private class Members extends AbstractMap<String, Value> {
+        public int size() {
+            return ValueObject.this.size();
+        }
+
+        public boolean containsKey(Object key) {
+            return key instanceof String && hasItem((String) key);
+        }
+
+        public Value get(Object key) {
+            return key instanceof String ? getItem((String) key) : null;
+        }
+
+        public Value put(String key, Value value) {
+            Value previous = getItem(key);
+            addItem(key, value);
+            return previous;
+        }
+
+        public Value remove(Object key) {
+            if (!(key instanceof String)) return null;
+            Value previous = getItem((String) key);
+            removeItem((String) key);
+            return previous;
+        }
+
+        public Set<Entry<String, Value>> entrySet() {
+            if (dict != null) return dict.entrySet();
+            return new AbstractSet<Entry<String, Value>>() {
+                public int size() {
+                    return shape.size();
+                }
+
+                public Iterator<Entry<String, Value>> iterator() {
+                    return new Iterator<Entry<String, Value>>() {
+                        private int index = 0;
+
+                        public boolean hasNext() {
+                            return index < shape.size();
+                        }
+
+                        public Entry<String, Value> next() {
+                            if (!hasNext()) throw new NoSuchElementException();
+                            Entry<String, Value> entry = new SimpleImmutableEntry<>(shape.getKey(index), slots[index]);
+                            index++;
+                            return entry;
+                        }
+                    };
+                }
+            };
+        }
+    }
 }
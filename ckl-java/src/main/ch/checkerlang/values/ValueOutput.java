@@ -20,15 +20,25 @@
 */
 package ch.checkerlang.values;
 
+import ch.checkerlang.AsyncWriter;
+import ch.checkerlang.OutputBuffering;
 import ch.checkerlang.OutputCallback;
 
+import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.Writer;
 
 public class ValueOutput extends Value {
+    private static final int BLOCK_SIZE = 65536;
+
     private Writer output;
+    private Writer target;
     private OutputCallback callback;
     private boolean closed;
+    private boolean flushLines = true;
+    private long flushInterval = 0;
+    private long lastFlush = 0;
+    private char[] buffer = null;
 
     public ValueOutput(OutputCallback callback) {
         this.callback = callback;
@@ -36,26 +46,95 @@ public class ValueOutput extends Value {
     }
 
     public ValueOutput(Writer output) {
-        this.output = output;
+        this(output, OutputBuffering.LINE, 0);
+    }
+
+    public ValueOutput(Writer output, OutputBuffering buffering) {
+        this(output, buffering, 0);
+    }
+
+    public ValueOutput(Writer output, OutputBuffering buffering, long flushInterval) {
+        this.target = output;
         this.closed = false;
+        this.flushInterval = flushInterval;
+        this.lastFlush = System.currentTimeMillis();
+        switch (buffering) {
+            case LINE:
+                this.output = output;
+                break;
+            case BLOCK:
+                this.output = new BufferedWriter(output, BLOCK_SIZE);
+                this.flushLines = false;
+                break;
+            case ASYNC:
+                this.output = new AsyncWriter(output);
+                this.flushLines = false;
+                break;
+        }
     }
 
     public void write(String value) throws IOException {
-        if (output != null) output.write(value);
+        if (output != null) {
+            output.write(value);
+            if (flushInterval > 0) flushPeriodically();
+        }
         if (callback != null) callback.append_(value);
     }
 
+    public void write(StringBuilder value) throws IOException {
+        if (output != null) {
+            int length = value.length();
+            if (buffer == null || buffer.length < length) buffer = new char[Math.max(length, 1024)];
+            value.getChars(0, length, buffer, 0);
+            output.write(buffer, 0, length);
+            if (flushInterval > 0) flushPeriodically();
+        }
+        if (callback != null) callback.append_(value.toString());
+    }
+
     public void writeLine(String value) throws IOException {
         if (output != null) {
             output.write(value);
             output.write("\n");
-            output.flush();
+            if (flushLines) output.flush();
+            else if (flushInterval > 0) flushPeriodically();
         }
         if (callback != null) {
             callback.append(value);
         }
     }
 
+    public void writeValue(Value value, boolean newline) throws IOException {
+        if (output == null || callback != null) {
+            if (newline) writeLine(value.toString());
+            else write(value.toString());
+            return;
+        }
+        value.appendTo(output, new RenderBudget());
+        if (newline) {
+            output.write("\n");
+            if (flushLines) {
+                output.flush();
+                return;
+            }
+        }
+        if (flushInterval > 0) flushPeriodically();
+    }
+
+    // Only checked on writes, idle output is flushed by the next write.
+    private void flushPeriodically() throws IOException {
+        long now = System.currentTimeMillis();
+        if (now - lastFlush >= flushInterval) {
+            output.flush();
+            lastFlush = now;
+        }
+    }
+
+    public void flush() throws IOException {
+        if (output != null) output.flush();
+        lastFlush = System.currentTimeMillis();
+    }
+
     public void close() throws Exception {
         if (closed) return;
         if (output != null) output.close();
@@ -93,6 +172,13 @@ public class ValueOutput extends Value {
 
     public String getStringOutput() {
         // This does only really work for string output objects...
-        return output.toString();
+        if (output != target && !closed) {
+            try {
+                output.flush();
+            } catch (IOException e) {
+                // ignore
+            }
+        }
+        return target.toString();
     }
 }
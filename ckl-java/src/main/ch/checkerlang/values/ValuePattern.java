@@ -20,6 +20,8 @@
 */
 package ch.checkerlang.values;
 
+import ch.checkerlang.PatternCache;
+
 import java.util.regex.Pattern;
 
 public class ValuePattern extends Value {
@@ -28,7 +30,7 @@ public class ValuePattern extends Value {
 
     public ValuePattern(String value) {
         this.value = value;
-        pattern = Pattern.compile(value);
+        pattern = PatternCache.get(value);
     }
 
     public String getValue() {
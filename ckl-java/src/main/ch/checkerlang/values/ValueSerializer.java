@@ -0,0 +1,632 @@
+/*  Copyright (c) 2021 Damian Brunold, Gesundheitsdirektion Kanton Zürich
+
+    Permission is hereby granted, free of charge, to any person obtaining a copy
+    of this software and associated documentation files (the "Software"), to deal
+    in the Software without restriction, including without limitation the rights
+    to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+    copies of the Software, and to permit persons to whom the Software is
+    furnished to do so, subject to the following conditions:
+
+    The above copyright notice and this permission notice shall be included in all
+    copies or substantial portions of the Software.
+
+    THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+    IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+    FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+    AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+    LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+    OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+    SOFTWARE.
+*/
+package ch.checkerlang.values;
+
+import ch.checkerlang.ControlErrorException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+// Versioned stream format based on the ValueCodec tags, with back-references
+// to containers already written and a table of previously seen strings.
+// The body is framed in length-prefixed blocks ending with an empty block,
+// so that the reader never consumes bytes following the value.
+public final class ValueSerializer {
+    private static final byte[] MAGIC = {'C', 'K', 'L', 'V'};
+    private static final int VERSION = 1;
+    private static final int FLAG_COMPRESSED = 1;
+
+    private static final int REF = 14;
+    private static final int TABLE = 15;
+
+    private static final int MAX_DEPTH = 512;
+    private static final int MAX_SHARED_LENGTH = 256;
+    private static final int MAX_SHARED_STRINGS = 1 << 20;
+    private static final int BLOCK_SIZE = 65536;
+
+    private ValueSerializer() {
+        // static only
+    }
+
+    public static void write(Value value, OutputStream stream, boolean compress) throws IOException {
+        stream.write(MAGIC);
+        stream.write(VERSION);
+        stream.write(compress ? FLAG_COMPRESSED : 0);
+        BlockOutputStream blocks = new BlockOutputStream(stream);
+        if (compress) {
+            Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+            try {
+                DeflaterOutputStream deflating = new DeflaterOutputStream(blocks, deflater, BLOCK_SIZE);
+                new Writer(deflating).write(value);
+                deflating.finish();
+            } finally {
+                deflater.end();
+            }
+        } else {
+            new Writer(blocks).write(value);
+        }
+        blocks.finish();
+        stream.flush();
+    }
+
+    public static Value read(InputStream stream) throws IOException {
+        byte[] header = new byte[MAGIC.length + 2];
+        int done = 0;
+        while (done < header.length) {
+            int count = stream.read(header, done, header.length - done);
+            if (count < 0) break;
+            done += count;
+        }
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (done < header.length || header[i] != MAGIC[i]) throw new ControlErrorException("Not a serialized value");
+        }
+        if (header[MAGIC.length] > VERSION) throw new ControlErrorException("Unsupported serialization version " + header[MAGIC.length]);
+        BlockInputStream blocks = new BlockInputStream(stream);
+        Value result;
+        if ((header[MAGIC.length + 1] & FLAG_COMPRESSED) != 0) {
+            Inflater inflater = new Inflater();
+            try {
+                result = new Reader(new InflaterInputStream(blocks, inflater)).read();
+            } finally {
+                inflater.end();
+            }
+        } else {
+            result = new Reader(blocks).read();
+        }
+        blocks.skipToEnd();
+        return result;
+    }
+
+    public static byte[] toBytes(Value value, boolean compress) {
+        ByteArrayOutputStream result = new ByteArrayOutputStream();
+        try {
+            write(value, result, compress);
+        } catch (IOException e) {
+            throw new ControlErrorException("Cannot serialize value");
+        }
+        return result.toByteArray();
+    }
+
+    public static Value fromBytes(byte[] bytes) {
+        try {
+            return read(new ByteArrayInputStream(bytes));
+        } catch (IOException e) {
+            throw new ControlErrorException("Cannot deserialize value: " + e.getMessage());
+        }
+    }
+
+    private static final class Writer {
+        private final OutputStream stream;
+        private final ValueCodec.Output out = new ValueCodec.Output();
+        private final Map<Value, Integer> refs = new IdentityHashMap<>();
+        private final Map<String, Integer> strings = new HashMap<>();
+
+        Writer(OutputStream stream) {
+            this.stream = stream;
+        }
+
+        void write(Value value) throws IOException {
+            value(value, 0);
+            stream.write(out.array(), 0, out.size());
+            out.reset();
+        }
+
+        private void value(Value value, int depth) throws IOException {
+            if (depth > MAX_DEPTH) throw new ControlErrorException("Cannot serialize values nested deeper than " + MAX_DEPTH);
+            flushFull();
+            if (value.isString()) {
+                out.writeByte(ValueCodec.STRING);
+                string(value.asString().getValue());
+            } else if (value.isPattern()) {
+                out.writeByte(ValueCodec.PATTERN);
+                string(value.asPattern().getValue());
+            } else if (value.isAtomic()) {
+                ValueCodec.encode(value, out);
+            } else if (refs.containsKey(value)) {
+                out.writeByte(REF);
+                out.writeVarLong(refs.get(value));
+            } else {
+                refs.put(value, refs.size());
+                if (value.isList()) list(value.asList().getStorage(), depth);
+                else if (value.isSet()) set(value.asSet(), depth);
+                else if (value.isMap()) map(value.asMap(), depth);
+                else if (value.isObject() && !value.asObject().isModule) object(value.asObject(), depth);
+                else if (value.isTable()) table(value.asTable(), depth);
+                else throw new ControlErrorException("Cannot serialize " + value.type());
+            }
+        }
+
+        private void list(AdaptiveList storage, int depth) throws IOException {
+            int size = storage.size();
+            if (storage.isLongs()) {
+                out.writeByte(ValueCodec.LONGS);
+                out.writeVarLong(size);
+                for (int i = 0; i < size; i++) {
+                    out.writeVarLong(storage.getLong(i));
+                    flushFull();
+                }
+                return;
+            }
+            if (storage.isDoubles()) {
+                out.writeByte(ValueCodec.DOUBLES);
+                out.writeVarLong(size);
+                for (int i = 0; i < size; i++) {
+                    out.writeLong(Double.doubleToRawLongBits(storage.getDouble(i)));
+                    flushFull();
+                }
+                return;
+            }
+            out.writeByte(ValueCodec.LIST);
+            out.writeVarLong(size);
+            for (int i = 0; i < size; i++) value(storage.get(i), depth + 1);
+        }
+
+        private void set(ValueSet set, int depth) throws IOException {
+            out.writeByte(ValueCodec.SET);
+            out.writeVarLong(set.getValue().size());
+            for (Value item : set.getValue()) value(item, depth + 1);
+        }
+
+        private void map(ValueMap map, int depth) throws IOException {
+            out.writeByte(ValueCodec.MAP);
+            out.writeVarLong(map.getValue().size());
+            for (Map.Entry<Value, Value> entry : map.getValue().entrySet()) {
+                value(entry.getKey(), depth + 1);
+                value(entry.getValue(), depth + 1);
+            }
+        }
+
+        private void object(ValueObject object, int depth) throws IOException {
+            out.writeByte(ValueCodec.OBJECT);
+            out.writeVarLong(object.size());
+            for (Map.Entry<String, Value> entry : object.getValue().entrySet()) {
+                string(entry.getKey());
+                value(entry.getValue(), depth + 1);
+            }
+        }
+
+        private void table(ValueTable table, int depth) throws IOException {
+            out.writeByte(TABLE);
+            out.writeVarLong(table.getColumnCount());
+            out.writeVarLong(table.getRowCount());
+            for (int i = 0; i < table.getColumnCount(); i++) {
+                TableColumn column = table.getColumn(i);
+                string(table.getColumnName(i));
+                out.writeByte(column.getKind().ordinal());
+                int size = column.size();
+                long[] nulls = new long[0];
+                if (column.hasNulls()) {
+                    BitSet bits = new BitSet(size);
+                    for (int row = 0; row < size; row++) if (column.isNull(row)) bits.set(row);
+                    nulls = bits.toLongArray();
+                }
+                out.writeVarLong(nulls.length);
+                for (long word : nulls) out.writeLong(word);
+                switch (column.getKind()) {
+                    case LONGS:
+                        for (int row = 0; row < size; row++) {
+                            out.writeVarLong(column.getLong(row));
+                            flushFull();
+                        }
+                        break;
+                    case DOUBLES:
+                        for (int row = 0; row < size; row++) {
+                            out.writeLong(Double.doubleToRawLongBits(column.getDouble(row)));
+                            flushFull();
+                        }
+                        break;
+                    case STRINGS:
+                        TableColumn.Dictionary dictionary = column.getDictionary();
+                        out.writeVarLong(dictionary.size());
+                        for (int code = 0; code < dictionary.size(); code++) {
+                            string(dictionary.get(code));
+                            flushFull();
+                        }
+                        for (int row = 0; row < size; row++) {
+                            out.writeVarLong(column.getCode(row));
+                            flushFull();
+                        }
+                        break;
+                    default:
+                        for (int row = 0; row < size; row++) value(column.get(row), depth + 1);
+                }
+            }
+        }
+
+        private void flushFull() throws IOException {
+            if (out.size() < BLOCK_SIZE) return;
+            stream.write(out.array(), 0, out.size());
+            out.reset();
+        }
+
+        private void string(String value) {
+            Integer index = strings.get(value);
+            if (index != null) {
+                out.writeVarLong(index + 1);
+                return;
+            }
+            if (value.length() <= MAX_SHARED_LENGTH && strings.size() < MAX_SHARED_STRINGS) strings.put(value, strings.size());
+            out.writeVarLong(0);
+            out.writeString(value);
+        }
+    }
+
+    private static final class Reader {
+        private final InputStream stream;
+        private final byte[] buffer = new byte[BLOCK_SIZE];
+        private int position;
+        private int limit;
+        private final List<Value> refs = new ArrayList<>();
+        private final List<String> strings = new ArrayList<>();
+
+        Reader(InputStream stream) {
+            this.stream = stream;
+        }
+
+        Value read() throws IOException {
+            return value(0);
+        }
+
+        private Value value(int depth) throws IOException {
+            if (depth > MAX_DEPTH) throw new ControlErrorException("Cannot deserialize values nested deeper than " + MAX_DEPTH);
+            int tag = readByte();
+            switch (tag) {
+                case ValueCodec.NULL:
+                    return ValueNull.NULL;
+                case ValueCodec.FALSE:
+                    return ValueBoolean.FALSE;
+                case ValueCodec.TRUE:
+                    return ValueBoolean.TRUE;
+                case ValueCodec.INT:
+                    return new ValueInt(readVarLong());
+                case ValueCodec.DECIMAL:
+                    return new ValueDecimal(Double.longBitsToDouble(readLong()));
+                case ValueCodec.STRING:
+                    return new ValueString(string());
+                case ValueCodec.DATE:
+                    return ValueDate.ofLocalMillis(readVarLong());
+                case ValueCodec.PATTERN:
+                    return new ValuePattern(string());
+                case ValueCodec.LONGS: {
+                    int slot = reserve();
+                    return register(slot, ValueList.ofLongs(readVarLongs(size())));
+                }
+                case ValueCodec.DOUBLES: {
+                    int slot = reserve();
+                    return register(slot, ValueList.ofDoubles(readDoubles(size())));
+                }
+                case ValueCodec.LIST: {
+                    ValueList result = register(reserve(), new ValueList());
+                    int size = size();
+                    for (int i = 0; i < size; i++) result.addItem(value(depth + 1));
+                    return result;
+                }
+                case ValueCodec.SET: {
+                    ValueSet result = register(reserve(), new ValueSet());
+                    int size = size();
+                    for (int i = 0; i < size; i++) result.addItem(value(depth + 1));
+                    return result;
+                }
+                case ValueCodec.MAP: {
+                    ValueMap result = register(reserve(), new ValueMap());
+                    int size = size();
+                    for (int i = 0; i < size; i++) result.addItem(value(depth + 1), value(depth + 1));
+                    return result;
+                }
+                case ValueCodec.OBJECT: {
+                    ValueObject result = register(reserve(), new ValueObject());
+                    int size = size();
+                    for (int i = 0; i < size; i++) result.addItem(string(), value(depth + 1));
+                    return result;
+                }
+                case TABLE:
+                    return table(depth);
+                case REF: {
+                    int index = size();
+                    if (index >= refs.size() || refs.get(index) == null) throw new ControlErrorException("Invalid reference " + index + " in serialized value");
+                    return refs.get(index);
+                }
+                default:
+                    throw new ControlErrorException("Cannot deserialize value with tag " + tag);
+            }
+        }
+
+        private ValueTable table(int depth) throws IOException {
+            int slot = reserve();
+            int columnCount = size();
+            int rows = size();
+            List<String> names = new ArrayList<>();
+            List<TableColumn> columns = new ArrayList<>();
+            TableColumn.Kind[] kinds = TableColumn.Kind.values();
+            for (int i = 0; i < columnCount; i++) {
+                names.add(string());
+                int kind = readByte();
+                if (kind >= kinds.length) throw new ControlErrorException("Invalid column kind " + kind + " in serialized value");
+                BitSet nulls = BitSet.valueOf(readLongs(size()));
+                switch (kinds[kind]) {
+                    case LONGS: {
+                        long[] longs = readVarLongs(rows);
+                        columns.add(new TableColumn(kinds[kind], rows, longs, null, null, null, null, nulls));
+                        break;
+                    }
+                    case DOUBLES: {
+                        double[] doubles = readDoubles(rows);
+                        columns.add(new TableColumn(kinds[kind], rows, null, doubles, null, null, null, nulls));
+                        break;
+                    }
+                    case STRINGS: {
+                        TableColumn.Dictionary dictionary = new TableColumn.Dictionary();
+                        int size = size();
+                        for (int code = 0; code < size; code++) dictionary.add(string());
+                        int[] codes = new int[capacity(rows, 0)];
+                        for (int row = 0; row < rows; row++) {
+                            if (row == codes.length) codes = Arrays.copyOf(codes, capacity(rows, row));
+                            codes[row] = (int) readVarLong();
+                        }
+                        columns.add(new TableColumn(kinds[kind], rows, null, null, codes, dictionary, null, nulls));
+                        break;
+                    }
+                    default: {
+                        Value[] values = new Value[capacity(rows, 0)];
+                        for (int row = 0; row < rows; row++) {
+                            if (row == values.length) values = Arrays.copyOf(values, capacity(rows, row));
+                            values[row] = value(depth + 1);
+                        }
+                        columns.add(new TableColumn(kinds[kind], rows, null, null, null, null, values, nulls));
+                    }
+                }
+            }
+            return register(slot, new ValueTable(names, columns));
+        }
+
+        private int reserve() {
+            refs.add(null);
+            return refs.size() - 1;
+        }
+
+        private <T extends Value> T register(int slot, T value) {
+            refs.set(slot, value);
+            return value;
+        }
+
+        private String string() throws IOException {
+            int index = size();
+            if (index > 0) {
+                if (index > strings.size()) throw new ControlErrorException("Invalid string reference " + index + " in serialized value");
+                return strings.get(index - 1);
+            }
+            int length = size();
+            String result;
+            if (limit - position >= length) {
+                result = new String(buffer, position, length, StandardCharsets.UTF_8);
+                position += length;
+            } else {
+                byte[] bytes = new byte[capacity(length, 0)];
+                int done = 0;
+                while (done < length) {
+                    if (position == limit) fill();
+                    if (done == bytes.length) bytes = Arrays.copyOf(bytes, capacity(length, done));
+                    int count = Math.min(bytes.length - done, limit - position);
+                    System.arraycopy(buffer, position, bytes, done, count);
+                    position += count;
+                    done += count;
+                }
+                result = new String(bytes, StandardCharsets.UTF_8);
+            }
+            if (result.length() <= MAX_SHARED_LENGTH && strings.size() < MAX_SHARED_STRINGS) strings.add(result);
+            return result;
+        }
+
+        // Sizes are read from the stream, so arrays grow with the data that
+        // is actually present instead of being allocated up front.
+        private static int capacity(int size, int done) {
+            return (int) Math.min(size, Math.max(1024, 2L * done));
+        }
+
+        private long[] readVarLongs(int size) throws IOException {
+            long[] result = new long[capacity(size, 0)];
+            for (int i = 0; i < size; i++) {
+                if (i == result.length) result = Arrays.copyOf(result, capacity(size, i));
+                result[i] = readVarLong();
+            }
+            return result;
+        }
+
+        private long[] readLongs(int size) throws IOException {
+            long[] result = new long[capacity(size, 0)];
+            for (int i = 0; i < size; i++) {
+                if (i == result.length) result = Arrays.copyOf(result, capacity(size, i));
+                result[i] = readLong();
+            }
+            return result;
+        }
+
+        private double[] readDoubles(int size) throws IOException {
+            double[] result = new double[capacity(size, 0)];
+            for (int i = 0; i < size; i++) {
+                if (i == result.length) result = Arrays.copyOf(result, capacity(size, i));
+                result[i] = Double.longBitsToDouble(readLong());
+            }
+            return result;
+        }
+
+        private int size() throws IOException {
+            long result = readVarLong();
+            if (result < 0 || result > Integer.MAX_VALUE) throw new ControlErrorException("Invalid size " + result + " in serialized value");
+            return (int) result;
+        }
+
+        private int readByte() throws IOException {
+            if (position == limit) fill();
+            return buffer[position++] & 0xff;
+        }
+
+        private long readLong() throws IOException {
+            long result = 0;
+            for (int i = 0; i < 8; i++) result = (result << 8) | readByte();
+            return result;
+        }
+
+        private long readVarLong() throws IOException {
+            long raw = 0;
+            int shift = 0;
+            while (true) {
+                int b = readByte();
+                raw |= (long) (b & 0x7f) << shift;
+                if (b < 0x80) break;
+                shift += 7;
+            }
+            return (raw >>> 1) ^ -(raw & 1);
+        }
+
+        private void fill() throws IOException {
+            int count = stream.read(buffer, 0, buffer.length);
+            if (count <= 0) throw new EOFException("Unexpected end of serialized value");
+            position = 0;
+            limit = count;
+        }
+    }
+
+    private static final class BlockOutputStream extends OutputStream {
+        private final OutputStream stream;
+        private final byte[] buffer = new byte[BLOCK_SIZE];
+        private int count;
+
+        BlockOutputStream(OutputStream stream) {
+            this.stream = stream;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (count == buffer.length) flushBlock();
+            buffer[count++] = (byte) b;
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            while (length > 0) {
+                if (count == buffer.length) flushBlock();
+                int n = Math.min(length, buffer.length - count);
+                System.arraycopy(bytes, offset, buffer, count, n);
+                count += n;
+                offset += n;
+                length -= n;
+            }
+        }
+
+        void finish() throws IOException {
+            flushBlock();
+            writeLength(0);
+        }
+
+        private void flushBlock() throws IOException {
+            if (count == 0) return;
+            writeLength(count);
+            stream.write(buffer, 0, count);
+            count = 0;
+        }
+
+        private void writeLength(int length) throws IOException {
+            stream.write(length >>> 24);
+            stream.write(length >>> 16);
+            stream.write(length >>> 8);
+            stream.write(length);
+        }
+    }
+
+    // Hands out the blocks of one value and never reads past its end marker.
+    private static final class BlockInputStream extends InputStream {
+        private final InputStream stream;
+        private int remaining;
+        private boolean end;
+
+        BlockInputStream(InputStream stream) {
+            this.stream = stream;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (!nextBlock()) return -1;
+            int b = stream.read();
+            if (b < 0) throw new EOFException("Unexpected end of serialized value");
+            remaining--;
+            return b;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) throws IOException {
+            if (length == 0) return 0;
+            if (!nextBlock()) return -1;
+            int count = stream.read(bytes, offset, Math.min(length, remaining));
+            if (count < 0) throw new EOFException("Unexpected end of serialized value");
+            remaining -= count;
+            return count;
+        }
+
+        @Override
+        public int available() throws IOException {
+            return end ? 0 : Math.min(remaining, stream.available());
+        }
+
+        void skipToEnd() throws IOException {
+            while (nextBlock()) {
+                long skipped = stream.skip(remaining);
+                if (skipped <= 0) {
+                    if (stream.read() < 0) throw new EOFException("Unexpected end of serialized value");
+                    skipped = 1;
+                }
+                remaining -= (int) skipped;
+            }
+        }
+
+        private boolean nextBlock() throws IOException {
+            while (remaining == 0) {
+                if (end) return false;
+                int length = 0;
+                for (int i = 0; i < 4; i++) {
+                    int b = stream.read();
+                    if (b < 0) throw new EOFException("Unexpected end of serialized value");
+                    length = (length << 8) | b;
+                }
+                if (length < 0 || length > BLOCK_SIZE) throw new ControlErrorException("Invalid block length " + length + " in serialized value");
+                if (length == 0) end = true;
+                remaining = length;
+            }
+            return true;
+        }
+    }
+}
@@ -20,6 +20,7 @@
 */
 package ch.checkerlang.values;
 
+import java.io.IOException;
 import java.util.Collection;
 import java.util.TreeSet;
 
@@ -105,15 +106,25 @@ public class ValueSet extends Value {
         return true;
     }
 
-    public String toString() {
-        StringBuilder builder = new StringBuilder();
-        builder.append("<<");
+    public void appendTo(Appendable out, RenderBudget budget) throws IOException {
+        if (!budget.enter(this)) {
+            budget.append(out, "<<...>>");
+            return;
+        }
+        budget.append(out, "<<");
+        boolean first = true;
         for (Value item : value) {
-            builder.append(item.toString()).append(", ");
+            if (budget.isExhausted()) break;
+            if (!first) budget.append(out, ", ");
+            item.appendTo(out, budget);
+            first = false;
         }
-        if (builder.length() > "<<".length()) builder.setLength(builder.length() - 2);
-        builder.append(">>");
-        return builder.toString();
+        budget.append(out, ">>");
+        budget.leave(this);
+    }
+
+    public String toString() {
+        return RenderBudget.render(this, new RenderBudget());
     }
 
 }
@@ -21,26 +21,159 @@
 package ch.checkerlang.values;
 
 import ch.checkerlang.ControlErrorException;
+import ch.checkerlang.DateConverter;
 
 import java.text.SimpleDateFormat;
 
 public class ValueString extends Value {
+    private static final int MIN_BUILDER_LENGTH = 256;
+    private static final int MIN_VIEW_LENGTH = 64;
+
+    private static final ValueString[] CHARS = new ValueString[256];
+
+    static {
+        for (int i = 0; i < CHARS.length; i++) CHARS[i] = new ValueString(String.valueOf((char) i));
+    }
+
     private String value;
 
     public ValueString(String value) {
         this.value = value;
     }
 
+    private ValueString() {
+        // lazily materialised subclasses
+    }
+
+    public static ValueString ofChar(char ch) {
+        return ch < CHARS.length ? CHARS[ch] : new ValueString(String.valueOf(ch));
+    }
+
     public String getValue() {
         return value;
     }
 
+    public int length() {
+        return value.length();
+    }
+
+    public char charAt(int index) {
+        return charAt(getValue(), 0, index);
+    }
+
+    public ValueString substring(int start, int end) {
+        return substring(getValue(), 0, start, end);
+    }
+
+    // The base string and its offset must come from the same read, views
+    // drop their source concurrently when they are materialised.
+    char charAt(String base, int offset, int index) {
+        if (index < 0 || index >= length()) throw new StringIndexOutOfBoundsException(index);
+        return base.charAt(offset + index);
+    }
+
+    ValueString substring(String base, int offset, int start, int end) {
+        int length = length();
+        if (start < 0 || end > length || start > end) throw new StringIndexOutOfBoundsException("begin " + start + ", end " + end + ", length " + length);
+        if (start == 0 && end == length) return this;
+        if (end - start == 1) return ofChar(base.charAt(offset + start));
+        if (end - start < MIN_VIEW_LENGTH) return new ValueString(base.substring(offset + start, offset + end));
+        return new View(base, offset + start, end - start);
+    }
+
+    public ValueString concat(String suffix) {
+        int total = length() + suffix.length();
+        if (total < MIN_BUILDER_LENGTH) return new ValueString(getValue().concat(suffix));
+        StringBuilder result = new StringBuilder(total * 2);
+        result.append(getValue()).append(suffix);
+        return new Appended(result);
+    }
+
+    private static final class Appended extends ValueString {
+        private final StringBuilder builder;
+        private final int length;
+
+        Appended(StringBuilder builder) {
+            this.builder = builder;
+            this.length = builder.length();
+        }
+
+        public String getValue() {
+            String result = super.value;
+            if (result == null) {
+                synchronized (builder) {
+                    result = builder.substring(0, length);
+                }
+                super.value = result;
+            }
+            return result;
+        }
+
+        public int length() {
+            return length;
+        }
+
+        public ValueString concat(String suffix) {
+            synchronized (builder) {
+                if (builder.length() == length) {
+                    builder.append(suffix);
+                    return new Appended(builder);
+                }
+            }
+            return super.concat(suffix);
+        }
+    }
+
+    private static final class View extends ValueString {
+        // Cleared after the value has been published.
+        private volatile String source;
+        private final int offset;
+        private final int length;
+
+        View(String source, int offset, int length) {
+            this.source = source;
+            this.offset = offset;
+            this.length = length;
+        }
+
+        public String getValue() {
+            String result = super.value;
+            if (result == null) {
+                String base = source;
+                if (base == null) return super.value;
+                result = base.substring(offset, offset + length);
+                super.value = result;
+                source = null;
+            }
+            return result;
+        }
+
+        public int length() {
+            return length;
+        }
+
+        public char charAt(int index) {
+            String base = source;
+            if (base == null) return super.charAt(index);
+            return charAt(base, offset, index);
+        }
+
+        public ValueString substring(int start, int end) {
+            String base = source;
+            if (base == null) return super.substring(start, end);
+            return substring(base, offset, start, end);
+        }
+    }
+
     public boolean isEquals(Value value) {
+        if (value == this) return true;
         if (!value.isString()) return false;
-        return this.value.equals(value.asString().getValue());
+        if (length() != value.asString().length()) return false;
+        return getValue().equals(value.asString().getValue());
     }
 
     public int compareTo(Value value) {
+        if (value == this) return 0;
         return toString().compareTo(value.toString());
     }
 
@@ -49,11 +182,11 @@ public class ValueString extends Value {
     }
 
     public int hashCode() {
-        return value.hashCode();
+        return getValue().hashCode();
     }
 
     public boolean matches(Value pattern) {
-        return pattern.asPattern().getPattern().matcher(value).matches();
+        return pattern.asPattern().getPattern().matcher(getValue()).matches();
     }
 
     public ValueString asString() {
@@ -62,42 +195,76 @@ public class ValueString extends Value {
 
     public ValueInt asInt() {
         try {
-            return new ValueInt(Long.parseLong(value));
+            return new ValueInt(Long.parseLong(getValue()));
         } catch (Exception e) {
-            throw new ControlErrorException("Cannot convert '" + value + "' to int");
+            throw new ControlErrorException("Cannot convert '" + getValue() + "' to int");
         }
     }
 
     public ValueDecimal asDecimal() {
         try {
-            return new ValueDecimal(Double.parseDouble(value));
+            return new ValueDecimal(Double.parseDouble(getValue()));
         } catch (Exception e) {
-            throw new ControlErrorException("Cannot convert '" + value + "' to decimal");
+            throw new ControlErrorException("Cannot convert '" + getValue() + "' to decimal");
         }
     }
 
     public ValueBoolean asBoolean() {
-        if (value.equals("1")) return ValueBoolean.TRUE;
-        if (value.equals("0")) return ValueBoolean.FALSE;
-        return ValueBoolean.from(Boolean.parseBoolean(value));
+        if (getValue().equals("1")) return ValueBoolean.TRUE;
+        if (getValue().equals("0")) return ValueBoolean.FALSE;
+        return ValueBoolean.from(Boolean.parseBoolean(getValue()));
     }
 
     public ValueDate asDate() {
+        int length = length();
+        if (length == 8 || length == 10 || length == 14) {
+            ValueDate result = asDateDigits(length);
+            if (result != null) return result;
+        }
         String fmt = "yyyyMMdd";
-        if (value.length() == 10) {
+        if (length() == 10) {
             fmt = "yyyyMMddHH";
-        } else if (value.length() == 14) {
+        } else if (length() == 14) {
             fmt = "yyyyMMddHHmmss";
         }
         try {
-            return new ValueDate(new SimpleDateFormat(fmt).parse(value));
+            return new ValueDate(new SimpleDateFormat(fmt).parse(getValue()));
         } catch (Exception e) {
-            throw new ControlErrorException("Cannot convert '" + value + "' to date");
+            throw new ControlErrorException("Cannot convert '" + getValue() + "' to date");
+        }
+    }
+
+    // Lenient like SimpleDateFormat, i.e. 20170132 is 20170201. Times in a
+    // daylight saving gap are left to SimpleDateFormat, which moves them
+    // forward by the length of the gap.
+    private ValueDate asDateDigits(int length) {
+        String value = getValue();
+        for (int i = 0; i < length; i++) {
+            char ch = value.charAt(i);
+            if (ch < '0' || ch > '9') return null;
         }
+        int year = digits(value, 0, 4);
+        int month = digits(value, 4, 2);
+        int day = digits(value, 6, 2);
+        int hour = length >= 10 ? digits(value, 8, 2) : 0;
+        int minute = length == 14 ? digits(value, 10, 2) : 0;
+        int second = length == 14 ? digits(value, 12, 2) : 0;
+        year += Math.floorDiv(month - 1, 12);
+        month = Math.floorMod(month - 1, 12) + 1;
+        long local = DateConverter.toLocalMillis(year, month, 1, 0, 0, 0, 0);
+        local += (day - 1) * DateConverter.MILLIS_PER_DAY + ((hour * 60L + minute) * 60L + second) * 1000L;
+        if (DateConverter.isInGap(DateConverter.toLocalDateTime(local))) return null;
+        return ValueDate.ofLocalMillis(local);
+    }
+
+    private static int digits(String s, int offset, int count) {
+        int result = 0;
+        for (int i = offset; i < offset + count; i++) result = result * 10 + (s.charAt(i) - '0');
+        return result;
     }
 
     public ValuePattern asPattern() {
-        return new ValuePattern(value);
+        return new ValuePattern(getValue());
     }
 
     public ValueList asList() {
@@ -109,7 +276,7 @@ public class ValueString extends Value {
     }
 
     public String toString() {
-        return "'" + value.replace("\\", "\\\\").replace("'", "\\'").replace("\r", "\\r").replace("\n", "\\n").replace("\t", "\\t") + "'";
+        return "'" + getValue().replace("\\", "\\\\").replace("'", "\\'").replace("\r", "\\r").replace("\n", "\\n").replace("\t", "\\t") + "'";
     }
 
 }
@@ -0,0 +1,472 @@
+/*  Copyright (c) 2021 Damian Brunold, Gesundheitsdirektion Kanton Zürich
+
+    Permission is hereby granted, free of charge, to any person obtaining a copy
+    of this software and associated documentation files (the "Software"), to deal
+    in the Software without restriction, including without limitation the rights
+    to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+    copies of the Software, and to permit persons to whom the Software is
+    furnished to do so, subject to the following conditions:
+
+    The above copyright notice and this permission notice shall be included in all
+    copies or substantial portions of the Software.
+
+    THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+    IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+    FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+    AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+    LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+    OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+    SOFTWARE.
+*/
+package ch.checkerlang.values;
+
+import ch.checkerlang.ControlErrorException;
+
+import java.util.*;
+
+public class ValueTable extends Value {
+    private final String[] names;
+    private final TableColumn[] columns;
+    private final int rows;
+    private Shape shape;
+
+    public ValueTable(List<String> names, List<TableColumn> columns) {
+        this(names.toArray(new String[0]), columns.toArray(new TableColumn[0]));
+    }
+
+    private ValueTable(String[] names, TableColumn[] columns) {
+        if (names.length != columns.length) throw new ControlErrorException("Expected " + names.length + " columns but got " + columns.length);
+        this.names = names;
+        this.columns = columns;
+        this.rows = columns.length == 0 ? 0 : columns[0].size();
+        Set<String> seen = new HashSet<>();
+        for (int i = 0; i < names.length; i++) {
+            if (!seen.add(names[i])) throw new ControlErrorException("Duplicate column " + names[i]);
+            if (columns[i].size() != rows) throw new ControlErrorException("Column " + names[i] + " has " + columns[i].size() + " rows but expected " + rows);
+        }
+    }
+
+    public static ValueTable fromRows(Collection<Value> rows) {
+        Builder builder = new Builder();
+        for (Value row : rows) {
+            if (row.isObject()) {
+                for (Map.Entry<String, Value> entry : row.asObject().getValue().entrySet()) {
+                    builder.set(builder.column(entry.getKey()), entry.getValue());
+                }
+            } else if (row.isMap()) {
+                for (Map.Entry<Value, Value> entry : row.asMap().getValue().entrySet()) {
+                    builder.set(builder.column(entry.getKey().asString().getValue()), entry.getValue());
+                }
+            } else {
+                throw new ControlErrorException("Table rows must be maps or objects but got " + row.type());
+            }
+            builder.endRow();
+        }
+        return builder.build();
+    }
+
+    public List<String> getColumnNames() {
+        return Collections.unmodifiableList(Arrays.asList(names));
+    }
+
+    public String getColumnName(int column) {
+        return names[column];
+    }
+
+    public int getColumnCount() {
+        return columns.length;
+    }
+
+    public int getRowCount() {
+        return rows;
+    }
+
+    public int indexOf(String name) {
+        for (int i = 0; i < names.length; i++) {
+            if (names[i].equals(name)) return i;
+        }
+        return -1;
+    }
+
+    public int[] indexesOf(List<String> names) {
+        int[] result = new int[names.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = indexOf(names.get(i));
+            if (result[i] < 0) throw new ControlErrorException("Unknown column " + names.get(i));
+        }
+        return result;
+    }
+
+    public TableColumn getColumn(int column) {
+        return columns[column];
+    }
+
+    public TableColumn getColumn(String name) {
+        int column = indexOf(name);
+        if (column < 0) throw new ControlErrorException("Unknown column " + name);
+        return columns[column];
+    }
+
+    public Value getCell(int row, int column) {
+        return columns[column].get(row);
+    }
+
+    public ValueObject getRow(int row) {
+        Value[] slots = new Value[columns.length];
+        for (int i = 0; i < columns.length; i++) slots[i] = columns[i].get(row);
+        if (names.length > Shape.MAX_SIZE) {
+            ValueObject result = new ValueObject();
+            for (int i = 0; i < names.length; i++) result.addItem(names[i], slots[i]);
+            return result;
+        }
+        if (shape == null) {
+            Shape result = Shape.EMPTY;
+            for (String name : names) result = result.withKey(name);
+            shape = result;
+        }
+        return new ValueObject(shape, slots);
+    }
+
+    public ValueTable select(int[] columns) {
+        String[] resultNames = new String[columns.length];
+        TableColumn[] resultColumns = new TableColumn[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            resultNames[i] = names[columns[i]];
+            resultColumns[i] = this.columns[columns[i]];
+        }
+        return new ValueTable(resultNames, resultColumns);
+    }
+
+    public ValueTable gather(int[] rows, int count) {
+        TableColumn[] result = new TableColumn[columns.length];
+        for (int i = 0; i < columns.length; i++) result[i] = columns[i].gather(rows, count);
+        return new ValueTable(names, result);
+    }
+
+    public int[] sortedRows(int[] keys, boolean reverse) {
+        int[] result = new int[rows];
+        for (int i = 0; i < rows; i++) result[i] = i;
+        mergeSort(result, new int[rows], 0, rows, keys, reverse ? -1 : 1);
+        return result;
+    }
+
+    private void mergeSort(int[] a, int[] buffer, int from, int to, int[] keys, int sign) {
+        if (to - from < 2) return;
+        int middle = (from + to) >>> 1;
+        mergeSort(a, buffer, from, middle, keys, sign);
+        mergeSort(a, buffer, middle, to, keys, sign);
+        if (compareRows(a[middle - 1], a[middle], keys) * sign <= 0) return;
+        System.arraycopy(a, from, buffer, from, to - from);
+        int i = from;
+        int j = middle;
+        for (int k = from; k < to; k++) {
+            if (j >= to || (i < middle && compareRows(buffer[i], buffer[j], keys) * sign <= 0)) a[k] = buffer[i++];
+            else a[k] = buffer[j++];
+        }
+    }
+
+    private int compareRows(int a, int b, int[] keys) {
+        for (int key : keys) {
+            int result = columns[key].compare(a, b);
+            if (result != 0) return result;
+        }
+        return 0;
+    }
+
+    private Object keyOf(int row, int[] keys) {
+        if (keys.length == 1) return columns[keys[0]].keyOf(row);
+        Object[] result = new Object[keys.length];
+        for (int i = 0; i < keys.length; i++) result[i] = columns[keys[i]].keyOf(row);
+        return Arrays.asList(result);
+    }
+
+    private boolean hasNullKey(int row, int[] keys) {
+        for (int key : keys) {
+            if (columns[key].isNull(row)) return true;
+        }
+        return false;
+    }
+
+    public ValueTable groupBy(int[] keys, List<Aggregate> aggregates) {
+        int[] groups = new int[rows];
+        int[] firstRows = new int[16];
+        int count = 0;
+        TableColumn single = keys.length == 1 ? columns[keys[0]] : null;
+        if (single != null && single.getKind() == TableColumn.Kind.STRINGS) {
+            int[] groupOfCode = new int[single.getDictionary().size() + 1];
+            Arrays.fill(groupOfCode, -1);
+            for (int row = 0; row < rows; row++) {
+                int code = single.getCode(row) + 1;
+                int group = groupOfCode[code];
+                if (group < 0) {
+                    group = groupOfCode[code] = count;
+                    if (count == firstRows.length) firstRows = Arrays.copyOf(firstRows, count * 2);
+                    firstRows[count++] = row;
+                }
+                groups[row] = group;
+            }
+        } else {
+            Map<Object, Integer> groupOfKey = new HashMap<>();
+            for (int row = 0; row < rows; row++) {
+                Object key = keyOf(row, keys);
+                Integer group = groupOfKey.get(key);
+                if (group == null) {
+                    group = count;
+                    groupOfKey.put(key, group);
+                    if (count == firstRows.length) firstRows = Arrays.copyOf(firstRows, count * 2);
+                    firstRows[count++] = row;
+                }
+                groups[row] = group;
+            }
+        }
+        String[] resultNames = new String[keys.length + aggregates.size()];
+        TableColumn[] resultColumns = new TableColumn[resultNames.length];
+        for (int i = 0; i < keys.length; i++) {
+            resultNames[i] = names[keys[i]];
+            resultColumns[i] = columns[keys[i]].gather(firstRows, count);
+        }
+        for (int i = 0; i < aggregates.size(); i++) {
+            Aggregate aggregate = aggregates.get(i);
+            resultNames[keys.length + i] = aggregate.name;
+            resultColumns[keys.length + i] = aggregate(aggregate, groups, count);
+        }
+        return new ValueTable(resultNames, resultColumns);
+    }
+
+    private TableColumn aggregate(Aggregate aggregate, int[] groups, int count) {
+        TableColumn.Builder result = new TableColumn.Builder();
+        TableColumn column = aggregate.column < 0 ? null : columns[aggregate.column];
+        if (column == null && !aggregate.function.equals("count")) throw new ControlErrorException("Aggregate " + aggregate.function + " requires a column");
+        long[] counts = new long[count];
+        if (column == null || !column.hasNulls()) {
+            for (int row = 0; row < rows; row++) counts[groups[row]]++;
+        } else {
+            for (int row = 0; row < rows; row++) {
+                if (!column.isNull(row)) counts[groups[row]]++;
+            }
+        }
+        switch (aggregate.function) {
+            case "count":
+                for (int group = 0; group < count; group++) result.add(new ValueInt(counts[group]));
+                return result.build();
+            case "min":
+            case "max": {
+                int[] best = new int[count];
+                Arrays.fill(best, -1);
+                int sign = aggregate.function.equals("min") ? 1 : -1;
+                for (int row = 0; row < rows; row++) {
+                    if (column.isNull(row)) continue;
+                    int group = groups[row];
+                    if (best[group] < 0 || column.compare(row, best[group]) * sign < 0) best[group] = row;
+                }
+                return column.gather(best, count);
+            }
+            case "sum":
+            case "mean": {
+                boolean mean = aggregate.function.equals("mean");
+                double[] sums = new double[count];
+                if (column.getKind() == TableColumn.Kind.LONGS && !mean) {
+                    long[] longSums = new long[count];
+                    for (int row = 0; row < rows; row++) longSums[groups[row]] += column.getLong(row);
+                    for (int group = 0; group < count; group++) result.add(new ValueInt(longSums[group]));
+                    return result.build();
+                } else if (column.getKind() == TableColumn.Kind.LONGS) {
+                    for (int row = 0; row < rows; row++) sums[groups[row]] += column.getLong(row);
+                } else if (column.getKind() == TableColumn.Kind.DOUBLES) {
+                    for (int row = 0; row < rows; row++) sums[groups[row]] += column.getDouble(row);
+                } else {
+                    boolean ints = true;
+                    long[] longSums = new long[count];
+                    for (int row = 0; row < rows; row++) {
+                        if (column.isNull(row)) continue;
+                        Value value = column.get(row);
+                        if (value.isInt()) longSums[groups[row]] += value.asInt().getValue();
+                        else if (value.isDecimal()) ints = false;
+                        else throw new ControlErrorException("Cannot " + aggregate.function + " non-numeric value " + value);
+                        sums[groups[row]] += value.asDecimal().getValue();
+                    }
+                    if (ints && !mean) {
+                        for (int group = 0; group < count; group++) result.add(new ValueInt(longSums[group]));
+                        return result.build();
+                    }
+                }
+                for (int group = 0; group < count; group++) {
+                    if (!mean) result.add(new ValueDecimal(sums[group]));
+                    else if (counts[group] == 0) result.addNull();
+                    else result.add(new ValueDecimal(sums[group] / counts[group]));
+                }
+                return result.build();
+            }
+            default:
+                throw new ControlErrorException("Unknown aggregate function " + aggregate.function);
+        }
+    }
+
+    public ValueTable join(ValueTable right, List<String> keys, boolean keepUnmatched) {
+        int[] leftKeys = indexesOf(keys);
+        int[] rightKeys = right.indexesOf(keys);
+        Map<Object, Integer> heads = new HashMap<>();
+        int[] next = new int[right.rows];
+        for (int row = right.rows - 1; row >= 0; row--) {
+            if (right.hasNullKey(row, rightKeys)) continue;
+            Integer head = heads.put(right.keyOf(row, rightKeys), row);
+            next[row] = head == null ? -1 : head;
+        }
+        int[] leftRows = new int[Math.max(16, rows)];
+        int[] rightRows = new int[leftRows.length];
+        int count = 0;
+        for (int row = 0; row < rows; row++) {
+            Integer head = hasNullKey(row, leftKeys) ? null : heads.get(keyOf(row, leftKeys));
+            if (head == null && !keepUnmatched) continue;
+            for (int match = head == null ? -1 : head; ; match = next[match]) {
+                if (count == leftRows.length) {
+                    leftRows = Arrays.copyOf(leftRows, count * 2);
+                    rightRows = Arrays.copyOf(rightRows, count * 2);
+                }
+                leftRows[count] = row;
+                rightRows[count++] = match;
+                if (match < 0 || next[match] < 0) break;
+            }
+        }
+        List<String> resultNames = new ArrayList<>(Arrays.asList(names));
+        List<TableColumn> resultColumns = new ArrayList<>();
+        for (TableColumn column : columns) resultColumns.add(column.gather(leftRows, count));
+        for (int i = 0; i < right.columns.length; i++) {
+            if (keys.contains(right.names[i])) continue;
+            String name = right.names[i];
+            resultNames.add(resultNames.contains(name) ? name + "_right" : name);
+            resultColumns.add(right.columns[i].gather(rightRows, count));
+        }
+        return new ValueTable(resultNames, resultColumns);
+    }
+
+    public boolean isEquals(Value value) {
+        if (!value.isTable()) return false;
+        ValueTable other = value.asTable();
+        if (rows != other.rows || !Arrays.equals(names, other.names)) return false;
+        for (int i = 0; i < columns.length; i++) {
+            if (!columns[i].contentEquals(other.columns[i])) return false;
+        }
+        return true;
+    }
+
+    public int compareTo(Value value) {
+        return toString().compareTo(value.toString());
+    }
+
+    public int hashCode() {
+        return Arrays.hashCode(names) * 31 + rows;
+    }
+
+    public String type() {
+        return "table";
+    }
+
+    public ValueString asString() {
+        return new ValueString(toString());
+    }
+
+    public ValueInt asInt() {
+        return new ValueInt(rows);
+    }
+
+    public ValueBoolean asBoolean() {
+        return ValueBoolean.from(rows > 0);
+    }
+
+    public ValueList asList() {
+        ValueList result = new ValueList();
+        for (int row = 0; row < rows; row++) result.addItem(getRow(row));
+        return result;
+    }
+
+    public ValueTable asTable() {
+        return this;
+    }
+
+    public boolean isTable() {
+        return true;
+    }
+
+    public String toString() {
+        return "<!table " + Arrays.toString(names) + ", " + rows + " rows>";
+    }
+
+    public static final class Aggregate {
+        private final String name;
+        private final String function;
+        private final int column;
+
+        public Aggregate(String name, String function, int column) {
+            this.name = name;
+            this.function = function;
+            this.column = column;
+        }
+    }
+
+    public static final class Builder {
+        private final List<String> names = new ArrayList<>();
+        private final Map<String, Integer> index = new HashMap<>();
+        private final List<TableColumn.Builder> columns = new ArrayList<>();
+        private int rows;
+
+        public Builder() {
+            // columns are added as they are encountered
+        }
+
+        public Builder(List<String> names) {
+            for (String name : names) column(name);
+        }
+
+        public int column(String name) {
+            Integer column = index.get(name);
+            if (column == null) {
+                column = names.size();
+                names.add(name);
+                index.put(name, column);
+                TableColumn.Builder builder = new TableColumn.Builder();
+                for (int i = 0; i < rows; i++) builder.addNull();
+                columns.add(builder);
+            }
+            return column;
+        }
+
+        public int getColumnCount() {
+            return columns.size();
+        }
+
+        public Builder set(int column, Value value) {
+            TableColumn.Builder builder = columns.get(column);
+            if (builder.size() > rows) builder.removeLast();
+            builder.add(value);
+            return this;
+        }
+
+        public Builder setString(int column, String value) {
+            TableColumn.Builder builder = columns.get(column);
+            if (builder.size() > rows) builder.removeLast();
+            builder.addString(value);
+            return this;
+        }
+
+        public Builder endRow() {
+            rows++;
+            for (TableColumn.Builder column : columns) {
+                if (column.size() < rows) column.addNull();
+            }
+            return this;
+        }
+
+        public ValueTable build() {
+            return build(false);
+        }
+
+        public ValueTable build(boolean inferTypes) {
+            List<TableColumn> result = new ArrayList<>();
+            for (TableColumn.Builder column : columns) {
+                result.add(inferTypes ? column.build().inferTypes() : column.build());
+            }
+            return new ValueTable(names, result);
+        }
+    }
+}
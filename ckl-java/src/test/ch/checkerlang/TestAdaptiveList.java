@@ -0,0 +1,39 @@
+package ch.checkerlang;
+
+import ch.checkerlang.values.AdaptiveList;
+import ch.checkerlang.values.ValueDecimal;
+import ch.checkerlang.values.ValueInt;
+import ch.checkerlang.values.ValueList;
+import ch.checkerlang.values.ValueString;
+import org.junit.Assert;
+import org.junit.jupiter.api.Test;
+
+public class TestAdaptiveList {
+    @Test
+    public void testAdaptiveListStorage() {
+        ValueList list = ValueList.ofLongs(new long[] {3, 1, 2});
+        Assert.assertTrue(list.getStorage().isLongs());
+        list.addItem(new ValueInt(4));
+        Assert.assertTrue(list.getStorage().isLongs());
+        list.getValue().set(0, new ValueString("x"));
+        Assert.assertEquals(AdaptiveList.Kind.GENERIC, list.getStorage().getKind());
+        Assert.assertEquals("['x', 1, 2, 4]", list.toString());
+        Assert.assertTrue(new ValueList().addItem(new ValueInt(1)).isEquals(new ValueList().addItem(new ValueDecimal(1.0))));
+    }
+
+    @Test
+    public void testSliceCopyOnWrite() {
+        ValueList list = new ValueList().addItem(new ValueString("a")).addItem(new ValueString("b")).addItem(new ValueString("c"));
+        ValueList rest = list.slice(1, 3);
+        rest.getValue().set(0, new ValueInt(1));
+        list.addItem(new ValueString("d"));
+        Assert.assertEquals("['a', 'b', 'c', 'd']", list.toString());
+        Assert.assertEquals("[1, 'c']", rest.toString());
+        ValueString s = new ValueString(new String(new char[100]).replace('\0', 'x') + "yz");
+        Assert.assertEquals("yz", s.substring(1, 102).substring(99, 101).getValue());
+        Assert.assertSame(ValueString.ofChar('x'), s.substring(5, 6));
+        ValueString view = s.substring(1, 102);
+        Assert.assertEquals(101, view.getValue().length());
+        Assert.assertEquals("yz", view.substring(99, 101).getValue());
+    }
+}
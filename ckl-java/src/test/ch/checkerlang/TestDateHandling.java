@@ -3,6 +3,7 @@ package ch.checkerlang;
 import org.junit.Assert;
 import org.junit.jupiter.api.Test;
 
+import java.time.LocalDateTime;
 import java.util.*;
 
 public class TestDateHandling {
@@ -106,6 +107,31 @@ public class TestDateHandling {
         Assert.assertEquals(DateConverter.convertOADateToDate(DateConverter.convertDateToOADate(date(2017, 3, 5)) - 3).toString(), date(2017, 3, 2).toString());
     }
 
+    @Test
+    public void TestLocalMillisComponents() {
+        LocalDateTime start = LocalDateTime.of(1600, 1, 1, 0, 0, 0);
+        for (int i = 0; i < 200000; i += 7) {
+            LocalDateTime expected = start.plusDays(i).plusSeconds(i * 13L);
+            long local = DateConverter.toLocalMillis(expected);
+            Assert.assertEquals(expected.getYear(), DateConverter.getYear(local));
+            Assert.assertEquals(expected.getMonthValue(), DateConverter.getMonth(local));
+            Assert.assertEquals(expected.getDayOfMonth(), DateConverter.getDay(local));
+            Assert.assertEquals(expected.getHour(), DateConverter.getHour(local));
+            Assert.assertEquals(expected.getMinute(), DateConverter.getMinute(local));
+            Assert.assertEquals(expected.getSecond(), DateConverter.getSecond(local));
+            Assert.assertEquals(expected, DateConverter.toLocalDateTime(local));
+        }
+    }
+
+    @Test
+    public void TestParseYearOfEra() {
+        Assert.assertFalse(DateFormatCache.isValid("0000-01-01", "yyyy-MM-dd"));
+        Assert.assertTrue(DateFormatCache.isValid("0001-01-01", "yyyy-MM-dd"));
+        Assert.assertFalse(DateFormatCache.isValid("1582-10-10", "yyyy-MM-dd"));
+        Assert.assertTrue(DateFormatCache.isValid("1582-10-15", "yyyy-MM-dd"));
+        Assert.assertTrue(DateFormatCache.isValid("2021-03-28", "yyyy-MM-dd"));
+    }
+
     private Date date(int year, int month, int day) {
         Calendar cal = Calendar.getInstance();
         cal.set(year, month, day, 0, 0, 0);
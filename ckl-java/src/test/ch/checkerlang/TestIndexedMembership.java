@@ -0,0 +1,24 @@
+package ch.checkerlang;
+
+import ch.checkerlang.values.ValueList;
+import ch.checkerlang.values.ValueString;
+import org.junit.Assert;
+import org.junit.jupiter.api.Test;
+
+public class TestIndexedMembership {
+    @Test
+    public void testIndexedMembership() throws Exception {
+        ValueList codes = new ValueList();
+        for (int i = 0; i < 20; i++) codes.addItem(new ValueString("C" + i));
+        for (int i = 0; i < 5; i++) Assert.assertTrue(codes.containsItem(new ValueString("C" + i)));
+        Assert.assertFalse(codes.containsItem(new ValueString("C20")));
+        codes.getValue().set(0, new ValueString("C20"));
+        Assert.assertTrue(codes.containsItem(new ValueString("C20")));
+        Assert.assertFalse(codes.containsItem(new ValueString("C0")));
+        codes.getValue().remove(1);
+        Assert.assertFalse(codes.containsItem(new ValueString("C1")));
+        Interpreter interpreter = new Interpreter(false, false);
+        Assert.assertEquals("[TRUE, TRUE, FALSE, TRUE, FALSE]", interpreter.interpret("def f(x) x in [1, 'a', 2.5]; [f(1.0), f('a'), f(2), 'b' in <<'a', 'b'>>, 3 in [x for x in [1, 2]]]", "{test}").toString());
+        Assert.assertEquals("[TRUE, FALSE]", interpreter.interpret("def l = [[i] for i in range(20)]; for i in range(5) do [3] in l; end; l[3] !> append(4); [[3, 4] in l, [3] in l]", "{test}").toString());
+    }
+}
@@ -905,6 +905,22 @@ public class TestInterpreter {
         }
     }
 
+    @Test
+    public void testStacktraceFrames() throws Exception {
+        Assert.assertEquals("g(x=[1]) (test:1:37)\nf(x=[1, 99]) (test:1:73)\n", stacktrace("def g(x) error 'boom'; def f(x) do g(x); finally x !> append(99); end; f([1]);"));
+        Assert.assertEquals("f(x=<!object>) (test:1:69)\n", stacktrace("def P = <*_str_ = fn(self) undefined_sym*>; def f(x) error 'boom'; f(<*_proto_ = P*>);"));
+    }
+
+    private String stacktrace(String script) throws IOException {
+        try {
+            new Interpreter().interpret(script, "test");
+        } catch (ControlErrorException e) {
+            return e.getStacktrace().toString();
+        }
+        Assert.fail();
+        return null;
+    }
+
     private void verify(String expected, String script, String variable, Object value) {
         Environment env = new Environment();
         env.put(variable, value);
@@ -135,4 +135,19 @@ public class TestLexer {
         Assert.assertEquals("3", token.value);
         Assert.assertEquals("test:2:5", token.pos.toString());
     }
+
+    @Test
+    public void TestInternedIdentifiers() throws IOException {
+        Lexer lexer1 = new Lexer(new StringReader("def some_name = some_name;"), "test");
+        Lexer lexer2 = new Lexer(new StringReader("some_name + 0x1_f"), "test");
+        lexer1.eat(1);
+        Token token1 = lexer1.next();
+        Assert.assertTrue(lexer1.peek("=", TokenType.Operator));
+        lexer1.eat(1);
+        Assert.assertSame(token1.value, lexer1.next().value);
+        Token token2 = lexer2.next();
+        Assert.assertEquals(token1.value, token2.value);
+        lexer2.eat(1);
+        Assert.assertEquals("31", lexer2.next().value);
+    }
 }
@@ -0,0 +1,61 @@
+package ch.checkerlang;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+public class TestOutputBuffering {
+    @Test
+    public void testRingBufferDropOldest() throws IOException {
+        RingBufferWriter writer = new RingBufferWriter(8);
+        writer.write("abcdef");
+        writer.write("ghij");
+        Assert.assertEquals("cdefghij", writer.toString());
+        Assert.assertEquals(2, writer.getDropped());
+        writer.write("0123456789");
+        Assert.assertEquals("23456789", writer.toString());
+        writer = new RingBufferWriter(8);
+        writer.write("ab\ncd\n");
+        writer.write("efg\n");
+        Assert.assertEquals("cd\nefg\n", writer.toString());
+        Assert.assertEquals(3, writer.getDropped());
+        writer.write("h\nijklmnop");
+        Assert.assertEquals("ijklmnop", writer.toString());
+    }
+
+    @Test
+    public void testRingBufferDropNewest() throws IOException {
+        RingBufferWriter writer = new RingBufferWriter(8, RingBufferWriter.Overflow.DROP_NEWEST);
+        writer.write("abcdef");
+        writer.write("ghij");
+        Assert.assertEquals("abcdefgh", writer.toString());
+        Assert.assertEquals(2, writer.getDropped());
+    }
+
+    @Test
+    public void testRingBufferFail() throws IOException {
+        RingBufferWriter writer = new RingBufferWriter(4, RingBufferWriter.Overflow.FAIL);
+        writer.write("abc");
+        try {
+            writer.write("de");
+            Assert.fail();
+        } catch (IOException e) {
+            Assert.assertEquals("abc", writer.toString());
+        }
+    }
+
+    @Test
+    public void testBufferedStandardOutput() throws IOException {
+        for (OutputBuffering buffering : OutputBuffering.values()) {
+            Interpreter interpreter = new Interpreter();
+            StringWriter stdout = new StringWriter();
+            interpreter.setStandardOutput(stdout, buffering);
+            interpreter.interpret("for i in range(1000) println(i)", "test");
+            interpreter.interpret("flush()", "test");
+            Assert.assertTrue(stdout.toString().startsWith("0\n1\n2\n"));
+            Assert.assertTrue(stdout.toString().endsWith("998\n999\n"));
+        }
+    }
+}
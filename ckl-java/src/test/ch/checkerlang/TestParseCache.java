@@ -0,0 +1,21 @@
+package ch.checkerlang;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+public class TestParseCache {
+    @Test
+    public void testParseCache() throws IOException {
+        Assert.assertSame(ParseCache.get("1 + x * 2", "test"), ParseCache.get("1 + x * 2", "test"));
+        Assert.assertNotSame(ParseCache.get("1 + x * 2", "test"), ParseCache.get("1 + x * 2", "other"));
+        LruCache<String, String> cache = new LruCache<>(10, 8, (key, value) -> value.length());
+        cache.get("a", key -> "aaaa");
+        cache.get("b", key -> "bbbb");
+        cache.get("c", key -> "cccc");
+        Assert.assertEquals(2, cache.getSize());
+        Assert.assertEquals(8, cache.getWeight());
+        Assert.assertEquals(1, cache.getEvictions());
+    }
+}
@@ -151,6 +151,16 @@ public class TestParser {
         Assert.assertEquals("(println (sprintf 0, 'part2: {0}'))", parse("0 !> sprintf(fmt=\"part2: {0}\") !> println()"));
     }
 
+    @Test
+    public void testIncremental()
+    {
+        IncrementalParser parser = new IncrementalParser("test");
+        Assert.assertNull(parser.feed("def f(x) do"));
+        Assert.assertNull(parser.feed("  x + [1,"));
+        Assert.assertNull(parser.feed("  2] +"));
+        Assert.assertEquals("(def f = (lambda x, (add (add x, [1, 2]), 3)))", parser.feed("  3 end").toString());
+    }
+
     private String parse(String s) {
         try {
             return Parser.parse(new Lexer(new StringReader(s), "test")).toString();
@@ -0,0 +1,17 @@
+package ch.checkerlang;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.Test;
+
+public class TestPatternCache {
+    @Test
+    public void testPatternCacheLiteral() {
+        Assert.assertEquals("|", PatternCache.getLiteral("\\|"));
+        Assert.assertEquals("ab;", PatternCache.getLiteral("ab;"));
+        Assert.assertNull(PatternCache.getLiteral("[ \\t]+"));
+        Assert.assertNull(PatternCache.getLiteral("\\d"));
+        long hits = PatternCache.getHits();
+        Assert.assertSame(PatternCache.get("x[0-9]+y"), PatternCache.get("x[0-9]+y"));
+        Assert.assertTrue(PatternCache.getHits() > hits);
+    }
+}
@@ -0,0 +1,20 @@
+package ch.checkerlang;
+
+import ch.checkerlang.values.RenderBudget;
+import ch.checkerlang.values.ValueList;
+import org.junit.Assert;
+import org.junit.jupiter.api.Test;
+
+public class TestRenderBudget {
+    @Test
+    public void testRenderBudget() {
+        ValueList list = ValueList.ofLongs(new long[] {1, 2, 3});
+        list.addItem(list);
+        Assert.assertEquals("[1, 2, 3, [...]]", list.toString());
+        Assert.assertEquals("[1, 2...", RenderBudget.abbrev(list, 5));
+        Assert.assertEquals("[1, 2... ...]]", RenderBudget.abbrev(list, 5, 5));
+        Assert.assertEquals("[1, 2, 3, [...]]", RenderBudget.abbrev(list, 50, 5));
+        ValueList nested = new ValueList().addItem(new ValueList().addItem(new ValueList()));
+        Assert.assertEquals("[[[...]]]", RenderBudget.render(nested, new RenderBudget(2, RenderBudget.UNLIMITED_LENGTH)));
+    }
+}
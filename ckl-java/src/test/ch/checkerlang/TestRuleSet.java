@@ -0,0 +1,42 @@
+package ch.checkerlang;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class TestRuleSet {
+    @Test
+    public void testRuleSet() throws Exception {
+        Interpreter interpreter = new Interpreter(false, false);
+        RuleSet ruleSet = new RuleSet(interpreter, Arrays.asList("id", "birth", "zip"));
+        ruleSet.add("birth", "birth is not date");
+        ruleSet.add("zip", "zip is not numerical exact_len 4");
+        ruleSet.add("ratio", "def x = 100 / (id % 3); x");
+        try {
+            ruleSet.add("unknown", "unknown_field > 1");
+            Assert.fail();
+        } catch (ControlErrorException e) {
+            Assert.assertEquals("Rule unknown uses undefined symbol unknown_field", e.getErrorValue().asString().getValue());
+        }
+        try {
+            ruleSet.add("date", "parse_date(birth, fmt = 'yyyyMMdd') != NULL");
+            Assert.fail();
+        } catch (ControlErrorException e) {
+            Assert.assertEquals("Rule date uses undefined symbol parse_date", e.getErrorValue().asString().getValue());
+        }
+        List<Object[]> records = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            records.add(new Object[] {i, i % 2 == 0 ? "20200131" : "20200132", i % 5 == 0 ? "80a0" : "8000"});
+        }
+        RuleSetResult result = ruleSet.evaluate(records);
+        Assert.assertEquals(Arrays.asList("birth", "zip", "ratio"), result.getRules());
+        Assert.assertEquals(5000, result.count(0, RuleSetResult.TRUE));
+        Assert.assertEquals(2000, result.count(1, RuleSetResult.TRUE));
+        Assert.assertEquals(3334, result.count(2, RuleSetResult.ERROR));
+        Assert.assertEquals("50", result.getValue(2, 2).toString());
+        Assert.assertEquals("'divide by zero'", result.getError(2, 3).toString());
+    }
+}
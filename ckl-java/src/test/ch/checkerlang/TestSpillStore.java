@@ -0,0 +1,42 @@
+package ch.checkerlang;
+
+import ch.checkerlang.values.SpillStore;
+import org.junit.Assert;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.List;
+
+public class TestSpillStore {
+    @Test
+    public void testSpillStore() throws Exception {
+        File directory = Files.createTempDirectory("ckl-spill").toFile();
+        SpillStore previous = SpillStore.getShared();
+        SpillStore.configure(8, directory, 1);
+        Assert.assertTrue(previous.isClosed());
+        try {
+            Interpreter interpreter = new Interpreter(false, false);
+            interpreter.interpret("require List unqualified; require String unqualified;", "{test}");
+            interpreter.interpret("def pad = 'x' * 1000; def l = []; for i in range(3000) do l !> append(pad + i); end;", "{test}");
+            interpreter.interpret("def m = <<<>>>; for i in range(3000) do def k = i % 10; if not k in m then m[k] = []; m[k] !> append(i); end;", "{test}");
+            SpillStore store = SpillStore.getShared();
+            Assert.assertTrue(store.getDiskPages() > 0);
+            Assert.assertEquals("'x2999'", interpreter.interpret("substr(l[2999], 999)", "{test}").toString());
+            Assert.assertEquals("[1001, 3000, 300, 448500]", interpreter.interpret("l[5] = length(l[5]); [l[5], length(l), length(m[9]), sum(m[0])]", "{test}").toString());
+            Assert.assertEquals("['x6', 'x7', 'x8']", interpreter.interpret("[substr(x, 999) for x in sublist(l, 6, 9)]", "{test}").toString());
+            Assert.assertEquals("[2, 2]", interpreter.interpret("def inner = [1]; def outer = []; for i in range(3000) do outer !> append(inner); end; inner !> append(2); [length(outer[0]), length(outer[2999])]", "{test}").toString());
+            long size = store.getSize();
+            int diskPages = store.getDiskPages();
+            interpreter.interpret("for i in range(3000) do l[i] = 'y'; end; m[0] = 'z'; remove(m, 1);", "{test}");
+            Assert.assertTrue(store.getSize() < size / 100);
+            Assert.assertTrue(store.getDiskPages() < diskPages);
+            Assert.assertEquals("['y', 3000, 'z', FALSE, 300]", interpreter.interpret("[l[2999], length(l), m[0], 1 in m, length(m[9])]", "{test}").toString());
+        } finally {
+            SpillStore.configure(0, null, 64);
+            File[] files = directory.listFiles();
+            if (files != null) for (File file : files) file.delete();
+            directory.delete();
+        }
+    }
+}
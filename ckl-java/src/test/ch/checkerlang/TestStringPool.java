@@ -0,0 +1,30 @@
+package ch.checkerlang;
+
+import ch.checkerlang.values.ValueList;
+import org.junit.Assert;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+
+public class TestStringPool {
+    @Test
+    public void testStringPool() throws Exception {
+        StringPool.enable(16);
+        try {
+            Interpreter interpreter = new Interpreter(false, false);
+            ValueList rows = interpreter.interpret("[split(line, ';') for line in ['1;ZH', '2;BE', '3;ZH', '4;ZH', '5;ZH']]", "{test}").asList();
+            Assert.assertNotSame(rows.getValue().get(0).asList().getValue().get(1), rows.getValue().get(2).asList().getValue().get(1));
+            Assert.assertSame(rows.getValue().get(2).asList().getValue().get(1), rows.getValue().get(3).asList().getValue().get(1));
+            Assert.assertSame(rows.getValue().get(3).asList().getValue().get(1), rows.getValue().get(4).asList().getValue().get(1));
+            StringPool pool = StringPool.getShared();
+            Assert.assertEquals(1, pool.getSize());
+            Assert.assertEquals(2, pool.getHits());
+            Assert.assertEquals(8, pool.getMisses());
+            Assert.assertSame(pool.intern("ZH"), pool.intern("ZH"));
+            Assert.assertNotSame(pool.intern(String.join("", Collections.nCopies(StringPool.MAX_LENGTH + 1, "x"))), pool.intern(String.join("", Collections.nCopies(StringPool.MAX_LENGTH + 1, "x"))));
+        } finally {
+            StringPool.disable();
+        }
+        Assert.assertNull(StringPool.getShared());
+    }
+}
@@ -0,0 +1,38 @@
+package ch.checkerlang;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.Test;
+
+public class TestValidator {
+    @Test
+    public void testValidatorDateFixedWidth() {
+        String[] formats = {"yyyyMMdd", "yyyyMMddHH", "HHmm", "yyyy-MM-dd HH:mm:ss"};
+        String[] samples = {"20170228", "20170229", "20160229", "20171301", "20170100", "20170131", "2017013",
+                "2017013124", "2017013123", "2359", "2400", "1260", "0000", "2017-02-28 23:59:59",
+                "2017-02-28 23:59:60", "2017-02-28T23:59:59", "2017-0a-28", "1900-02-29 00:00:00", "00000101",
+                "00010101", "15821010", "15821015", "0000-01-01 00:00:00"};
+        for (String format : formats) {
+            ValidatorDate validator = new ValidatorDate(format);
+            for (String sample : samples) {
+                Assert.assertEquals(format + " " + sample, DateFormatCache.isValid(sample, format), validator.isValid(sample));
+            }
+        }
+        ValidatorDate validator = new ValidatorDate("yyyyMMdd");
+        Assert.assertFalse(validator.isValid("00000101"));
+        Assert.assertTrue(validator.isValid("00010101"));
+        Assert.assertFalse(validator.isValid("15821010"));
+        Assert.assertTrue(validator.isValid("15821015"));
+    }
+
+    @Test
+    public void testValidatorStatistics() throws Exception {
+        ValidatorDate validator = ValidatorDate.of("yyyyMMdd");
+        Assert.assertSame(validator, Validator.getValidators().get("date:yyyyMMdd"));
+        long hits = validator.getHits();
+        long misses = validator.getMisses();
+        Interpreter interpreter = new Interpreter(false, false);
+        Assert.assertEquals("[TRUE, FALSE, TRUE]", interpreter.interpret("[x is date for x in ['20170101', '20170132', 20170102]]", "{test}").toString());
+        Assert.assertEquals(hits + 2, validator.getHits());
+        Assert.assertEquals(misses + 1, validator.getMisses());
+    }
+}
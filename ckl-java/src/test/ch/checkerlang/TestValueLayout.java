@@ -0,0 +1,39 @@
+package ch.checkerlang;
+
+import ch.checkerlang.values.AdaptiveList;
+import ch.checkerlang.values.Value;
+import ch.checkerlang.values.ValueInt;
+import ch.checkerlang.values.ValueList;
+import ch.checkerlang.values.ValueString;
+import org.junit.Assert;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+
+public class TestValueLayout {
+    @Test
+    public void testValueFieldLayout() throws Exception {
+        Assert.assertEquals(0, instanceFields(Value.class));
+        Assert.assertEquals(1, instanceFields(ValueString.class));
+        Assert.assertEquals(1, instanceFields(ValueInt.class));
+        Assert.assertEquals(1, instanceFields(ValueList.class));
+        Value value = new ValueInt(42).withInfo("answer");
+        Assert.assertEquals("answer", value.getInfo());
+        Assert.assertEquals("", new ValueInt(42).getInfo());
+        ValueList list = new ValueList().addItem(new ValueInt(1)).addItem(value);
+        Assert.assertEquals(AdaptiveList.Kind.LONGS, list.getStorage().getKind());
+        Assert.assertEquals(42L, list.getValue().get(1).asInt().getValue());
+        Assert.assertEquals("answer", value.getInfo());
+        Interpreter interpreter = new Interpreter(false, false);
+        Assert.assertEquals("MAXINT\n\nThe maximal int value", interpreter.interpret("def l = [MAXINT]; info(MAXINT)", "{test}").asString().getValue());
+    }
+
+    private static int instanceFields(Class<?> cls) {
+        int result = 0;
+        for (Field field : cls.getDeclaredFields()) {
+            if (!Modifier.isStatic(field.getModifiers())) result++;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,21 @@
+package ch.checkerlang;
+
+import ch.checkerlang.values.ValueInt;
+import ch.checkerlang.values.ValueObject;
+import org.junit.Assert;
+import org.junit.jupiter.api.Test;
+
+public class TestValueObject {
+    @Test
+    public void testObjectShapes() {
+        ValueObject a = new ValueObject().addItem("x", new ValueInt(1)).addItem("y", new ValueInt(2));
+        ValueObject b = new ValueObject().addItem("x", new ValueInt(3)).addItem("y", new ValueInt(4));
+        Assert.assertSame(a.getShape(), b.getShape());
+        b.removeItem("x");
+        Assert.assertEquals("<*y=4*>", b.toString());
+        ValueObject c = new ValueObject();
+        for (int i = 0; i < 100; i++) c.addItem("k" + i, new ValueInt(i));
+        Assert.assertNull(c.getShape());
+        Assert.assertEquals(99, c.getItem("k99").asInt().getValue());
+    }
+}
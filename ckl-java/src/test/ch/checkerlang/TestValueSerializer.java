@@ -0,0 +1,79 @@
+package ch.checkerlang;
+
+import ch.checkerlang.values.Value;
+import ch.checkerlang.values.ValueList;
+import ch.checkerlang.values.ValueSerializer;
+import ch.checkerlang.values.ValueString;
+import org.junit.Assert;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+public class TestValueSerializer {
+    @Test
+    public void testValueSerializer() throws Exception {
+        Interpreter interpreter = new Interpreter(false, false);
+        interpreter.interpret("require Table unqualified; require IO unqualified;", "{test}");
+        Value value = interpreter.interpret("def s = ['x', 'x']; def l = [s, s, <*d=date('20240229'), p=//a+//, t=table([<<<'a' => 1>>>, <<<'b' => 'y'>>>])*>]; l !> append(l); l", "{test}");
+        byte[] plain = ValueSerializer.toBytes(value, false);
+        byte[] compressed = ValueSerializer.toBytes(value, true);
+        for (byte[] bytes : Arrays.asList(plain, compressed)) {
+            ValueList result = ValueSerializer.fromBytes(bytes).asList();
+            Assert.assertSame(result.getValue().get(0), result.getValue().get(1));
+            Assert.assertSame(result, result.getValue().get(3));
+            Assert.assertEquals(value.asList().getValue().get(2).toString(), result.getValue().get(2).toString());
+        }
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ValueSerializer.write(new ValueString("abc"), output, false);
+        Assert.assertEquals("'abc'", ValueSerializer.read(new ByteArrayInputStream(output.toByteArray())).toString());
+        try {
+            ValueSerializer.fromBytes("[1, 2]".getBytes(StandardCharsets.UTF_8));
+            Assert.fail();
+        } catch (ControlErrorException e) {
+            Assert.assertEquals("Not a serialized value", e.getErrorValue().asString().getValue());
+        }
+    }
+
+    @Test
+    public void testTwoValuesOnOneStream() throws Exception {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 20000; i++) text.append("line ").append(i).append('\n');
+        for (boolean compress : new boolean[] {false, true}) {
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            ValueSerializer.write(new ValueString(text.toString()), output, compress);
+            ValueSerializer.write(new ValueList().addItem(new ValueString("abc")), output, compress);
+            output.write(42);
+            ByteArrayInputStream input = new ByteArrayInputStream(output.toByteArray());
+            Assert.assertEquals(text.toString(), ValueSerializer.read(input).asString().getValue());
+            Assert.assertEquals("['abc']", ValueSerializer.read(input).toString());
+            Assert.assertEquals(42, input.read());
+            Assert.assertEquals(-1, input.read());
+        }
+    }
+
+    @Test
+    public void testCorruptSizes() {
+        // LONGS, DOUBLES, STRING and TABLE tags followed by a size of Integer.MAX_VALUE
+        int[][] bodies = {
+                {9},
+                {10},
+                {5, 0},
+                {15, 2, 0, 0, 2, 'a', 0},
+        };
+        for (int[] body : bodies) {
+            ByteArrayOutputStream data = new ByteArrayOutputStream();
+            for (int b : new int[] {'C', 'K', 'L', 'V', 1, 0, 0, 0, 0, body.length + 5}) data.write(b);
+            for (int b : body) data.write(b);
+            for (int b : new int[] {0xfe, 0xff, 0xff, 0xff, 0x0f}) data.write(b);
+            try {
+                ValueSerializer.fromBytes(data.toByteArray());
+                Assert.fail();
+            } catch (ControlErrorException e) {
+                Assert.assertEquals("Cannot deserialize value: Unexpected end of serialized value", e.getErrorValue().asString().getValue());
+            }
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package ch.checkerlang;
+
+import ch.checkerlang.values.ValueString;
+import org.junit.Assert;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class TestValueString {
+    @Test
+    public void testStringConcatSharesBuilder() {
+        ValueString base = new ValueString("");
+        for (int i = 0; i < 100; i++) base = base.concat("abcd");
+        ValueString a = base.concat("x");
+        ValueString b = base.concat("y");
+        Assert.assertEquals(400, base.getValue().length());
+        Assert.assertTrue(a.getValue().endsWith("dx"));
+        Assert.assertTrue(b.getValue().endsWith("dy"));
+        Assert.assertEquals(401, a.length());
+    }
+
+    @Test
+    public void testSharedViewMaterialisation() throws Exception {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 200; i++) text.append((char) ('a' + i % 26));
+        for (int round = 0; round < 200; round++) {
+            ValueString view = new ValueString(text.toString()).substring(10, 190);
+            List<Thread> threads = new ArrayList<>();
+            List<Throwable> errors = Collections.synchronizedList(new ArrayList<>());
+            for (int t = 0; t < 4; t++) {
+                threads.add(new Thread(() -> {
+                    try {
+                        for (int i = 0; i < 180; i++) {
+                            if (view.charAt(i) != text.charAt(10 + i)) throw new AssertionError("charAt " + i);
+                            if (i < 100 && !view.substring(i, i + 80).getValue().equals(text.substring(10 + i, 90 + i))) throw new AssertionError("substring " + i);
+                            if (i == 90) view.getValue();
+                        }
+                    } catch (Throwable e) {
+                        errors.add(e);
+                    }
+                }));
+            }
+            for (Thread thread : threads) thread.start();
+            for (Thread thread : threads) thread.join();
+            Assert.assertEquals(Collections.emptyList(), errors);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package ch.checkerlang;
+
+import ch.checkerlang.values.TableColumn;
+import ch.checkerlang.values.ValueTable;
+import org.junit.Assert;
+import org.junit.jupiter.api.Test;
+
+public class TestValueTable {
+    @Test
+    public void testValueTable() throws Exception {
+        Interpreter interpreter = new Interpreter(false, false);
+        interpreter.interpret("require Table unqualified; require IO unqualified; require List unqualified;", "{test}");
+        ValueTable table = interpreter.interpret("def t = read_csv(str_input('id,canton,zip,amount\\n1,ZH,8000,1.5\\n2,BE,\\\"3000\\\",\\n3,ZH,0041,2'), infer_types = TRUE); t", "{test}").asTable();
+        Assert.assertEquals(TableColumn.Kind.LONGS, table.getColumn("id").getKind());
+        Assert.assertEquals(TableColumn.Kind.STRINGS, table.getColumn("zip").getKind());
+        Assert.assertEquals(TableColumn.Kind.DOUBLES, table.getColumn("amount").getKind());
+        Assert.assertEquals(table.getColumn("canton").getCode(0), table.getColumn("canton").getCode(2));
+        Assert.assertEquals("[<*canton='ZH', n=2, s=3.5*>, <*canton='BE', n=1, s=0.0*>]", interpreter.interpret("list(group_by(t, 'canton', <<<'n' => ['count'], 's' => ['sum', 'amount']>>>))", "{test}").toString());
+        Assert.assertEquals("[3, 1]", interpreter.interpret("table_column(sort_by(filter(t, fn(row) row->canton == 'ZH'), 'zip'), 'id')", "{test}").toString());
+        Assert.assertEquals("[NULL, 'Bern', NULL]", interpreter.interpret("table_column(join_by(t, table([<<<'canton' => 'BE', 'name' => 'Bern'>>>]), 'canton', outer = TRUE), 'name')", "{test}").toString());
+        Assert.assertEquals("'1ZH2BE3ZH'", interpreter.interpret("def s = ''; for [id, canton] in t do s += id + canton; end; s", "{test}").toString());
+    }
+
+    @Test
+    public void testInferTypesExact() throws Exception {
+        Interpreter interpreter = new Interpreter(false, false);
+        interpreter.interpret("require Table unqualified; require IO unqualified;", "{test}");
+        ValueTable table = interpreter.interpret("read_csv(str_input('phone,price,id,n,x\\n+41791234567,1.50,12345678901234567890,1,2\\n0791234567,2.25,12345678901234567891,2,2.5'), infer_types = TRUE)", "{test}").asTable();
+        Assert.assertEquals(TableColumn.Kind.STRINGS, table.getColumn("phone").getKind());
+        Assert.assertEquals(TableColumn.Kind.STRINGS, table.getColumn("price").getKind());
+        Assert.assertEquals(TableColumn.Kind.STRINGS, table.getColumn("id").getKind());
+        Assert.assertEquals(TableColumn.Kind.LONGS, table.getColumn("n").getKind());
+        Assert.assertEquals(TableColumn.Kind.DOUBLES, table.getColumn("x").getKind());
+        table = interpreter.interpret("read_csv(str_input('a\\n1\\n2'))", "{test}").asTable();
+        Assert.assertEquals(TableColumn.Kind.STRINGS, table.getColumn("a").getKind());
+    }
+
+    @Test
+    public void testNumericKeys() throws Exception {
+        Interpreter interpreter = new Interpreter(false, false);
+        interpreter.interpret("require Table unqualified;", "{test}");
+        interpreter.interpret("def a = table([<<<'k' => 1, 'v' => 'a'>>>, <<<'k' => 2, 'v' => 'b'>>>]); def b = table([<<<'k' => 1.0, 'w' => 'x'>>>, <<<'k' => 2.5, 'w' => 'y'>>>]);", "{test}");
+        Assert.assertEquals("['x', NULL]", interpreter.interpret("table_column(join_by(a, b, 'k', outer = TRUE), 'w')", "{test}").toString());
+        Assert.assertEquals("[<*k=1, n=2*>, <*k=2, n=1*>]", interpreter.interpret("list(group_by(table([<<<'k' => 1>>>, <<<'k' => 1.0>>>, <<<'k' => 2>>>]), 'k', <<<'n' => ['count']>>>))", "{test}").toString());
+    }
+
+    @Test
+    public void testMalformedInput() throws Exception {
+        Interpreter interpreter = new Interpreter(false, false);
+        interpreter.interpret("require Table unqualified; require IO unqualified;", "{test}");
+        Assert.assertEquals("[1, 3]", interpreter.interpret("table_column(parse_json_table('[{\"a\": 1, \"b\": 2}, {\"a\": 3}]'), 'a')", "{test}").toString());
+        for (String json : new String[] {"[{\"a\": 1 \"b\": 2}, {\"a\": 3}]", "[{\"a\": 1} {\"a\": 3}]", "[{\"a\": 1}] {\"a\": 3}"}) {
+            try {
+                JSON.parseTable(json);
+                Assert.fail(json);
+            } catch (RuntimeException e) {
+                // expected
+            }
+        }
+        try {
+            interpreter.interpret("read_csv(str_input('a,b,a\\n1,2,3'))", "{test}");
+            Assert.fail();
+        } catch (ControlErrorException e) {
+            Assert.assertEquals("Duplicate column a in record 1", e.getErrorValue().asString().getValue());
+        }
+    }
+}